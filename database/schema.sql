@@ -9,6 +9,11 @@
 -- 2. Créez une nouvelle connexion ou utilisez une existante
 -- 3. Copiez et collez ce script
 -- 4. Exécutez-le
+--
+-- Le stockage JDBC de l'application (java -Dpharmacie.stockage=jdbc)
+-- lit aussi ce script: il en exécute les CREATE TABLE et CREATE INDEX
+-- quand la base est vide (les autres instructions sont ignorées).
+-- Les données existantes s'importent avec dao.MigrationCSV.
 -- ============================================================
 
 -- Supprimer la base de données si elle existe (pour repartir de zéro)
@@ -69,6 +74,8 @@ CREATE TABLE Medicament (
     dosage VARCHAR(50),
     stock INT DEFAULT 0,
     prix_unitaire DECIMAL(10, 2) NOT NULL,
+    seuil_min INT DEFAULT 10,   -- En dessous: stock critique
+    seuil_max INT DEFAULT 0,    -- Au-dessus: surstock (0 = pas de maximum)
     date_creation TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     
     -- Contrainte: le stock ne peut pas être négatif
@@ -97,6 +104,9 @@ CREATE TABLE Vente (
     CONSTRAINT check_quantite_vente CHECK (quantite > 0)
 );
 
+-- Recherche des ventes d'une période
+CREATE INDEX idx_vente_date ON Vente(date_vente);
+
 -- ============================================================
 -- TABLE: Commande
 -- Enregistre les commandes de réapprovisionnement
@@ -136,6 +146,9 @@ CREATE TABLE StockHistorique (
     CONSTRAINT check_type_operation CHECK (type_operation IN ('VENTE', 'REAPPROVISIONNEMENT', 'AJUSTEMENT'))
 );
 
+-- Recherche des mouvements d'une période
+CREATE INDEX idx_historique_date ON StockHistorique(date_operation);
+
 -- ============================================================
 -- DONNÉES DE TEST
 -- Insérer quelques données pour tester l'application
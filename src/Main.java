@@ -1,4 +1,5 @@
 import database.CSVHelper;
+import database.Montant;
 import models.*;
 import services.*;
 
@@ -279,7 +280,7 @@ public class Main {
         } else {
             System.out.println("\n⚠️ ========== ALERTES STOCK ========== ⚠️");
             for (Medicament med : alertes) {
-                System.out.println("🔴 " + med.getNom() + " - Stock: " + med.getStock() + " unités");
+                System.out.println("🔴 " + med.getNom() + " - Stock: " + med.getStock() + " unités (minimum: " + med.getSeuilMin() + ")");
             }
             System.out.println("==========================================");
             System.out.println("Total: " + alertes.size() + " médicament(s) en alerte");
@@ -299,7 +300,7 @@ public class Main {
         int stock = lireEntier();
         
         System.out.print("Prix unitaire (€): ");
-        double prix = lireDouble();
+        long prix = lireMontant();
         
         medicamentService.ajouterMedicament(nom, dosage, stock, prix);
     }
@@ -337,16 +338,36 @@ public class Main {
             }
         }
         
-        System.out.print("Nouveau prix [" + med.getPrixUnitaire() + "]: ");
+        System.out.print("Nouveau prix [" + Montant.ecrire(med.getPrixUnitaire()) + "]: ");
         String prixStr = scanner.nextLine();
         if (!prixStr.isEmpty()) {
             try {
-                med.setPrixUnitaire(Double.parseDouble(prixStr));
+                med.setPrixUnitaire(Montant.lire(prixStr));
             } catch (NumberFormatException e) {
                 System.out.println("⚠️ Prix invalide, valeur inchangée.");
             }
         }
         
+        System.out.print("Nouveau seuil minimum [" + med.getSeuilMin() + "]: ");
+        String seuilMinStr = scanner.nextLine();
+        if (!seuilMinStr.isEmpty()) {
+            try {
+                med.setSeuilMin(Integer.parseInt(seuilMinStr));
+            } catch (NumberFormatException e) {
+                System.out.println("⚠️ Seuil invalide, valeur inchangée.");
+            }
+        }
+        
+        System.out.print("Nouveau seuil maximum, 0 = aucun [" + med.getSeuilMax() + "]: ");
+        String seuilMaxStr = scanner.nextLine();
+        if (!seuilMaxStr.isEmpty()) {
+            try {
+                med.setSeuilMax(Integer.parseInt(seuilMaxStr));
+            } catch (NumberFormatException e) {
+                System.out.println("⚠️ Seuil invalide, valeur inchangée.");
+            }
+        }
+        
         medicamentService.mettreAJourMedicament(med);
     }
     
@@ -364,7 +385,7 @@ public class Main {
             return;
         }
         
-        System.out.println("Médicament: " + med.getNom() + " - Stock: " + med.getStock() + " - Prix: " + med.getPrixUnitaire() + "€");
+        System.out.println("Médicament: " + med.getNom() + " - Stock: " + med.getStock() + " - Prix: " + Montant.ecrire(med.getPrixUnitaire()) + "€");
         
         System.out.print("ID du client (0 si anonyme): ");
         int idClient = lireEntier();
@@ -391,14 +412,14 @@ public class Main {
             System.out.println("\nVous n'avez pas encore effectué de ventes.");
         } else {
             System.out.println("\n========== MES VENTES ==========");
-            double total = 0;
+            long total = 0;
             for (Vente v : ventes) {
                 System.out.println(v);
                 System.out.println("--------------------------------");
                 total += v.getMontantTotal();
             }
             System.out.println("Total: " + ventes.size() + " vente(s)");
-            System.out.println("Montant total: " + String.format("%.2f", total) + " €");
+            System.out.println("Montant total: " + Montant.ecrire(total) + " €");
         }
     }
     
@@ -527,6 +548,8 @@ public class Main {
         System.out.println("\n========== RAPPORTS ==========");
         System.out.println("1. Rapport du jour");
         System.out.println("2. Rapport complet");
+        System.out.println("3. Stock à une date");
+        System.out.println("4. Ventes d'une période par médicament");
         System.out.println("0. Retour");
         System.out.println("===============================");
         System.out.print("Votre choix: ");
@@ -540,6 +563,16 @@ public class Main {
             case 2:
                 rapportService.genererRapportComplet();
                 break;
+            case 3:
+                System.out.print("Date (yyyy-MM-dd): ");
+                rapportService.genererRapportStockAu(scanner.nextLine().trim());
+                break;
+            case 4:
+                System.out.print("Du (yyyy-MM-dd): ");
+                String premierJour = scanner.nextLine().trim();
+                System.out.print("Au (yyyy-MM-dd): ");
+                rapportService.genererRapportVentesPeriode(premierJour, scanner.nextLine().trim());
+                break;
             case 0:
                 break;
             default:
@@ -586,13 +619,15 @@ public class Main {
     }
     
     /**
-     * Lit un nombre décimal au clavier avec gestion des erreurs
+     * Lit un montant au clavier (ex: 12.50 ou 12,50) avec gestion des erreurs
+     * 
+     * @return Le montant en centimes
      */
-    private static double lireDouble() {
+    private static long lireMontant() {
         while (true) {
             try {
                 String ligne = scanner.nextLine();
-                return Double.parseDouble(ligne.replace(",", "."));
+                return Montant.lire(ligne);
             } catch (NumberFormatException e) {
                 System.out.print("❌ Veuillez entrer un nombre valide: ");
             }
@@ -0,0 +1,95 @@
+package benchmark;
+
+import database.ArbreRadix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mesure du temps de réponse de l'autocomplétion (voir ArbreRadix)
+ *
+ * Remplit un arbre avec 500 000 noms générés, puis mesure la recherche des
+ * 10 premières suggestions pour des préfixes de 1 à 6 caractères.
+ * Objectif: moins de 1 ms par recherche.
+ *
+ * Lancement: java -cp out benchmark.BenchAutocompletion [nombreNoms]
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class BenchAutocompletion {
+
+    private static final int NOMBRE_NOMS = 500_000;
+    private static final int NOMBRE_RECHERCHES = 200_000;
+    private static final int SUGGESTIONS = 10;
+    private static final double OBJECTIF_MS = 1.0;
+
+    private static final String[] SYLLABES = {
+        "pa", "ra", "ce", "ta", "mol", "ibu", "pro", "fen", "amo", "xi", "cil", "line",
+        "dol", "zo", "li", "né", "vi", "ter", "ma", "cor", "do", "fla", "gyl", "ine"
+    };
+
+    public static void main(String[] args) {
+        int nombreNoms = args.length > 0 ? Integer.parseInt(args[0]) : NOMBRE_NOMS;
+        Random hasard = new Random(42);
+
+        // ===== Remplissage =====
+        List<String> noms = new ArrayList<>(nombreNoms);
+        for (int i = 0; i < nombreNoms; i++) {
+            noms.add(genererNom(hasard) + " " + (50 * (1 + hasard.nextInt(20))) + "mg");
+        }
+
+        ArbreRadix<Integer> arbre = new ArbreRadix<>();
+        long debut = System.nanoTime();
+        for (int i = 0; i < nombreNoms; i++) {
+            arbre.ajouter(noms.get(i), i);
+        }
+        System.out.printf("Remplissage: %d noms en %.0f ms%n", arbre.taille(), (System.nanoTime() - debut) / 1e6);
+
+        // ===== Préfixes à chercher (tirés des noms existants) =====
+        String[] prefixes = new String[NOMBRE_RECHERCHES];
+        for (int i = 0; i < prefixes.length; i++) {
+            String nom = noms.get(hasard.nextInt(nombreNoms));
+            prefixes[i] = nom.substring(0, Math.min(nom.length(), 1 + hasard.nextInt(6)));
+        }
+
+        // ===== Préchauffage (compilation JIT) puis mesure =====
+        long total = 0;
+        for (int i = 0; i < prefixes.length / 4; i++) {
+            total += arbre.chercher(prefixes[i], SUGGESTIONS).size();
+        }
+
+        long[] durees = new long[prefixes.length];
+        for (int i = 0; i < prefixes.length; i++) {
+            long t0 = System.nanoTime();
+            total += arbre.chercher(prefixes[i], SUGGESTIONS).size();
+            durees[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(durees);
+
+        double p50 = durees[durees.length / 2] / 1e6;
+        double p99 = durees[(int) (durees.length * 0.99)] / 1e6;
+        double max = durees[durees.length - 1] / 1e6;
+
+        System.out.printf("Recherches: %d (%d suggestions trouvées)%n", prefixes.length, total);
+        System.out.printf("Médiane: %.4f ms | 99e centile: %.4f ms | max: %.4f ms%n", p50, p99, max);
+
+        if (p99 < OBJECTIF_MS) {
+            System.out.println("✓ Objectif atteint (99e centile < " + OBJECTIF_MS + " ms)");
+        } else {
+            System.out.println("✗ Objectif non atteint (99e centile >= " + OBJECTIF_MS + " ms)");
+        }
+    }
+
+    private static String genererNom(Random hasard) {
+        StringBuilder nom = new StringBuilder();
+        int syllabes = 2 + hasard.nextInt(4);
+        for (int i = 0; i < syllabes; i++) {
+            nom.append(SYLLABES[hasard.nextInt(SYLLABES.length)]);
+        }
+        nom.setCharAt(0, Character.toUpperCase(nom.charAt(0)));
+        return nom.toString();
+    }
+}
@@ -0,0 +1,292 @@
+package dao;
+
+import database.CSVHelper;
+import database.Horodatage;
+import database.Montant;
+import database.TablePartitionnee;
+import models.Vente;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Classe AgregatsVentes - Totaux des ventes tenus à jour en mémoire
+ *
+ * Le chiffre d'affaires (total, par jour, par pharmacien, par médicament)
+ * est mis à jour à chaque vente ajoutée ou supprimée: les rapports ne
+ * relisent plus l'historique des ventes.
+ *
+ * Les totaux de chaque jour sont enregistrés dans data/ventes/agregats.csv
+ * avec la version de la partition dont ils sont issus:
+ *
+ * jour;version;chiffreAffaires;nombreVentes;parPharmacien;parMedicament
+ * 2026-01-13;259-0-0;12.40;3;1=5.80|2=6.60;1=3.00|2=2.80|4=6.60
+ *
+ * Les montants sont additionnés en centimes (voir Montant): les totaux
+ * restent exacts quel que soit le nombre de ventes.
+ *
+ * Au démarrage, seuls les jours dont la partition a changé depuis
+ * (en général: le jour même) sont relus.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+class AgregatsVentes {
+
+    private static final String FICHIER = "ventes/agregats.csv";
+    private static final String[] ENTETES = {"jour", "version", "chiffreAffaires", "nombreVentes", "parPharmacien", "parMedicament"};
+
+    private final TablePartitionnee table;
+
+    // Totaux par jour (yyyy-MM-dd), dans l'ordre chronologique
+    private final TreeMap<String, Totaux> jours = new TreeMap<>();
+
+    // Totaux de tout l'historique
+    private Totaux general = new Totaux();
+
+    // Dernier jour vu: quand il change, les totaux de la veille sont enregistrés
+    private String jourCourant;
+    private boolean initialise = false;
+
+    AgregatsVentes(TablePartitionnee table) {
+        this.table = table;
+    }
+
+    /**
+     * Charge les totaux enregistrés et relit les jours modifiés depuis
+     * (une seule fois, après l'initialisation de la table)
+     */
+    synchronized void initialiser() {
+        if (initialise) {
+            return;
+        }
+
+        Map<String, Totaux> enregistres = lire();
+
+        for (String jour : table.jours()) {
+            Totaux totaux = enregistres.get(jour);
+            if (totaux == null || !totaux.version.equals(table.versionJour(jour))) {
+                totaux = calculer(jour);
+            }
+            jours.put(jour, totaux);
+        }
+
+        recalculerGeneral();
+        enregistrer();
+
+        jourCourant = Horodatage.jour(System.currentTimeMillis());
+        initialise = true;
+    }
+
+    // ========== MISE À JOUR ==========
+
+    /**
+     * Ajoute une vente validée aux totaux
+     */
+    synchronized void ajouter(Vente vente) {
+        String jour = Horodatage.jour(vente.getDateVente());
+        changerDeJour(jour);
+
+        jours.computeIfAbsent(jour, j -> new Totaux()).ajouter(vente.getIdPharmacien(), vente.getIdMedicament(), vente.getMontantTotal(), 1);
+        general.ajouter(vente.getIdPharmacien(), vente.getIdMedicament(), vente.getMontantTotal(), 1);
+    }
+
+    /**
+     * Retire une vente supprimée des totaux
+     */
+    synchronized void retirer(Vente vente) {
+        String jour = Horodatage.jour(vente.getDateVente());
+
+        Totaux totaux = jours.get(jour);
+        if (totaux != null) {
+            totaux.ajouter(vente.getIdPharmacien(), vente.getIdMedicament(), -vente.getMontantTotal(), -1);
+        }
+        general.ajouter(vente.getIdPharmacien(), vente.getIdMedicament(), -vente.getMontantTotal(), -1);
+    }
+
+    /**
+     * Au premier ajout d'une nouvelle journée, les jours précédents ne
+     * changent plus: leurs totaux sont relus puis enregistrés
+     */
+    private void changerDeJour(String jour) {
+        if (jour.compareTo(jourCourant) <= 0) {
+            return;
+        }
+        jourCourant = jour;
+
+        for (Map.Entry<String, Totaux> entree : jours.entrySet()) {
+            if (entree.getKey().compareTo(jour) < 0 && !entree.getValue().version.equals(table.versionJour(entree.getKey()))) {
+                entree.setValue(calculer(entree.getKey()));
+            }
+        }
+
+        recalculerGeneral();
+        enregistrer();
+    }
+
+    // ========== LECTURE ==========
+
+    synchronized long chiffreAffairesTotal() {
+        return general.chiffreAffaires;
+    }
+
+    synchronized int nombreVentesTotal() {
+        return general.nombreVentes;
+    }
+
+    synchronized long chiffreAffairesJour(String jour) {
+        Totaux totaux = jours.get(jour);
+        return totaux != null ? totaux.chiffreAffaires : 0;
+    }
+
+    synchronized int nombreVentesJour(String jour) {
+        Totaux totaux = jours.get(jour);
+        return totaux != null ? totaux.nombreVentes : 0;
+    }
+
+    /**
+     * Chiffre d'affaires d'une période (jours inclus): une addition par jour
+     */
+    synchronized long chiffreAffairesPeriode(String premierJour, String dernierJour) {
+        long total = 0;
+        if (premierJour.compareTo(dernierJour) <= 0) {
+            for (Totaux totaux : jours.subMap(premierJour, true, dernierJour, true).values()) {
+                total += totaux.chiffreAffaires;
+            }
+        }
+        return total;
+    }
+
+    synchronized long chiffreAffairesPharmacien(int idPharmacien) {
+        long[] montant = general.parPharmacien.get(idPharmacien);
+        return montant != null ? montant[0] : 0;
+    }
+
+    synchronized long chiffreAffairesMedicament(int idMedicament) {
+        long[] montant = general.parMedicament.get(idMedicament);
+        return montant != null ? montant[0] : 0;
+    }
+
+    // ========== CALCUL ==========
+
+    /**
+     * Relit la partition d'un jour (le résultat porte la version lue)
+     */
+    private Totaux calculer(String jour) {
+        Totaux totaux = new Totaux();
+
+        totaux.version = table.parcourirJour(jour, ligne -> {
+            totaux.ajouter(ligne.entier(1), ligne.entier(3), ligne.montant(5), 1);
+            return true;
+        });
+
+        return totaux;
+    }
+
+    private void recalculerGeneral() {
+        general = new Totaux();
+        for (Totaux totaux : jours.values()) {
+            general.ajouter(totaux);
+        }
+    }
+
+    // ========== PERSISTANCE ==========
+
+    private Map<String, Totaux> lire() {
+        Map<String, Totaux> enregistres = new HashMap<>();
+
+        for (String[] ligne : CSVHelper.lireFichier(FICHIER)) {
+            try {
+                Totaux totaux = new Totaux();
+                totaux.version = ligne[1];
+                totaux.chiffreAffaires = Montant.lire(ligne[2]);
+                totaux.nombreVentes = Integer.parseInt(ligne[3]);
+                lireDetail(ligne[4], totaux.parPharmacien);
+                lireDetail(ligne[5], totaux.parMedicament);
+                enregistres.put(ligne[0], totaux);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                // Ligne illisible: le jour sera simplement relu
+            }
+        }
+
+        return enregistres;
+    }
+
+    /**
+     * Remplacement atomique du fichier (voir CSVHelper.remplacerFichier)
+     * (un fichier perdu ou incomplet oblige seulement à relire les partitions)
+     */
+    private void enregistrer() {
+        List<String[]> lignes = new ArrayList<>();
+        for (Map.Entry<String, Totaux> entree : jours.entrySet()) {
+            Totaux totaux = entree.getValue();
+            lignes.add(new String[]{
+                entree.getKey(),
+                totaux.version,
+                Montant.ecrire(totaux.chiffreAffaires),
+                String.valueOf(totaux.nombreVentes),
+                ecrireDetail(totaux.parPharmacien),
+                ecrireDetail(totaux.parMedicament)
+            });
+        }
+
+        try {
+            CSVHelper.remplacerFichier(FICHIER, ENTETES, lignes);
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture de " + FICHIER + ": " + e.getMessage());
+        }
+    }
+
+    // Détail "1=5.80|2=6.60" (ID -> chiffre d'affaires)
+    private static void lireDetail(String detail, Map<Integer, long[]> montants) {
+        if (detail.isEmpty()) {
+            return;
+        }
+        for (String paire : detail.split("\\|")) {
+            String[] cleValeur = paire.split("=");
+            montants.put(Integer.parseInt(cleValeur[0]), new long[]{Montant.lire(cleValeur[1])});
+        }
+    }
+
+    private static String ecrireDetail(Map<Integer, long[]> montants) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Integer, long[]> entree : montants.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append('|');
+            }
+            sb.append(entree.getKey()).append('=').append(Montant.ecrire(entree.getValue()[0]));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Les totaux d'un jour (ou de tout l'historique)
+     */
+    private static class Totaux {
+        // Version de la partition dont les totaux sont issus ("" = calculés en mémoire)
+        String version = "";
+        long chiffreAffaires;
+        int nombreVentes;
+        // ID -> {centimes}: additionné sur place, sans Long à créer par vente
+        final Map<Integer, long[]> parPharmacien = new TreeMap<>();
+        final Map<Integer, long[]> parMedicament = new TreeMap<>();
+
+        void ajouter(int idPharmacien, int idMedicament, long montant, int nombre) {
+            chiffreAffaires += montant;
+            nombreVentes += nombre;
+            parPharmacien.computeIfAbsent(idPharmacien, id -> new long[1])[0] += montant;
+            parMedicament.computeIfAbsent(idMedicament, id -> new long[1])[0] += montant;
+        }
+
+        void ajouter(Totaux autres) {
+            chiffreAffaires += autres.chiffreAffaires;
+            nombreVentes += autres.nombreVentes;
+            autres.parPharmacien.forEach((id, montant) -> parPharmacien.computeIfAbsent(id, i -> new long[1])[0] += montant[0]);
+            autres.parMedicament.forEach((id, montant) -> parMedicament.computeIfAbsent(id, i -> new long[1])[0] += montant[0]);
+        }
+    }
+}
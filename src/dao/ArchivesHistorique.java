@@ -0,0 +1,101 @@
+package dao;
+
+import database.CSVHelper;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Classe ArchivesHistorique - Le détail des mouvements des jours compactés
+ *
+ * Quand l'historique d'un jour ancien est résumé (une ligne par médicament
+ * et par type d'opération, voir StockHistoriqueDAOCSV.compacter), ses lignes
+ * d'origine sont gardées ici, compressées:
+ *
+ * data/stock_historique/archives/
+ *     2026-01-13.csv.gz      id;idMedicament;quantite;typeOperation;dateOperation
+ *
+ * Un jour qui a une archive est un jour compacté. Les archives ne sont
+ * relues qu'à la demande (détail d'une période ancienne).
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+class ArchivesHistorique {
+
+    private static final String DOSSIER = "stock_historique/archives";
+    private static final String EXTENSION = ".csv.gz";
+
+    // Jours archivés (lus une fois dans le dossier)
+    private final TreeSet<String> jours = new TreeSet<>();
+
+    ArchivesHistorique() {
+        File dossier = new File(CSVHelper.DATA_FOLDER + DOSSIER);
+        dossier.mkdirs();
+
+        File[] fichiers = dossier.listFiles();
+        if (fichiers != null) {
+            for (File fichier : fichiers) {
+                String nomFichier = fichier.getName();
+                // Les fichiers .tmp sont des écritures interrompues
+                if (nomFichier.endsWith(EXTENSION)) {
+                    jours.add(nomFichier.substring(0, nomFichier.length() - EXTENSION.length()));
+                }
+            }
+        }
+    }
+
+    synchronized boolean contient(String jour) {
+        return jours.contains(jour);
+    }
+
+    /**
+     * Les lignes d'origine d'un jour archivé (sans les en-têtes)
+     */
+    List<String[]> lire(String jour) {
+        List<String[]> lignes = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(fichier(jour)))))) {
+            String ligne = reader.readLine(); // En-têtes
+            while ((ligne = reader.readLine()) != null) {
+                if (!ligne.trim().isEmpty()) {
+                    lignes.add(ligne.split(CSVHelper.SEPARATOR, -1));
+                }
+            }
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture de l'archive du " + jour + ": " + e.getMessage());
+        }
+        return lignes;
+    }
+
+    /**
+     * Enregistre les lignes d'origine d'un jour
+     *
+     * Écriture compressée et remplacement atomique (voir
+     * CSVHelper.remplacerFichier): une archive est complète ou absente.
+     */
+    synchronized boolean ecrire(String jour, String[] entetes, List<String[]> lignes) {
+        try {
+            CSVHelper.remplacerFichier(DOSSIER + "/" + jour + EXTENSION, entetes, lignes, true);
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'archivage du " + jour + ": " + e.getMessage());
+            return false;
+        }
+
+        jours.add(jour);
+        return true;
+    }
+
+    private static File fichier(String jour) {
+        return new File(CSVHelper.DATA_FOLDER + DOSSIER + "/" + jour + EXTENSION);
+    }
+}
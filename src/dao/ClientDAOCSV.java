@@ -0,0 +1,149 @@
+package dao;
+
+import database.CSVHelper;
+import database.JournalCSV;
+import models.Client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe ClientDAOCSV - Gère les opérations CRUD pour les Clients
+ * 
+ * Version CSV
+ * 
+ * @author Étudiant
+ * @version 2.0 (CSV)
+ */
+public class ClientDAOCSV implements ClientDAO {
+    
+    private static final String FICHIER = "clients.csv";
+    private static final String[] ENTETES = {"id", "nom", "prenom", "email", "adresse"};
+    
+    public ClientDAOCSV() {
+        CSVHelper.creerFichierSiAbsent(FICHIER, ENTETES);
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Client client) {
+        int nouvelId = CSVHelper.getProchainId(FICHIER);
+        client.setId(nouvelId);
+        
+        String[] donnees = {
+            String.valueOf(client.getId()),
+            client.getNom(),
+            client.getPrenom(),
+            client.getEmail() != null ? client.getEmail() : "",
+            client.getAdresse() != null ? client.getAdresse() : ""
+        };
+        
+        boolean succes = CSVHelper.ajouterLigne(FICHIER, donnees);
+        
+        if (succes) {
+            System.out.println("✓ Client ajouté avec succès! ID: " + client.getId());
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Client trouverParId(int id) {
+        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
+        
+        for (String[] ligne : lignes) {
+            if (Integer.parseInt(ligne[0]) == id) {
+                return extraireClient(ligne);
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Cherche des clients par nom ou prénom
+     */
+    @Override
+    public List<Client> rechercherParNom(String nom) {
+        List<Client> resultats = new ArrayList<>();
+        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
+        
+        for (String[] ligne : lignes) {
+            if (ligne[1].toLowerCase().contains(nom.toLowerCase()) ||
+                ligne[2].toLowerCase().contains(nom.toLowerCase())) {
+                resultats.add(extraireClient(ligne));
+            }
+        }
+        
+        return resultats;
+    }
+    
+    @Override
+    public List<Client> trouverTous() {
+        List<Client> clients = new ArrayList<>();
+        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
+        
+        for (String[] ligne : lignes) {
+            clients.add(extraireClient(ligne));
+        }
+        
+        return clients;
+    }
+    
+    // ========== UPDATE ==========
+    
+    @Override
+    public boolean mettreAJour(Client client) {
+        if (trouverParId(client.getId()) == null) {
+            return false;
+        }
+        
+        // La nouvelle version de la ligne est ajoutée au journal (pas de réécriture du fichier)
+        boolean succes = JournalCSV.ecrireMiseAJour(FICHIER, new String[]{
+            String.valueOf(client.getId()),
+            client.getNom(),
+            client.getPrenom(),
+            client.getEmail() != null ? client.getEmail() : "",
+            client.getAdresse() != null ? client.getAdresse() : ""
+        });
+        
+        if (succes) {
+            System.out.println("✓ Client mis à jour avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        if (trouverParId(id) == null) {
+            return false;
+        }
+        
+        // Suppression journalisée: un seul petit enregistrement en fin de journal
+        boolean succes = JournalCSV.ecrireSuppression(FICHIER, id);
+        
+        if (succes) {
+            System.out.println("✓ Client supprimé avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== MÉTHODE UTILITAIRE ==========
+    
+    private Client extraireClient(String[] ligne) {
+        Client client = new Client();
+        client.setId(Integer.parseInt(ligne[0]));
+        client.setNom(ligne[1]);
+        client.setPrenom(ligne[2]);
+        client.setEmail(ligne.length > 3 ? ligne[3] : "");
+        client.setAdresse(ligne.length > 4 ? ligne[4] : "");
+        return client;
+    }
+}
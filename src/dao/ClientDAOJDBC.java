@@ -0,0 +1,114 @@
+package dao;
+
+import database.JDBCHelper;
+import models.Client;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Classe ClientDAOJDBC - Gère les opérations CRUD pour les Clients
+ * 
+ * Version JDBC - Table Client de database/schema.sql
+ * 
+ * @author Étudiant
+ * @version 1.0 (JDBC)
+ */
+public class ClientDAOJDBC implements ClientDAO {
+    
+    private static final String COLONNES = "id_client, nom, prenom, email, adresse";
+    
+    static final String AJOUTER = "INSERT INTO Client (" + COLONNES + ") VALUES (?, ?, ?, ?, ?)";
+    private static final String PAR_ID = "SELECT " + COLONNES + " FROM Client WHERE id_client = ?";
+    private static final String PAR_NOM = "SELECT " + COLONNES + " FROM Client"
+        + " WHERE LOWER(nom) LIKE ? OR LOWER(prenom) LIKE ? ORDER BY id_client";
+    private static final String TOUS = "SELECT " + COLONNES + " FROM Client ORDER BY id_client";
+    private static final String METTRE_A_JOUR = "UPDATE Client SET nom = ?, prenom = ?, email = ?, adresse = ? WHERE id_client = ?";
+    private static final String SUPPRIMER = "DELETE FROM Client WHERE id_client = ?";
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Client client) {
+        client.setId(JDBCHelper.prochainId("Client", "id_client"));
+        
+        boolean succes = JDBCHelper.executer(AJOUTER, valeurs(client)) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Client ajouté avec succès! ID: " + client.getId());
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Client trouverParId(int id) {
+        return JDBCHelper.trouver(PAR_ID, ClientDAOJDBC::extraireClient, id);
+    }
+    
+    /**
+     * Cherche des clients par nom ou prénom
+     */
+    @Override
+    public List<Client> rechercherParNom(String nom) {
+        String motif = "%" + nom.toLowerCase() + "%";
+        return JDBCHelper.lister(PAR_NOM, ClientDAOJDBC::extraireClient, motif, motif);
+    }
+    
+    @Override
+    public List<Client> trouverTous() {
+        return JDBCHelper.lister(TOUS, ClientDAOJDBC::extraireClient);
+    }
+    
+    // ========== UPDATE ==========
+    
+    @Override
+    public boolean mettreAJour(Client client) {
+        boolean succes = JDBCHelper.executer(METTRE_A_JOUR, client.getNom(), client.getPrenom(),
+                                             texte(client.getEmail()), texte(client.getAdresse()), client.getId()) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Client mis à jour avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        boolean succes = JDBCHelper.executer(SUPPRIMER, id) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Client supprimé avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    static Object[] valeurs(Client client) {
+        return new Object[]{client.getId(), client.getNom(), client.getPrenom(),
+                            texte(client.getEmail()), texte(client.getAdresse())};
+    }
+    
+    // Comme dans le fichier CSV: une valeur absente est une chaîne vide
+    private static String texte(String valeur) {
+        return valeur != null ? valeur : "";
+    }
+    
+    private static Client extraireClient(ResultSet resultat) throws SQLException {
+        return new Client(
+            resultat.getInt("id_client"),
+            resultat.getString("nom"),
+            resultat.getString("prenom"),
+            resultat.getString("email"),
+            resultat.getString("adresse")
+        );
+    }
+}
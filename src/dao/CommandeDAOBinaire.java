@@ -0,0 +1,195 @@
+package dao;
+
+import database.GestionnaireTransactions;
+import database.LigneBinaire;
+import database.TableBinaire;
+import database.Transaction;
+import database.TransactionBinaire;
+import models.Commande;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Classe CommandeDAOBinaire - Gère les opérations CRUD pour les Commandes
+ *
+ * Version binaire - data/commandes.bin (voir TableBinaire)
+ *
+ * @author Étudiant
+ * @version 1.0 (binaire)
+ */
+public class CommandeDAOBinaire implements CommandeDAO {
+    
+    // Colonnes (0 = ID)
+    private static final int ID_GESTIONNAIRE = 1;
+    private static final int ID_MEDICAMENT = 2;
+    private static final int QUANTITE = 3;
+    private static final int STATUT = 4;
+    private static final int DATE = 5;
+    
+    static final TableBinaire TABLE = new TableBinaire("commandes.bin")
+        .entier("idGestionnaire")
+        .entier("idMedicament")
+        .entier("quantite")
+        .texte("statut", 20)
+        .horodatage("dateCommande");
+    
+    public CommandeDAOBinaire() {
+        GestionnaireTransactions.recuperer();
+        TABLE.initialiser();
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Commande commande) {
+        commande.setId(TABLE.prochainId());
+        
+        if (commande.getDateCommande() == 0) {
+            commande.setDateCommande(System.currentTimeMillis());
+        }
+        
+        Transaction transaction = new Transaction();
+        TransactionBinaire.de(transaction).ecrire(versLigne(commande));
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Commande créée avec succès! ID: " + commande.getId());
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Commande trouverParId(int id) {
+        LigneBinaire ligne = TABLE.lire(id);
+        return ligne != null ? extraireCommande(ligne) : null;
+    }
+    
+    @Override
+    public List<Commande> trouverTous() {
+        return chercher(ligne -> true);
+    }
+    
+    /**
+     * Récupère les commandes en attente
+     */
+    @Override
+    public List<Commande> trouverCommandesEnAttente() {
+        return chercher(ligne -> ligne.egal(STATUT, Commande.STATUT_EN_ATTENTE));
+    }
+    
+    /**
+     * Récupère les commandes d'un gestionnaire
+     */
+    @Override
+    public List<Commande> trouverParGestionnaire(int idGestionnaire) {
+        return chercher(ligne -> ligne.entier(ID_GESTIONNAIRE) == idGestionnaire);
+    }
+    
+    // ========== UPDATE ==========
+    
+    /**
+     * Met à jour le statut d'une commande
+     *
+     * La ligne est relue à la validation: deux mises à jour en même temps
+     * s'appliquent l'une après l'autre.
+     */
+    @Override
+    public boolean mettreAJourStatut(int idCommande, String nouveauStatut) {
+        Transaction transaction = new Transaction();
+        TransactionBinaire binaire = TransactionBinaire.de(transaction);
+        
+        binaire.ajouterEtape(() -> {
+            LigneBinaire ligne = TABLE.lire(idCommande);
+            if (ligne == null) {
+                return false;
+            }
+            binaire.ecrire(ligne.ecrireTexte(STATUT, nouveauStatut));
+            return true;
+        });
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Statut de la commande mis à jour: " + nouveauStatut);
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Marque une commande comme livrée
+     */
+    @Override
+    public boolean marquerLivree(int idCommande) {
+        return mettreAJourStatut(idCommande, Commande.STATUT_LIVREE);
+    }
+    
+    /**
+     * Annule une commande
+     */
+    @Override
+    public boolean annuler(int idCommande) {
+        return mettreAJourStatut(idCommande, Commande.STATUT_ANNULEE);
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        if (TABLE.lire(id) == null) {
+            return false;
+        }
+        
+        Transaction transaction = new Transaction();
+        TransactionBinaire.de(transaction).supprimer(TABLE, id);
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Commande supprimée avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    private List<Commande> chercher(Predicate<LigneBinaire> filtre) {
+        List<Commande> commandes = new ArrayList<>();
+        
+        TABLE.parcourir(ligne -> {
+            if (filtre.test(ligne)) {
+                commandes.add(extraireCommande(ligne));
+            }
+            return true;
+        });
+        
+        return commandes;
+    }
+    
+    static LigneBinaire versLigne(Commande commande) {
+        return TABLE.nouvelleLigne(commande.getId())
+            .ecrireEntier(ID_GESTIONNAIRE, commande.getIdGestionnaire())
+            .ecrireEntier(ID_MEDICAMENT, commande.getIdMedicament())
+            .ecrireEntier(QUANTITE, commande.getQuantite())
+            .ecrireTexte(STATUT, commande.getStatut())
+            .ecrireHorodatage(DATE, commande.getDateCommande());
+    }
+    
+    private static Commande extraireCommande(LigneBinaire ligne) {
+        Commande commande = new Commande();
+        commande.setId(ligne.id());
+        commande.setIdGestionnaire(ligne.entier(ID_GESTIONNAIRE));
+        commande.setIdMedicament(ligne.entier(ID_MEDICAMENT));
+        commande.setQuantite(ligne.entier(QUANTITE));
+        commande.setStatut(ligne.texte(STATUT));
+        commande.setDateCommande(ligne.horodatage(DATE));
+        return commande;
+    }
+}
@@ -0,0 +1,199 @@
+package dao;
+
+import database.CSVHelper;
+import database.Horodatage;
+import database.JournalCSV;
+import models.Commande;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe CommandeDAOCSV - Gère les opérations CRUD pour les Commandes
+ * 
+ * Version CSV
+ * 
+ * @author Étudiant
+ * @version 2.0 (CSV)
+ */
+public class CommandeDAOCSV implements CommandeDAO {
+    
+    private static final String FICHIER = "commandes.csv";
+    static final String[] ENTETES = {"id", "idGestionnaire", "idMedicament", "quantite", "statut", "dateCommande"};
+    
+    public CommandeDAOCSV() {
+        CSVHelper.creerFichierSiAbsent(FICHIER, ENTETES);
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Commande commande) {
+        int nouvelId = CSVHelper.getProchainId(FICHIER);
+        commande.setId(nouvelId);
+        
+        if (commande.getDateCommande() == 0) {
+            commande.setDateCommande(System.currentTimeMillis());
+        }
+        
+        boolean succes = CSVHelper.ajouterLigne(FICHIER, versLigne(commande));
+        
+        if (succes) {
+            System.out.println("✓ Commande créée avec succès! ID: " + commande.getId());
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Commande trouverParId(int id) {
+        Commande[] resultat = new Commande[1];
+        
+        // La lecture s'arrête dès que la commande est trouvée
+        CSVHelper.parcourirFichier(FICHIER, ligne -> {
+            if (Integer.parseInt(ligne[0]) == id) {
+                resultat[0] = extraireCommande(ligne);
+                return false;
+            }
+            return true;
+        });
+        
+        return resultat[0];
+    }
+    
+    @Override
+    public List<Commande> trouverTous() {
+        List<Commande> commandes = new ArrayList<>();
+        
+        CSVHelper.parcourirFichier(FICHIER, ligne -> {
+            commandes.add(extraireCommande(ligne));
+            return true;
+        });
+        
+        return commandes;
+    }
+    
+    /**
+     * Récupère les commandes en attente
+     */
+    @Override
+    public List<Commande> trouverCommandesEnAttente() {
+        List<Commande> commandes = new ArrayList<>();
+        
+        CSVHelper.parcourirFichier(FICHIER, ligne -> {
+            if (ligne[4].equals(Commande.STATUT_EN_ATTENTE)) {
+                commandes.add(extraireCommande(ligne));
+            }
+            return true;
+        });
+        
+        return commandes;
+    }
+    
+    /**
+     * Récupère les commandes d'un gestionnaire
+     */
+    @Override
+    public List<Commande> trouverParGestionnaire(int idGestionnaire) {
+        List<Commande> commandes = new ArrayList<>();
+        
+        CSVHelper.parcourirFichier(FICHIER, ligne -> {
+            if (Integer.parseInt(ligne[1]) == idGestionnaire) {
+                commandes.add(extraireCommande(ligne));
+            }
+            return true;
+        });
+        
+        return commandes;
+    }
+    
+    // ========== UPDATE ==========
+    
+    /**
+     * Met à jour le statut d'une commande
+     */
+    @Override
+    public boolean mettreAJourStatut(int idCommande, String nouveauStatut) {
+        Commande commande = trouverParId(idCommande);
+        if (commande == null) {
+            return false;
+        }
+        
+        commande.setStatut(nouveauStatut);
+        
+        // Seule la ligne modifiée est écrite, dans le journal du fichier
+        boolean succes = JournalCSV.ecrireMiseAJour(FICHIER, versLigne(commande));
+        
+        if (succes) {
+            System.out.println("✓ Statut de la commande mis à jour: " + nouveauStatut);
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Marque une commande comme livrée
+     */
+    @Override
+    public boolean marquerLivree(int idCommande) {
+        return mettreAJourStatut(idCommande, Commande.STATUT_LIVREE);
+    }
+    
+    /**
+     * Annule une commande
+     */
+    @Override
+    public boolean annuler(int idCommande) {
+        return mettreAJourStatut(idCommande, Commande.STATUT_ANNULEE);
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        if (trouverParId(id) == null) {
+            return false;
+        }
+        
+        // Suppression journalisée: un seul petit enregistrement en fin de journal
+        boolean succes = JournalCSV.ecrireSuppression(FICHIER, id);
+        
+        if (succes) {
+            System.out.println("✓ Commande supprimée avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    static String[] versLigne(Commande commande) {
+        return new String[]{
+            String.valueOf(commande.getId()),
+            String.valueOf(commande.getIdGestionnaire()),
+            String.valueOf(commande.getIdMedicament()),
+            String.valueOf(commande.getQuantite()),
+            commande.getStatut(),
+            Horodatage.ecrire(commande.getDateCommande())
+        };
+    }
+    
+    private Commande extraireCommande(String[] ligne) {
+        Commande commande = new Commande();
+        commande.setId(Integer.parseInt(ligne[0]));
+        commande.setIdGestionnaire(Integer.parseInt(ligne[1]));
+        commande.setIdMedicament(Integer.parseInt(ligne[2]));
+        commande.setQuantite(Integer.parseInt(ligne[3]));
+        commande.setStatut(ligne[4]);
+        
+        try {
+            commande.setDateCommande(Horodatage.lire(ligne[5]));
+        } catch (IllegalArgumentException e) {
+            commande.setDateCommande(System.currentTimeMillis());
+        }
+        
+        return commande;
+    }
+}
@@ -0,0 +1,145 @@
+package dao;
+
+import database.JDBCHelper;
+import models.Commande;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Classe CommandeDAOJDBC - Gère les opérations CRUD pour les Commandes
+ *
+ * Version JDBC - Table Commande de database/schema.sql
+ *
+ * @author Étudiant
+ * @version 1.0 (JDBC)
+ */
+public class CommandeDAOJDBC implements CommandeDAO {
+    
+    private static final String COLONNES = "id_commande, id_gestionnaire, id_medicament, quantite, statut, date_commande";
+    
+    static final String AJOUTER = "INSERT INTO Commande (" + COLONNES + ") VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String PAR_ID = "SELECT " + COLONNES + " FROM Commande WHERE id_commande = ?";
+    private static final String TOUS = "SELECT " + COLONNES + " FROM Commande ORDER BY id_commande";
+    private static final String PAR_STATUT = "SELECT " + COLONNES + " FROM Commande WHERE statut = ? ORDER BY id_commande";
+    private static final String PAR_GESTIONNAIRE = "SELECT " + COLONNES + " FROM Commande WHERE id_gestionnaire = ? ORDER BY id_commande";
+    private static final String METTRE_A_JOUR_STATUT = "UPDATE Commande SET statut = ? WHERE id_commande = ?";
+    private static final String SUPPRIMER = "DELETE FROM Commande WHERE id_commande = ?";
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Commande commande) {
+        commande.setId(JDBCHelper.prochainId("Commande", "id_commande"));
+        
+        if (commande.getDateCommande() == 0) {
+            commande.setDateCommande(System.currentTimeMillis());
+        }
+        
+        boolean succes = JDBCHelper.executer(AJOUTER, valeurs(commande)) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Commande créée avec succès! ID: " + commande.getId());
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Commande trouverParId(int id) {
+        return JDBCHelper.trouver(PAR_ID, CommandeDAOJDBC::extraireCommande, id);
+    }
+    
+    @Override
+    public List<Commande> trouverTous() {
+        return JDBCHelper.lister(TOUS, CommandeDAOJDBC::extraireCommande);
+    }
+    
+    /**
+     * Récupère les commandes en attente
+     */
+    @Override
+    public List<Commande> trouverCommandesEnAttente() {
+        return JDBCHelper.lister(PAR_STATUT, CommandeDAOJDBC::extraireCommande, Commande.STATUT_EN_ATTENTE);
+    }
+    
+    /**
+     * Récupère les commandes d'un gestionnaire
+     */
+    @Override
+    public List<Commande> trouverParGestionnaire(int idGestionnaire) {
+        return JDBCHelper.lister(PAR_GESTIONNAIRE, CommandeDAOJDBC::extraireCommande, idGestionnaire);
+    }
+    
+    // ========== UPDATE ==========
+    
+    /**
+     * Met à jour le statut d'une commande
+     */
+    @Override
+    public boolean mettreAJourStatut(int idCommande, String nouveauStatut) {
+        boolean succes = JDBCHelper.executer(METTRE_A_JOUR_STATUT, nouveauStatut, idCommande) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Statut de la commande mis à jour: " + nouveauStatut);
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Marque une commande comme livrée
+     */
+    @Override
+    public boolean marquerLivree(int idCommande) {
+        return mettreAJourStatut(idCommande, Commande.STATUT_LIVREE);
+    }
+    
+    /**
+     * Annule une commande
+     */
+    @Override
+    public boolean annuler(int idCommande) {
+        return mettreAJourStatut(idCommande, Commande.STATUT_ANNULEE);
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        boolean succes = JDBCHelper.executer(SUPPRIMER, id) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Commande supprimée avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    static Object[] valeurs(Commande commande) {
+        return new Object[]{
+            commande.getId(),
+            commande.getIdGestionnaire(),
+            commande.getIdMedicament(),
+            commande.getQuantite(),
+            commande.getStatut(),
+            JDBCHelper.horodatage(commande.getDateCommande())
+        };
+    }
+    
+    private static Commande extraireCommande(ResultSet resultat) throws SQLException {
+        Commande commande = new Commande();
+        commande.setId(resultat.getInt("id_commande"));
+        commande.setIdGestionnaire(resultat.getInt("id_gestionnaire"));
+        commande.setIdMedicament(resultat.getInt("id_medicament"));
+        commande.setQuantite(resultat.getInt("quantite"));
+        commande.setStatut(resultat.getString("statut"));
+        commande.setDateCommande(resultat.getTimestamp("date_commande").getTime());
+        return commande;
+    }
+}
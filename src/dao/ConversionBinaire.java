@@ -0,0 +1,156 @@
+package dao;
+
+import database.CSVHelper;
+import database.LigneBinaire;
+import database.TableBinaire;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Classe ConversionBinaire - Passage des fichiers CSV aux tables binaires
+ * (stockage binaire) et retour
+ *
+ *   java -cp bin dao.ConversionBinaire importer
+ *   java -cp bin dao.ConversionBinaire exporter
+ *
+ * importer: les médicaments, ventes, commandes et l'historique sont lus
+ * par les DAO CSV (journaux, partitions et archives compris) puis écrits
+ * dans les tables binaires vides, en gardant les IDs. Si une table ne
+ * peut pas être remplie, toutes sont vidées. Les clients, pharmaciens et
+ * gestionnaires restent en CSV.
+ *
+ * exporter: les tables binaires sont écrites en CSV dans data/export/
+ * (mêmes colonnes que les fichiers CSV), pour les lire dans un tableur ou
+ * revenir au stockage CSV.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public final class ConversionBinaire {
+    
+    private static final String DOSSIER_EXPORT = "export/";
+    
+    private ConversionBinaire() {
+    }
+    
+    public static void main(String[] args) {
+        CSVHelper.initDataFolder();
+        
+        if (args.length == 1 && args[0].equals("importer")) {
+            System.exit(importer() ? 0 : 1);
+        } else if (args.length == 1 && args[0].equals("exporter")) {
+            System.exit(exporter() ? 0 : 1);
+        }
+        
+        System.err.println("Usage: java dao.ConversionBinaire importer|exporter");
+        System.exit(2);
+    }
+    
+    /**
+     * Importe les données CSV dans les tables binaires vides
+     *
+     * @return true si tout a été importé
+     */
+    public static boolean importer() {
+        long debut = System.currentTimeMillis();
+        
+        // Ouvre (ou crée) les tables binaires
+        new MedicamentDAOBinaire();
+        new VenteDAOBinaire();
+        new CommandeDAOBinaire();
+        new StockHistoriqueDAOBinaire();
+        
+        TableBinaire[] tables = {
+            MedicamentDAOBinaire.TABLE, VenteDAOBinaire.TABLE, CommandeDAOBinaire.TABLE, StockHistoriqueDAOBinaire.TABLE
+        };
+        for (TableBinaire table : tables) {
+            if (!table.estVide()) {
+                System.err.println("✗ " + table.fichier() + " contient déjà des données: import annulé.");
+                return false;
+            }
+        }
+        
+        boolean succes;
+        try {
+            succes = remplir(MedicamentDAOBinaire.TABLE,
+                             new MedicamentDAOCSV().trouverTous(), MedicamentDAOBinaire::versLigne)
+                && remplir(VenteDAOBinaire.TABLE,
+                           new VenteDAOCSV().trouverTous(), VenteDAOBinaire::versLigne)
+                && remplir(CommandeDAOBinaire.TABLE,
+                           new CommandeDAOCSV().trouverTous(), CommandeDAOBinaire::versLigne)
+                // Le détail de tout l'historique, jours compactés compris
+                && remplir(StockHistoriqueDAOBinaire.TABLE,
+                           new StockHistoriqueDAOCSV().trouverDetailParPeriode("0000-01-01", "9999-12-31"),
+                           StockHistoriqueDAOBinaire::versLigne);
+        } catch (IllegalArgumentException e) {
+            // Un texte trop long pour sa colonne
+            System.err.println("✗ " + e.getMessage());
+            succes = false;
+        }
+        
+        if (!succes) {
+            for (TableBinaire table : tables) {
+                table.vider();
+            }
+            System.err.println("✗ Import annulé: les tables binaires sont vides.");
+            return false;
+        }
+        
+        System.out.println("✓ Import terminé en " + (System.currentTimeMillis() - debut) + " ms");
+        return true;
+    }
+    
+    /**
+     * Exporte les tables binaires en CSV dans data/export/
+     *
+     * @return true si tous les fichiers ont été écrits
+     */
+    public static boolean exporter() {
+        new File(CSVHelper.DATA_FOLDER + DOSSIER_EXPORT).mkdirs();
+        
+        boolean succes = exporter("medicaments.csv", MedicamentDAOCSV.ENTETES,
+                                  new MedicamentDAOBinaire().trouverTous(), MedicamentDAOCSV::versLigne)
+            && exporter("ventes.csv", VenteDAOCSV.ENTETES,
+                        new VenteDAOBinaire().trouverTous(), VenteDAOCSV::versLigne)
+            && exporter("commandes.csv", CommandeDAOCSV.ENTETES,
+                        new CommandeDAOBinaire().trouverTous(), CommandeDAOCSV::versLigne)
+            && exporter("stock_historique.csv", StockHistoriqueDAOCSV.ENTETES,
+                        new StockHistoriqueDAOBinaire().trouverTous(), StockHistoriqueDAOCSV::versLigne);
+        
+        if (succes) {
+            System.out.println("✓ Export terminé dans " + CSVHelper.DATA_FOLDER + DOSSIER_EXPORT);
+        }
+        return succes;
+    }
+    
+    private static <T> boolean remplir(TableBinaire table, List<T> donnees, Function<T, LigneBinaire> versLigne) {
+        List<LigneBinaire> lignes = new ArrayList<>();
+        for (T donnee : donnees) {
+            lignes.add(versLigne.apply(donnee));
+        }
+        
+        if (!table.remplir(lignes)) {
+            return false;
+        }
+        
+        System.out.println("✓ " + table.fichier() + ": " + lignes.size() + " ligne(s)");
+        return true;
+    }
+    
+    private static <T> boolean exporter(String fichier, String[] entetes, List<T> donnees, Function<T, String[]> versLigne) {
+        List<String[]> lignes = new ArrayList<>();
+        for (T donnee : donnees) {
+            lignes.add(versLigne.apply(donnee));
+        }
+        
+        if (!CSVHelper.ecrireFichier(DOSSIER_EXPORT + fichier, entetes, lignes)) {
+            return false;
+        }
+        
+        System.out.println("✓ " + fichier + ": " + lignes.size() + " ligne(s)");
+        return true;
+    }
+}
@@ -0,0 +1,100 @@
+package dao;
+
+/**
+ * Classe FabriqueDAO - Crée les DAO du stockage choisi au démarrage
+ * 
+ * Les services ne créent jamais un DAO eux-mêmes: ils le demandent ici et
+ * ne voient que son interface. Changer de stockage ne touche donc pas à la
+ * logique métier.
+ * 
+ * Le stockage est lu une fois dans la propriété système pharmacie.stockage:
+ * 
+ *   java -Dpharmacie.stockage=csv Main
+ * 
+ * Stockages disponibles:
+ * - csv (par défaut): fichiers CSV dans data/
+ * - jdbc: base SQL embarquée (voir database.PoolConnexions), à remplir
+ *   une première fois avec les fichiers CSV (voir MigrationCSV)
+ * - binaire: médicaments, ventes, commandes et historique en lignes
+ *   binaires de taille fixe (voir database.TableBinaire), à importer une
+ *   première fois depuis les fichiers CSV (voir ConversionBinaire); les
+ *   clients et le personnel restent en CSV
+ * 
+ * @author Étudiant
+ * @version 1.2
+ */
+public final class FabriqueDAO {
+    
+    public static final String PROPRIETE = "pharmacie.stockage";
+    public static final String CSV = "csv";
+    public static final String JDBC = "jdbc";
+    public static final String BINAIRE = "binaire";
+    
+    private static final String STOCKAGE = lireStockage();
+    
+    private FabriqueDAO() {
+    }
+    
+    /**
+     * Le stockage utilisé ("csv", "jdbc" ou "binaire")
+     */
+    public static String stockage() {
+        return STOCKAGE;
+    }
+    
+    public static MedicamentDAO medicaments() {
+        switch (STOCKAGE) {
+            case JDBC: return new MedicamentDAOJDBC();
+            case BINAIRE: return new MedicamentDAOBinaire();
+            default: return new MedicamentDAOCSV();
+        }
+    }
+    
+    public static VenteDAO ventes() {
+        switch (STOCKAGE) {
+            case JDBC: return new VenteDAOJDBC();
+            case BINAIRE: return new VenteDAOBinaire();
+            default: return new VenteDAOCSV();
+        }
+    }
+    
+    public static ClientDAO clients() {
+        return STOCKAGE.equals(JDBC) ? new ClientDAOJDBC() : new ClientDAOCSV();
+    }
+    
+    public static CommandeDAO commandes() {
+        switch (STOCKAGE) {
+            case JDBC: return new CommandeDAOJDBC();
+            case BINAIRE: return new CommandeDAOBinaire();
+            default: return new CommandeDAOCSV();
+        }
+    }
+    
+    public static PharmacienDAO pharmaciens() {
+        return STOCKAGE.equals(JDBC) ? new PharmacienDAOJDBC() : new PharmacienDAOCSV();
+    }
+    
+    public static GestionnaireDAO gestionnaires() {
+        return STOCKAGE.equals(JDBC) ? new GestionnaireDAOJDBC() : new GestionnaireDAOCSV();
+    }
+    
+    public static StockHistoriqueDAO historiqueStock() {
+        switch (STOCKAGE) {
+            case JDBC: return new StockHistoriqueDAOJDBC();
+            case BINAIRE: return new StockHistoriqueDAOBinaire();
+            default: return new StockHistoriqueDAOCSV();
+        }
+    }
+    
+    // ========== MÉTHODE UTILITAIRE ==========
+    
+    private static String lireStockage() {
+        String stockage = System.getProperty(PROPRIETE, CSV).trim().toLowerCase();
+        
+        if (!stockage.equals(CSV) && !stockage.equals(JDBC) && !stockage.equals(BINAIRE)) {
+            System.err.println("⚠️ Stockage inconnu: " + stockage + " (" + CSV + " utilisé)");
+            return CSV;
+        }
+        return stockage;
+    }
+}
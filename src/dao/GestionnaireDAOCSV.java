@@ -0,0 +1,160 @@
+package dao;
+
+import database.CSVHelper;
+import database.JournalCSV;
+import models.Gestionnaire;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe GestionnaireDAOCSV - Gère les opérations CRUD pour les Gestionnaires
+ * 
+ * Version CSV - Utilise des fichiers CSV au lieu de MySQL
+ * 
+ * @author Étudiant
+ * @version 2.0 (CSV)
+ */
+public class GestionnaireDAOCSV implements GestionnaireDAO {
+    
+    private static final String FICHIER = "gestionnaires.csv";
+    private static final String[] ENTETES = {"id", "nom", "prenom", "login", "password"};
+    
+    public GestionnaireDAOCSV() {
+        CSVHelper.creerFichierSiAbsent(FICHIER, ENTETES);
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Gestionnaire gestionnaire) {
+        int nouvelId = CSVHelper.getProchainId(FICHIER);
+        gestionnaire.setId(nouvelId);
+        
+        String[] donnees = {
+            String.valueOf(gestionnaire.getId()),
+            gestionnaire.getNom(),
+            gestionnaire.getPrenom(),
+            gestionnaire.getLogin(),
+            gestionnaire.getPassword()
+        };
+        
+        boolean succes = CSVHelper.ajouterLigne(FICHIER, donnees);
+        
+        if (succes) {
+            System.out.println("✓ Gestionnaire ajouté avec succès! ID: " + gestionnaire.getId());
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Gestionnaire trouverParId(int id) {
+        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
+        
+        for (String[] ligne : lignes) {
+            if (Integer.parseInt(ligne[0]) == id) {
+                return extraireGestionnaire(ligne);
+            }
+        }
+        
+        return null;
+    }
+    
+    @Override
+    public Gestionnaire trouverParLogin(String login) {
+        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
+        
+        for (String[] ligne : lignes) {
+            if (ligne[3].equals(login)) {
+                return extraireGestionnaire(ligne);
+            }
+        }
+        
+        return null;
+    }
+    
+    @Override
+    public List<Gestionnaire> trouverTous() {
+        List<Gestionnaire> gestionnaires = new ArrayList<>();
+        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
+        
+        for (String[] ligne : lignes) {
+            gestionnaires.add(extraireGestionnaire(ligne));
+        }
+        
+        return gestionnaires;
+    }
+    
+    // ========== UPDATE ==========
+    
+    @Override
+    public boolean mettreAJour(Gestionnaire gestionnaire) {
+        if (trouverParId(gestionnaire.getId()) == null) {
+            return false;
+        }
+        
+        // La nouvelle version de la ligne est ajoutée au journal (pas de réécriture du fichier)
+        boolean succes = JournalCSV.ecrireMiseAJour(FICHIER, new String[]{
+            String.valueOf(gestionnaire.getId()),
+            gestionnaire.getNom(),
+            gestionnaire.getPrenom(),
+            gestionnaire.getLogin(),
+            gestionnaire.getPassword()
+        });
+        
+        if (succes) {
+            System.out.println("✓ Gestionnaire mis à jour avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        if (trouverParId(id) == null) {
+            return false;
+        }
+        
+        // Suppression journalisée: un seul petit enregistrement en fin de journal
+        boolean succes = JournalCSV.ecrireSuppression(FICHIER, id);
+        
+        if (succes) {
+            System.out.println("✓ Gestionnaire supprimé avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== AUTHENTIFICATION ==========
+    
+    @Override
+    public Gestionnaire authentifier(String login, String password) {
+        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
+        
+        for (String[] ligne : lignes) {
+            if (ligne[3].equals(login) && ligne[4].equals(password)) {
+                System.out.println("✓ Authentification gestionnaire réussie!");
+                return extraireGestionnaire(ligne);
+            }
+        }
+        
+        return null;
+    }
+    
+    // ========== MÉTHODE UTILITAIRE ==========
+    
+    private Gestionnaire extraireGestionnaire(String[] ligne) {
+        Gestionnaire gestionnaire = new Gestionnaire();
+        gestionnaire.setId(Integer.parseInt(ligne[0]));
+        gestionnaire.setNom(ligne[1]);
+        gestionnaire.setPrenom(ligne[2]);
+        gestionnaire.setLogin(ligne[3]);
+        gestionnaire.setPassword(ligne[4]);
+        return gestionnaire;
+    }
+}
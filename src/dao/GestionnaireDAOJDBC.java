@@ -0,0 +1,126 @@
+package dao;
+
+import database.JDBCHelper;
+import models.Gestionnaire;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Classe GestionnaireDAOJDBC - Gère les opérations CRUD pour les Gestionnaires
+ * 
+ * Version JDBC - Table Gestionnaire de database/schema.sql
+ * 
+ * @author Étudiant
+ * @version 1.0 (JDBC)
+ */
+public class GestionnaireDAOJDBC implements GestionnaireDAO {
+    
+    private static final String COLONNES = "id_gestionnaire, nom, prenom, login, password";
+    
+    static final String AJOUTER = "INSERT INTO Gestionnaire (" + COLONNES + ") VALUES (?, ?, ?, ?, ?)";
+    private static final String PAR_ID = "SELECT " + COLONNES + " FROM Gestionnaire WHERE id_gestionnaire = ?";
+    private static final String PAR_LOGIN = "SELECT " + COLONNES + " FROM Gestionnaire WHERE login = ?";
+    private static final String TOUS = "SELECT " + COLONNES + " FROM Gestionnaire ORDER BY id_gestionnaire";
+    private static final String METTRE_A_JOUR = "UPDATE Gestionnaire SET nom = ?, prenom = ?, login = ?, password = ? WHERE id_gestionnaire = ?";
+    private static final String SUPPRIMER = "DELETE FROM Gestionnaire WHERE id_gestionnaire = ?";
+    
+    // ========== CREATE (Créer) ==========
+    
+    /**
+     * Ajoute un nouveau gestionnaire
+     */
+    @Override
+    public boolean ajouter(Gestionnaire gestionnaire) {
+        gestionnaire.setId(JDBCHelper.prochainId("Gestionnaire", "id_gestionnaire"));
+        
+        boolean succes = JDBCHelper.executer(AJOUTER, valeurs(gestionnaire)) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Gestionnaire ajouté avec succès! ID: " + gestionnaire.getId());
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ (Lire) ==========
+    
+    @Override
+    public Gestionnaire trouverParId(int id) {
+        return JDBCHelper.trouver(PAR_ID, GestionnaireDAOJDBC::extraireGestionnaire, id);
+    }
+    
+    /**
+     * Trouve un gestionnaire par son login (login unique dans la table)
+     */
+    @Override
+    public Gestionnaire trouverParLogin(String login) {
+        return JDBCHelper.trouver(PAR_LOGIN, GestionnaireDAOJDBC::extraireGestionnaire, login);
+    }
+    
+    @Override
+    public List<Gestionnaire> trouverTous() {
+        return JDBCHelper.lister(TOUS, GestionnaireDAOJDBC::extraireGestionnaire);
+    }
+    
+    // ========== UPDATE (Mettre à jour) ==========
+    
+    @Override
+    public boolean mettreAJour(Gestionnaire gestionnaire) {
+        boolean succes = JDBCHelper.executer(METTRE_A_JOUR, gestionnaire.getNom(), gestionnaire.getPrenom(),
+                                             gestionnaire.getLogin(), gestionnaire.getPassword(), gestionnaire.getId()) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Gestionnaire mis à jour avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== DELETE (Supprimer) ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        boolean succes = JDBCHelper.executer(SUPPRIMER, id) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Gestionnaire supprimé avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== AUTHENTIFICATION ==========
+    
+    /**
+     * Vérifie les identifiants de connexion
+     */
+    @Override
+    public Gestionnaire authentifier(String login, String password) {
+        Gestionnaire gestionnaire = trouverParLogin(login);
+        
+        if (gestionnaire != null && gestionnaire.getPassword().equals(password)) {
+            System.out.println("✓ Authentification gestionnaire réussie!");
+            return gestionnaire;
+        }
+        
+        return null;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    static Object[] valeurs(Gestionnaire gestionnaire) {
+        return new Object[]{gestionnaire.getId(), gestionnaire.getNom(), gestionnaire.getPrenom(), gestionnaire.getLogin(), gestionnaire.getPassword()};
+    }
+    
+    private static Gestionnaire extraireGestionnaire(ResultSet resultat) throws SQLException {
+        return new Gestionnaire(
+            resultat.getInt("id_gestionnaire"),
+            resultat.getString("nom"),
+            resultat.getString("prenom"),
+            resultat.getString("login"),
+            resultat.getString("password")
+        );
+    }
+}
@@ -0,0 +1,117 @@
+package dao;
+
+import database.CSVHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Classe InstantanesStock - Les stocks enregistrés à la fin de certains jours
+ *
+ * Un instantané est le stock de chaque médicament après tous les mouvements
+ * d'un jour (et des jours précédents):
+ *
+ * data/stock_historique/instantanes/
+ *     2026-03-30.csv      idMedicament;stock
+ *     2026-03-31.csv
+ *
+ * Le stock d'un jour se calcule à partir de l'instantané le plus proche:
+ * seuls les mouvements entre les deux jours sont relus.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+class InstantanesStock {
+
+    private static final String DOSSIER = "stock_historique/instantanes";
+    private static final String[] ENTETES = {"idMedicament", "stock"};
+
+    // Jours qui ont un instantané (lus une fois dans le dossier)
+    private final TreeSet<String> jours = new TreeSet<>();
+
+    InstantanesStock() {
+        File dossier = new File(CSVHelper.DATA_FOLDER + DOSSIER);
+        dossier.mkdirs();
+
+        File[] fichiers = dossier.listFiles();
+        if (fichiers != null) {
+            for (File fichier : fichiers) {
+                String nomFichier = fichier.getName();
+                // Les fichiers .tmp sont des écritures interrompues
+                if (nomFichier.endsWith(".csv")) {
+                    jours.add(nomFichier.substring(0, nomFichier.length() - 4));
+                }
+            }
+        }
+    }
+
+    synchronized boolean estVide() {
+        return jours.isEmpty();
+    }
+
+    /**
+     * Le dernier jour qui a un instantané, ou null
+     */
+    synchronized String dernierJour() {
+        return jours.isEmpty() ? null : jours.last();
+    }
+
+    /**
+     * Le dernier jour ayant un instantané, au plus tard le jour donné, ou null
+     */
+    synchronized String jourAuPlusTard(String jour) {
+        return jours.floor(jour);
+    }
+
+    /**
+     * Le premier jour ayant un instantané, ou null
+     */
+    synchronized String premierJour() {
+        return jours.isEmpty() ? null : jours.first();
+    }
+
+    /**
+     * Le stock de chaque médicament à la fin du jour
+     */
+    Map<Integer, Integer> lire(String jour) {
+        Map<Integer, Integer> stocks = new HashMap<>();
+        for (String[] ligne : CSVHelper.lireFichier(fichier(jour))) {
+            stocks.put(Integer.parseInt(ligne[0]), Integer.parseInt(ligne[1]));
+        }
+        return stocks;
+    }
+
+    /**
+     * Enregistre l'instantané d'un jour
+     *
+     * Remplacement atomique (voir CSVHelper.remplacerFichier): un
+     * instantané est complet ou absent.
+     */
+    synchronized boolean ecrire(String jour, Map<Integer, Integer> stocks) {
+        List<String[]> lignes = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> stock : stocks.entrySet()) {
+            if (stock.getValue() != 0) {
+                lignes.add(new String[]{String.valueOf(stock.getKey()), String.valueOf(stock.getValue())});
+            }
+        }
+
+        try {
+            CSVHelper.remplacerFichier(fichier(jour), ENTETES, lignes);
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture de l'instantané du " + jour + ": " + e.getMessage());
+            return false;
+        }
+
+        jours.add(jour);
+        return true;
+    }
+
+    private static String fichier(String jour) {
+        return DOSSIER + "/" + jour + ".csv";
+    }
+}
@@ -1,232 +1,114 @@
 package dao;
 
-import database.CSVHelper;
+import database.Transaction;
+import models.LignePanier;
 import models.Medicament;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Classe MedicamentDAO - Gère les opérations CRUD pour les Médicaments
+ * Interface MedicamentDAO - Opérations sur le catalogue et les stocks
  * 
- * Version CSV - Utilise des fichiers CSV au lieu de MySQL
+ * Les services ne connaissent que cette interface: le stockage est choisi
+ * au démarrage (voir FabriqueDAO).
+ * 
+ * Un stock ne passe jamais sous zéro, même quand plusieurs caisses vendent
+ * le même médicament en même temps. Toute variation du stock est aussi un
+ * mouvement de l'historique (voir StockHistoriqueDAO), enregistré avec elle.
  * 
  * @author Étudiant
- * @version 2.0 (CSV)
+ * @version 1.0
  */
-public class MedicamentDAO {
-    
-    private static final String FICHIER = "medicaments.csv";
-    private static final String[] ENTETES = {"id", "nom", "dosage", "stock", "prixUnitaire"};
-    
-    public MedicamentDAO() {
-        CSVHelper.creerFichierSiAbsent(FICHIER, ENTETES);
-    }
-    
-    // ========== CREATE ==========
-    
-    public boolean ajouter(Medicament medicament) {
-        int nouvelId = CSVHelper.getProchainId(FICHIER);
-        medicament.setId(nouvelId);
-        
-        String[] donnees = {
-            String.valueOf(medicament.getId()),
-            medicament.getNom(),
-            medicament.getDosage(),
-            String.valueOf(medicament.getStock()),
-            String.valueOf(medicament.getPrixUnitaire())
-        };
-        
-        boolean succes = CSVHelper.ajouterLigne(FICHIER, donnees);
-        
-        if (succes) {
-            System.out.println("✓ Médicament ajouté avec succès! ID: " + medicament.getId());
-        }
-        
-        return succes;
-    }
-    
-    // ========== READ ==========
-    
-    public Medicament trouverParId(int id) {
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            if (Integer.parseInt(ligne[0]) == id) {
-                return extraireMedicament(ligne);
-            }
-        }
-        
-        return null;
-    }
+public interface MedicamentDAO {
+    
+    /**
+     * Ajoute un médicament (son ID est attribué ici)
+     */
+    boolean ajouter(Medicament medicament);
     
     /**
-     * Cherche des médicaments par nom (recherche partielle)
+     * @return Le médicament, ou null s'il n'existe pas
      */
-    public List<Medicament> rechercherParNom(String nom) {
-        List<Medicament> resultats = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            // Recherche insensible à la casse
-            if (ligne[1].toLowerCase().contains(nom.toLowerCase())) {
-                resultats.add(extraireMedicament(ligne));
-            }
-        }
-        
-        return resultats;
-    }
-    
-    public List<Medicament> trouverTous() {
-        List<Medicament> medicaments = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            medicaments.add(extraireMedicament(ligne));
-        }
-        
-        return medicaments;
-    }
+    Medicament trouverParId(int id);
+    
+    /**
+     * Cherche des médicaments par nom ou dosage (recherche partielle,
+     * insensible à la casse et aux accents)
+     */
+    List<Medicament> rechercherParNom(String nom);
+    
+    List<Medicament> trouverTous();
     
     /**
-     * Récupère les médicaments avec un stock critique (< 10)
+     * Récupère les médicaments sous leur seuil minimum,
+     * du plus grand manque au plus petit
      */
-    public List<Medicament> trouverStockCritique() {
-        List<Medicament> resultats = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            int stock = Integer.parseInt(ligne[3]);
-            if (stock < Medicament.SEUIL_STOCK_CRITIQUE) {
-                resultats.add(extraireMedicament(ligne));
-            }
-        }
-        
-        return resultats;
-    }
-    
-    // ========== UPDATE ==========
-    
-    public boolean mettreAJour(Medicament medicament) {
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        List<String[]> nouvellesLignes = new ArrayList<>();
-        boolean trouve = false;
-        
-        for (String[] ligne : lignes) {
-            if (Integer.parseInt(ligne[0]) == medicament.getId()) {
-                nouvellesLignes.add(new String[]{
-                    String.valueOf(medicament.getId()),
-                    medicament.getNom(),
-                    medicament.getDosage(),
-                    String.valueOf(medicament.getStock()),
-                    String.valueOf(medicament.getPrixUnitaire())
-                });
-                trouve = true;
-            } else {
-                nouvellesLignes.add(ligne);
-            }
-        }
-        
-        if (trouve) {
-            CSVHelper.ecrireFichier(FICHIER, ENTETES, nouvellesLignes);
-            System.out.println("✓ Médicament mis à jour avec succès!");
-        }
-        
-        return trouve;
-    }
+    List<Medicament> trouverStockCritique();
+    
+    /**
+     * Récupère les médicaments au-dessus de leur seuil maximum,
+     * du plus grand excédent au plus petit
+     */
+    List<Medicament> trouverSurstock();
+    
+    /**
+     * Nombre de médicaments en stock critique
+     */
+    int compterStockCritique();
+    
+    /**
+     * Enregistre un observateur prévenu quand un médicament entre en stock
+     * critique ou en sort
+     */
+    void ajouterObservateur(ObservateurStockCritique observateur);
+    
+    void retirerObservateur(ObservateurStockCritique observateur);
+    
+    boolean mettreAJour(Medicament medicament);
     
     /**
      * Met à jour uniquement le stock d'un médicament
      */
-    public boolean mettreAJourStock(int idMedicament, int nouveauStock) {
-        Medicament med = trouverParId(idMedicament);
-        if (med == null) {
-            return false;
-        }
-        
-        med.setStock(nouveauStock);
-        
-        // Réécrire le fichier avec le stock mis à jour
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        List<String[]> nouvellesLignes = new ArrayList<>();
-        
-        for (String[] ligne : lignes) {
-            if (Integer.parseInt(ligne[0]) == idMedicament) {
-                ligne[3] = String.valueOf(nouveauStock);
-            }
-            nouvellesLignes.add(ligne);
-        }
-        
-        CSVHelper.ecrireFichier(FICHIER, ENTETES, nouvellesLignes);
-        System.out.println("✓ Stock mis à jour: " + nouveauStock + " unités");
-        return true;
-    }
+    boolean mettreAJourStock(int idMedicament, int nouveauStock);
     
     /**
      * Diminue le stock d'un médicament
+     * 
+     * @return false si le stock est insuffisant
+     */
+    boolean diminuerStock(int idMedicament, int quantite);
+    
+    /**
+     * Diminue le stock dans le cadre d'une transaction (par exemple une vente)
+     * 
+     * La mise à jour du stock doit être la dernière opération ajoutée à la
+     * transaction; il reste à l'appelant à appeler transaction.valider()
+     * (ou transaction.abandonner() s'il renonce à la valider).
+     * 
+     * @return false si le stock est insuffisant (rien n'est ajouté à la transaction)
      */
-    public boolean diminuerStock(int idMedicament, int quantite) {
-        Medicament med = trouverParId(idMedicament);
-        if (med == null) {
-            System.err.println("✗ Médicament non trouvé!");
-            return false;
-        }
-        
-        if (med.getStock() < quantite) {
-            System.err.println("✗ Stock insuffisant! Stock actuel: " + med.getStock());
-            return false;
-        }
-        
-        int nouveauStock = med.getStock() - quantite;
-        return mettreAJourStock(idMedicament, nouveauStock);
-    }
+    boolean diminuerStock(int idMedicament, int quantite, Transaction transaction);
+    
+    /**
+     * Diminue le stock de toutes les lignes d'une ordonnance (tout ou rien)
+     * 
+     * Comme pour une seule ligne, la mise à jour des stocks doit être la
+     * dernière opération ajoutée à la transaction.
+     */
+    boolean diminuerStocks(List<LignePanier> panier, Transaction transaction);
     
     /**
      * Augmente le stock d'un médicament
      */
-    public boolean augmenterStock(int idMedicament, int quantite) {
-        Medicament med = trouverParId(idMedicament);
-        if (med == null) {
-            System.err.println("✗ Médicament non trouvé!");
-            return false;
-        }
-        
-        int nouveauStock = med.getStock() + quantite;
-        return mettreAJourStock(idMedicament, nouveauStock);
-    }
-    
-    // ========== DELETE ==========
-    
-    public boolean supprimer(int id) {
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        List<String[]> nouvellesLignes = new ArrayList<>();
-        boolean trouve = false;
-        
-        for (String[] ligne : lignes) {
-            if (Integer.parseInt(ligne[0]) == id) {
-                trouve = true;
-            } else {
-                nouvellesLignes.add(ligne);
-            }
-        }
-        
-        if (trouve) {
-            CSVHelper.ecrireFichier(FICHIER, ENTETES, nouvellesLignes);
-            System.out.println("✓ Médicament supprimé avec succès!");
-        }
-        
-        return trouve;
-    }
-    
-    // ========== MÉTHODE UTILITAIRE ==========
-    
-    private Medicament extraireMedicament(String[] ligne) {
-        Medicament medicament = new Medicament();
-        medicament.setId(Integer.parseInt(ligne[0]));
-        medicament.setNom(ligne[1]);
-        medicament.setDosage(ligne[2]);
-        medicament.setStock(Integer.parseInt(ligne[3]));
-        medicament.setPrixUnitaire(Double.parseDouble(ligne[4]));
-        return medicament;
-    }
+    boolean augmenterStock(int idMedicament, int quantite);
+    
+    /**
+     * Augmente le stock de plusieurs médicaments (réception groupée de commandes)
+     * 
+     * Comme pour diminuerStocks, la mise à jour des stocks doit être la
+     * dernière opération ajoutée à la transaction.
+     */
+    boolean augmenterStocks(List<LignePanier> lignes, Transaction transaction);
+    
+    boolean supprimer(int id);
 }
@@ -0,0 +1,548 @@
+package dao;
+
+import database.GestionnaireTransactions;
+import database.IndexTrigrammes;
+import database.LigneBinaire;
+import database.TableBinaire;
+import database.Transaction;
+import database.TransactionBinaire;
+import models.LignePanier;
+import models.Medicament;
+import models.StockHistorique;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Classe MedicamentDAOBinaire - Gère les opérations CRUD pour les Médicaments
+ *
+ * Version binaire - data/medicaments.bin (voir TableBinaire)
+ *
+ * Le prix est en centimes; le nom et le dosage ont une taille maximale
+ * (en octets UTF-8), un texte plus long est refusé.
+ *
+ * Chaque variation de stock est une étape de la transaction (voir
+ * TransactionBinaire): la ligne du médicament est relue à la validation,
+ * le nouveau stock vérifié puis écrit avec le mouvement d'historique.
+ * Deux caisses qui vendent les dernières boîtes en même temps ne peuvent
+ * donc pas réussir toutes les deux.
+ *
+ * Le stock est aussi lu avant de préparer une sortie, pour refuser tout
+ * de suite une vente impossible (rien n'est alors ajouté à la transaction).
+ *
+ * @author Étudiant
+ * @version 1.0 (binaire)
+ */
+public class MedicamentDAOBinaire implements MedicamentDAO {
+    
+    // Colonnes (0 = ID)
+    private static final int NOM = 1;
+    private static final int DOSAGE = 2;
+    private static final int STOCK = 3;
+    private static final int PRIX = 4;
+    private static final int SEUIL_MIN = 5;
+    private static final int SEUIL_MAX = 6;
+    
+    static final TableBinaire TABLE = new TableBinaire("medicaments.bin")
+        .texte("nom", 100)
+        .texte("dosage", 50)
+        .entier("stock")
+        .montant("prixUnitaire")
+        .entier("seuilMin")
+        .entier("seuilMax");
+    
+    private static final List<ObservateurStockCritique> OBSERVATEURS = new CopyOnWriteArrayList<>();
+    
+    private static final StockHistoriqueDAOBinaire HISTORIQUE = new StockHistoriqueDAOBinaire();
+    
+    public MedicamentDAOBinaire() {
+        GestionnaireTransactions.recuperer();
+        TABLE.initialiser();
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Medicament medicament) {
+        medicament.setId(TABLE.prochainId());
+        
+        LigneBinaire ligne = verifierLigne(medicament);
+        if (ligne == null) {
+            return false;
+        }
+        
+        // La fiche et le mouvement du stock initial dans une même transaction
+        Transaction transaction = new Transaction();
+        TransactionBinaire.de(transaction).ecrire(ligne);
+        if (medicament.getStock() != 0) {
+            HISTORIQUE.enregistrerMouvement(medicament.getId(), medicament.getStock(),
+                                            StockHistorique.TYPE_REAPPROVISIONNEMENT, transaction);
+        }
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Médicament ajouté avec succès! ID: " + medicament.getId());
+            if (medicament.estStockCritique()) {
+                notifier(medicament, true);
+            }
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Medicament trouverParId(int id) {
+        LigneBinaire ligne = TABLE.lire(id);
+        return ligne != null ? extraireMedicament(ligne) : null;
+    }
+    
+    /**
+     * Cherche des médicaments par nom ou dosage (recherche partielle)
+     *
+     * Mêmes résultats que la version CSV: insensible à la casse et aux
+     * accents, les noms qui commencent par la recherche d'abord.
+     */
+    @Override
+    public List<Medicament> rechercherParNom(String nom) {
+        Map<Integer, Medicament> parId = new TreeMap<>();
+        IndexTrigrammes index = new IndexTrigrammes();
+        
+        for (Medicament medicament : trouverTous()) {
+            parId.put(medicament.getId(), medicament);
+            index.ajouter(medicament.getId(), medicament.getNom() + " " + medicament.getDosage());
+        }
+        
+        List<Medicament> resultats = new ArrayList<>();
+        for (int id : index.chercher(nom)) {
+            resultats.add(parId.get(id));
+        }
+        return resultats;
+    }
+    
+    @Override
+    public List<Medicament> trouverTous() {
+        return chercher(ligne -> true);
+    }
+    
+    /**
+     * Récupère les médicaments sous leur seuil minimum,
+     * du plus grand manque au plus petit
+     */
+    @Override
+    public List<Medicament> trouverStockCritique() {
+        List<Medicament> critiques = chercher(MedicamentDAOBinaire::estCritique);
+        critiques.sort(Comparator.comparingInt((Medicament m) -> m.getSeuilMin() - m.getStock()).reversed()
+                                 .thenComparingInt(Medicament::getId));
+        return critiques;
+    }
+    
+    /**
+     * Récupère les médicaments au-dessus de leur seuil maximum,
+     * du plus grand excédent au plus petit
+     */
+    @Override
+    public List<Medicament> trouverSurstock() {
+        List<Medicament> surstocks = chercher(ligne -> ligne.entier(SEUIL_MAX) != Medicament.SANS_MAXIMUM
+                                                       && ligne.entier(STOCK) > ligne.entier(SEUIL_MAX));
+        surstocks.sort(Comparator.comparingInt((Medicament m) -> m.getStock() - m.getSeuilMax()).reversed()
+                                 .thenComparingInt(Medicament::getId));
+        return surstocks;
+    }
+    
+    /**
+     * Nombre de médicaments en stock critique (seules les colonnes du
+     * stock et du seuil sont lues)
+     */
+    @Override
+    public int compterStockCritique() {
+        int[] nombre = {0};
+        
+        TABLE.parcourir(ligne -> {
+            if (estCritique(ligne)) {
+                nombre[0]++;
+            }
+            return true;
+        });
+        
+        return nombre[0];
+    }
+    
+    @Override
+    public void ajouterObservateur(ObservateurStockCritique observateur) {
+        OBSERVATEURS.add(observateur);
+    }
+    
+    @Override
+    public void retirerObservateur(ObservateurStockCritique observateur) {
+        OBSERVATEURS.remove(observateur);
+    }
+    
+    // ========== UPDATE ==========
+    
+    @Override
+    public boolean mettreAJour(Medicament medicament) {
+        LigneBinaire nouvelle = verifierLigne(medicament);
+        if (nouvelle == null) {
+            return false;
+        }
+        
+        Transaction transaction = new Transaction();
+        TransactionBinaire binaire = TransactionBinaire.de(transaction);
+        List<Medicament> franchissements = new ArrayList<>();
+        
+        binaire.ajouterEtape(() -> {
+            LigneBinaire ancienne = TABLE.lire(medicament.getId());
+            if (ancienne == null) {
+                return false;
+            }
+            Medicament ancien = extraireMedicament(ancienne);
+            
+            binaire.ecrire(nouvelle);
+            
+            // Un stock modifié à la main est un ajustement
+            int variation = medicament.getStock() - ancien.getStock();
+            if (variation != 0) {
+                HISTORIQUE.ajouter(new StockHistorique(medicament.getId(), variation, StockHistorique.TYPE_AJUSTEMENT), binaire);
+            }
+            
+            if (ancien.estStockCritique() != medicament.estStockCritique()) {
+                franchissements.add(copier(medicament));
+            }
+            return true;
+        });
+        
+        boolean succes = valider(transaction, franchissements);
+        
+        if (succes) {
+            System.out.println("✓ Médicament mis à jour avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Met à jour uniquement le stock d'un médicament
+     */
+    @Override
+    public boolean mettreAJourStock(int idMedicament, int nouveauStock) {
+        Transaction transaction = new Transaction();
+        List<Medicament> franchissements = new ArrayList<>();
+        
+        varierStocks(Collections.singletonList(new Variation(idMedicament, nouveauStock, true)),
+                     StockHistorique.TYPE_AJUSTEMENT, transaction, franchissements);
+        
+        boolean succes = valider(transaction, franchissements);
+        
+        if (succes) {
+            System.out.println("✓ Stock mis à jour: " + nouveauStock + " unités");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Diminue le stock d'un médicament
+     */
+    @Override
+    public boolean diminuerStock(int idMedicament, int quantite) {
+        Transaction transaction = new Transaction();
+        
+        if (!diminuerStock(idMedicament, quantite, transaction)) {
+            return false;
+        }
+        
+        return transaction.valider();
+    }
+    
+    /**
+     * Diminue le stock dans le cadre d'une transaction (par exemple une vente)
+     *
+     * Le stock est vérifié tout de suite, puis de nouveau à la validation
+     * (une autre caisse a pu vendre entre-temps).
+     */
+    @Override
+    public boolean diminuerStock(int idMedicament, int quantite, Transaction transaction) {
+        return diminuerStocks(Collections.singletonList(new LignePanier(idMedicament, quantite)), transaction);
+    }
+    
+    /**
+     * Diminue le stock de toutes les lignes d'une ordonnance (tout ou rien)
+     */
+    @Override
+    public boolean diminuerStocks(List<LignePanier> panier, Transaction transaction) {
+        List<Variation> variations = new ArrayList<>();
+        
+        for (Map.Entry<Integer, Integer> quantite : regrouper(panier).entrySet()) {
+            Medicament medicament = trouverParId(quantite.getKey());
+            if (medicament == null) {
+                System.err.println("✗ Médicament non trouvé! ID: " + quantite.getKey());
+                return false;
+            }
+            if (medicament.getStock() < quantite.getValue()) {
+                System.err.println("✗ Stock insuffisant! Stock actuel: " + medicament.getStock());
+                return false;
+            }
+            variations.add(new Variation(quantite.getKey(), -quantite.getValue(), false));
+        }
+        
+        List<Medicament> franchissements = new ArrayList<>();
+        varierStocks(variations, StockHistorique.TYPE_VENTE, transaction, franchissements);
+        transaction.apresValidation(() -> notifier(franchissements));
+        return true;
+    }
+    
+    /**
+     * Augmente le stock d'un médicament
+     */
+    @Override
+    public boolean augmenterStock(int idMedicament, int quantite) {
+        Transaction transaction = new Transaction();
+        
+        if (!augmenterStocks(Collections.singletonList(new LignePanier(idMedicament, quantite)), transaction)) {
+            return false;
+        }
+        
+        return transaction.valider();
+    }
+    
+    /**
+     * Augmente le stock de plusieurs médicaments (réception groupée de commandes)
+     */
+    @Override
+    public boolean augmenterStocks(List<LignePanier> lignes, Transaction transaction) {
+        List<Variation> variations = new ArrayList<>();
+        
+        for (Map.Entry<Integer, Integer> quantite : regrouper(lignes).entrySet()) {
+            if (TABLE.lire(quantite.getKey()) == null) {
+                System.err.println("✗ Médicament non trouvé! ID: " + quantite.getKey());
+                return false;
+            }
+            variations.add(new Variation(quantite.getKey(), quantite.getValue(), false));
+        }
+        
+        List<Medicament> franchissements = new ArrayList<>();
+        varierStocks(variations, StockHistorique.TYPE_REAPPROVISIONNEMENT, transaction, franchissements);
+        transaction.apresValidation(() -> notifier(franchissements));
+        return true;
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        Transaction transaction = new Transaction();
+        TransactionBinaire binaire = TransactionBinaire.de(transaction);
+        Medicament[] supprime = new Medicament[1];
+        
+        binaire.ajouterEtape(() -> {
+            LigneBinaire ligne = TABLE.lire(id);
+            if (ligne == null) {
+                return false;
+            }
+            supprime[0] = extraireMedicament(ligne);
+            binaire.supprimer(TABLE, id);
+            return true;
+        });
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            // Un médicament supprimé n'est plus en stock critique
+            if (supprime[0].estStockCritique()) {
+                notifier(supprime[0], false);
+            }
+            System.out.println("✓ Médicament supprimé avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== VARIATIONS DE STOCK ==========
+    
+    /**
+     * Ajoute à la transaction une étape qui applique les variations et
+     * enregistre leurs mouvements
+     *
+     * @param franchissements Reçoit, à la validation, les médicaments qui
+     *                        entrent en stock critique ou en sortent
+     */
+    private static void varierStocks(List<Variation> variations, String typeOperation,
+                                     Transaction transaction, List<Medicament> franchissements) {
+        TransactionBinaire binaire = TransactionBinaire.de(transaction);
+        
+        binaire.ajouterEtape(() -> {
+            // Vérifier toutes les lignes avant d'en écrire une seule
+            List<LigneBinaire> lignes = new ArrayList<>();
+            for (Variation variation : variations) {
+                LigneBinaire ligne = TABLE.lire(variation.idMedicament);
+                if (ligne == null) {
+                    System.err.println("✗ Médicament non trouvé! ID: " + variation.idMedicament);
+                    return false;
+                }
+                
+                int ancienStock = ligne.entier(STOCK);
+                int nouveauStock = variation.fixe ? variation.valeur : ancienStock + variation.valeur;
+                if (nouveauStock < 0) {
+                    System.err.println("✗ Stock insuffisant! Stock actuel: " + ancienStock);
+                    return false;
+                }
+                lignes.add(ligne);
+            }
+            
+            for (int i = 0; i < variations.size(); i++) {
+                Variation variation = variations.get(i);
+                LigneBinaire ligne = lignes.get(i);
+                Medicament medicament = extraireMedicament(ligne);
+                
+                int ancienStock = medicament.getStock();
+                int difference = variation.fixe ? variation.valeur - ancienStock : variation.valeur;
+                if (difference == 0) {
+                    continue;
+                }
+                
+                boolean etaitCritique = medicament.estStockCritique();
+                medicament.setStock(ancienStock + difference);
+                
+                binaire.ecrire(ligne.ecrireEntier(STOCK, medicament.getStock()));
+                HISTORIQUE.ajouter(new StockHistorique(medicament.getId(), difference, typeOperation), binaire);
+                
+                if (etaitCritique != medicament.estStockCritique()) {
+                    franchissements.add(medicament);
+                }
+            }
+            return true;
+        });
+    }
+    
+    /**
+     * Valide la transaction puis prévient les observateurs
+     */
+    private static boolean valider(Transaction transaction, List<Medicament> franchissements) {
+        transaction.apresValidation(() -> notifier(franchissements));
+        return transaction.valider();
+    }
+    
+    /**
+     * Regroupe les lignes d'un même médicament (dans l'ordre des IDs)
+     */
+    private static Map<Integer, Integer> regrouper(List<LignePanier> lignes) {
+        Map<Integer, Integer> quantites = new TreeMap<>();
+        for (LignePanier ligne : lignes) {
+            quantites.merge(ligne.getIdMedicament(), ligne.getQuantite(), Integer::sum);
+        }
+        return quantites;
+    }
+    
+    private static void notifier(List<Medicament> franchissements) {
+        for (Medicament medicament : franchissements) {
+            notifier(medicament, medicament.estStockCritique());
+        }
+    }
+    
+    private static void notifier(Medicament medicament, boolean critique) {
+        for (ObservateurStockCritique observateur : OBSERVATEURS) {
+            observateur.seuilFranchi(copier(medicament), critique);
+        }
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    /**
+     * Le stock actuel de chaque médicament (voir StockHistoriqueDAOBinaire)
+     */
+    static Map<Integer, Integer> stocks() {
+        Map<Integer, Integer> stocks = new HashMap<>();
+        
+        TABLE.parcourir(ligne -> {
+            stocks.put(ligne.id(), ligne.entier(STOCK));
+            return true;
+        });
+        
+        return stocks;
+    }
+    
+    private static boolean estCritique(LigneBinaire ligne) {
+        return ligne.entier(STOCK) < ligne.entier(SEUIL_MIN);
+    }
+    
+    private List<Medicament> chercher(Predicate<LigneBinaire> filtre) {
+        List<Medicament> medicaments = new ArrayList<>();
+        
+        TABLE.parcourir(ligne -> {
+            if (filtre.test(ligne)) {
+                medicaments.add(extraireMedicament(ligne));
+            }
+            return true;
+        });
+        
+        return medicaments;
+    }
+    
+    /**
+     * La ligne d'un médicament, ou null si un texte est trop long
+     */
+    private static LigneBinaire verifierLigne(Medicament medicament) {
+        try {
+            return versLigne(medicament);
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ " + e.getMessage());
+            return null;
+        }
+    }
+    
+    static LigneBinaire versLigne(Medicament medicament) {
+        return TABLE.nouvelleLigne(medicament.getId())
+            .ecrireTexte(NOM, medicament.getNom())
+            .ecrireTexte(DOSAGE, medicament.getDosage())
+            .ecrireEntier(STOCK, medicament.getStock())
+            .ecrireMontant(PRIX, medicament.getPrixUnitaire())
+            .ecrireEntier(SEUIL_MIN, medicament.getSeuilMin())
+            .ecrireEntier(SEUIL_MAX, medicament.getSeuilMax());
+    }
+    
+    private static Medicament copier(Medicament medicament) {
+        Medicament copie = new Medicament(medicament.getId(), medicament.getNom(), medicament.getDosage(),
+                                          medicament.getStock(), medicament.getPrixUnitaire());
+        copie.setSeuilMin(medicament.getSeuilMin());
+        copie.setSeuilMax(medicament.getSeuilMax());
+        return copie;
+    }
+    
+    private static Medicament extraireMedicament(LigneBinaire ligne) {
+        Medicament medicament = new Medicament(
+            ligne.id(),
+            ligne.texte(NOM),
+            ligne.texte(DOSAGE),
+            ligne.entier(STOCK),
+            ligne.montant(PRIX)
+        );
+        medicament.setSeuilMin(ligne.entier(SEUIL_MIN));
+        medicament.setSeuilMax(ligne.entier(SEUIL_MAX));
+        return medicament;
+    }
+    
+    /**
+     * Une variation de stock à appliquer (ou un nouveau stock, si fixe)
+     */
+    private static class Variation {
+        final int idMedicament;
+        final int valeur;
+        final boolean fixe;
+        
+        Variation(int idMedicament, int valeur, boolean fixe) {
+            this.idMedicament = idMedicament;
+            this.valeur = valeur;
+            this.fixe = fixe;
+        }
+    }
+}
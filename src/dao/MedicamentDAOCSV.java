@@ -0,0 +1,824 @@
+package dao;
+
+import database.CSVHelper;
+import database.GestionnaireTransactions;
+import database.IndexTrigrammes;
+import database.Montant;
+import database.Transaction;
+import models.LignePanier;
+import models.Medicament;
+import models.StockHistorique;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe MedicamentDAOCSV - Gère les opérations CRUD pour les Médicaments
+ * 
+ * Version CSV - Utilise des fichiers CSV au lieu de MySQL
+ * 
+ * Le catalogue est chargé une seule fois en mémoire (catalogue résident)
+ * et partagé par toutes les instances du DAO. Les lectures sont servies
+ * depuis la mémoire, les modifications sont écrites immédiatement sur
+ * le disque (write-through) via le journal de transactions.
+ * 
+ * Le stock de chaque médicament est un compteur atomique: "diminuer si
+ * suffisant" est un seul compareAndSet, sans verrou global. Plusieurs
+ * caisses peuvent vendre en même temps sans jamais passer sous zéro.
+ * Le suivi du stock critique ne prend pas non plus de verrou global
+ * pendant une vente (voir SuiviStockCritique).
+ * 
+ * Chaque médicament a ses propres seuils de stock (minimum et maximum),
+ * enregistrés avec le catalogue. Les anciens fichiers sans colonnes de
+ * seuils prennent les seuils par défaut.
+ * 
+ * Toute variation du stock est aussi un mouvement de l'historique (vente,
+ * réapprovisionnement ou ajustement), écrit dans la même transaction. Au
+ * chargement, le stock est recalculé à partir de l'historique (voir
+ * StockHistoriqueDAOCSV): la colonne stock de medicaments.csv n'en est qu'une
+ * copie, corrigée si elle ne correspond plus.
+ * 
+ * @author Étudiant
+ * @version 2.4 (CSV + catalogue résident + stock atomique + seuils + stock tiré de l'historique)
+ */
+public class MedicamentDAOCSV implements MedicamentDAO {
+    
+    private static final String FICHIER = "medicaments.csv";
+    static final String[] ENTETES = {"id", "nom", "dosage", "stock", "prixUnitaire", "seuilMin", "seuilMax"};
+    
+    // Catalogue résident: id -> médicament (ordre des IDs = ordre du fichier)
+    // Lectures sans verrou; ajouts et suppressions sous le verrou de la classe
+    private static final ConcurrentNavigableMap<Integer, Entree> CATALOGUE = new ConcurrentSkipListMap<>();
+    private static boolean catalogueCharge = false;
+    
+    // Recherche par nom et dosage (sans accents), tenue à jour avec le catalogue
+    private static final IndexTrigrammes INDEX_NOMS = new IndexTrigrammes();
+    
+    // Médicaments en stock critique, tenus à jour à chaque variation de stock
+    private static final SuiviStockCritique SUIVI_CRITIQUE = new SuiviStockCritique();
+    private static final List<ObservateurStockCritique> OBSERVATEURS = new CopyOnWriteArrayList<>();
+    
+    // Mouvements de stock: la référence du stock
+    private static final StockHistoriqueDAOCSV HISTORIQUE = new StockHistoriqueDAOCSV();
+    
+    public MedicamentDAOCSV() {
+        CSVHelper.creerFichierSiAbsent(FICHIER, ENTETES);
+        chargerCatalogue();
+    }
+    
+    /**
+     * Charge le catalogue en mémoire (une seule fois pour toute l'application)
+     */
+    private static synchronized void chargerCatalogue() {
+        if (catalogueCharge) {
+            return;
+        }
+        
+        // Terminer d'abord les transactions interrompues par un arrêt brutal
+        GestionnaireTransactions.recuperer();
+        
+        List<Medicament> medicaments = new ArrayList<>();
+        Map<Integer, Integer> stocksFichier = new HashMap<>();
+        for (String[] ligne : CSVHelper.lireFichier(FICHIER)) {
+            Medicament medicament = extraireMedicament(ligne);
+            medicaments.add(medicament);
+            stocksFichier.put(medicament.getId(), medicament.getStock());
+        }
+        
+        // Le stock de référence est celui de l'historique
+        Map<Integer, Integer> stocks = HISTORIQUE.calculerStocks(stocksFichier);
+        Transaction corrections = new Transaction();
+        
+        for (Medicament medicament : medicaments) {
+            int calcule = stocks.getOrDefault(medicament.getId(), 0);
+            if (calcule != medicament.getStock()) {
+                System.out.println("⚠️ Stock de " + medicament.getNom() + " corrigé d'après l'historique: "
+                    + medicament.getStock() + " -> " + calcule);
+                medicament.setStock(calcule);
+                corrections.mettreAJourLigne(FICHIER, versLigne(medicament));
+            }
+            
+            Entree entree = new Entree(medicament);
+            CATALOGUE.put(medicament.getId(), entree);
+            indexer(medicament);
+            SUIVI_CRITIQUE.placer(medicament.getId(), entree.stock, medicament.getSeuilMin(), medicament.getSeuilMax());
+        }
+        
+        // Tous les seuils vérifiés en une passe
+        SUIVI_CRITIQUE.reevaluer();
+        
+        corrections.valider();
+        StockHistoriqueDAOCSV.demarrerEntretienAutomatique();
+        
+        catalogueCharge = true;
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Medicament medicament) {
+        synchronized (MedicamentDAOCSV.class) {
+            int nouvelId = CSVHelper.getProchainId(FICHIER);
+            medicament.setId(nouvelId);
+            
+            // La fiche et le mouvement du stock initial dans une même transaction
+            Transaction transaction = new Transaction();
+            transaction.ajouterLigne(FICHIER, versLigne(medicament));
+            if (medicament.getStock() != 0) {
+                HISTORIQUE.enregistrerMouvement(nouvelId, medicament.getStock(),
+                                                StockHistorique.TYPE_REAPPROVISIONNEMENT, transaction);
+            }
+            
+            boolean succes = transaction.valider();
+            
+            if (succes) {
+                Entree entree = new Entree(copier(medicament));
+                CATALOGUE.put(medicament.getId(), entree);
+                indexer(medicament);
+                suivre(entree);
+                System.out.println("✓ Médicament ajouté avec succès! ID: " + medicament.getId());
+            }
+            
+            return succes;
+        }
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Medicament trouverParId(int id) {
+        Entree entree = CATALOGUE.get(id);
+        return entree != null ? entree.copie() : null;
+    }
+    
+    /**
+     * Cherche des médicaments par nom ou dosage (recherche partielle)
+     * 
+     * Insensible à la casse et aux accents ("paracetamol" trouve
+     * "Paracétamol"); les noms qui commencent par la recherche d'abord.
+     */
+    @Override
+    public List<Medicament> rechercherParNom(String nom) {
+        List<Medicament> resultats = new ArrayList<>();
+        
+        for (int id : INDEX_NOMS.chercher(nom)) {
+            Entree entree = CATALOGUE.get(id);
+            if (entree != null) {
+                resultats.add(entree.copie());
+            }
+        }
+        
+        return resultats;
+    }
+    
+    @Override
+    public List<Medicament> trouverTous() {
+        List<Medicament> medicaments = new ArrayList<>();
+        
+        for (Entree entree : CATALOGUE.values()) {
+            medicaments.add(entree.copie());
+        }
+        
+        return medicaments;
+    }
+    
+    /**
+     * Récupère les médicaments sous leur seuil minimum,
+     * du plus grand manque au plus petit
+     * 
+     * La liste est tenue à jour à chaque variation de stock
+     * (voir SuiviStockCritique): pas de parcours du catalogue.
+     */
+    @Override
+    public List<Medicament> trouverStockCritique() {
+        List<Medicament> resultats = new ArrayList<>();
+        
+        for (int id : SUIVI_CRITIQUE.critiques()) {
+            Entree entree = CATALOGUE.get(id);
+            if (entree != null) {
+                resultats.add(entree.copie());
+            }
+        }
+        
+        return resultats;
+    }
+    
+    /**
+     * Récupère les médicaments au-dessus de leur seuil maximum,
+     * du plus grand excédent au plus petit
+     */
+    @Override
+    public List<Medicament> trouverSurstock() {
+        List<Medicament> resultats = new ArrayList<>();
+        
+        for (int id : SUIVI_CRITIQUE.surstocks()) {
+            Entree entree = CATALOGUE.get(id);
+            if (entree != null) {
+                resultats.add(entree.copie());
+            }
+        }
+        
+        return resultats;
+    }
+    
+    /**
+     * Nombre de médicaments en stock critique
+     */
+    @Override
+    public int compterStockCritique() {
+        return SUIVI_CRITIQUE.nombre();
+    }
+    
+    /**
+     * Enregistre un observateur prévenu quand un médicament entre en stock
+     * critique ou en sort
+     */
+    @Override
+    public void ajouterObservateur(ObservateurStockCritique observateur) {
+        OBSERVATEURS.add(observateur);
+    }
+    
+    @Override
+    public void retirerObservateur(ObservateurStockCritique observateur) {
+        OBSERVATEURS.remove(observateur);
+    }
+    
+    // ========== UPDATE ==========
+    
+    /*
+     * Toutes les modifications passent par le journal de transactions.
+     * 
+     * Le stock en mémoire est modifié d'abord (compareAndSet), puis la
+     * transaction est écrite dans le journal sous le verrou du seul
+     * médicament concerné: les lignes d'un même médicament arrivent dans
+     * le journal dans l'ordre, chacune avec le stock qui tient compte des
+     * lignes précédentes (voir Entree.stockJournalise). La validation
+     * (fsync groupé) se fait hors du verrou.
+     */
+    
+    @Override
+    public boolean mettreAJour(Medicament medicament) {
+        Transaction transaction = new Transaction();
+        Entree entree = CATALOGUE.get(medicament.getId());
+        if (entree == null) {
+            return false;
+        }
+        
+        synchronized (entree) {
+            if (entree.supprimee) {
+                return false;
+            }
+            
+            // Un stock modifié à la main est un ajustement
+            int variation = medicament.getStock() - entree.stockJournalise;
+            if (variation != 0) {
+                HISTORIQUE.enregistrerMouvement(medicament.getId(), variation, StockHistorique.TYPE_AJUSTEMENT, transaction);
+            }
+            
+            transaction.mettreAJourLigne(FICHIER, versLigne(medicament));
+            if (!GestionnaireTransactions.ecrire(transaction)) {
+                return false;
+            }
+            
+            try {
+                Medicament ancien = entree.fiche;
+                entree.fiche = copier(medicament);
+                indexer(medicament);
+                entree.stockJournalise = medicament.getStock();
+                varier(entree, variation);
+                
+                transaction.siEchec(() -> restaurer(entree, ancien, variation));
+            } catch (RuntimeException e) {
+                // Déjà dans le journal: l'abandonner pour ne pas bloquer les transactions suivantes
+                transaction.abandonner();
+                throw e;
+            }
+        }
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Médicament mis à jour avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Met à jour uniquement le stock d'un médicament
+     */
+    @Override
+    public boolean mettreAJourStock(int idMedicament, int nouveauStock) {
+        Transaction transaction = new Transaction();
+        Entree entree = CATALOGUE.get(idMedicament);
+        if (entree == null) {
+            return false;
+        }
+        
+        // Le stock est fixé par rapport à la dernière valeur journalisée: la
+        // variation est calculée et journalisée sous le même verrou (comme
+        // dans mettreAJour), aucune autre ligne ne peut passer entre les deux
+        synchronized (entree) {
+            int variation = nouveauStock - entree.stockJournalise;
+            varier(entree, variation);
+            
+            if (!journaliserStock(entree, variation, StockHistorique.TYPE_AJUSTEMENT, transaction)) {
+                return false;
+            }
+        }
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Stock mis à jour: " + nouveauStock + " unités");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Diminue le stock d'un médicament
+     */
+    @Override
+    public boolean diminuerStock(int idMedicament, int quantite) {
+        Transaction transaction = new Transaction();
+        
+        if (!diminuerStock(idMedicament, quantite, transaction)) {
+            return false;
+        }
+        
+        return transaction.valider();
+    }
+    
+    /**
+     * Diminue le stock dans le cadre d'une transaction (par exemple une vente)
+     * 
+     * La vérification et la diminution sont une seule opération atomique:
+     * deux ventes simultanées des dernières boîtes ne peuvent pas réussir
+     * toutes les deux.
+     * 
+     * La mise à jour du stock doit être la dernière opération ajoutée:
+     * la transaction est écrite dans le journal par cette méthode.
+     * Il reste à l'appelant à appeler transaction.valider() (ou
+     * transaction.abandonner() s'il renonce à la valider: les transactions
+     * suivantes attendent la sienne).
+     */
+    @Override
+    public boolean diminuerStock(int idMedicament, int quantite, Transaction transaction) {
+        Entree entree = CATALOGUE.get(idMedicament);
+        if (entree == null) {
+            System.err.println("✗ Médicament non trouvé!");
+            return false;
+        }
+        
+        if (!reserver(entree, quantite)) {
+            return false;
+        }
+        
+        return journaliserStock(entree, -quantite, StockHistorique.TYPE_VENTE, transaction);
+    }
+    
+    /**
+     * Diminue le stock de toutes les lignes d'une ordonnance (tout ou rien)
+     * 
+     * Chaque ligne est réservée par compareAndSet; si une ligne manque de
+     * stock, les lignes déjà réservées sont rendues. Les nouveaux stocks
+     * sont ensuite écrits dans le journal en une seule fois.
+     * 
+     * Comme pour une seule ligne, la mise à jour des stocks doit être la
+     * dernière opération ajoutée à la transaction.
+     */
+    @Override
+    public boolean diminuerStocks(List<LignePanier> panier, Transaction transaction) {
+        // Regrouper les lignes d'un même médicament (dans l'ordre des IDs)
+        Map<Integer, Integer> quantites = new TreeMap<>();
+        for (LignePanier ligne : panier) {
+            quantites.merge(ligne.getIdMedicament(), ligne.getQuantite(), Integer::sum);
+        }
+        
+        List<Entree> entrees = new ArrayList<>();
+        List<Integer> variations = new ArrayList<>();
+        
+        for (Map.Entry<Integer, Integer> quantite : quantites.entrySet()) {
+            Entree entree = CATALOGUE.get(quantite.getKey());
+            if (entree == null) {
+                System.err.println("✗ Médicament non trouvé! ID: " + quantite.getKey());
+                rendre(entrees, variations);
+                return false;
+            }
+            
+            if (!reserver(entree, quantite.getValue())) {
+                rendre(entrees, variations);
+                return false;
+            }
+            
+            entrees.add(entree);
+            variations.add(-quantite.getValue());
+        }
+        
+        return journaliserStocks(entrees, variations, StockHistorique.TYPE_VENTE, transaction);
+    }
+    
+    /**
+     * Augmente le stock d'un médicament
+     */
+    @Override
+    public boolean augmenterStock(int idMedicament, int quantite) {
+        Transaction transaction = new Transaction();
+        Entree entree = CATALOGUE.get(idMedicament);
+        if (entree == null) {
+            System.err.println("✗ Médicament non trouvé!");
+            return false;
+        }
+        
+        varier(entree, quantite);
+        
+        if (!journaliserStock(entree, quantite, StockHistorique.TYPE_REAPPROVISIONNEMENT, transaction)) {
+            return false;
+        }
+        
+        return transaction.valider();
+    }
+    
+    /**
+     * Augmente le stock de plusieurs médicaments (réception groupée de commandes)
+     * 
+     * Les seuils des médicaments livrés sont vérifiés ensuite en une seule
+     * passe (voir SuiviStockCritique). Comme pour diminuerStocks, la mise à
+     * jour des stocks doit être la dernière opération ajoutée à la transaction.
+     */
+    @Override
+    public boolean augmenterStocks(List<LignePanier> lignes, Transaction transaction) {
+        Map<Integer, Integer> quantites = new TreeMap<>();
+        for (LignePanier ligne : lignes) {
+            quantites.merge(ligne.getIdMedicament(), ligne.getQuantite(), Integer::sum);
+        }
+        
+        List<Entree> entrees = new ArrayList<>();
+        List<Integer> variations = new ArrayList<>();
+        
+        for (Map.Entry<Integer, Integer> quantite : quantites.entrySet()) {
+            Entree entree = CATALOGUE.get(quantite.getKey());
+            if (entree == null) {
+                System.err.println("✗ Médicament non trouvé! ID: " + quantite.getKey());
+                return false;
+            }
+            entrees.add(entree);
+            variations.add(quantite.getValue());
+        }
+        
+        for (int i = 0; i < entrees.size(); i++) {
+            entrees.get(i).stock.addAndGet(variations.get(i));
+        }
+        suivreTous(entrees);
+        
+        return journaliserStocks(entrees, variations, StockHistorique.TYPE_REAPPROVISIONNEMENT, transaction);
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        Transaction transaction = new Transaction();
+        Entree entree = CATALOGUE.get(id);
+        if (entree == null) {
+            return false;
+        }
+        
+        synchronized (MedicamentDAOCSV.class) {
+            synchronized (entree) {
+                if (entree.supprimee) {
+                    return false;
+                }
+                
+                transaction.supprimerLigne(FICHIER, id);
+                if (!GestionnaireTransactions.ecrire(transaction)) {
+                    return false;
+                }
+                
+                try {
+                    entree.supprimee = true;
+                    CATALOGUE.remove(id, entree);
+                    INDEX_NOMS.retirer(id);
+                    transaction.siEchec(() -> restaurer(entree));
+                    if (SUIVI_CRITIQUE.retirer(id)) {
+                        notifier(entree, false);
+                    }
+                } catch (RuntimeException e) {
+                    transaction.abandonner();
+                    throw e;
+                }
+            }
+        }
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Médicament supprimé avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== GESTION DES ÉCHECS ==========
+    
+    /**
+     * Diminue le stock seulement s'il suffit
+     * (réessaie si une autre caisse est passée entre-temps)
+     */
+    private static boolean reserver(Entree entree, int quantite) {
+        int actuel;
+        do {
+            actuel = entree.stock.get();
+            if (actuel < quantite) {
+                System.err.println("✗ Stock insuffisant! Stock actuel: " + actuel);
+                return false;
+            }
+        } while (!entree.stock.compareAndSet(actuel, actuel - quantite));
+        
+        suivre(entree);
+        return true;
+    }
+    
+    /**
+     * Rend les variations déjà appliquées aux compteurs (rien n'a été journalisé)
+     */
+    private static void rendre(List<Entree> entrees, List<Integer> variations) {
+        for (int i = 0; i < entrees.size(); i++) {
+            varier(entrees.get(i), -variations.get(i));
+        }
+    }
+    
+    /**
+     * Ajoute au journal la ligne du médicament avec une variation de stock
+     * déjà appliquée au compteur (annulée si l'écriture échoue)
+     */
+    private static boolean journaliserStock(Entree entree, int variation, String typeOperation, Transaction transaction) {
+        return journaliserStocks(Collections.singletonList(entree), Collections.singletonList(variation), typeOperation, transaction);
+    }
+    
+    /**
+     * Ajoute au journal les mouvements et les lignes de plusieurs médicaments
+     * en une seule écriture
+     * 
+     * Les entrées sont verrouillées l'une après l'autre dans l'ordre des IDs
+     * (deux ordonnances ne peuvent pas s'attendre mutuellement), puis la
+     * transaction est écrite avec tous les verrous tenus.
+     */
+    private static boolean journaliserStocks(List<Entree> entrees, List<Integer> variations,
+                                             String typeOperation, Transaction transaction) {
+        for (int i = 0; i < entrees.size(); i++) {
+            if (variations.get(i) != 0) {
+                HISTORIQUE.enregistrerMouvement(entrees.get(i).fiche.getId(), variations.get(i), typeOperation, transaction);
+            }
+        }
+        
+        if (!verrouillerEtJournaliser(entrees, variations, transaction, 0)) {
+            rendre(entrees, variations);
+            return false;
+        }
+        
+        for (int i = 0; i < entrees.size(); i++) {
+            Entree entree = entrees.get(i);
+            int variation = variations.get(i);
+            transaction.siEchec(() -> restaurerStock(entree, variation));
+        }
+        return true;
+    }
+    
+    private static boolean verrouillerEtJournaliser(List<Entree> entrees, List<Integer> variations,
+                                                    Transaction transaction, int suivante) {
+        if (suivante < entrees.size()) {
+            synchronized (entrees.get(suivante)) {
+                return verrouillerEtJournaliser(entrees, variations, transaction, suivante + 1);
+            }
+        }
+        
+        // Tous les verrous sont tenus
+        for (Entree entree : entrees) {
+            if (entree.supprimee) {
+                System.err.println("✗ Médicament non trouvé!");
+                return false;
+            }
+        }
+        
+        for (int i = 0; i < entrees.size(); i++) {
+            Medicament modifie = copier(entrees.get(i).fiche);
+            modifie.setStock(entrees.get(i).stockJournalise + variations.get(i));
+            transaction.mettreAJourLigne(FICHIER, versLigne(modifie));
+        }
+        
+        if (!GestionnaireTransactions.ecrire(transaction)) {
+            return false;
+        }
+        
+        for (int i = 0; i < entrees.size(); i++) {
+            entrees.get(i).stockJournalise += variations.get(i);
+        }
+        return true;
+    }
+    
+    /**
+     * Annule une variation de stock dont la transaction a échoué
+     * 
+     * D'autres transactions ont pu modifier ce stock entre-temps: on annule
+     * seulement notre variation, puis on enregistre la valeur obtenue par
+     * une nouvelle transaction (qui passe après les précédentes dans le journal).
+     */
+    private static void restaurerStock(Entree entree, int variation) {
+        Transaction correction = new Transaction();
+        varier(entree, -variation);
+        
+        synchronized (entree) {
+            if (entree.supprimee) {
+                return;
+            }
+            
+            Medicament corrige = copier(entree.fiche);
+            corrige.setStock(entree.stockJournalise - variation);
+            correction.mettreAJourLigne(FICHIER, versLigne(corrige));
+            if (GestionnaireTransactions.ecrire(correction)) {
+                entree.stockJournalise = corrige.getStock();
+            }
+        }
+        
+        correction.valider();
+    }
+    
+    /**
+     * Remet en mémoire la version précédente d'un médicament
+     * (modification dont la transaction a échoué)
+     */
+    private static void restaurer(Entree entree, Medicament ancien, int variation) {
+        synchronized (entree) {
+            entree.fiche = ancien;
+            indexer(ancien);
+            entree.stockJournalise -= variation;
+            varier(entree, -variation);
+        }
+    }
+    
+    /**
+     * Remet un médicament supprimé dans le catalogue
+     * (suppression dont la transaction a échoué)
+     */
+    private static void restaurer(Entree entree) {
+        synchronized (MedicamentDAOCSV.class) {
+            synchronized (entree) {
+                entree.supprimee = false;
+                CATALOGUE.put(entree.fiche.getId(), entree);
+                indexer(entree.fiche);
+                suivre(entree);
+            }
+        }
+    }
+    
+    // ========== SUIVI DU STOCK CRITIQUE ==========
+    
+    /**
+     * Applique une variation au stock disponible et met à jour le suivi
+     */
+    private static void varier(Entree entree, int variation) {
+        entree.stock.addAndGet(variation);
+        suivre(entree);
+    }
+    
+    private static void suivre(Entree entree) {
+        Medicament fiche = entree.fiche;
+        int franchissement = SUIVI_CRITIQUE.actualiser(fiche.getId(), entree.stock, fiche.getSeuilMin(), fiche.getSeuilMax());
+        
+        // Supprimé entre-temps: supprimer() a pu retirer le médicament avant notre actualisation
+        if (entree.supprimee) {
+            SUIVI_CRITIQUE.retirer(entree.fiche.getId());
+            return;
+        }
+        
+        if (franchissement != SuiviStockCritique.AUCUN) {
+            notifier(entree, franchissement == SuiviStockCritique.ENTREE);
+        }
+    }
+    
+    /**
+     * Met à jour le suivi de plusieurs médicaments en une fois
+     */
+    private static void suivreTous(List<Entree> entrees) {
+        int n = entrees.size();
+        int[] ids = new int[n];
+        AtomicInteger[] stocks = new AtomicInteger[n];
+        int[] seuilsMin = new int[n];
+        int[] seuilsMax = new int[n];
+        for (int i = 0; i < n; i++) {
+            Medicament fiche = entrees.get(i).fiche;
+            ids[i] = fiche.getId();
+            stocks[i] = entrees.get(i).stock;
+            seuilsMin[i] = fiche.getSeuilMin();
+            seuilsMax[i] = fiche.getSeuilMax();
+        }
+        
+        int[] franchissements = SUIVI_CRITIQUE.actualiser(ids, stocks, seuilsMin, seuilsMax);
+        
+        for (int i = 0; i < n; i++) {
+            Entree entree = entrees.get(i);
+            if (entree.supprimee) {
+                SUIVI_CRITIQUE.retirer(ids[i]);
+            } else if (franchissements[i] != SuiviStockCritique.AUCUN) {
+                notifier(entree, franchissements[i] == SuiviStockCritique.ENTREE);
+            }
+        }
+    }
+    
+    private static void notifier(Entree entree, boolean critique) {
+        if (OBSERVATEURS.isEmpty()) {
+            return;
+        }
+        Medicament medicament = entree.copie();
+        for (ObservateurStockCritique observateur : OBSERVATEURS) {
+            observateur.seuilFranchi(medicament, critique);
+        }
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    private static void indexer(Medicament medicament) {
+        INDEX_NOMS.ajouter(medicament.getId(), medicament.getNom() + " " + medicament.getDosage());
+    }
+    
+    static String[] versLigne(Medicament medicament) {
+        return new String[]{
+            String.valueOf(medicament.getId()),
+            medicament.getNom(),
+            medicament.getDosage(),
+            String.valueOf(medicament.getStock()),
+            Montant.ecrire(medicament.getPrixUnitaire()),
+            String.valueOf(medicament.getSeuilMin()),
+            String.valueOf(medicament.getSeuilMax())
+        };
+    }
+    
+    /**
+     * Copie défensive: les appelants ne modifient jamais le catalogue directement
+     */
+    private static Medicament copier(Medicament medicament) {
+        Medicament copie = new Medicament(
+            medicament.getId(),
+            medicament.getNom(),
+            medicament.getDosage(),
+            medicament.getStock(),
+            medicament.getPrixUnitaire()
+        );
+        copie.setSeuilMin(medicament.getSeuilMin());
+        copie.setSeuilMax(medicament.getSeuilMax());
+        return copie;
+    }
+    
+    private static Medicament extraireMedicament(String[] ligne) {
+        Medicament medicament = new Medicament();
+        medicament.setId(Integer.parseInt(ligne[0]));
+        medicament.setNom(ligne[1]);
+        medicament.setDosage(ligne[2]);
+        medicament.setStock(Integer.parseInt(ligne[3]));
+        medicament.setPrixUnitaire(Montant.lire(ligne[4]));
+        
+        // Fichiers d'avant les seuils par médicament: seuils par défaut
+        if (ligne.length > 6) {
+            medicament.setSeuilMin(Integer.parseInt(ligne[5]));
+            medicament.setSeuilMax(Integer.parseInt(ligne[6]));
+        }
+        return medicament;
+    }
+    
+    /**
+     * Un médicament du catalogue
+     * 
+     * stock: le stock disponible, modifié sans verrou (compareAndSet).
+     * stockJournalise: le stock écrit dans la dernière ligne du journal
+     * de transactions (sous le verrou de l'entrée). Il rattrape stock dès
+     * que les ventes en cours sont journalisées.
+     */
+    private static class Entree {
+        volatile Medicament fiche;
+        final AtomicInteger stock;
+        int stockJournalise;
+        volatile boolean supprimee;
+        
+        Entree(Medicament fiche) {
+            this.fiche = fiche;
+            this.stock = new AtomicInteger(fiche.getStock());
+            this.stockJournalise = fiche.getStock();
+        }
+        
+        Medicament copie() {
+            Medicament medicament = copier(fiche);
+            medicament.setStock(stock.get());
+            return medicament;
+        }
+    }
+}
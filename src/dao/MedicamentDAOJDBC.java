@@ -0,0 +1,488 @@
+package dao;
+
+import database.ConnexionJDBC;
+import database.IndexTrigrammes;
+import database.JDBCHelper;
+import database.Transaction;
+import database.TransactionJDBC;
+import models.LignePanier;
+import models.Medicament;
+import models.StockHistorique;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Classe MedicamentDAOJDBC - Gère les opérations CRUD pour les Médicaments
+ *
+ * Version JDBC - Table Medicament de database/schema.sql
+ *
+ * Chaque variation de stock est une étape de la transaction (voir
+ * TransactionJDBC): la ligne du médicament est verrouillée (SELECT ...
+ * FOR UPDATE), le nouveau stock vérifié puis écrit, et le mouvement
+ * d'historique ajouté au lot de la même transaction SQL. Deux caisses
+ * qui vendent les dernières boîtes en même temps ne peuvent donc pas
+ * réussir toutes les deux; la contrainte check_stock de la table en est
+ * la dernière garantie.
+ *
+ * Les lignes d'une ordonnance sont verrouillées dans l'ordre des IDs:
+ * deux ordonnances ne peuvent pas s'attendre mutuellement.
+ *
+ * Le stock est aussi lu avant de préparer une sortie, pour refuser tout
+ * de suite une vente impossible (rien n'est alors ajouté à la transaction).
+ *
+ * @author Étudiant
+ * @version 1.0 (JDBC)
+ */
+public class MedicamentDAOJDBC implements MedicamentDAO {
+    
+    private static final String COLONNES = "id_medicament, nom, dosage, stock, prix_unitaire, seuil_min, seuil_max";
+    
+    static final String AJOUTER = "INSERT INTO Medicament (" + COLONNES + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String PAR_ID = "SELECT " + COLONNES + " FROM Medicament WHERE id_medicament = ?";
+    private static final String VERROUILLER = PAR_ID + " FOR UPDATE";
+    private static final String TOUS = "SELECT " + COLONNES + " FROM Medicament ORDER BY id_medicament";
+    private static final String CRITIQUES = "SELECT " + COLONNES + " FROM Medicament"
+        + " WHERE stock < seuil_min ORDER BY seuil_min - stock DESC, id_medicament";
+    private static final String SURSTOCKS = "SELECT " + COLONNES + " FROM Medicament"
+        + " WHERE seuil_max <> " + Medicament.SANS_MAXIMUM + " AND stock > seuil_max ORDER BY stock - seuil_max DESC, id_medicament";
+    private static final String NOMBRE_CRITIQUES = "SELECT COUNT(*) FROM Medicament WHERE stock < seuil_min";
+    private static final String METTRE_A_JOUR = "UPDATE Medicament SET nom = ?, dosage = ?, stock = ?, prix_unitaire = ?,"
+        + " seuil_min = ?, seuil_max = ? WHERE id_medicament = ?";
+    private static final String METTRE_A_JOUR_STOCK = "UPDATE Medicament SET stock = ? WHERE id_medicament = ?";
+    private static final String SUPPRIMER = "DELETE FROM Medicament WHERE id_medicament = ?";
+    
+    private static final List<ObservateurStockCritique> OBSERVATEURS = new CopyOnWriteArrayList<>();
+    
+    private static final StockHistoriqueDAOJDBC HISTORIQUE = new StockHistoriqueDAOJDBC();
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Medicament medicament) {
+        medicament.setId(JDBCHelper.prochainId("Medicament", "id_medicament"));
+        
+        // La fiche et le mouvement du stock initial dans une même transaction
+        Transaction transaction = new Transaction();
+        TransactionJDBC jdbc = TransactionJDBC.de(transaction);
+        jdbc.inserer(AJOUTER, valeurs(medicament));
+        if (medicament.getStock() != 0) {
+            HISTORIQUE.enregistrerMouvement(medicament.getId(), medicament.getStock(),
+                                            StockHistorique.TYPE_REAPPROVISIONNEMENT, transaction);
+        }
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Médicament ajouté avec succès! ID: " + medicament.getId());
+            if (medicament.estStockCritique()) {
+                notifier(medicament, true);
+            }
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Medicament trouverParId(int id) {
+        return JDBCHelper.trouver(PAR_ID, MedicamentDAOJDBC::extraireMedicament, id);
+    }
+    
+    /**
+     * Cherche des médicaments par nom ou dosage (recherche partielle)
+     *
+     * Mêmes résultats que la version CSV: insensible à la casse et aux
+     * accents, les noms qui commencent par la recherche d'abord. La
+     * comparaison est faite ici, les bases ne savent pas toutes ignorer
+     * les accents.
+     */
+    @Override
+    public List<Medicament> rechercherParNom(String nom) {
+        Map<Integer, Medicament> parId = new TreeMap<>();
+        IndexTrigrammes index = new IndexTrigrammes();
+        
+        for (Medicament medicament : trouverTous()) {
+            parId.put(medicament.getId(), medicament);
+            index.ajouter(medicament.getId(), medicament.getNom() + " " + medicament.getDosage());
+        }
+        
+        List<Medicament> resultats = new ArrayList<>();
+        for (int id : index.chercher(nom)) {
+            resultats.add(parId.get(id));
+        }
+        return resultats;
+    }
+    
+    @Override
+    public List<Medicament> trouverTous() {
+        return JDBCHelper.lister(TOUS, MedicamentDAOJDBC::extraireMedicament);
+    }
+    
+    /**
+     * Récupère les médicaments sous leur seuil minimum,
+     * du plus grand manque au plus petit
+     */
+    @Override
+    public List<Medicament> trouverStockCritique() {
+        return JDBCHelper.lister(CRITIQUES, MedicamentDAOJDBC::extraireMedicament);
+    }
+    
+    /**
+     * Récupère les médicaments au-dessus de leur seuil maximum,
+     * du plus grand excédent au plus petit
+     */
+    @Override
+    public List<Medicament> trouverSurstock() {
+        return JDBCHelper.lister(SURSTOCKS, MedicamentDAOJDBC::extraireMedicament);
+    }
+    
+    @Override
+    public int compterStockCritique() {
+        Integer nombre = JDBCHelper.trouver(NOMBRE_CRITIQUES, r -> r.getInt(1));
+        return nombre != null ? nombre : 0;
+    }
+    
+    @Override
+    public void ajouterObservateur(ObservateurStockCritique observateur) {
+        OBSERVATEURS.add(observateur);
+    }
+    
+    @Override
+    public void retirerObservateur(ObservateurStockCritique observateur) {
+        OBSERVATEURS.remove(observateur);
+    }
+    
+    // ========== UPDATE ==========
+    
+    @Override
+    public boolean mettreAJour(Medicament medicament) {
+        Transaction transaction = new Transaction();
+        TransactionJDBC jdbc = TransactionJDBC.de(transaction);
+        List<Medicament> franchissements = new ArrayList<>();
+        
+        jdbc.ajouterEtape(connexion -> {
+            // L'étape peut être recommencée après un conflit (voir TransactionJDBC)
+            franchissements.clear();
+            
+            Medicament ancien = verrouiller(connexion, medicament.getId());
+            if (ancien == null) {
+                return false;
+            }
+            
+            PreparedStatement requete = connexion.preparer(METTRE_A_JOUR);
+            JDBCHelper.lier(requete, medicament.getNom(), medicament.getDosage(), medicament.getStock(),
+                            JDBCHelper.montant(medicament.getPrixUnitaire()), medicament.getSeuilMin(), medicament.getSeuilMax(), medicament.getId());
+            requete.executeUpdate();
+            
+            // Un stock modifié à la main est un ajustement
+            int variation = medicament.getStock() - ancien.getStock();
+            if (variation != 0) {
+                HISTORIQUE.ajouter(new StockHistorique(medicament.getId(), variation, StockHistorique.TYPE_AJUSTEMENT), jdbc);
+            }
+            
+            if (ancien.estStockCritique() != medicament.estStockCritique()) {
+                franchissements.add(copier(medicament));
+            }
+            return true;
+        });
+        
+        boolean succes = valider(transaction, franchissements);
+        
+        if (succes) {
+            System.out.println("✓ Médicament mis à jour avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Met à jour uniquement le stock d'un médicament
+     */
+    @Override
+    public boolean mettreAJourStock(int idMedicament, int nouveauStock) {
+        Transaction transaction = new Transaction();
+        List<Medicament> franchissements = new ArrayList<>();
+        
+        varierStocks(Collections.singletonList(new Variation(idMedicament, nouveauStock, true)),
+                     StockHistorique.TYPE_AJUSTEMENT, transaction, franchissements);
+        
+        boolean succes = valider(transaction, franchissements);
+        
+        if (succes) {
+            System.out.println("✓ Stock mis à jour: " + nouveauStock + " unités");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Diminue le stock d'un médicament
+     */
+    @Override
+    public boolean diminuerStock(int idMedicament, int quantite) {
+        Transaction transaction = new Transaction();
+        
+        if (!diminuerStock(idMedicament, quantite, transaction)) {
+            return false;
+        }
+        
+        return transaction.valider();
+    }
+    
+    /**
+     * Diminue le stock dans le cadre d'une transaction (par exemple une vente)
+     *
+     * Le stock est vérifié tout de suite, puis de nouveau, ligne verrouillée,
+     * à la validation (une autre caisse a pu vendre entre-temps).
+     */
+    @Override
+    public boolean diminuerStock(int idMedicament, int quantite, Transaction transaction) {
+        return diminuerStocks(Collections.singletonList(new LignePanier(idMedicament, quantite)), transaction);
+    }
+    
+    /**
+     * Diminue le stock de toutes les lignes d'une ordonnance (tout ou rien)
+     */
+    @Override
+    public boolean diminuerStocks(List<LignePanier> panier, Transaction transaction) {
+        List<Variation> variations = new ArrayList<>();
+        
+        for (Map.Entry<Integer, Integer> quantite : regrouper(panier).entrySet()) {
+            Medicament medicament = trouverParId(quantite.getKey());
+            if (medicament == null) {
+                System.err.println("✗ Médicament non trouvé! ID: " + quantite.getKey());
+                return false;
+            }
+            if (medicament.getStock() < quantite.getValue()) {
+                System.err.println("✗ Stock insuffisant! Stock actuel: " + medicament.getStock());
+                return false;
+            }
+            variations.add(new Variation(quantite.getKey(), -quantite.getValue(), false));
+        }
+        
+        List<Medicament> franchissements = new ArrayList<>();
+        varierStocks(variations, StockHistorique.TYPE_VENTE, transaction, franchissements);
+        transaction.apresValidation(() -> notifier(franchissements));
+        return true;
+    }
+    
+    /**
+     * Augmente le stock d'un médicament
+     */
+    @Override
+    public boolean augmenterStock(int idMedicament, int quantite) {
+        Transaction transaction = new Transaction();
+        
+        if (!augmenterStocks(Collections.singletonList(new LignePanier(idMedicament, quantite)), transaction)) {
+            return false;
+        }
+        
+        return transaction.valider();
+    }
+    
+    /**
+     * Augmente le stock de plusieurs médicaments (réception groupée de commandes)
+     */
+    @Override
+    public boolean augmenterStocks(List<LignePanier> lignes, Transaction transaction) {
+        List<Variation> variations = new ArrayList<>();
+        
+        for (Map.Entry<Integer, Integer> quantite : regrouper(lignes).entrySet()) {
+            if (trouverParId(quantite.getKey()) == null) {
+                System.err.println("✗ Médicament non trouvé! ID: " + quantite.getKey());
+                return false;
+            }
+            variations.add(new Variation(quantite.getKey(), quantite.getValue(), false));
+        }
+        
+        List<Medicament> franchissements = new ArrayList<>();
+        varierStocks(variations, StockHistorique.TYPE_REAPPROVISIONNEMENT, transaction, franchissements);
+        transaction.apresValidation(() -> notifier(franchissements));
+        return true;
+    }
+    
+    // ========== DELETE ==========
+    
+    /**
+     * Supprime un médicament (refusé par la base s'il a des ventes ou un
+     * historique: clés étrangères)
+     */
+    @Override
+    public boolean supprimer(int id) {
+        Transaction transaction = new Transaction();
+        Medicament[] supprime = new Medicament[1];
+        
+        TransactionJDBC.de(transaction).ajouterEtape(connexion -> {
+            supprime[0] = verrouiller(connexion, id);
+            if (supprime[0] == null) {
+                return false;
+            }
+            
+            PreparedStatement requete = connexion.preparer(SUPPRIMER);
+            JDBCHelper.lier(requete, id);
+            requete.executeUpdate();
+            return true;
+        });
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            // Un médicament supprimé n'est plus en stock critique
+            if (supprime[0].estStockCritique()) {
+                notifier(supprime[0], false);
+            }
+            System.out.println("✓ Médicament supprimé avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== VARIATIONS DE STOCK ==========
+    
+    /**
+     * Ajoute à la transaction une étape qui applique les variations (dans
+     * l'ordre des IDs) et enregistre leurs mouvements
+     *
+     * @param franchissements Reçoit, à la validation, les médicaments qui
+     *                        entrent en stock critique ou en sortent
+     */
+    private static void varierStocks(List<Variation> variations, String typeOperation,
+                                     Transaction transaction, List<Medicament> franchissements) {
+        TransactionJDBC jdbc = TransactionJDBC.de(transaction);
+        
+        jdbc.ajouterEtape(connexion -> {
+            // L'étape peut être recommencée après un conflit (voir TransactionJDBC)
+            franchissements.clear();
+            
+            for (Variation variation : variations) {
+                Medicament medicament = verrouiller(connexion, variation.idMedicament);
+                if (medicament == null) {
+                    System.err.println("✗ Médicament non trouvé! ID: " + variation.idMedicament);
+                    return false;
+                }
+                
+                int ancienStock = medicament.getStock();
+                int difference = variation.fixe ? variation.valeur - ancienStock : variation.valeur;
+                if (ancienStock + difference < 0) {
+                    System.err.println("✗ Stock insuffisant! Stock actuel: " + ancienStock);
+                    return false;
+                }
+                if (difference == 0) {
+                    continue;
+                }
+                
+                boolean etaitCritique = medicament.estStockCritique();
+                medicament.setStock(ancienStock + difference);
+                
+                PreparedStatement requete = connexion.preparer(METTRE_A_JOUR_STOCK);
+                JDBCHelper.lier(requete, medicament.getStock(), medicament.getId());
+                requete.executeUpdate();
+                
+                HISTORIQUE.ajouter(new StockHistorique(medicament.getId(), difference, typeOperation), jdbc);
+                
+                if (etaitCritique != medicament.estStockCritique()) {
+                    franchissements.add(medicament);
+                }
+            }
+            return true;
+        });
+    }
+    
+    /**
+     * Valide la transaction puis prévient les observateurs
+     */
+    private static boolean valider(Transaction transaction, List<Medicament> franchissements) {
+        transaction.apresValidation(() -> notifier(franchissements));
+        return transaction.valider();
+    }
+    
+    /**
+     * Lit et verrouille la ligne d'un médicament jusqu'à la fin de la transaction
+     */
+    private static Medicament verrouiller(ConnexionJDBC connexion, int id) throws SQLException {
+        List<Medicament> lignes = JDBCHelper.lister(connexion, VERROUILLER, MedicamentDAOJDBC::extraireMedicament, id);
+        return lignes.isEmpty() ? null : lignes.get(0);
+    }
+    
+    /**
+     * Regroupe les lignes d'un même médicament (dans l'ordre des IDs)
+     */
+    private static Map<Integer, Integer> regrouper(List<LignePanier> lignes) {
+        Map<Integer, Integer> quantites = new TreeMap<>();
+        for (LignePanier ligne : lignes) {
+            quantites.merge(ligne.getIdMedicament(), ligne.getQuantite(), Integer::sum);
+        }
+        return quantites;
+    }
+    
+    private static void notifier(List<Medicament> franchissements) {
+        for (Medicament medicament : franchissements) {
+            notifier(medicament, medicament.estStockCritique());
+        }
+    }
+    
+    private static void notifier(Medicament medicament, boolean critique) {
+        for (ObservateurStockCritique observateur : OBSERVATEURS) {
+            observateur.seuilFranchi(copier(medicament), critique);
+        }
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    static Object[] valeurs(Medicament medicament) {
+        return new Object[]{
+            medicament.getId(),
+            medicament.getNom(),
+            medicament.getDosage(),
+            medicament.getStock(),
+            JDBCHelper.montant(medicament.getPrixUnitaire()),
+            medicament.getSeuilMin(),
+            medicament.getSeuilMax()
+        };
+    }
+    
+    private static Medicament copier(Medicament medicament) {
+        Medicament copie = new Medicament(medicament.getId(), medicament.getNom(), medicament.getDosage(),
+                                          medicament.getStock(), medicament.getPrixUnitaire());
+        copie.setSeuilMin(medicament.getSeuilMin());
+        copie.setSeuilMax(medicament.getSeuilMax());
+        return copie;
+    }
+    
+    private static Medicament extraireMedicament(ResultSet resultat) throws SQLException {
+        Medicament medicament = new Medicament(
+            resultat.getInt("id_medicament"),
+            resultat.getString("nom"),
+            resultat.getString("dosage"),
+            resultat.getInt("stock"),
+            JDBCHelper.centimes(resultat.getBigDecimal("prix_unitaire"))
+        );
+        medicament.setSeuilMin(resultat.getInt("seuil_min"));
+        medicament.setSeuilMax(resultat.getInt("seuil_max"));
+        return medicament;
+    }
+    
+    /**
+     * Une variation de stock à appliquer (ou un nouveau stock, si fixe)
+     */
+    private static class Variation {
+        final int idMedicament;
+        final int valeur;
+        final boolean fixe;
+        
+        Variation(int idMedicament, int valeur, boolean fixe) {
+            this.idMedicament = idMedicament;
+            this.valeur = valeur;
+            this.fixe = fixe;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package dao;
+
+import database.CSVHelper;
+import database.JDBCHelper;
+import database.Transaction;
+import database.TransactionJDBC;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Classe MigrationCSV - Importe les fichiers CSV dans la base (stockage JDBC)
+ *
+ * À lancer une fois, avant de passer au stockage jdbc:
+ *
+ *   java -cp bin:lib/h2.jar dao.MigrationCSV
+ *
+ * Les données sont lues par les DAO CSV (journaux, partitions et archives
+ * de l'historique compris), puis envoyées par lots de TAILLE_LOT lignes
+ * dans une seule transaction SQL: la base reçoit tout ou rien. Les IDs
+ * sont gardés.
+ *
+ * La migration est refusée si la base contient déjà des données. Une
+ * ligne qui référence une fiche supprimée (ex: vente d'un médicament qui
+ * n'existe plus) est refusée par les clés étrangères: rien n'est importé.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public final class MigrationCSV {
+    
+    private static final int TAILLE_LOT = 1000;
+    
+    // Dans l'ordre des clés étrangères
+    private static final String[] TABLES = {
+        "Pharmacien", "Gestionnaire", "Client", "Medicament", "Vente", "Commande", "StockHistorique"
+    };
+    
+    private MigrationCSV() {
+    }
+    
+    public static void main(String[] args) {
+        CSVHelper.initDataFolder();
+        System.exit(migrer() ? 0 : 1);
+    }
+    
+    /**
+     * Importe toutes les données CSV dans la base vide
+     *
+     * @return true si tout a été importé
+     */
+    public static boolean migrer() {
+        long debut = System.currentTimeMillis();
+        
+        Transaction transaction = new Transaction();
+        TransactionJDBC jdbc = TransactionJDBC.de(transaction);
+        
+        jdbc.ajouterEtape(connexion -> {
+            for (String table : TABLES) {
+                List<Integer> nombre = JDBCHelper.lister(connexion, "SELECT COUNT(*) FROM " + table, r -> r.getInt(1));
+                if (nombre.get(0) > 0) {
+                    System.err.println("✗ La table " + table + " contient déjà des données: migration annulée.");
+                    return false;
+                }
+            }
+            return true;
+        });
+        
+        jdbc.ajouterEtape(importer("Pharmacien", PharmacienDAOJDBC.AJOUTER,
+            new PharmacienDAOCSV().trouverTous(), PharmacienDAOJDBC::valeurs));
+        jdbc.ajouterEtape(importer("Gestionnaire", GestionnaireDAOJDBC.AJOUTER,
+            new GestionnaireDAOCSV().trouverTous(), GestionnaireDAOJDBC::valeurs));
+        jdbc.ajouterEtape(importer("Client", ClientDAOJDBC.AJOUTER,
+            new ClientDAOCSV().trouverTous(), ClientDAOJDBC::valeurs));
+        jdbc.ajouterEtape(importer("Medicament", MedicamentDAOJDBC.AJOUTER,
+            new MedicamentDAOCSV().trouverTous(), MedicamentDAOJDBC::valeurs));
+        jdbc.ajouterEtape(importer("Vente", VenteDAOJDBC.AJOUTER,
+            new VenteDAOCSV().trouverTous(), VenteDAOJDBC::valeurs));
+        jdbc.ajouterEtape(importer("Commande", CommandeDAOJDBC.AJOUTER,
+            new CommandeDAOCSV().trouverTous(), CommandeDAOJDBC::valeurs));
+        // Le détail de tout l'historique, jours compactés compris
+        jdbc.ajouterEtape(importer("StockHistorique", StockHistoriqueDAOJDBC.AJOUTER,
+            new StockHistoriqueDAOCSV().trouverDetailParPeriode("0000-01-01", "9999-12-31"), StockHistoriqueDAOJDBC::valeurs));
+        
+        if (!transaction.valider()) {
+            System.err.println("✗ Migration annulée: la base n'a pas été modifiée.");
+            return false;
+        }
+        
+        // Les prochains IDs sont relus dans la base
+        JDBCHelper.reinitialiserSequences();
+        
+        System.out.println("✓ Migration terminée en " + (System.currentTimeMillis() - debut) + " ms");
+        return true;
+    }
+    
+    /**
+     * Étape qui envoie les lignes d'une table par lots de TAILLE_LOT
+     */
+    private static <T> TransactionJDBC.Etape importer(String table, String sql, List<T> lignes,
+                                                     Function<T, Object[]> valeurs) {
+        return connexion -> {
+            PreparedStatement requete = connexion.preparer(sql);
+            int enAttente = 0;
+            
+            for (T ligne : lignes) {
+                JDBCHelper.lier(requete, valeurs.apply(ligne));
+                requete.addBatch();
+                if (++enAttente == TAILLE_LOT) {
+                    requete.executeBatch();
+                    enAttente = 0;
+                }
+            }
+            if (enAttente > 0) {
+                requete.executeBatch();
+            }
+            
+            System.out.println("✓ " + table + ": " + lignes.size() + " ligne(s)");
+            return true;
+        };
+    }
+}
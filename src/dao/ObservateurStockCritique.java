@@ -0,0 +1,23 @@
+package dao;
+
+import models.Medicament;
+
+/**
+ * Interface ObservateurStockCritique - Prévenu quand un médicament franchit
+ * le seuil de stock critique (dans un sens ou dans l'autre)
+ *
+ * Appelé par le thread qui a modifié le stock: une interface graphique doit
+ * repasser par SwingUtilities.invokeLater.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public interface ObservateurStockCritique {
+
+    /**
+     * @param medicament Le médicament (avec son stock actuel)
+     * @param critique   true s'il vient de passer sous le seuil,
+     *                   false s'il en est sorti (réapprovisionné ou supprimé)
+     */
+    void seuilFranchi(Medicament medicament, boolean critique);
+}
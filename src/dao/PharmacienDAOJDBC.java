@@ -0,0 +1,126 @@
+package dao;
+
+import database.JDBCHelper;
+import models.Pharmacien;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Classe PharmacienDAOJDBC - Gère les opérations CRUD pour les Pharmaciens
+ * 
+ * Version JDBC - Table Pharmacien de database/schema.sql
+ * 
+ * @author Étudiant
+ * @version 1.0 (JDBC)
+ */
+public class PharmacienDAOJDBC implements PharmacienDAO {
+    
+    private static final String COLONNES = "id_pharmacien, nom, prenom, login, password";
+    
+    static final String AJOUTER = "INSERT INTO Pharmacien (" + COLONNES + ") VALUES (?, ?, ?, ?, ?)";
+    private static final String PAR_ID = "SELECT " + COLONNES + " FROM Pharmacien WHERE id_pharmacien = ?";
+    private static final String PAR_LOGIN = "SELECT " + COLONNES + " FROM Pharmacien WHERE login = ?";
+    private static final String TOUS = "SELECT " + COLONNES + " FROM Pharmacien ORDER BY id_pharmacien";
+    private static final String METTRE_A_JOUR = "UPDATE Pharmacien SET nom = ?, prenom = ?, login = ?, password = ? WHERE id_pharmacien = ?";
+    private static final String SUPPRIMER = "DELETE FROM Pharmacien WHERE id_pharmacien = ?";
+    
+    // ========== CREATE (Créer) ==========
+    
+    /**
+     * Ajoute un nouveau pharmacien
+     */
+    @Override
+    public boolean ajouter(Pharmacien pharmacien) {
+        pharmacien.setId(JDBCHelper.prochainId("Pharmacien", "id_pharmacien"));
+        
+        boolean succes = JDBCHelper.executer(AJOUTER, valeurs(pharmacien)) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Pharmacien ajouté avec succès! ID: " + pharmacien.getId());
+        }
+        
+        return succes;
+    }
+    
+    // ========== READ (Lire) ==========
+    
+    @Override
+    public Pharmacien trouverParId(int id) {
+        return JDBCHelper.trouver(PAR_ID, PharmacienDAOJDBC::extrairePharmacien, id);
+    }
+    
+    /**
+     * Trouve un pharmacien par son login (login unique dans la table)
+     */
+    @Override
+    public Pharmacien trouverParLogin(String login) {
+        return JDBCHelper.trouver(PAR_LOGIN, PharmacienDAOJDBC::extrairePharmacien, login);
+    }
+    
+    @Override
+    public List<Pharmacien> trouverTous() {
+        return JDBCHelper.lister(TOUS, PharmacienDAOJDBC::extrairePharmacien);
+    }
+    
+    // ========== UPDATE (Mettre à jour) ==========
+    
+    @Override
+    public boolean mettreAJour(Pharmacien pharmacien) {
+        boolean succes = JDBCHelper.executer(METTRE_A_JOUR, pharmacien.getNom(), pharmacien.getPrenom(),
+                                             pharmacien.getLogin(), pharmacien.getPassword(), pharmacien.getId()) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Pharmacien mis à jour avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== DELETE (Supprimer) ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        boolean succes = JDBCHelper.executer(SUPPRIMER, id) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Pharmacien supprimé avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== AUTHENTIFICATION ==========
+    
+    /**
+     * Vérifie les identifiants de connexion
+     */
+    @Override
+    public Pharmacien authentifier(String login, String password) {
+        Pharmacien pharmacien = trouverParLogin(login);
+        
+        if (pharmacien != null && pharmacien.getPassword().equals(password)) {
+            System.out.println("✓ Authentification réussie!");
+            return pharmacien;
+        }
+        
+        return null;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    static Object[] valeurs(Pharmacien pharmacien) {
+        return new Object[]{pharmacien.getId(), pharmacien.getNom(), pharmacien.getPrenom(), pharmacien.getLogin(), pharmacien.getPassword()};
+    }
+    
+    private static Pharmacien extrairePharmacien(ResultSet resultat) throws SQLException {
+        return new Pharmacien(
+            resultat.getInt("id_pharmacien"),
+            resultat.getString("nom"),
+            resultat.getString("prenom"),
+            resultat.getString("login"),
+            resultat.getString("password")
+        );
+    }
+}
@@ -1,146 +1,86 @@
 package dao;
 
-import database.CSVHelper;
+import database.Transaction;
 import models.StockHistorique;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Classe StockHistoriqueDAO - Gère l'historique des mouvements de stock
+ * Interface StockHistoriqueDAO - Les mouvements de stock
  * 
- * Version CSV
+ * L'historique est la référence du stock: le stock d'un médicament est la
+ * somme de ses mouvements. Un mouvement n'est donc ajouté qu'avec la
+ * variation de stock correspondante (voir MedicamentDAO).
+ * 
+ * Les services ne connaissent que cette interface: le stockage est choisi
+ * au démarrage (voir FabriqueDAO). Les jours sont au format yyyy-MM-dd.
  * 
  * @author Étudiant
- * @version 2.0 (CSV)
+ * @version 1.0
  */
-public class StockHistoriqueDAO {
-    
-    private static final String FICHIER = "stock_historique.csv";
-    private static final String[] ENTETES = {"id", "idMedicament", "quantite", "typeOperation", "dateOperation"};
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-    
-    public StockHistoriqueDAO() {
-        CSVHelper.creerFichierSiAbsent(FICHIER, ENTETES);
-    }
+public interface StockHistoriqueDAO {
     
-    // ========== CREATE ==========
+    /**
+     * Ajoute un mouvement (son ID est attribué ici)
+     */
+    boolean ajouter(StockHistorique historique);
     
-    public boolean ajouter(StockHistorique historique) {
-        int nouvelId = CSVHelper.getProchainId(FICHIER);
-        historique.setId(nouvelId);
-        
-        if (historique.getDateOperation() == null) {
-            historique.setDateOperation(new Date());
-        }
-        
-        String[] donnees = {
-            String.valueOf(historique.getId()),
-            String.valueOf(historique.getIdMedicament()),
-            String.valueOf(historique.getQuantite()),
-            historique.getTypeOperation(),
-            DATE_FORMAT.format(historique.getDateOperation())
-        };
-        
-        boolean succes = CSVHelper.ajouterLigne(FICHIER, donnees);
-        
-        if (succes) {
-            System.out.println("✓ Mouvement de stock enregistré!");
-        }
-        
-        return succes;
-    }
+    /**
+     * Ajoute un mouvement dans une transaction
+     * (il n'est enregistré qu'à la validation de la transaction)
+     */
+    void ajouter(StockHistorique historique, Transaction transaction);
     
     /**
-     * Enregistre une vente dans l'historique
+     * Enregistre un mouvement de stock dans le cadre d'une transaction
+     * 
+     * @param quantite La variation du stock (négative pour une sortie)
+     * @param typeOperation VENTE, REAPPROVISIONNEMENT ou AJUSTEMENT
      */
-    public boolean enregistrerVente(int idMedicament, int quantite) {
-        StockHistorique historique = new StockHistorique(
-            idMedicament,
-            -quantite, // Négatif car sortie de stock
-            StockHistorique.TYPE_VENTE
-        );
-        return ajouter(historique);
-    }
+    void enregistrerMouvement(int idMedicament, int quantite, String typeOperation, Transaction transaction);
     
     /**
-     * Enregistre un réapprovisionnement
+     * Récupère l'historique d'un médicament
      */
-    public boolean enregistrerReapprovisionnement(int idMedicament, int quantite) {
-        StockHistorique historique = new StockHistorique(
-            idMedicament,
-            quantite, // Positif car entrée de stock
-            StockHistorique.TYPE_REAPPROVISIONNEMENT
-        );
-        return ajouter(historique);
-    }
+    List<StockHistorique> trouverParMedicament(int idMedicament);
     
-    // ========== READ ==========
+    List<StockHistorique> trouverTous();
     
     /**
-     * Récupère l'historique d'un médicament
+     * Récupère l'historique par type d'opération
      */
-    public List<StockHistorique> trouverParMedicament(int idMedicament) {
-        List<StockHistorique> historiques = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            if (Integer.parseInt(ligne[1]) == idMedicament) {
-                historiques.add(extraireHistorique(ligne));
-            }
-        }
-        
-        return historiques;
-    }
+    List<StockHistorique> trouverParType(String typeOperation);
     
     /**
-     * Récupère tout l'historique
+     * Récupère les mouvements d'une période (jours inclus)
      */
-    public List<StockHistorique> trouverTous() {
-        List<StockHistorique> historiques = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            historiques.add(extraireHistorique(ligne));
-        }
-        
-        return historiques;
-    }
+    List<StockHistorique> trouverParPeriode(String premierJour, String dernierJour);
     
     /**
-     * Récupère l'historique par type d'opération
+     * Récupère le détail des mouvements d'une période (jours inclus),
+     * y compris celui des jours anciens résumés
      */
-    public List<StockHistorique> trouverParType(String typeOperation) {
-        List<StockHistorique> historiques = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            if (ligne[3].equals(typeOperation)) {
-                historiques.add(extraireHistorique(ligne));
-            }
-        }
-        
-        return historiques;
-    }
+    List<StockHistorique> trouverDetailParPeriode(String premierJour, String dernierJour);
     
-    // ========== MÉTHODE UTILITAIRE ==========
+    /**
+     * Le stock actuel de chaque médicament d'après ses mouvements
+     * 
+     * @param stocksConnus Les stocks du catalogue, pour un historique
+     *                     qui ne remonte pas au premier jour
+     * @return ID du médicament -> stock (absent: 0)
+     */
+    Map<Integer, Integer> calculerStocks(Map<Integer, Integer> stocksConnus);
     
-    private StockHistorique extraireHistorique(String[] ligne) {
-        StockHistorique historique = new StockHistorique();
-        historique.setId(Integer.parseInt(ligne[0]));
-        historique.setIdMedicament(Integer.parseInt(ligne[1]));
-        historique.setQuantite(Integer.parseInt(ligne[2]));
-        historique.setTypeOperation(ligne[3]);
-        
-        try {
-            historique.setDateOperation(DATE_FORMAT.parse(ligne[4]));
-        } catch (ParseException e) {
-            historique.setDateOperation(new Date());
-        }
-        
-        return historique;
-    }
+    /**
+     * Le stock de chaque médicament à la fin d'un jour
+     * 
+     * @return ID du médicament -> stock (absent: 0)
+     */
+    Map<Integer, Integer> calculerStocksAu(String jour);
+    
+    /**
+     * Le stock d'un médicament à la fin d'un jour
+     */
+    int calculerStockAu(int idMedicament, String jour);
 }
@@ -0,0 +1,242 @@
+package dao;
+
+import database.GestionnaireTransactions;
+import database.Horodatage;
+import database.LigneBinaire;
+import database.TableBinaire;
+import database.Transaction;
+import database.TransactionBinaire;
+import models.StockHistorique;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Classe StockHistoriqueDAOBinaire - Gère l'historique des mouvements de stock
+ *
+ * Version binaire - data/stock_historique.bin (voir TableBinaire)
+ *
+ * Comme dans la base (voir StockHistoriqueDAOJDBC), la colonne stock de
+ * medicaments.bin est écrite dans la même transaction que chaque
+ * mouvement: c'est elle la référence. Le stock d'un jour passé est le
+ * stock actuel moins les mouvements qui ont suivi; un parcours ne lit
+ * alors que la date, le médicament et la quantité de chaque ligne. Rien
+ * n'est compacté: le détail d'une période est l'historique de la période.
+ *
+ * @author Étudiant
+ * @version 1.0 (binaire)
+ */
+public class StockHistoriqueDAOBinaire implements StockHistoriqueDAO {
+    
+    // Colonnes (0 = ID)
+    private static final int ID_MEDICAMENT = 1;
+    private static final int QUANTITE = 2;
+    private static final int TYPE = 3;
+    private static final int DATE = 4;
+    
+    static final TableBinaire TABLE = new TableBinaire("stock_historique.bin")
+        .entier("idMedicament")
+        .entier("quantite")
+        .texte("typeOperation", 30)
+        .horodatage("dateOperation");
+    
+    public StockHistoriqueDAOBinaire() {
+        GestionnaireTransactions.recuperer();
+        TABLE.initialiser();
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(StockHistorique historique) {
+        Transaction transaction = new Transaction();
+        ajouter(historique, transaction);
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Mouvement de stock enregistré!");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Ajoute un mouvement dans une transaction
+     * (écrit avec les autres lignes de la transaction, à sa validation)
+     */
+    @Override
+    public void ajouter(StockHistorique historique, Transaction transaction) {
+        ajouter(historique, TransactionBinaire.de(transaction));
+    }
+    
+    /**
+     * Ajoute un mouvement à la part binaire d'une transaction (aussi
+     * depuis une de ses étapes, pendant la validation)
+     */
+    void ajouter(StockHistorique historique, TransactionBinaire transaction) {
+        historique.setId(TABLE.prochainId());
+        
+        if (historique.getDateOperation() == 0) {
+            historique.setDateOperation(System.currentTimeMillis());
+        }
+        
+        transaction.ecrire(versLigne(historique));
+    }
+    
+    /**
+     * Enregistre un mouvement de stock dans le cadre d'une transaction
+     *
+     * @param quantite La variation du stock (négative pour une sortie)
+     * @param typeOperation VENTE, REAPPROVISIONNEMENT ou AJUSTEMENT
+     */
+    @Override
+    public void enregistrerMouvement(int idMedicament, int quantite, String typeOperation, Transaction transaction) {
+        ajouter(new StockHistorique(idMedicament, quantite, typeOperation), transaction);
+    }
+    
+    // ========== READ ==========
+    
+    /**
+     * Récupère l'historique d'un médicament
+     */
+    @Override
+    public List<StockHistorique> trouverParMedicament(int idMedicament) {
+        return chercher(ligne -> ligne.entier(ID_MEDICAMENT) == idMedicament);
+    }
+    
+    /**
+     * Récupère tout l'historique
+     */
+    @Override
+    public List<StockHistorique> trouverTous() {
+        return chercher(ligne -> true);
+    }
+    
+    /**
+     * Récupère l'historique par type d'opération
+     */
+    @Override
+    public List<StockHistorique> trouverParType(String typeOperation) {
+        return chercher(ligne -> ligne.egal(TYPE, typeOperation));
+    }
+    
+    /**
+     * Récupère les mouvements d'une période
+     *
+     * @param premierJour Premier jour inclus (yyyy-MM-dd)
+     * @param dernierJour Dernier jour inclus (yyyy-MM-dd)
+     */
+    @Override
+    public List<StockHistorique> trouverParPeriode(String premierJour, String dernierJour) {
+        long debut = Horodatage.debutDuJour(premierJour);
+        long fin = Horodatage.debutDuLendemain(dernierJour);
+        
+        return chercher(ligne -> {
+            long date = ligne.horodatage(DATE);
+            return date >= debut && date < fin;
+        });
+    }
+    
+    /**
+     * Le détail d'une période: l'historique binaire n'est pas compacté
+     */
+    @Override
+    public List<StockHistorique> trouverDetailParPeriode(String premierJour, String dernierJour) {
+        return trouverParPeriode(premierJour, dernierJour);
+    }
+    
+    // ========== STOCK CALCULÉ À PARTIR DES MOUVEMENTS ==========
+    
+    /**
+     * Le stock actuel de chaque médicament (colonne stock, tenue à jour
+     * avec les mouvements)
+     *
+     * @param stocksConnus Inutilisé: medicaments.bin a toujours le stock de référence
+     * @return ID du médicament -> stock
+     */
+    @Override
+    public Map<Integer, Integer> calculerStocks(Map<Integer, Integer> stocksConnus) {
+        return MedicamentDAOBinaire.stocks();
+    }
+    
+    /**
+     * Le stock de chaque médicament à la fin d'un jour: le stock actuel
+     * moins les mouvements des jours suivants
+     *
+     * @param jour Le jour (yyyy-MM-dd)
+     * @return ID du médicament -> stock
+     */
+    @Override
+    public Map<Integer, Integer> calculerStocksAu(String jour) {
+        Map<Integer, Integer> stocks = MedicamentDAOBinaire.stocks();
+        long lendemain = Horodatage.debutDuLendemain(jour);
+        
+        TABLE.parcourir(ligne -> {
+            if (ligne.horodatage(DATE) >= lendemain) {
+                stocks.computeIfPresent(ligne.entier(ID_MEDICAMENT), (id, stock) -> stock - ligne.entier(QUANTITE));
+            }
+            return true;
+        });
+        
+        return stocks;
+    }
+    
+    /**
+     * Le stock d'un médicament à la fin d'un jour (yyyy-MM-dd)
+     */
+    @Override
+    public int calculerStockAu(int idMedicament, String jour) {
+        Integer actuel = MedicamentDAOBinaire.stocks().get(idMedicament);
+        if (actuel == null) {
+            return 0;
+        }
+        
+        long lendemain = Horodatage.debutDuLendemain(jour);
+        int[] stock = {actuel};
+        
+        TABLE.parcourir(ligne -> {
+            if (ligne.entier(ID_MEDICAMENT) == idMedicament && ligne.horodatage(DATE) >= lendemain) {
+                stock[0] -= ligne.entier(QUANTITE);
+            }
+            return true;
+        });
+        
+        return stock[0];
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    private List<StockHistorique> chercher(Predicate<LigneBinaire> filtre) {
+        List<StockHistorique> historique = new ArrayList<>();
+        
+        TABLE.parcourir(ligne -> {
+            if (filtre.test(ligne)) {
+                historique.add(extraireHistorique(ligne));
+            }
+            return true;
+        });
+        
+        return historique;
+    }
+    
+    static LigneBinaire versLigne(StockHistorique historique) {
+        return TABLE.nouvelleLigne(historique.getId())
+            .ecrireEntier(ID_MEDICAMENT, historique.getIdMedicament())
+            .ecrireEntier(QUANTITE, historique.getQuantite())
+            .ecrireTexte(TYPE, historique.getTypeOperation())
+            .ecrireHorodatage(DATE, historique.getDateOperation());
+    }
+    
+    private static StockHistorique extraireHistorique(LigneBinaire ligne) {
+        return new StockHistorique(
+            ligne.id(),
+            ligne.entier(ID_MEDICAMENT),
+            ligne.entier(QUANTITE),
+            ligne.horodatage(DATE),
+            ligne.texte(TYPE)
+        );
+    }
+}
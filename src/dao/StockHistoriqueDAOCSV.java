@@ -0,0 +1,496 @@
+package dao;
+
+import database.CSVHelper;
+import database.EcritureDifferee;
+import database.GestionnaireTransactions;
+import database.Horodatage;
+import database.TablePartitionnee;
+import database.Transaction;
+import models.StockHistorique;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe StockHistoriqueDAOCSV - Gère l'historique des mouvements de stock
+ * 
+ * Version CSV: une partition par jour (data/stock_historique/2026-01-13.csv)
+ * 
+ * L'historique est la référence du stock: chaque variation du stock d'un
+ * médicament y est écrite dans la même transaction que le nouveau stock
+ * (voir MedicamentDAOCSV). Le stock d'un médicament est donc la somme de ses
+ * mouvements. Pour ne pas tout relire, un instantané des stocks est
+ * enregistré chaque jour (voir InstantanesStock):
+ * 
+ *   stock actuel       = dernier instantané + mouvements des jours suivants
+ *   stock au 2026-03-31 = instantané le plus proche + mouvements entre les deux
+ * 
+ * Les mouvements sont écrits en arrière-plan, par lots (voir EcritureDifferee):
+ * ils sont dans le journal de transactions dès la validation, et chaque
+ * lecture attend d'abord que ceux déjà validés soient écrits.
+ * 
+ * Les jours de plus de JOURS_DETAILLES jours sont compactés: leur partition
+ * ne garde qu'une ligne par médicament et par type d'opération (la somme du
+ * jour), le détail part dans une archive compressée (voir ArchivesHistorique).
+ * Les sommes ne changent pas, les recherches ne relisent que le détail récent.
+ * 
+ * @author Étudiant
+ * @version 2.3 (CSV + instantanés + archives + écriture différée)
+ */
+public class StockHistoriqueDAOCSV implements StockHistoriqueDAO {
+    
+    static final String[] ENTETES = {"id", "idMedicament", "quantite", "typeOperation", "dateOperation"};
+    
+    // Un fichier par jour dans data/stock_historique/ (voir TablePartitionnee)
+    private static final TablePartitionnee TABLE = new TablePartitionnee("stock_historique", ENTETES, 4);
+    
+    // Stocks à la fin de certains jours
+    private static final InstantanesStock INSTANTANES = new InstantanesStock();
+    
+    // Détail des jours compactés
+    private static final ArchivesHistorique ARCHIVES = new ArchivesHistorique();
+    private static final int JOURS_DETAILLES = 90;
+    
+    // Un jour est terminé quand ses dernières transactions ont eu le temps d'être appliquées
+    private static final long MARGE_FIN_DE_JOUR_MS = 10 * 60 * 1000;
+    private static final long PERIODE_ENTRETIEN_MINUTES = 60;
+    private static final String JOUR_MIN = "0000-00-00";
+    private static final String JOUR_MAX = "9999-99-99";
+    
+    private static ScheduledExecutorService entretien;
+    
+    public StockHistoriqueDAOCSV() {
+        GestionnaireTransactions.recuperer();
+        TABLE.initialiser();
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(StockHistorique historique) {
+        int nouvelId = TABLE.prochainId();
+        historique.setId(nouvelId);
+        
+        if (historique.getDateOperation() == 0) {
+            historique.setDateOperation(System.currentTimeMillis());
+        }
+        
+        String[] ligne = versLigne(historique);
+        boolean succes = CSVHelper.ajouterLigne(TABLE.preparerAjout(ligne), ligne);
+        
+        if (succes) {
+            System.out.println("✓ Mouvement de stock enregistré!");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Ajoute un mouvement dans une transaction
+     * (la ligne est écrite en arrière-plan après la validation, voir EcritureDifferee)
+     */
+    @Override
+    public void ajouter(StockHistorique historique, Transaction transaction) {
+        historique.setId(TABLE.prochainId());
+        
+        if (historique.getDateOperation() == 0) {
+            historique.setDateOperation(System.currentTimeMillis());
+        }
+        
+        String[] ligne = versLigne(historique);
+        transaction.ajouterLigneDifferee(TABLE.preparerAjout(ligne), ligne);
+    }
+    
+    /**
+     * Enregistre un mouvement de stock dans le cadre d'une transaction
+     * 
+     * @param quantite La variation du stock (négative pour une sortie)
+     * @param typeOperation VENTE, REAPPROVISIONNEMENT ou AJUSTEMENT
+     */
+    @Override
+    public void enregistrerMouvement(int idMedicament, int quantite, String typeOperation, Transaction transaction) {
+        ajouter(new StockHistorique(idMedicament, quantite, typeOperation), transaction);
+    }
+    
+    // ========== READ ==========
+    
+    /**
+     * Récupère l'historique d'un médicament
+     */
+    @Override
+    public List<StockHistorique> trouverParMedicament(int idMedicament) {
+        EcritureDifferee.vider();
+        
+        return TABLE.agreger(TABLE.toutesPartitions(),
+            ArrayList::new,
+            (historiques, ligne) -> {
+                if (ligne.entier(1) == idMedicament) {
+                    historiques.add(extraireHistorique(ligne.colonnes()));
+                }
+            },
+            StockHistoriqueDAOCSV::concatener);
+    }
+    
+    /**
+     * Récupère tout l'historique
+     */
+    @Override
+    public List<StockHistorique> trouverTous() {
+        EcritureDifferee.vider();
+        
+        List<StockHistorique> historiques = new ArrayList<>();
+        
+        for (String partition : TABLE.toutesPartitions()) {
+            CSVHelper.parcourirFichier(partition, ligne -> {
+                historiques.add(extraireHistorique(ligne));
+                return true;
+            });
+        }
+        
+        return historiques;
+    }
+    
+    /**
+     * Récupère l'historique par type d'opération
+     */
+    @Override
+    public List<StockHistorique> trouverParType(String typeOperation) {
+        EcritureDifferee.vider();
+        
+        return TABLE.agreger(TABLE.toutesPartitions(),
+            ArrayList::new,
+            (historiques, ligne) -> {
+                if (ligne.egal(3, typeOperation)) {
+                    historiques.add(extraireHistorique(ligne.colonnes()));
+                }
+            },
+            StockHistoriqueDAOCSV::concatener);
+    }
+    
+    /**
+     * Récupère les mouvements d'une période
+     * 
+     * @param premierJour Premier jour inclus (yyyy-MM-dd)
+     * @param dernierJour Dernier jour inclus (yyyy-MM-dd)
+     */
+    @Override
+    public List<StockHistorique> trouverParPeriode(String premierJour, String dernierJour) {
+        EcritureDifferee.vider();
+        
+        // Seuls les fichiers des jours demandés sont ouverts
+        return TABLE.agreger(TABLE.partitionsEntre(premierJour, dernierJour),
+            ArrayList::new,
+            (historiques, ligne) -> historiques.add(extraireHistorique(ligne.colonnes())),
+            StockHistoriqueDAOCSV::concatener);
+    }
+    
+    /**
+     * Récupère le détail des mouvements d'une période, y compris celui des
+     * jours compactés (relu dans leurs archives)
+     * 
+     * @param premierJour Premier jour inclus (yyyy-MM-dd)
+     * @param dernierJour Dernier jour inclus (yyyy-MM-dd)
+     */
+    @Override
+    public List<StockHistorique> trouverDetailParPeriode(String premierJour, String dernierJour) {
+        EcritureDifferee.vider();
+        
+        List<StockHistorique> historiques = new ArrayList<>();
+        
+        for (String jour : TABLE.jours()) {
+            if (jour.compareTo(premierJour) < 0 || jour.compareTo(dernierJour) > 0) {
+                continue;
+            }
+            
+            if (ARCHIVES.contient(jour)) {
+                for (String[] ligne : ARCHIVES.lire(jour)) {
+                    historiques.add(extraireHistorique(ligne));
+                }
+            } else {
+                CSVHelper.parcourirFichier(TABLE.partitionDuJour(jour), ligne -> {
+                    historiques.add(extraireHistorique(ligne));
+                    return true;
+                });
+            }
+        }
+        
+        return historiques;
+    }
+    
+    // ========== STOCK CALCULÉ À PARTIR DES MOUVEMENTS ==========
+    
+    /**
+     * Le stock actuel de chaque médicament: dernier instantané, plus les
+     * mouvements des jours suivants
+     * 
+     * @param stocksConnus Les stocks du catalogue, utilisés une seule fois:
+     *                     pour créer le premier instantané d'un historique
+     *                     qui n'en a pas encore
+     * @return ID du médicament -> stock (absent: 0)
+     */
+    @Override
+    public Map<Integer, Integer> calculerStocks(Map<Integer, Integer> stocksConnus) {
+        EcritureDifferee.vider();
+        
+        synchronized (INSTANTANES) {
+            if (INSTANTANES.estVide()) {
+                creerPremierInstantane(stocksConnus);
+            }
+        }
+        
+        String dernier = INSTANTANES.dernierJour();
+        if (dernier == null) {
+            Map<Integer, Integer> stocks = new HashMap<>();
+            ajouterMouvements(stocks, TABLE.toutesPartitions(), 1);
+            return stocks;
+        }
+        
+        Map<Integer, Integer> stocks = INSTANTANES.lire(dernier);
+        ajouterMouvements(stocks, TABLE.partitionsApres(dernier, JOUR_MAX), 1);
+        return stocks;
+    }
+    
+    /**
+     * Le stock de chaque médicament à la fin d'un jour
+     * 
+     * Part de l'instantané le plus proche avant ce jour et ajoute les
+     * mouvements qui suivent; avant le premier instantané, retire de
+     * celui-ci les mouvements qui le précèdent.
+     * 
+     * @param jour Le jour (yyyy-MM-dd)
+     * @return ID du médicament -> stock (absent: 0)
+     */
+    @Override
+    public Map<Integer, Integer> calculerStocksAu(String jour) {
+        EcritureDifferee.vider();
+        
+        String avant = INSTANTANES.jourAuPlusTard(jour);
+        if (avant != null) {
+            Map<Integer, Integer> stocks = INSTANTANES.lire(avant);
+            ajouterMouvements(stocks, TABLE.partitionsApres(avant, jour), 1);
+            return stocks;
+        }
+        
+        String apres = INSTANTANES.premierJour();
+        if (apres == null) {
+            Map<Integer, Integer> stocks = new HashMap<>();
+            ajouterMouvements(stocks, TABLE.partitionsEntre(JOUR_MIN, jour), 1);
+            return stocks;
+        }
+        
+        Map<Integer, Integer> stocks = INSTANTANES.lire(apres);
+        ajouterMouvements(stocks, TABLE.partitionsApres(jour, apres), -1);
+        return stocks;
+    }
+    
+    /**
+     * Le stock d'un médicament à la fin d'un jour (yyyy-MM-dd)
+     */
+    @Override
+    public int calculerStockAu(int idMedicament, String jour) {
+        return calculerStocksAu(jour).getOrDefault(idMedicament, 0);
+    }
+    
+    /**
+     * Enregistre l'instantané du dernier jour terminé, s'il manque et que
+     * des mouvements ont eu lieu depuis le précédent
+     * 
+     * @return true si un instantané a été enregistré
+     */
+    public boolean prendreInstantane() {
+        EcritureDifferee.vider();
+        
+        String jour = dernierJourTermine();
+        
+        synchronized (INSTANTANES) {
+            String precedent = INSTANTANES.dernierJour();
+            if (precedent == null || precedent.compareTo(jour) >= 0) {
+                return false;
+            }
+            
+            List<String> partitions = TABLE.partitionsApres(precedent, jour);
+            if (partitions.isEmpty()) {
+                return false;
+            }
+            
+            Map<Integer, Integer> stocks = INSTANTANES.lire(precedent);
+            ajouterMouvements(stocks, partitions, 1);
+            
+            if (!INSTANTANES.ecrire(jour, stocks)) {
+                return false;
+            }
+        }
+        
+        System.out.println("✓ Instantané des stocks enregistré (" + jour + ")");
+        return true;
+    }
+    
+    /**
+     * Démarre (une seule fois) la tâche de fond qui enregistre un instantané
+     * par jour terminé et compacte les jours anciens
+     */
+    public static synchronized void demarrerEntretienAutomatique() {
+        if (entretien != null) {
+            return;
+        }
+        
+        entretien = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "entretien-historique");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        StockHistoriqueDAOCSV historique = new StockHistoriqueDAOCSV();
+        entretien.scheduleWithFixedDelay(() -> {
+            historique.prendreInstantane();
+            historique.compacter();
+        }, 0, PERIODE_ENTRETIEN_MINUTES, TimeUnit.MINUTES);
+    }
+    
+    /**
+     * Premier instantané, à partir des stocks du catalogue (qui comptent
+     * déjà les mouvements d'aujourd'hui: on les retire)
+     */
+    private void creerPremierInstantane(Map<Integer, Integer> stocksConnus) {
+        String jour = dernierJourTermine();
+        Map<Integer, Integer> stocks = new HashMap<>(stocksConnus);
+        ajouterMouvements(stocks, TABLE.partitionsApres(jour, JOUR_MAX), -1);
+        
+        if (INSTANTANES.ecrire(jour, stocks)) {
+            System.out.println("✓ Premier instantané des stocks enregistré (" + jour + ")");
+        }
+    }
+    
+    /**
+     * Ajoute (signe 1) ou retire (signe -1) les mouvements des partitions aux stocks
+     */
+    private void ajouterMouvements(Map<Integer, Integer> stocks, List<String> partitions, int signe) {
+        Map<Integer, Integer> variations = TABLE.agreger(partitions,
+            HashMap::new,
+            (somme, ligne) -> somme.merge(ligne.entier(1), ligne.entier(2), Integer::sum),
+            StockHistoriqueDAOCSV::additionner);
+        
+        for (Map.Entry<Integer, Integer> variation : variations.entrySet()) {
+            stocks.merge(variation.getKey(), signe * variation.getValue(), Integer::sum);
+        }
+    }
+    
+    /**
+     * La veille du jour en cours (avec une marge après minuit)
+     */
+    private static String dernierJourTermine() {
+        String jour = Horodatage.jour(System.currentTimeMillis() - MARGE_FIN_DE_JOUR_MS);
+        return LocalDate.parse(jour).minusDays(1).toString();
+    }
+    
+    // ========== COMPACTION ==========
+    
+    /**
+     * Compacte les jours de plus de JOURS_DETAILLES jours qui ne le sont pas encore
+     * 
+     * @return Le nombre de jours compactés
+     */
+    public int compacter() {
+        EcritureDifferee.vider();
+        
+        String limite = LocalDate.parse(dernierJourTermine()).minusDays(JOURS_DETAILLES).toString();
+        int compactes = 0;
+        
+        synchronized (ARCHIVES) {
+            for (String jour : TABLE.jours()) {
+                if (jour.compareTo(limite) >= 0) {
+                    break;
+                }
+                if (!ARCHIVES.contient(jour) && compacterJour(jour)) {
+                    compactes++;
+                }
+            }
+        }
+        
+        if (compactes > 0) {
+            System.out.println("✓ " + compactes + " jour(s) d'historique compacté(s) (détail dans stock_historique/archives/)");
+        }
+        return compactes;
+    }
+    
+    /**
+     * Archive les lignes d'un jour, puis remplace sa partition par le résumé
+     * 
+     * Le résumé garde, pour chaque médicament et type d'opération, le plus
+     * petit ID (il reste dans la plage du jour), la somme des quantités et
+     * la date du dernier mouvement. Si l'application s'arrête entre les
+     * deux étapes, la partition garde simplement son détail.
+     */
+    private boolean compacterJour(String jour) {
+        String partition = TABLE.partitionDuJour(jour);
+        List<String[]> lignes = CSVHelper.lireFichier(partition);
+        
+        Map<String, String[]> resume = new LinkedHashMap<>();
+        for (String[] ligne : lignes) {
+            String[] somme = resume.get(ligne[1] + CSVHelper.SEPARATOR + ligne[3]);
+            if (somme == null) {
+                resume.put(ligne[1] + CSVHelper.SEPARATOR + ligne[3], ligne.clone());
+                continue;
+            }
+            
+            somme[0] = String.valueOf(Math.min(Integer.parseInt(somme[0]), Integer.parseInt(ligne[0])));
+            somme[2] = String.valueOf(Integer.parseInt(somme[2]) + Integer.parseInt(ligne[2]));
+            if (ligne[4].compareTo(somme[4]) > 0) {
+                somme[4] = ligne[4];
+            }
+        }
+        
+        return ARCHIVES.ecrire(jour, ENTETES, lignes)
+            && TABLE.remplacerPartition(jour, new ArrayList<>(resume.values()));
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    private static Map<Integer, Integer> additionner(Map<Integer, Integer> gauche, Map<Integer, Integer> droite) {
+        for (Map.Entry<Integer, Integer> variation : droite.entrySet()) {
+            gauche.merge(variation.getKey(), variation.getValue(), Integer::sum);
+        }
+        return gauche;
+    }
+    
+    /**
+     * Fusion des résultats partiels d'un parcours parallèle (dans l'ordre chronologique)
+     */
+    private static List<StockHistorique> concatener(List<StockHistorique> gauche, List<StockHistorique> droite) {
+        gauche.addAll(droite);
+        return gauche;
+    }
+    
+    static String[] versLigne(StockHistorique historique) {
+        return new String[]{
+            String.valueOf(historique.getId()),
+            String.valueOf(historique.getIdMedicament()),
+            String.valueOf(historique.getQuantite()),
+            historique.getTypeOperation(),
+            Horodatage.ecrire(historique.getDateOperation())
+        };
+    }
+    
+    private StockHistorique extraireHistorique(String[] ligne) {
+        StockHistorique historique = new StockHistorique();
+        historique.setId(Integer.parseInt(ligne[0]));
+        historique.setIdMedicament(Integer.parseInt(ligne[1]));
+        historique.setQuantite(Integer.parseInt(ligne[2]));
+        historique.setTypeOperation(ligne[3]);
+        
+        try {
+            historique.setDateOperation(Horodatage.lire(ligne[4]));
+        } catch (IllegalArgumentException e) {
+            historique.setDateOperation(System.currentTimeMillis());
+        }
+        
+        return historique;
+    }
+}
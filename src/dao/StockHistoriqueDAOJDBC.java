@@ -0,0 +1,214 @@
+package dao;
+
+import database.JDBCHelper;
+import database.Transaction;
+import database.TransactionJDBC;
+import models.StockHistorique;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe StockHistoriqueDAOJDBC - Gère l'historique des mouvements de stock
+ *
+ * Version JDBC - Table StockHistorique de database/schema.sql
+ *
+ * Dans la base, la colonne stock de Medicament est mise à jour dans la
+ * même transaction SQL que chaque mouvement: c'est elle la référence.
+ * Le stock d'un jour passé est donc le stock actuel moins les mouvements
+ * qui ont suivi (pas besoin d'instantanés). Rien n'est compacté: le
+ * détail d'une période est l'historique de la période.
+ *
+ * Les mouvements d'une transaction sont envoyés par lots à sa validation
+ * (voir TransactionJDBC).
+ *
+ * @author Étudiant
+ * @version 1.0 (JDBC)
+ */
+public class StockHistoriqueDAOJDBC implements StockHistoriqueDAO {
+    
+    private static final String COLONNES = "id_historique, id_medicament, quantite, type_operation, date_operation";
+    
+    static final String AJOUTER = "INSERT INTO StockHistorique (" + COLONNES + ") VALUES (?, ?, ?, ?, ?)";
+    private static final String PAR_MEDICAMENT = "SELECT " + COLONNES + " FROM StockHistorique WHERE id_medicament = ? ORDER BY id_historique";
+    private static final String TOUS = "SELECT " + COLONNES + " FROM StockHistorique ORDER BY id_historique";
+    private static final String PAR_TYPE = "SELECT " + COLONNES + " FROM StockHistorique WHERE type_operation = ? ORDER BY id_historique";
+    private static final String PAR_PERIODE = "SELECT " + COLONNES + " FROM StockHistorique"
+        + " WHERE date_operation >= ? AND date_operation < ? ORDER BY id_historique";
+    
+    private static final String STOCKS = "SELECT id_medicament, stock FROM Medicament";
+    private static final String STOCKS_AU = "SELECT m.id_medicament, m.stock - COALESCE(SUM(h.quantite), 0) AS stock"
+        + " FROM Medicament m LEFT JOIN StockHistorique h"
+        + " ON h.id_medicament = m.id_medicament AND h.date_operation >= ?"
+        + " GROUP BY m.id_medicament, m.stock";
+    private static final String STOCK_AU = "SELECT m.stock - COALESCE(SUM(h.quantite), 0)"
+        + " FROM Medicament m LEFT JOIN StockHistorique h"
+        + " ON h.id_medicament = m.id_medicament AND h.date_operation >= ?"
+        + " WHERE m.id_medicament = ? GROUP BY m.stock";
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(StockHistorique historique) {
+        preparer(historique);
+        
+        boolean succes = JDBCHelper.executer(AJOUTER, valeurs(historique)) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Mouvement de stock enregistré!");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Ajoute un mouvement dans une transaction
+     * (envoyé avec les autres mouvements de la transaction, en un seul lot)
+     */
+    @Override
+    public void ajouter(StockHistorique historique, Transaction transaction) {
+        ajouter(historique, TransactionJDBC.de(transaction));
+    }
+    
+    /**
+     * Ajoute un mouvement à la part JDBC d'une transaction (aussi depuis
+     * une de ses étapes, pendant la validation)
+     */
+    void ajouter(StockHistorique historique, TransactionJDBC transaction) {
+        preparer(historique);
+        transaction.inserer(AJOUTER, valeurs(historique));
+    }
+    
+    /**
+     * Enregistre un mouvement de stock dans le cadre d'une transaction
+     *
+     * @param quantite La variation du stock (négative pour une sortie)
+     * @param typeOperation VENTE, REAPPROVISIONNEMENT ou AJUSTEMENT
+     */
+    @Override
+    public void enregistrerMouvement(int idMedicament, int quantite, String typeOperation, Transaction transaction) {
+        ajouter(new StockHistorique(idMedicament, quantite, typeOperation), transaction);
+    }
+    
+    // ========== READ ==========
+    
+    /**
+     * Récupère l'historique d'un médicament
+     */
+    @Override
+    public List<StockHistorique> trouverParMedicament(int idMedicament) {
+        return JDBCHelper.lister(PAR_MEDICAMENT, StockHistoriqueDAOJDBC::extraireHistorique, idMedicament);
+    }
+    
+    /**
+     * Récupère tout l'historique
+     */
+    @Override
+    public List<StockHistorique> trouverTous() {
+        return JDBCHelper.lister(TOUS, StockHistoriqueDAOJDBC::extraireHistorique);
+    }
+    
+    /**
+     * Récupère l'historique par type d'opération
+     */
+    @Override
+    public List<StockHistorique> trouverParType(String typeOperation) {
+        return JDBCHelper.lister(PAR_TYPE, StockHistoriqueDAOJDBC::extraireHistorique, typeOperation);
+    }
+    
+    /**
+     * Récupère les mouvements d'une période
+     *
+     * @param premierJour Premier jour inclus (yyyy-MM-dd)
+     * @param dernierJour Dernier jour inclus (yyyy-MM-dd)
+     */
+    @Override
+    public List<StockHistorique> trouverParPeriode(String premierJour, String dernierJour) {
+        return JDBCHelper.lister(PAR_PERIODE, StockHistoriqueDAOJDBC::extraireHistorique,
+                                 JDBCHelper.debutDuJour(premierJour), JDBCHelper.debutDuLendemain(dernierJour));
+    }
+    
+    /**
+     * Le détail d'une période: l'historique n'est pas compacté dans la base
+     */
+    @Override
+    public List<StockHistorique> trouverDetailParPeriode(String premierJour, String dernierJour) {
+        return trouverParPeriode(premierJour, dernierJour);
+    }
+    
+    // ========== STOCK CALCULÉ À PARTIR DES MOUVEMENTS ==========
+    
+    /**
+     * Le stock actuel de chaque médicament (colonne stock, tenue à jour
+     * avec les mouvements)
+     *
+     * @param stocksConnus Inutilisé: la base a toujours le stock de référence
+     * @return ID du médicament -> stock
+     */
+    @Override
+    public Map<Integer, Integer> calculerStocks(Map<Integer, Integer> stocksConnus) {
+        return stocks(STOCKS);
+    }
+    
+    /**
+     * Le stock de chaque médicament à la fin d'un jour: le stock actuel
+     * moins les mouvements des jours suivants
+     *
+     * @param jour Le jour (yyyy-MM-dd)
+     * @return ID du médicament -> stock
+     */
+    @Override
+    public Map<Integer, Integer> calculerStocksAu(String jour) {
+        return stocks(STOCKS_AU, JDBCHelper.debutDuLendemain(jour));
+    }
+    
+    /**
+     * Le stock d'un médicament à la fin d'un jour (yyyy-MM-dd)
+     */
+    @Override
+    public int calculerStockAu(int idMedicament, String jour) {
+        Integer stock = JDBCHelper.trouver(STOCK_AU, r -> r.getInt(1), JDBCHelper.debutDuLendemain(jour), idMedicament);
+        return stock != null ? stock : 0;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    private static Map<Integer, Integer> stocks(String sql, Object... valeurs) {
+        Map<Integer, Integer> stocks = new HashMap<>();
+        for (int[] stock : JDBCHelper.lister(sql, r -> new int[]{r.getInt(1), r.getInt(2)}, valeurs)) {
+            stocks.put(stock[0], stock[1]);
+        }
+        return stocks;
+    }
+    
+    private static void preparer(StockHistorique historique) {
+        historique.setId(JDBCHelper.prochainId("StockHistorique", "id_historique"));
+        
+        if (historique.getDateOperation() == 0) {
+            historique.setDateOperation(System.currentTimeMillis());
+        }
+    }
+    
+    static Object[] valeurs(StockHistorique historique) {
+        return new Object[]{
+            historique.getId(),
+            historique.getIdMedicament(),
+            historique.getQuantite(),
+            historique.getTypeOperation(),
+            JDBCHelper.horodatage(historique.getDateOperation())
+        };
+    }
+    
+    private static StockHistorique extraireHistorique(ResultSet resultat) throws SQLException {
+        return new StockHistorique(
+            resultat.getInt("id_historique"),
+            resultat.getInt("id_medicament"),
+            resultat.getInt("quantite"),
+            resultat.getTimestamp("date_operation").getTime(),
+            resultat.getString("type_operation")
+        );
+    }
+}
@@ -0,0 +1,413 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe SuiviStockCritique - Les médicaments en stock critique, tenus à jour
+ * à chaque variation de stock
+ *
+ * Les médicaments sous leur seuil minimum sont rangés du plus grand manque
+ * au plus petit (file de priorité triée par écart): les alertes lisent
+ * directement les k premiers au lieu de parcourir tout le catalogue.
+ *
+ * Chaque médicament a son propre état (son compteur de stock et sa place
+ * dans la file). Une vente ne prend aucun verrou du suivi:
+ * - hors de la file et au-dessus du seuil (cas courant), elle ne fait
+ *   que relire le compteur;
+ * - sinon, elle replace ce seul médicament dans la file, sous le verrou de
+ *   son état. Le stock est relu sous ce verrou: quel que soit l'ordre dans
+ *   lequel les caisses signalent leurs ventes, la dernière voit le stock
+ *   final.
+ *
+ * Le stock et les seuils de chaque médicament sont aussi rangés en colonnes
+ * (tableaux int[], une case par médicament). Les vérifications de masse
+ * (chargement du catalogue, réception groupée, surstocks) commencent par
+ * une boucle sans branchement sur ces tableaux, que le JIT vectorise:
+ *
+ *   sousLeSeuil += (stocks[i] - seuilsMin[i]) >>> 31
+ *
+ * Les cases ne sont relues une à une que s'il y a quelque chose à trouver.
+ * La colonne des stocks est recopiée depuis les compteurs avant chaque
+ * vérification.
+ *
+ * @author Étudiant
+ * @version 1.2
+ */
+class SuiviStockCritique {
+
+    // Franchissements du seuil (résultat d'actualiser)
+    static final int AUCUN = 0;
+    static final int ENTREE = 1;
+    static final int SORTIE = -1;
+
+    private static final int TAILLE_INITIALE = 64;
+
+    // Colonnes: la case c décrit le médicament ids[c] (gardées par le verrou du suivi)
+    // (seuil maximum absent: Integer.MAX_VALUE, jamais dépassé)
+    private int[] ids = new int[TAILLE_INITIALE];
+    private AtomicInteger[] compteurs = new AtomicInteger[TAILLE_INITIALE];
+    private int[] stocks = new int[TAILLE_INITIALE];
+    private int[] seuilsMin = new int[TAILLE_INITIALE];
+    private int[] seuilsMax = new int[TAILLE_INITIALE];
+    private int taille = 0;
+
+    // ID du médicament -> case dans les colonnes
+    private final Map<Integer, Integer> cases = new HashMap<>();
+
+    // ID du médicament -> son état, lu sans verrou par les ventes
+    private final Map<Integer, Etat> etats = new ConcurrentHashMap<>();
+
+    // Du plus grand manque (stock - seuil) au plus petit
+    private final ConcurrentSkipListSet<Element> critiques = new ConcurrentSkipListSet<>();
+    private final AtomicInteger nombreCritiques = new AtomicInteger();
+
+    /**
+     * Range un médicament sans le classer (chargement du catalogue:
+     * appeler reevaluer() une fois tous les médicaments placés)
+     */
+    synchronized void placer(int idMedicament, AtomicInteger stock, int seuilMin, int seuilMax) {
+        enregistrer(idMedicament, stock, seuilMin, seuilMax);
+    }
+
+    /**
+     * Relit le stock d'un médicament et le replace dans la file (ou l'en retire)
+     *
+     * Sans verrou du suivi tant que le médicament est connu et que ses seuils
+     * n'ont pas changé (le cas d'une vente).
+     *
+     * @return ENTREE s'il vient de passer sous le seuil, SORTIE s'il en est sorti, sinon AUCUN
+     */
+    int actualiser(int idMedicament, AtomicInteger stock, int seuilMin, int seuilMax) {
+        Etat etat = etats.get(idMedicament);
+        if (etat == null || !etat.decrit(stock, seuilMin, seuilMax)) {
+            synchronized (this) {
+                etat = enregistrer(idMedicament, stock, seuilMin, seuilMax);
+            }
+        }
+        return etat.repositionner();
+    }
+
+    /**
+     * Relit les stocks de plusieurs médicaments en une fois (réception groupée)
+     *
+     * Les écarts sont calculés en une seule passe sur les colonnes; seuls les
+     * médicaments sous le seuil, ou qui y étaient, touchent à la file.
+     *
+     * @return Pour chaque médicament, ENTREE, SORTIE ou AUCUN
+     */
+    synchronized int[] actualiser(int[] idsMedicaments, AtomicInteger[] stocksLus, int[] seuilsMinLus, int[] seuilsMaxLus) {
+        int n = idsMedicaments.length;
+        Etat[] etatsLus = new Etat[n];
+        int[] stocksCopies = new int[n];
+        for (int i = 0; i < n; i++) {
+            etatsLus[i] = enregistrer(idsMedicaments[i], stocksLus[i], seuilsMinLus[i], seuilsMaxLus[i]);
+            stocksCopies[i] = stocksLus[i].get();
+        }
+
+        int[] franchissements = new int[n];
+        if (compterNegatifs(stocksCopies, seuilsMinLus, n) == 0 && critiques.isEmpty()) {
+            return franchissements;
+        }
+        for (int i = 0; i < n; i++) {
+            franchissements[i] = etatsLus[i].repositionner();
+        }
+        return franchissements;
+    }
+
+    /**
+     * Reclasse tout le catalogue à partir des compteurs (chargement)
+     *
+     * @return Le nombre de médicaments en stock critique
+     */
+    synchronized int reevaluer() {
+        relireStocks();
+        int sousLeSeuil = compterNegatifs(stocks, seuilsMin, taille);
+
+        for (int c = 0; c < taille && (sousLeSeuil > 0 || !critiques.isEmpty()); c++) {
+            etats.get(ids[c]).repositionner();
+        }
+        return nombreCritiques.get();
+    }
+
+    /**
+     * Retire un médicament supprimé
+     *
+     * @return true s'il était en stock critique
+     */
+    synchronized boolean retirer(int idMedicament) {
+        Integer c = cases.remove(idMedicament);
+        if (c != null) {
+            // La dernière case prend la place de la case libérée
+            int derniere = --taille;
+            if (c != derniere) {
+                ids[c] = ids[derniere];
+                compteurs[c] = compteurs[derniere];
+                stocks[c] = stocks[derniere];
+                seuilsMin[c] = seuilsMin[derniere];
+                seuilsMax[c] = seuilsMax[derniere];
+                cases.put(ids[c], c);
+            }
+            compteurs[derniere] = null;
+        }
+
+        Etat ancien = etats.remove(idMedicament);
+        return ancien != null && ancien.retirer();
+    }
+
+    /**
+     * Les IDs des médicaments en stock critique, du plus grand manque au plus petit
+     */
+    List<Integer> critiques() {
+        List<Integer> ids = new ArrayList<>();
+        for (Element element : critiques) {
+            ids.add(element.idMedicament);
+        }
+        return ids;
+    }
+
+    int nombre() {
+        return nombreCritiques.get();
+    }
+
+    /**
+     * Les IDs des médicaments au-dessus de leur seuil maximum, du plus grand
+     * excédent au plus petit (une passe sur les colonnes)
+     */
+    synchronized List<Integer> surstocks() {
+        relireStocks();
+        int auDessus = compterNegatifs(seuilsMax, stocks, taille);
+
+        List<Element> trouves = new ArrayList<>(auDessus);
+        for (int c = 0; c < taille && trouves.size() < auDessus; c++) {
+            int ecart = seuilsMax[c] - stocks[c];
+            if (ecart < 0) {
+                trouves.add(new Element(ids[c], ecart));
+            }
+        }
+        trouves.sort(null);
+
+        List<Integer> resultat = new ArrayList<>(trouves.size());
+        for (Element element : trouves) {
+            resultat.add(element.idMedicament);
+        }
+        return resultat;
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    /**
+     * Le nombre de cases où a[i] - b[i] est négatif (parmi les n premières)
+     *
+     * Boucle sans branchement (le bit de signe est ajouté au compteur):
+     * le JIT la compile en instructions vectorielles.
+     */
+    private static int compterNegatifs(int[] a, int[] b, int n) {
+        int negatifs = 0;
+        for (int i = 0; i < n; i++) {
+            negatifs += (a[i] - b[i]) >>> 31;
+        }
+        return negatifs;
+    }
+
+    /**
+     * L'état du médicament, créé ou mis à jour (nouveau médicament, seuils
+     * modifiés); appelé sous le verrou du suivi
+     */
+    private Etat enregistrer(int idMedicament, AtomicInteger stock, int seuilMin, int seuilMax) {
+        int c = caseDe(idMedicament);
+        compteurs[c] = stock;
+        seuilsMin[c] = seuilMin;
+        seuilsMax[c] = maximum(seuilMax);
+
+        Etat etat = etats.get(idMedicament);
+        if (etat == null || etat.stock != stock) {
+            Etat nouveau = new Etat(idMedicament, stock, seuilMin, seuilMax);
+            if (etat != null) {
+                nouveau.reprendre(etat);
+            }
+            etats.put(idMedicament, nouveau);
+            return nouveau;
+        }
+
+        etat.seuilMin = seuilMin;
+        etat.seuilMax = seuilMax;
+        return etat;
+    }
+
+    /**
+     * Recopie les compteurs dans la colonne des stocks
+     */
+    private void relireStocks() {
+        for (int c = 0; c < taille; c++) {
+            stocks[c] = compteurs[c].get();
+        }
+    }
+
+    /**
+     * La case du médicament (créée au besoin)
+     */
+    private int caseDe(int idMedicament) {
+        Integer c = cases.get(idMedicament);
+        if (c != null) {
+            return c;
+        }
+
+        if (taille == ids.length) {
+            int capacite = taille * 2;
+            ids = Arrays.copyOf(ids, capacite);
+            compteurs = Arrays.copyOf(compteurs, capacite);
+            stocks = Arrays.copyOf(stocks, capacite);
+            seuilsMin = Arrays.copyOf(seuilsMin, capacite);
+            seuilsMax = Arrays.copyOf(seuilsMax, capacite);
+        }
+
+        ids[taille] = idMedicament;
+        cases.put(idMedicament, taille);
+        return taille++;
+    }
+
+    private static int maximum(int seuilMax) {
+        return seuilMax > 0 ? seuilMax : Integer.MAX_VALUE;
+    }
+
+    /**
+     * L'état d'un médicament: son compteur de stock, ses seuils et sa place
+     * dans la file (null s'il n'est pas en stock critique)
+     */
+    private class Etat {
+        final int idMedicament;
+        final AtomicInteger stock;
+        volatile int seuilMin;
+        volatile int seuilMax;
+
+        // Modifiés sous le verrou de l'état
+        volatile Element place;
+        private boolean retire = false;
+
+        Etat(int idMedicament, AtomicInteger stock, int seuilMin, int seuilMax) {
+            this.idMedicament = idMedicament;
+            this.stock = stock;
+            this.seuilMin = seuilMin;
+            this.seuilMax = seuilMax;
+        }
+
+        boolean decrit(AtomicInteger compteur, int min, int max) {
+            return stock == compteur && seuilMin == min && seuilMax == max;
+        }
+
+        /**
+         * Replace le médicament dans la file selon son stock actuel
+         *
+         * Le stock est relu une fois la place écrite: une vente passée
+         * entre-temps, qui a vu l'ancienne place, est ainsi prise en compte.
+         */
+        int repositionner() {
+            // Cas courant: hors de la file et au-dessus du seuil
+            if (place == null && stock.get() >= seuilMin) {
+                return AUCUN;
+            }
+
+            synchronized (this) {
+                if (retire) {
+                    return AUCUN;
+                }
+
+                boolean avant = place != null;
+                int lu;
+                do {
+                    lu = stock.get();
+                    placer(lu - seuilMin);
+                } while (stock.get() != lu);
+                boolean apres = place != null;
+
+                if (avant == apres) {
+                    return AUCUN;
+                }
+                return apres ? ENTREE : SORTIE;
+            }
+        }
+
+        /**
+         * (appelée sous le verrou de l'état)
+         */
+        private void placer(int ecart) {
+            Element ancien = place;
+
+            if (ecart >= 0) {
+                if (ancien != null) {
+                    critiques.remove(ancien);
+                    nombreCritiques.decrementAndGet();
+                    place = null;
+                }
+                return;
+            }
+
+            if (ancien != null && ancien.ecart == ecart) {
+                return;
+            }
+
+            Element element = new Element(idMedicament, ecart);
+            critiques.add(element);
+            if (ancien != null) {
+                critiques.remove(ancien);
+            } else {
+                nombreCritiques.incrementAndGet();
+            }
+            place = element;
+        }
+
+        /**
+         * Reprend la place d'un ancien état du même médicament
+         */
+        void reprendre(Etat ancien) {
+            synchronized (ancien) {
+                place = ancien.place;
+                ancien.place = null;
+                ancien.retire = true;
+            }
+        }
+
+        /**
+         * @return true s'il était en stock critique
+         */
+        synchronized boolean retirer() {
+            retire = true;
+            Element ancien = place;
+            if (ancien == null) {
+                return false;
+            }
+            critiques.remove(ancien);
+            nombreCritiques.decrementAndGet();
+            place = null;
+            return true;
+        }
+    }
+
+    /**
+     * Un médicament hors de ses seuils et son écart (négatif)
+     */
+    private static class Element implements Comparable<Element> {
+        final int idMedicament;
+        final int ecart;
+
+        Element(int idMedicament, int ecart) {
+            this.idMedicament = idMedicament;
+            this.ecart = ecart;
+        }
+
+        @Override
+        public int compareTo(Element autre) {
+            if (ecart != autre.ecart) {
+                return Integer.compare(ecart, autre.ecart);
+            }
+            return Integer.compare(idMedicament, autre.idMedicament);
+        }
+    }
+}
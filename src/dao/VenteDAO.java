@@ -1,191 +1,91 @@
 package dao;
 
-import database.CSVHelper;
+import database.Transaction;
 import models.Vente;
+import models.VentesMedicament;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 /**
- * Classe VenteDAO - Gère les opérations CRUD pour les Ventes
+ * Interface VenteDAO - Opérations sur les ventes et le chiffre d'affaires
  * 
- * Version CSV
+ * Les services ne connaissent que cette interface: le stockage est choisi
+ * au démarrage (voir FabriqueDAO).
+ * 
+ * Les jours sont au format yyyy-MM-dd.
  * 
  * @author Étudiant
- * @version 2.0 (CSV)
+ * @version 1.0
  */
-public class VenteDAO {
-    
-    private static final String FICHIER = "ventes.csv";
-    private static final String[] ENTETES = {"id", "idPharmacien", "idClient", "idMedicament", "quantite", "montantTotal", "dateVente"};
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-    
-    public VenteDAO() {
-        CSVHelper.creerFichierSiAbsent(FICHIER, ENTETES);
-    }
-    
-    // ========== CREATE ==========
-    
-    public boolean ajouter(Vente vente) {
-        int nouvelId = CSVHelper.getProchainId(FICHIER);
-        vente.setId(nouvelId);
-        
-        // Si pas de date, utiliser maintenant
-        if (vente.getDateVente() == null) {
-            vente.setDateVente(new Date());
-        }
-        
-        String[] donnees = {
-            String.valueOf(vente.getId()),
-            String.valueOf(vente.getIdPharmacien()),
-            String.valueOf(vente.getIdClient()),
-            String.valueOf(vente.getIdMedicament()),
-            String.valueOf(vente.getQuantite()),
-            String.valueOf(vente.getMontantTotal()),
-            DATE_FORMAT.format(vente.getDateVente())
-        };
-        
-        boolean succes = CSVHelper.ajouterLigne(FICHIER, donnees);
-        
-        if (succes) {
-            System.out.println("✓ Vente enregistrée avec succès! ID: " + vente.getId());
-        }
-        
-        return succes;
-    }
-    
-    // ========== READ ==========
-    
-    public Vente trouverParId(int id) {
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            if (Integer.parseInt(ligne[0]) == id) {
-                return extraireVente(ligne);
-            }
-        }
-        
-        return null;
-    }
-    
-    public List<Vente> trouverTous() {
-        List<Vente> ventes = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            ventes.add(extraireVente(ligne));
-        }
-        
-        return ventes;
-    }
+public interface VenteDAO {
+    
+    /**
+     * Ajoute une vente (son ID est attribué ici)
+     */
+    boolean ajouter(Vente vente);
+    
+    /**
+     * Ajoute une vente dans une transaction
+     * (la vente n'est enregistrée qu'à la validation de la transaction)
+     */
+    void ajouter(Vente vente, Transaction transaction);
+    
+    /**
+     * @return La vente, ou null si elle n'existe pas
+     */
+    Vente trouverParId(int id);
+    
+    List<Vente> trouverTous();
     
     /**
      * Récupère les ventes d'un pharmacien
      */
-    public List<Vente> trouverParPharmacien(int idPharmacien) {
-        List<Vente> ventes = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            if (Integer.parseInt(ligne[1]) == idPharmacien) {
-                ventes.add(extraireVente(ligne));
-            }
-        }
-        
-        return ventes;
-    }
+    List<Vente> trouverParPharmacien(int idPharmacien);
+    
+    /**
+     * Récupère les ventes d'un client
+     */
+    List<Vente> trouverParClient(int idClient);
+    
+    /**
+     * Récupère les ventes d'un médicament
+     */
+    List<Vente> trouverParMedicament(int idMedicament);
     
     /**
      * Récupère les ventes d'aujourd'hui
      */
-    public List<Vente> trouverVentesDuJour() {
-        List<Vente> ventes = new ArrayList<>();
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        SimpleDateFormat dateOnlyFormat = new SimpleDateFormat("yyyy-MM-dd");
-        String aujourdhui = dateOnlyFormat.format(new Date());
-        
-        for (String[] ligne : lignes) {
-            // Comparer seulement la partie date
-            if (ligne[6].startsWith(aujourdhui)) {
-                ventes.add(extraireVente(ligne));
-            }
-        }
-        
-        return ventes;
-    }
+    List<Vente> trouverVentesDuJour();
+    
+    /**
+     * Récupère les ventes d'une période (jours inclus)
+     */
+    List<Vente> trouverParPeriode(String premierJour, String dernierJour);
+    
+    // Les chiffres d'affaires sont en centimes (sommes exactes, voir database.Montant)
+    
+    long calculerChiffreAffairesTotal();
+    
+    long calculerChiffreAffairesDuJour();
     
     /**
-     * Calcule le chiffre d'affaires total
+     * Calcule le chiffre d'affaires d'une période (jours inclus)
      */
-    public double calculerChiffreAffairesTotal() {
-        double total = 0;
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        
-        for (String[] ligne : lignes) {
-            total += Double.parseDouble(ligne[5]);
-        }
-        
-        return total;
-    }
+    long calculerChiffreAffairesPeriode(String premierJour, String dernierJour);
+    
+    long calculerChiffreAffairesPharmacien(int idPharmacien);
+    
+    long calculerChiffreAffairesMedicament(int idMedicament);
     
     /**
-     * Calcule le chiffre d'affaires du jour
+     * Totalise les ventes d'une période par médicament (jours inclus),
+     * du plus grand chiffre d'affaires au plus petit
      */
-    public double calculerChiffreAffairesDuJour() {
-        double total = 0;
-        List<Vente> ventesDuJour = trouverVentesDuJour();
-        
-        for (Vente vente : ventesDuJour) {
-            total += vente.getMontantTotal();
-        }
-        
-        return total;
-    }
-    
-    // ========== DELETE ==========
-    
-    public boolean supprimer(int id) {
-        List<String[]> lignes = CSVHelper.lireFichier(FICHIER);
-        List<String[]> nouvellesLignes = new ArrayList<>();
-        boolean trouve = false;
-        
-        for (String[] ligne : lignes) {
-            if (Integer.parseInt(ligne[0]) == id) {
-                trouve = true;
-            } else {
-                nouvellesLignes.add(ligne);
-            }
-        }
-        
-        if (trouve) {
-            CSVHelper.ecrireFichier(FICHIER, ENTETES, nouvellesLignes);
-            System.out.println("✓ Vente annulée avec succès!");
-        }
-        
-        return trouve;
-    }
-    
-    // ========== MÉTHODE UTILITAIRE ==========
-    
-    private Vente extraireVente(String[] ligne) {
-        Vente vente = new Vente();
-        vente.setId(Integer.parseInt(ligne[0]));
-        vente.setIdPharmacien(Integer.parseInt(ligne[1]));
-        vente.setIdClient(Integer.parseInt(ligne[2]));
-        vente.setIdMedicament(Integer.parseInt(ligne[3]));
-        vente.setQuantite(Integer.parseInt(ligne[4]));
-        vente.setMontantTotal(Double.parseDouble(ligne[5]));
-        
-        try {
-            vente.setDateVente(DATE_FORMAT.parse(ligne[6]));
-        } catch (ParseException e) {
-            vente.setDateVente(new Date());
-        }
-        
-        return vente;
-    }
+    List<VentesMedicament> totaliserParMedicament(String premierJour, String dernierJour);
+    
+    int compterVentes();
+    
+    int compterVentesDuJour();
+    
+    boolean supprimer(int id);
 }
@@ -0,0 +1,331 @@
+package dao;
+
+import database.GestionnaireTransactions;
+import database.Horodatage;
+import database.LigneBinaire;
+import database.TableBinaire;
+import database.Transaction;
+import database.TransactionBinaire;
+import models.Vente;
+import models.VentesMedicament;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Classe VenteDAOBinaire - Gère les opérations CRUD pour les Ventes
+ *
+ * Version binaire - data/ventes.bin (voir TableBinaire)
+ *
+ * Chaque vente est une ligne de taille fixe, à la position de son ID:
+ * trouverParId est une seule lecture. Le montant est en centimes et la
+ * date en millisecondes: les chiffres d'affaires et les recherches par
+ * période ne lisent que ces colonnes, sans texte à convertir.
+ *
+ * @author Étudiant
+ * @version 1.0 (binaire)
+ */
+public class VenteDAOBinaire implements VenteDAO {
+    
+    // Colonnes (0 = ID)
+    private static final int ID_PHARMACIEN = 1;
+    private static final int ID_CLIENT = 2;
+    private static final int ID_MEDICAMENT = 3;
+    private static final int QUANTITE = 4;
+    private static final int MONTANT = 5;
+    private static final int DATE = 6;
+    
+    static final TableBinaire TABLE = new TableBinaire("ventes.bin")
+        .entier("idPharmacien")
+        .entier("idClient")
+        .entier("idMedicament")
+        .entier("quantite")
+        .montant("montantTotal")
+        .horodatage("dateVente");
+    
+    public VenteDAOBinaire() {
+        GestionnaireTransactions.recuperer();
+        TABLE.initialiser();
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Vente vente) {
+        Transaction transaction = new Transaction();
+        ajouter(vente, transaction);
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Vente enregistrée avec succès! ID: " + vente.getId());
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Ajoute une vente dans une transaction
+     * (la ligne n'est écrite qu'à la validation de la transaction)
+     */
+    @Override
+    public void ajouter(Vente vente, Transaction transaction) {
+        vente.setId(TABLE.prochainId());
+        
+        // Si pas de date, utiliser maintenant
+        if (vente.getDateVente() == 0) {
+            vente.setDateVente(System.currentTimeMillis());
+        }
+        
+        TransactionBinaire.de(transaction).ecrire(versLigne(vente));
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Vente trouverParId(int id) {
+        LigneBinaire ligne = TABLE.lire(id);
+        return ligne != null ? extraireVente(ligne) : null;
+    }
+    
+    @Override
+    public List<Vente> trouverTous() {
+        return chercher(ligne -> true);
+    }
+    
+    /**
+     * Récupère les ventes d'un pharmacien
+     */
+    @Override
+    public List<Vente> trouverParPharmacien(int idPharmacien) {
+        return chercher(ligne -> ligne.entier(ID_PHARMACIEN) == idPharmacien);
+    }
+    
+    /**
+     * Récupère les ventes d'un client
+     */
+    @Override
+    public List<Vente> trouverParClient(int idClient) {
+        return chercher(ligne -> ligne.entier(ID_CLIENT) == idClient);
+    }
+    
+    /**
+     * Récupère les ventes d'un médicament
+     */
+    @Override
+    public List<Vente> trouverParMedicament(int idMedicament) {
+        return chercher(ligne -> ligne.entier(ID_MEDICAMENT) == idMedicament);
+    }
+    
+    /**
+     * Récupère les ventes d'aujourd'hui
+     */
+    @Override
+    public List<Vente> trouverVentesDuJour() {
+        String aujourdhui = LocalDate.now().toString();
+        return trouverParPeriode(aujourdhui, aujourdhui);
+    }
+    
+    /**
+     * Récupère les ventes d'une période
+     *
+     * @param premierJour Premier jour inclus (yyyy-MM-dd)
+     * @param dernierJour Dernier jour inclus (yyyy-MM-dd)
+     */
+    @Override
+    public List<Vente> trouverParPeriode(String premierJour, String dernierJour) {
+        return chercher(entre(premierJour, dernierJour));
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires total
+     */
+    @Override
+    public long calculerChiffreAffairesTotal() {
+        return centimes(ligne -> true);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires du jour
+     */
+    @Override
+    public long calculerChiffreAffairesDuJour() {
+        String aujourdhui = LocalDate.now().toString();
+        return calculerChiffreAffairesPeriode(aujourdhui, aujourdhui);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires d'une période (jours inclus, yyyy-MM-dd)
+     */
+    @Override
+    public long calculerChiffreAffairesPeriode(String premierJour, String dernierJour) {
+        return centimes(entre(premierJour, dernierJour));
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires d'un pharmacien
+     */
+    @Override
+    public long calculerChiffreAffairesPharmacien(int idPharmacien) {
+        return centimes(ligne -> ligne.entier(ID_PHARMACIEN) == idPharmacien);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires d'un médicament
+     */
+    @Override
+    public long calculerChiffreAffairesMedicament(int idMedicament) {
+        return centimes(ligne -> ligne.entier(ID_MEDICAMENT) == idMedicament);
+    }
+    
+    /**
+     * Totalise les ventes d'une période par médicament (seules la date,
+     * puis le médicament, la quantité et le montant des lignes retenues
+     * sont lus)
+     */
+    @Override
+    public List<VentesMedicament> totaliserParMedicament(String premierJour, String dernierJour) {
+        // ID du médicament -> {nombre de ventes, quantité, centimes}
+        Map<Integer, long[]> totaux = new HashMap<>();
+        Predicate<LigneBinaire> filtre = entre(premierJour, dernierJour);
+        
+        TABLE.parcourir(ligne -> {
+            if (filtre.test(ligne)) {
+                long[] total = totaux.computeIfAbsent(ligne.entier(ID_MEDICAMENT), id -> new long[3]);
+                total[0]++;
+                total[1] += ligne.entier(QUANTITE);
+                total[2] += ligne.montant(MONTANT);
+            }
+            return true;
+        });
+        
+        List<VentesMedicament> resultats = new ArrayList<>();
+        for (Map.Entry<Integer, long[]> entree : totaux.entrySet()) {
+            long[] total = entree.getValue();
+            resultats.add(new VentesMedicament(entree.getKey(), (int) total[0], (int) total[1], total[2]));
+        }
+        resultats.sort(Comparator.comparingLong(VentesMedicament::getMontantTotal).reversed()
+                                 .thenComparingInt(VentesMedicament::getIdMedicament));
+        return resultats;
+    }
+    
+    /**
+     * Compte toutes les ventes
+     */
+    @Override
+    public int compterVentes() {
+        return nombre(ligne -> true);
+    }
+    
+    /**
+     * Compte les ventes du jour
+     */
+    @Override
+    public int compterVentesDuJour() {
+        String aujourdhui = LocalDate.now().toString();
+        return nombre(entre(aujourdhui, aujourdhui));
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        if (TABLE.lire(id) == null) {
+            return false;
+        }
+        
+        Transaction transaction = new Transaction();
+        TransactionBinaire.de(transaction).supprimer(TABLE, id);
+        
+        boolean succes = transaction.valider();
+        
+        if (succes) {
+            System.out.println("✓ Vente annulée avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    /**
+     * Parcourt la table: seule la colonne testée est lue pour les lignes écartées
+     */
+    private List<Vente> chercher(Predicate<LigneBinaire> filtre) {
+        List<Vente> ventes = new ArrayList<>();
+        
+        TABLE.parcourir(ligne -> {
+            if (filtre.test(ligne)) {
+                ventes.add(extraireVente(ligne));
+            }
+            return true;
+        });
+        
+        return ventes;
+    }
+    
+    private static long centimes(Predicate<LigneBinaire> filtre) {
+        long[] total = {0};
+        
+        TABLE.parcourir(ligne -> {
+            if (filtre.test(ligne)) {
+                total[0] += ligne.montant(MONTANT);
+            }
+            return true;
+        });
+        
+        return total[0];
+    }
+    
+    private static int nombre(Predicate<LigneBinaire> filtre) {
+        int[] nombre = {0};
+        
+        TABLE.parcourir(ligne -> {
+            if (filtre.test(ligne)) {
+                nombre[0]++;
+            }
+            return true;
+        });
+        
+        return nombre[0];
+    }
+    
+    /**
+     * Les ventes d'une période (jours inclus)
+     */
+    private static Predicate<LigneBinaire> entre(String premierJour, String dernierJour) {
+        long debut = Horodatage.debutDuJour(premierJour);
+        long fin = Horodatage.debutDuLendemain(dernierJour);
+        return ligne -> {
+            long date = ligne.horodatage(DATE);
+            return date >= debut && date < fin;
+        };
+    }
+    
+    static LigneBinaire versLigne(Vente vente) {
+        return TABLE.nouvelleLigne(vente.getId())
+            .ecrireEntier(ID_PHARMACIEN, vente.getIdPharmacien())
+            .ecrireEntier(ID_CLIENT, vente.getIdClient())
+            .ecrireEntier(ID_MEDICAMENT, vente.getIdMedicament())
+            .ecrireEntier(QUANTITE, vente.getQuantite())
+            .ecrireMontant(MONTANT, vente.getMontantTotal())
+            .ecrireHorodatage(DATE, vente.getDateVente());
+    }
+    
+    private static Vente extraireVente(LigneBinaire ligne) {
+        return new Vente(
+            ligne.id(),
+            ligne.entier(ID_PHARMACIEN),
+            ligne.entier(ID_CLIENT),
+            ligne.entier(ID_MEDICAMENT),
+            ligne.entier(QUANTITE),
+            ligne.horodatage(DATE),
+            ligne.montant(MONTANT)
+        );
+    }
+}
@@ -0,0 +1,344 @@
+package dao;
+
+import database.CSVHelper;
+import database.GestionnaireTransactions;
+import database.Horodatage;
+import database.IndexTable;
+import database.JournalCSV;
+import database.Montant;
+import database.TableColonnes;
+import database.TablePartitionnee;
+import database.Transaction;
+import models.Vente;
+import models.VentesMedicament;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe VenteDAOCSV - Gère les opérations CRUD pour les Ventes
+ * 
+ * Version CSV: une partition par jour (data/ventes/2026-01-13.csv)
+ * 
+ * @author Étudiant
+ * @version 2.1 (CSV + colonnes)
+ */
+public class VenteDAOCSV implements VenteDAO {
+    
+    static final String[] ENTETES = {"id", "idPharmacien", "idClient", "idMedicament", "quantite", "montantTotal", "dateVente"};
+    
+    // Un fichier par jour dans data/ventes/ (voir TablePartitionnee)
+    private static final TablePartitionnee TABLE = new TablePartitionnee("ventes", ENTETES, 6);
+    
+    // Chiffre d'affaires tenu à jour à chaque vente (voir AgregatsVentes)
+    private static final AgregatsVentes AGREGATS = new AgregatsVentes(TABLE);
+    
+    // Index secondaires (les recherches par date passent par les partitions)
+    private static final IndexTable INDEX = new IndexTable(TABLE)
+        .ajouterIndex("idPharmacien", 1)
+        .ajouterIndex("idClient", 2)
+        .ajouterIndex("idMedicament", 3);
+    
+    // Colonnes lues par les rapports, copiées à côté des partitions (voir TableColonnes)
+    private static final int COL_MEDICAMENT = 0;
+    private static final int COL_QUANTITE = 1;
+    private static final int COL_MONTANT = 2;
+    private static final int COL_DATE = 3;
+    private static final TableColonnes COLONNES = new TableColonnes(TABLE)
+        .entier("idMedicament", 3)
+        .entier("quantite", 4)
+        .montant("montantTotal", 5)
+        .horodatage("dateVente", 6);
+    
+    public VenteDAOCSV() {
+        GestionnaireTransactions.recuperer();
+        TABLE.initialiser();
+        AGREGATS.initialiser();
+        INDEX.initialiser();
+        COLONNES.initialiser();
+    }
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Vente vente) {
+        int nouvelId = TABLE.prochainId();
+        vente.setId(nouvelId);
+        
+        // Si pas de date, utiliser maintenant
+        if (vente.getDateVente() == 0) {
+            vente.setDateVente(System.currentTimeMillis());
+        }
+        
+        String[] ligne = versLigne(vente);
+        boolean succes = CSVHelper.ajouterLigne(TABLE.preparerAjout(ligne), ligne);
+        
+        if (succes) {
+            AGREGATS.ajouter(vente);
+            System.out.println("✓ Vente enregistrée avec succès! ID: " + vente.getId());
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Ajoute une vente dans une transaction
+     * (la ligne n'est écrite qu'à la validation de la transaction)
+     */
+    @Override
+    public void ajouter(Vente vente, Transaction transaction) {
+        vente.setId(TABLE.prochainId());
+        
+        if (vente.getDateVente() == 0) {
+            vente.setDateVente(System.currentTimeMillis());
+        }
+        
+        String[] ligne = versLigne(vente);
+        transaction.ajouterLigne(TABLE.preparerAjout(ligne), ligne);
+        transaction.apresValidation(() -> AGREGATS.ajouter(vente));
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Vente trouverParId(int id) {
+        // Index primaire: la ligne est relue directement à sa position
+        String[] ligne = INDEX.trouverParId(id);
+        return ligne != null ? extraireVente(ligne) : null;
+    }
+    
+    @Override
+    public List<Vente> trouverTous() {
+        List<Vente> ventes = new ArrayList<>();
+        
+        for (String partition : TABLE.toutesPartitions()) {
+            CSVHelper.parcourirFichier(partition, ligne -> {
+                ventes.add(extraireVente(ligne));
+                return true;
+            });
+        }
+        
+        return ventes;
+    }
+    
+    /**
+     * Récupère les ventes d'un pharmacien
+     */
+    @Override
+    public List<Vente> trouverParPharmacien(int idPharmacien) {
+        return chercher("idPharmacien", idPharmacien);
+    }
+    
+    /**
+     * Récupère les ventes d'un client
+     */
+    @Override
+    public List<Vente> trouverParClient(int idClient) {
+        return chercher("idClient", idClient);
+    }
+    
+    /**
+     * Récupère les ventes d'un médicament
+     */
+    @Override
+    public List<Vente> trouverParMedicament(int idMedicament) {
+        return chercher("idMedicament", idMedicament);
+    }
+    
+    /**
+     * Récupère les ventes d'aujourd'hui
+     */
+    @Override
+    public List<Vente> trouverVentesDuJour() {
+        String aujourdhui = Horodatage.jour(System.currentTimeMillis());
+        return trouverParPeriode(aujourdhui, aujourdhui);
+    }
+    
+    /**
+     * Récupère les ventes d'une période
+     * 
+     * @param premierJour Premier jour inclus (yyyy-MM-dd)
+     * @param dernierJour Dernier jour inclus (yyyy-MM-dd)
+     */
+    @Override
+    public List<Vente> trouverParPeriode(String premierJour, String dernierJour) {
+        // Seuls les fichiers des jours demandés sont ouverts
+        return TABLE.agreger(TABLE.partitionsEntre(premierJour, dernierJour),
+            ArrayList::new,
+            (ventes, ligne) -> ventes.add(extraireVente(ligne.colonnes())),
+            VenteDAOCSV::concatener);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires total
+     */
+    @Override
+    public long calculerChiffreAffairesTotal() {
+        return AGREGATS.chiffreAffairesTotal();
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires du jour
+     */
+    @Override
+    public long calculerChiffreAffairesDuJour() {
+        return AGREGATS.chiffreAffairesJour(Horodatage.jour(System.currentTimeMillis()));
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires d'une période (jours inclus, yyyy-MM-dd)
+     */
+    @Override
+    public long calculerChiffreAffairesPeriode(String premierJour, String dernierJour) {
+        return AGREGATS.chiffreAffairesPeriode(premierJour, dernierJour);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires réalisé par un pharmacien
+     */
+    @Override
+    public long calculerChiffreAffairesPharmacien(int idPharmacien) {
+        return AGREGATS.chiffreAffairesPharmacien(idPharmacien);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires d'un médicament
+     */
+    @Override
+    public long calculerChiffreAffairesMedicament(int idMedicament) {
+        return AGREGATS.chiffreAffairesMedicament(idMedicament);
+    }
+    
+    /**
+     * Totalise les ventes d'une période par médicament
+     *
+     * Seules les colonnes du médicament, de la quantité et du montant sont
+     * lues, et seulement pour les blocs qui contiennent des jours de la
+     * période (voir TableColonnes).
+     */
+    @Override
+    public List<VentesMedicament> totaliserParMedicament(String premierJour, String dernierJour) {
+        // ID du médicament -> {nombre de ventes, quantité, centimes}
+        Map<Integer, long[]> totaux = new HashMap<>();
+        
+        COLONNES.parcourir(COL_DATE, Horodatage.debutDuJour(premierJour), Horodatage.debutDuLendemain(dernierJour),
+            new int[]{COL_MEDICAMENT, COL_QUANTITE, COL_MONTANT}, bloc -> {
+                long[] medicaments = bloc.colonne(COL_MEDICAMENT);
+                long[] quantites = bloc.colonne(COL_QUANTITE);
+                long[] montants = bloc.colonne(COL_MONTANT);
+                for (int i = 0; i < bloc.taille(); i++) {
+                    long[] total = totaux.computeIfAbsent((int) medicaments[i], id -> new long[3]);
+                    total[0]++;
+                    total[1] += quantites[i];
+                    total[2] += montants[i];
+                }
+            });
+        
+        List<VentesMedicament> resultats = new ArrayList<>();
+        for (Map.Entry<Integer, long[]> entree : totaux.entrySet()) {
+            long[] total = entree.getValue();
+            resultats.add(new VentesMedicament(entree.getKey(), (int) total[0], (int) total[1], total[2]));
+        }
+        resultats.sort(Comparator.comparingLong(VentesMedicament::getMontantTotal).reversed()
+                                 .thenComparingInt(VentesMedicament::getIdMedicament));
+        return resultats;
+    }
+    
+    /**
+     * Compte toutes les ventes
+     */
+    @Override
+    public int compterVentes() {
+        return AGREGATS.nombreVentesTotal();
+    }
+    
+    /**
+     * Compte les ventes du jour
+     */
+    @Override
+    public int compterVentesDuJour() {
+        return AGREGATS.nombreVentesJour(Horodatage.jour(System.currentTimeMillis()));
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        String[] ligne = INDEX.trouverParId(id);
+        if (ligne == null) {
+            return false;
+        }
+        
+        // Suppression journalisée: un seul petit enregistrement en fin de journal
+        boolean succes = JournalCSV.ecrireSuppression(TABLE.partitionDe(ligne), id);
+        
+        if (succes) {
+            AGREGATS.retirer(extraireVente(ligne));
+            System.out.println("✓ Vente annulée avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Reconstruit les index des ventes à partir des partitions
+     * (en cas de fichier d'index perdu ou modifié à la main)
+     */
+    public void reconstruireIndex() {
+        INDEX.reconstruire();
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    /**
+     * Recherche par index: seules les lignes trouvées sont relues
+     */
+    private List<Vente> chercher(String index, int valeur) {
+        List<Vente> ventes = new ArrayList<>();
+        for (String[] ligne : INDEX.chercher(index, String.valueOf(valeur))) {
+            ventes.add(extraireVente(ligne));
+        }
+        return ventes;
+    }
+    
+    /**
+     * Fusion des résultats partiels d'un parcours parallèle (dans l'ordre du fichier)
+     */
+    private static List<Vente> concatener(List<Vente> gauche, List<Vente> droite) {
+        gauche.addAll(droite);
+        return gauche;
+    }
+    
+    static String[] versLigne(Vente vente) {
+        return new String[]{
+            String.valueOf(vente.getId()),
+            String.valueOf(vente.getIdPharmacien()),
+            String.valueOf(vente.getIdClient()),
+            String.valueOf(vente.getIdMedicament()),
+            String.valueOf(vente.getQuantite()),
+            Montant.ecrire(vente.getMontantTotal()),
+            Horodatage.ecrire(vente.getDateVente())
+        };
+    }
+    
+    private Vente extraireVente(String[] ligne) {
+        Vente vente = new Vente();
+        vente.setId(Integer.parseInt(ligne[0]));
+        vente.setIdPharmacien(Integer.parseInt(ligne[1]));
+        vente.setIdClient(Integer.parseInt(ligne[2]));
+        vente.setIdMedicament(Integer.parseInt(ligne[3]));
+        vente.setQuantite(Integer.parseInt(ligne[4]));
+        vente.setMontantTotal(Montant.lire(ligne[5]));
+        
+        try {
+            vente.setDateVente(Horodatage.lire(ligne[6]));
+        } catch (IllegalArgumentException e) {
+            vente.setDateVente(System.currentTimeMillis());
+        }
+        
+        return vente;
+    }
+}
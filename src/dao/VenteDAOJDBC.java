@@ -0,0 +1,263 @@
+package dao;
+
+import database.JDBCHelper;
+import database.Transaction;
+import database.TransactionJDBC;
+import models.Vente;
+import models.VentesMedicament;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Classe VenteDAOJDBC - Gère les opérations CRUD pour les Ventes
+ *
+ * Version JDBC - Table Vente de database/schema.sql
+ *
+ * Les ventes d'une transaction (ex: une ordonnance) sont envoyées en un
+ * seul lot à sa validation (voir TransactionJDBC). Les chiffres d'affaires
+ * sont calculés par la base (SUM), l'index sur date_vente sert les
+ * recherches par période.
+ *
+ * Un client anonyme (ID 0) est enregistré sans client (NULL).
+ *
+ * @author Étudiant
+ * @version 1.0 (JDBC)
+ */
+public class VenteDAOJDBC implements VenteDAO {
+    
+    private static final String COLONNES = "id_vente, id_pharmacien, id_client, id_medicament, quantite, montant_total, date_vente";
+    
+    static final String AJOUTER = "INSERT INTO Vente (" + COLONNES + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String PAR_ID = "SELECT " + COLONNES + " FROM Vente WHERE id_vente = ?";
+    private static final String TOUS = "SELECT " + COLONNES + " FROM Vente ORDER BY id_vente";
+    private static final String PAR_PHARMACIEN = "SELECT " + COLONNES + " FROM Vente WHERE id_pharmacien = ? ORDER BY id_vente";
+    private static final String PAR_CLIENT = "SELECT " + COLONNES + " FROM Vente WHERE id_client = ? ORDER BY id_vente";
+    private static final String PAR_MEDICAMENT = "SELECT " + COLONNES + " FROM Vente WHERE id_medicament = ? ORDER BY id_vente";
+    private static final String PAR_PERIODE = "SELECT " + COLONNES + " FROM Vente"
+        + " WHERE date_vente >= ? AND date_vente < ? ORDER BY id_vente";
+    private static final String SUPPRIMER = "DELETE FROM Vente WHERE id_vente = ?";
+    
+    private static final String TOTAL = "SELECT COALESCE(SUM(montant_total), 0) FROM Vente";
+    private static final String TOTAL_PERIODE = TOTAL + " WHERE date_vente >= ? AND date_vente < ?";
+    private static final String TOTAL_PHARMACIEN = TOTAL + " WHERE id_pharmacien = ?";
+    private static final String TOTAL_MEDICAMENT = TOTAL + " WHERE id_medicament = ?";
+    private static final String NOMBRE = "SELECT COUNT(*) FROM Vente";
+    private static final String NOMBRE_PERIODE = NOMBRE + " WHERE date_vente >= ? AND date_vente < ?";
+    private static final String PAR_MEDICAMENT_PERIODE = "SELECT id_medicament, COUNT(*), SUM(quantite), SUM(montant_total)"
+        + " FROM Vente WHERE date_vente >= ? AND date_vente < ?"
+        + " GROUP BY id_medicament ORDER BY SUM(montant_total) DESC, id_medicament";
+    
+    // ========== CREATE ==========
+    
+    @Override
+    public boolean ajouter(Vente vente) {
+        preparer(vente);
+        
+        boolean succes = JDBCHelper.executer(AJOUTER, valeurs(vente)) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Vente enregistrée avec succès! ID: " + vente.getId());
+        }
+        
+        return succes;
+    }
+    
+    /**
+     * Ajoute une vente dans une transaction
+     * (la ligne n'est envoyée qu'à la validation de la transaction)
+     */
+    @Override
+    public void ajouter(Vente vente, Transaction transaction) {
+        preparer(vente);
+        TransactionJDBC.de(transaction).inserer(AJOUTER, valeurs(vente));
+    }
+    
+    // ========== READ ==========
+    
+    @Override
+    public Vente trouverParId(int id) {
+        return JDBCHelper.trouver(PAR_ID, VenteDAOJDBC::extraireVente, id);
+    }
+    
+    @Override
+    public List<Vente> trouverTous() {
+        return JDBCHelper.lister(TOUS, VenteDAOJDBC::extraireVente);
+    }
+    
+    /**
+     * Récupère les ventes d'un pharmacien
+     */
+    @Override
+    public List<Vente> trouverParPharmacien(int idPharmacien) {
+        return JDBCHelper.lister(PAR_PHARMACIEN, VenteDAOJDBC::extraireVente, idPharmacien);
+    }
+    
+    /**
+     * Récupère les ventes d'un client
+     */
+    @Override
+    public List<Vente> trouverParClient(int idClient) {
+        return JDBCHelper.lister(PAR_CLIENT, VenteDAOJDBC::extraireVente, idClient);
+    }
+    
+    /**
+     * Récupère les ventes d'un médicament
+     */
+    @Override
+    public List<Vente> trouverParMedicament(int idMedicament) {
+        return JDBCHelper.lister(PAR_MEDICAMENT, VenteDAOJDBC::extraireVente, idMedicament);
+    }
+    
+    /**
+     * Récupère les ventes d'aujourd'hui
+     */
+    @Override
+    public List<Vente> trouverVentesDuJour() {
+        String aujourdhui = LocalDate.now().toString();
+        return trouverParPeriode(aujourdhui, aujourdhui);
+    }
+    
+    /**
+     * Récupère les ventes d'une période
+     *
+     * @param premierJour Premier jour inclus (yyyy-MM-dd)
+     * @param dernierJour Dernier jour inclus (yyyy-MM-dd)
+     */
+    @Override
+    public List<Vente> trouverParPeriode(String premierJour, String dernierJour) {
+        return JDBCHelper.lister(PAR_PERIODE, VenteDAOJDBC::extraireVente,
+                                 JDBCHelper.debutDuJour(premierJour), JDBCHelper.debutDuLendemain(dernierJour));
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires total
+     */
+    @Override
+    public long calculerChiffreAffairesTotal() {
+        return somme(TOTAL);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires du jour
+     */
+    @Override
+    public long calculerChiffreAffairesDuJour() {
+        String aujourdhui = LocalDate.now().toString();
+        return calculerChiffreAffairesPeriode(aujourdhui, aujourdhui);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires d'une période (jours inclus, yyyy-MM-dd)
+     */
+    @Override
+    public long calculerChiffreAffairesPeriode(String premierJour, String dernierJour) {
+        return somme(TOTAL_PERIODE, JDBCHelper.debutDuJour(premierJour), JDBCHelper.debutDuLendemain(dernierJour));
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires d'un pharmacien
+     */
+    @Override
+    public long calculerChiffreAffairesPharmacien(int idPharmacien) {
+        return somme(TOTAL_PHARMACIEN, idPharmacien);
+    }
+    
+    /**
+     * Calcule le chiffre d'affaires d'un médicament
+     */
+    @Override
+    public long calculerChiffreAffairesMedicament(int idMedicament) {
+        return somme(TOTAL_MEDICAMENT, idMedicament);
+    }
+    
+    /**
+     * Totalise les ventes d'une période par médicament (GROUP BY dans la base)
+     */
+    @Override
+    public List<VentesMedicament> totaliserParMedicament(String premierJour, String dernierJour) {
+        return JDBCHelper.lister(PAR_MEDICAMENT_PERIODE,
+            r -> new VentesMedicament(r.getInt(1), r.getInt(2), r.getInt(3), JDBCHelper.centimes(r.getBigDecimal(4))),
+            JDBCHelper.debutDuJour(premierJour), JDBCHelper.debutDuLendemain(dernierJour));
+    }
+    
+    /**
+     * Compte le nombre total de ventes
+     */
+    @Override
+    public int compterVentes() {
+        return nombre(NOMBRE);
+    }
+    
+    /**
+     * Compte le nombre de ventes du jour
+     */
+    @Override
+    public int compterVentesDuJour() {
+        String aujourdhui = LocalDate.now().toString();
+        return nombre(NOMBRE_PERIODE, JDBCHelper.debutDuJour(aujourdhui), JDBCHelper.debutDuLendemain(aujourdhui));
+    }
+    
+    // ========== DELETE ==========
+    
+    @Override
+    public boolean supprimer(int id) {
+        boolean succes = JDBCHelper.executer(SUPPRIMER, id) == 1;
+        
+        if (succes) {
+            System.out.println("✓ Vente annulée avec succès!");
+        }
+        
+        return succes;
+    }
+    
+    // ========== MÉTHODES UTILITAIRES ==========
+    
+    /**
+     * Une somme de montants, en centimes (SUM sur DECIMAL: exacte)
+     */
+    private static long somme(String sql, Object... valeurs) {
+        Long somme = JDBCHelper.trouver(sql, r -> JDBCHelper.centimes(r.getBigDecimal(1)), valeurs);
+        return somme != null ? somme : 0;
+    }
+    
+    private static int nombre(String sql, Object... valeurs) {
+        Integer nombre = JDBCHelper.trouver(sql, r -> r.getInt(1), valeurs);
+        return nombre != null ? nombre : 0;
+    }
+    
+    private static void preparer(Vente vente) {
+        vente.setId(JDBCHelper.prochainId("Vente", "id_vente"));
+        
+        // Si pas de date, utiliser maintenant
+        if (vente.getDateVente() == 0) {
+            vente.setDateVente(System.currentTimeMillis());
+        }
+    }
+    
+    static Object[] valeurs(Vente vente) {
+        return new Object[]{
+            vente.getId(),
+            vente.getIdPharmacien(),
+            vente.getIdClient() > 0 ? vente.getIdClient() : null,
+            vente.getIdMedicament(),
+            vente.getQuantite(),
+            JDBCHelper.montant(vente.getMontantTotal()),
+            JDBCHelper.horodatage(vente.getDateVente())
+        };
+    }
+    
+    private static Vente extraireVente(ResultSet resultat) throws SQLException {
+        return new Vente(
+            resultat.getInt("id_vente"),
+            resultat.getInt("id_pharmacien"),
+            resultat.getInt("id_client"), // NULL -> 0 (client anonyme)
+            resultat.getInt("id_medicament"),
+            resultat.getInt("quantite"),
+            resultat.getTimestamp("date_vente").getTime(),
+            JDBCHelper.centimes(resultat.getBigDecimal("montant_total"))
+        );
+    }
+}
@@ -0,0 +1,294 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Classe ArbreRadix - Arbre de préfixes compact (radix trie) pour l'autocomplétion
+ *
+ * Les clés sont normalisées (voir IndexTrigrammes.normaliser). Chaque arête
+ * porte une suite de caractères, pas un seul: les branches sans choix sont
+ * regroupées.
+ *
+ *            "para"
+ *           /      \
+ *   "cetamol"     "sitol"
+ *
+ * Les valeurs d'un préfixe sont celles du sous-arbre, dans l'ordre
+ * alphabétique des clés: la recherche des k premières s'arrête dès que
+ * k valeurs sont trouvées, quelle que soit la taille de l'arbre.
+ *
+ * @param <E> Le type des valeurs (ex: Medicament)
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class ArbreRadix<E> {
+
+    private final Noeud<E> racine = new Noeud<>("");
+    private int taille = 0;
+
+    // Plusieurs recherches en même temps; les ajouts sont rares
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    /**
+     * Ajoute une valeur sous une clé (plusieurs valeurs peuvent partager une clé)
+     */
+    public void ajouter(String cle, E valeur) {
+        String normalisee = IndexTrigrammes.normaliser(cle);
+
+        verrou.writeLock().lock();
+        try {
+            inserer(racine, normalisee, valeur);
+            taille++;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire une valeur (comparée avec equals) de sa clé
+     *
+     * @return true si la valeur était présente
+     */
+    public boolean retirer(String cle, E valeur) {
+        String normalisee = IndexTrigrammes.normaliser(cle);
+
+        verrou.writeLock().lock();
+        try {
+            boolean retiree = supprimer(racine, normalisee, valeur);
+            if (retiree) {
+                taille--;
+            }
+            return retiree;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Les k premières valeurs dont la clé commence par le préfixe
+     * (sans tenir compte des majuscules ni des accents)
+     */
+    public List<E> chercher(String prefixe, int k) {
+        String normalise = IndexTrigrammes.normaliser(prefixe);
+        List<E> resultats = new ArrayList<>(Math.min(k, 64));
+
+        verrou.readLock().lock();
+        try {
+            Noeud<E> noeud = racine;
+            int position = 0;
+
+            // Descendre jusqu'au nœud qui couvre tout le préfixe
+            while (position < normalise.length()) {
+                Noeud<E> enfant = noeud.enfant(normalise.charAt(position));
+                if (enfant == null) {
+                    return resultats;
+                }
+
+                int commun = prefixeCommun(enfant.arete, normalise, position);
+                if (position + commun == normalise.length()) {
+                    noeud = enfant;
+                    break;
+                }
+                if (commun < enfant.arete.length()) {
+                    return resultats;
+                }
+
+                noeud = enfant;
+                position += commun;
+            }
+
+            collecter(noeud, k, resultats);
+        } finally {
+            verrou.readLock().unlock();
+        }
+
+        return resultats;
+    }
+
+    public int taille() {
+        verrou.readLock().lock();
+        try {
+            return taille;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    private static <E> void inserer(Noeud<E> noeud, String cle, E valeur) {
+        int position = 0;
+
+        while (true) {
+            if (position == cle.length()) {
+                noeud.ajouterValeur(valeur);
+                return;
+            }
+
+            Noeud<E> enfant = noeud.enfant(cle.charAt(position));
+            if (enfant == null) {
+                Noeud<E> feuille = new Noeud<>(cle.substring(position));
+                feuille.ajouterValeur(valeur);
+                noeud.ajouterEnfant(feuille);
+                return;
+            }
+
+            int commun = prefixeCommun(enfant.arete, cle, position);
+            if (commun < enfant.arete.length()) {
+                // Couper l'arête: "paracetamol" + "parasitol" -> "para" -> {"cetamol", "sitol"}
+                Noeud<E> milieu = new Noeud<>(enfant.arete.substring(0, commun));
+                noeud.remplacerEnfant(milieu);
+                enfant.arete = enfant.arete.substring(commun);
+                milieu.ajouterEnfant(enfant);
+                enfant = milieu;
+            }
+
+            noeud = enfant;
+            position += commun;
+        }
+    }
+
+    private static <E> boolean supprimer(Noeud<E> noeud, String cle, E valeur) {
+        if (cle.isEmpty()) {
+            return noeud.retirerValeur(valeur);
+        }
+
+        Noeud<E> enfant = noeud.enfant(cle.charAt(0));
+        if (enfant == null || !cle.startsWith(enfant.arete)) {
+            return false;
+        }
+
+        boolean retiree = supprimer(enfant, cle.substring(enfant.arete.length()), valeur);
+
+        // Garder l'arbre compact: supprimer les feuilles vides, fusionner les nœuds à un seul enfant
+        if (retiree && enfant.nombreValeurs == 0) {
+            if (enfant.nombreEnfants == 0) {
+                noeud.retirerEnfant(enfant);
+            } else if (enfant.nombreEnfants == 1) {
+                Noeud<E> petitEnfant = enfant.enfants[0];
+                petitEnfant.arete = enfant.arete + petitEnfant.arete;
+                noeud.remplacerEnfant(petitEnfant);
+            }
+        }
+        return retiree;
+    }
+
+    /**
+     * Parcours en profondeur dans l'ordre alphabétique, arrêté après k valeurs
+     */
+    private static <E> boolean collecter(Noeud<E> noeud, int k, List<E> resultats) {
+        for (int i = 0; i < noeud.nombreValeurs; i++) {
+            if (resultats.size() >= k) {
+                return false;
+            }
+            resultats.add(noeud.valeurs[i]);
+        }
+
+        for (int i = 0; i < noeud.nombreEnfants; i++) {
+            if (resultats.size() >= k || !collecter(noeud.enfants[i], k, resultats)) {
+                return false;
+            }
+        }
+        return resultats.size() < k;
+    }
+
+    private static int prefixeCommun(String arete, String cle, int debut) {
+        int max = Math.min(arete.length(), cle.length() - debut);
+        int i = 0;
+        while (i < max && arete.charAt(i) == cle.charAt(debut + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Un nœud: son arête, ses valeurs et ses enfants
+     * (tableaux triés par premier caractère plutôt que des Map: moins de mémoire)
+     */
+    private static class Noeud<E> {
+        String arete;
+        E[] valeurs;
+        int nombreValeurs;
+        Noeud<E>[] enfants;
+        int nombreEnfants;
+
+        Noeud(String arete) {
+            this.arete = arete;
+        }
+
+        Noeud<E> enfant(char premier) {
+            int i = chercherEnfant(premier);
+            return i >= 0 ? enfants[i] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void ajouterValeur(E valeur) {
+            if (valeurs == null) {
+                valeurs = (E[]) new Object[1];
+            } else if (nombreValeurs == valeurs.length) {
+                valeurs = Arrays.copyOf(valeurs, nombreValeurs * 2);
+            }
+            valeurs[nombreValeurs++] = valeur;
+        }
+
+        boolean retirerValeur(E valeur) {
+            for (int i = 0; i < nombreValeurs; i++) {
+                if (valeurs[i].equals(valeur)) {
+                    System.arraycopy(valeurs, i + 1, valeurs, i, nombreValeurs - i - 1);
+                    valeurs[--nombreValeurs] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        void ajouterEnfant(Noeud<E> enfant) {
+            if (enfants == null) {
+                enfants = (Noeud<E>[]) new Noeud<?>[2];
+            } else if (nombreEnfants == enfants.length) {
+                enfants = Arrays.copyOf(enfants, nombreEnfants * 2);
+            }
+
+            int position = -chercherEnfant(enfant.arete.charAt(0)) - 1;
+            System.arraycopy(enfants, position, enfants, position + 1, nombreEnfants - position);
+            enfants[position] = enfant;
+            nombreEnfants++;
+        }
+
+        void remplacerEnfant(Noeud<E> enfant) {
+            enfants[chercherEnfant(enfant.arete.charAt(0))] = enfant;
+        }
+
+        void retirerEnfant(Noeud<E> enfant) {
+            int i = chercherEnfant(enfant.arete.charAt(0));
+            System.arraycopy(enfants, i + 1, enfants, i, nombreEnfants - i - 1);
+            enfants[--nombreEnfants] = null;
+        }
+
+        /**
+         * Recherche dichotomique du premier caractère
+         * (résultat négatif: -(position d'insertion) - 1)
+         */
+        private int chercherEnfant(char premier) {
+            int bas = 0;
+            int haut = nombreEnfants - 1;
+            while (bas <= haut) {
+                int milieu = (bas + haut) >>> 1;
+                char c = enfants[milieu].arete.charAt(0);
+                if (c < premier) {
+                    bas = milieu + 1;
+                } else if (c > premier) {
+                    haut = milieu - 1;
+                } else {
+                    return milieu;
+                }
+            }
+            return -(bas + 1);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package database;
+
+/**
+ * Classe BlocColonnes - Un bloc de lignes d'une table en colonnes
+ *
+ * Les valeurs sont rangées par colonne: colonne(c)[i] est la valeur de la
+ * colonne c à la ligne i du bloc. Seules les colonnes demandées au
+ * parcours sont lues, et seules les lignes retenues par le filtre sont
+ * présentes (de 0 à taille() - 1).
+ *
+ * Les tableaux sont réutilisés d'un bloc à l'autre: ils ne doivent pas
+ * être gardés après l'appel.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class BlocColonnes {
+
+    private final long[][] valeurs;
+    private int taille;
+
+    BlocColonnes(int nombreColonnes) {
+        this.valeurs = new long[nombreColonnes][];
+    }
+
+    /**
+     * Nombre de lignes du bloc
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Les valeurs d'une colonne (entiers, centimes ou millisecondes)
+     *
+     * @return Le tableau de la colonne, ou null si elle n'a pas été demandée
+     */
+    public long[] colonne(int colonne) {
+        return valeurs[colonne];
+    }
+
+    // ========== REMPLISSAGE (TableColonnes) ==========
+
+    long[] tableau(int colonne, int capacite) {
+        if (valeurs[colonne] == null) {
+            valeurs[colonne] = new long[capacite];
+        }
+        return valeurs[colonne];
+    }
+
+    void fixerTaille(int taille) {
+        this.taille = taille;
+    }
+
+    /**
+     * Ne garde que les lignes dont la colonne filtre est dans [debut, fin[
+     * (les lignes retenues sont ramenées au début des tableaux)
+     */
+    void filtrer(int colonneFiltre, long debut, long fin) {
+        long[] filtre = valeurs[colonneFiltre];
+        int retenues = 0;
+
+        for (int i = 0; i < taille; i++) {
+            if (filtre[i] >= debut && filtre[i] < fin) {
+                if (retenues != i) {
+                    for (long[] colonne : valeurs) {
+                        if (colonne != null) {
+                            colonne[retenues] = colonne[i];
+                        }
+                    }
+                }
+                retenues++;
+            }
+        }
+
+        taille = retenues;
+    }
+}
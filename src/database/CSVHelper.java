@@ -1,8 +1,22 @@
 package database;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Classe CSVHelper - Utilitaire pour lire et écrire des fichiers CSV
@@ -15,8 +29,12 @@ import java.util.List;
  * 1;Dupont;Marie;mdupont;password123
  * 2;Martin;Pierre;pmartin;password123
  * 
+ * Les modifications et suppressions ne réécrivent pas le fichier:
+ * elles sont ajoutées dans un journal (voir JournalCSV) qui est
+ * appliqué automatiquement à la lecture.
+ * 
  * @author Étudiant
- * @version 1.0
+ * @version 1.1
  */
 public class CSVHelper {
     
@@ -27,6 +45,33 @@ public class CSVHelper {
     // Le dossier où sont stockés les fichiers CSV
     public static final String DATA_FOLDER = "data/";
     
+    // Un verrou lecture/écriture par fichier (les lectures peuvent se faire en parallèle)
+    private static final Map<String, ReentrantReadWriteLock> VERROUS = new ConcurrentHashMap<>();
+    
+    // Prévenus de chaque écriture (voir ObservateurFichier)
+    private static final List<ObservateurFichier> OBSERVATEURS = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Retourne le verrou associé à un fichier
+     */
+    static ReentrantReadWriteLock verrou(String fileName) {
+        return VERROUS.computeIfAbsent(fileName, f -> new ReentrantReadWriteLock());
+    }
+    
+    /**
+     * Enregistre un observateur, prévenu de chaque écriture dans les fichiers
+     */
+    public static void ajouterObservateur(ObservateurFichier observateur) {
+        OBSERVATEURS.add(observateur);
+    }
+    
+    /**
+     * Liste des observateurs (utilisée aussi par JournalCSV)
+     */
+    static List<ObservateurFichier> observateurs() {
+        return OBSERVATEURS;
+    }
+    
     /**
      * Initialise le dossier de données s'il n'existe pas
      */
@@ -41,21 +86,50 @@ public class CSVHelper {
     /**
      * Lit toutes les lignes d'un fichier CSV
      * 
+     * Pour les gros fichiers, préférer parcourirFichier qui ne garde
+     * pas toutes les lignes en mémoire.
+     * 
      * @param fileName Le nom du fichier (ex: "pharmaciens.csv")
      * @return Une liste de tableaux de String (chaque ligne = un tableau)
      */
     public static List<String[]> lireFichier(String fileName) {
         List<String[]> lignes = new ArrayList<>();
+        
+        parcourirFichier(fileName, ligne -> {
+            lignes.add(ligne);
+            return true;
+        });
+        
+        return lignes;
+    }
+    
+    /**
+     * Parcourt un fichier CSV ligne par ligne (lecture en flux)
+     * 
+     * Une seule ligne est en mémoire à la fois, et la lecture s'arrête
+     * dès que le traitement retourne false (ex: ligne recherchée trouvée).
+     * Les modifications journalisées sont appliquées au passage.
+     * 
+     * @param fileName   Le nom du fichier (ex: "ventes.csv")
+     * @param traitement Le traitement appliqué à chaque ligne
+     */
+    public static void parcourirFichier(String fileName, TraitementLigne traitement) {
         String cheminComplet = DATA_FOLDER + fileName;
         
         File file = new File(cheminComplet);
         
-        // Si le fichier n'existe pas, retourner une liste vide
+        // Si le fichier n'existe pas, il n'y a rien à parcourir
         if (!file.exists()) {
-            return lignes;
+            return;
         }
         
+        ReentrantReadWriteLock verrou = verrou(fileName);
+        verrou.readLock().lock();
+        
         try (BufferedReader reader = new BufferedReader(new FileReader(cheminComplet))) {
+            // Modifications journalisées: ID -> nouvelle ligne (null = supprimée)
+            Map<String, String[]> surcharge = JournalCSV.lireSurcharge(fileName);
+            
             String ligne;
             boolean premiereLigne = true;
             
@@ -73,18 +147,104 @@ public class CSVHelper {
                 
                 // Découper la ligne selon le séparateur
                 String[] colonnes = ligne.split(SEPARATOR, -1);
-                lignes.add(colonnes);
+                
+                if (!surcharge.isEmpty() && surcharge.containsKey(colonnes[0])) {
+                    colonnes = surcharge.get(colonnes[0]);
+                    if (colonnes == null) {
+                        continue; // Ligne supprimée
+                    }
+                }
+                
+                if (!traitement.traiter(colonnes)) {
+                    break;
+                }
             }
             
         } catch (IOException e) {
             System.err.println("✗ Erreur lors de la lecture de " + fileName + ": " + e.getMessage());
+        } finally {
+            verrou.readLock().unlock();
         }
+    }
+    
+    /**
+     * Parcourt un fichier CSV en mémoire mappée (gros fichiers d'historique)
+     * 
+     * Même principe que parcourirFichier, mais sans décodage ni découpage
+     * en String: les colonnes sont lues directement dans les octets du
+     * fichier (voir LigneCSV). Nettement plus rapide pour parcourir
+     * ventes.csv ou stock_historique.csv en entier.
+     * 
+     * @param fileName   Le nom du fichier (ex: "ventes.csv")
+     * @param traitement Le traitement appliqué à chaque ligne
+     */
+    public static void parcourirFichierMappe(String fileName, TraitementLigneCSV traitement) {
+        File file = new File(DATA_FOLDER + fileName);
+    
+        if (!file.exists()) {
+            return;
+        }
+    
+        ReentrantReadWriteLock verrou = verrou(fileName);
+        verrou.readLock().lock();
+    
+        try (FileChannel canal = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            Map<Integer, String[]> surcharge = LecteurMappe.surchargeParId(JournalCSV.lireSurcharge(fileName));
+            LecteurMappe.parcourir(canal, 0, canal.size(), true, surcharge, traitement);
+    
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture de " + fileName + ": " + e.getMessage());
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Parcourt tout un fichier CSV en parallèle (rapports sur l'historique)
+     * 
+     * Le fichier est découpé en blocs lus en même temps sur plusieurs
+     * coeurs (voir ScanParallele). Chaque bloc remplit son propre résultat
+     * partiel, puis les résultats sont fusionnés dans l'ordre du fichier.
+     * 
+     * Exemple (chiffre d'affaires, en centimes):
+     * long[] total = CSVHelper.agregerFichier("ventes.csv",
+     *     () -> new long[1],
+     *     (t, ligne) -> t[0] += ligne.montant(5),
+     *     (a, b) -> { a[0] += b[0]; return a; });
+     * 
+     * @param fileName  Le nom du fichier (ex: "ventes.csv")
+     * @param initial   Crée un résultat partiel vide
+     * @param accumuler Ajoute une ligne à un résultat partiel
+     * @param fusionner Fusionne deux résultats partiels (doit être associative)
+     * @return Le résultat de tout le fichier (résultat vide si le fichier est illisible)
+     */
+    public static <R> R agregerFichier(String fileName, Supplier<R> initial,
+                                       BiConsumer<R, LigneCSV> accumuler, BinaryOperator<R> fusionner) {
+        File file = new File(DATA_FOLDER + fileName);
         
-        return lignes;
+        if (!file.exists()) {
+            return initial.get();
+        }
+        
+        ReentrantReadWriteLock verrou = verrou(fileName);
+        verrou.readLock().lock();
+        
+        try (FileChannel canal = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            Map<Integer, String[]> surcharge = LecteurMappe.surchargeParId(JournalCSV.lireSurcharge(fileName));
+            return ScanParallele.agreger(canal, surcharge, initial, accumuler, fusionner);
+            
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture de " + fileName + ": " + e.getMessage());
+            return initial.get();
+        } finally {
+            verrou.readLock().unlock();
+        }
     }
     
     /**
-     * Écrit des données dans un fichier CSV
+     * Écrit des données dans un fichier CSV (réécriture complète)
+     * 
+     * Le journal du fichier est vidé puisque les données écrites sont complètes.
      * 
      * @param fileName Le nom du fichier
      * @param entetes  Les en-têtes des colonnes
@@ -92,24 +252,78 @@ public class CSVHelper {
      * @return true si l'écriture a réussi
      */
     public static boolean ecrireFichier(String fileName, String[] entetes, List<String[]> donnees) {
-        initDataFolder();
-        String cheminComplet = DATA_FOLDER + fileName;
+        ReentrantReadWriteLock verrou = verrou(fileName);
+        verrou.writeLock().lock();
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(cheminComplet))) {
-            // Écrire les en-têtes
-            writer.println(String.join(SEPARATOR, entetes));
+        try {
+            // Le fichier complet est sur le disque avant d'effacer le journal
+            remplacerFichier(fileName, entetes, donnees);
             
-            // Écrire les données
-            for (String[] ligne : donnees) {
-                writer.println(String.join(SEPARATOR, ligne));
+            JournalCSV.effacer(fileName);
+            for (ObservateurFichier observateur : OBSERVATEURS) {
+                observateur.fichierReecrit(fileName);
             }
-            
             return true;
             
         } catch (IOException e) {
             System.err.println("✗ Erreur lors de l'écriture de " + fileName + ": " + e.getMessage());
             return false;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remplace un fichier en entier, de façon sûre
+     * 
+     * Écriture dans un fichier temporaire forcé sur le disque, puis
+     * renommage atomique: le fichier a son ancien contenu ou le nouveau,
+     * jamais un contenu à moitié écrit. Contrairement à un PrintWriter,
+     * chaque erreur d'écriture (ex: disque plein) est signalée, et le
+     * fichier d'origine n'est alors pas touché.
+     * 
+     * N'est pas journalisé et ne prévient pas les observateurs: pour les
+     * fichiers annexes (index, totaux, manifestes...) et pour les appelants
+     * qui s'en chargent (voir TablePartitionnee.remplacerPartition).
+     * 
+     * @param fileName  Le nom du fichier (dans le dossier de données)
+     * @param entetes   La première ligne
+     * @param lignes    Les lignes suivantes
+     * @param compresse true pour un fichier compressé (GZIP)
+     * @throws IOException si l'écriture, la synchronisation ou le renommage a échoué
+     */
+    public static void remplacerFichier(String fileName, String[] entetes, List<String[]> lignes,
+                                        boolean compresse) throws IOException {
+        initDataFolder();
+        File fichier = new File(DATA_FOLDER + fileName);
+        File temporaire = new File(DATA_FOLDER + fileName + ".tmp");
+        String finDeLigne = System.lineSeparator();
+        
+        try (FileOutputStream sortie = new FileOutputStream(temporaire);
+             OutputStream flux = compresse ? new GZIPOutputStream(sortie) : new BufferedOutputStream(sortie);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(flux))) {
+            writer.write(String.join(SEPARATOR, entetes));
+            writer.write(finDeLigne);
+            for (String[] ligne : lignes) {
+                writer.write(String.join(SEPARATOR, ligne));
+                writer.write(finDeLigne);
+            }
+            writer.flush();
+            if (compresse) {
+                ((GZIPOutputStream) flux).finish();
+            }
+            sortie.getFD().sync();
+            
+        } catch (IOException e) {
+            temporaire.delete();
+            throw e;
         }
+        
+        Files.move(temporaire.toPath(), fichier.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    public static void remplacerFichier(String fileName, String[] entetes, List<String[]> lignes) throws IOException {
+        remplacerFichier(fileName, entetes, lignes, false);
     }
     
     /**
@@ -120,41 +334,142 @@ public class CSVHelper {
      * @return true si l'ajout a réussi
      */
     public static boolean ajouterLigne(String fileName, String[] donnees) {
+        return ajouterLignes(fileName, Collections.singletonList(donnees));
+    }
+    
+    /**
+     * Ajoute plusieurs lignes à un fichier CSV en une seule écriture
+     * (par exemple les lignes d'une même ordonnance)
+     * 
+     * @param fileName Le nom du fichier
+     * @param lignes   Les nouvelles lignes
+     * @return true si l'ajout a réussi
+     */
+    public static boolean ajouterLignes(String fileName, List<String[]> lignes) {
         initDataFolder();
         String cheminComplet = DATA_FOLDER + fileName;
+        Charset charset = Charset.defaultCharset();
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(cheminComplet, true))) {
-            writer.println(String.join(SEPARATOR, donnees));
+        ReentrantReadWriteLock verrou = verrou(fileName);
+        verrou.writeLock().lock();
+        
+        // Position de chaque ligne dans le fichier (pour les observateurs)
+        long[] positions = new long[lignes.size()];
+        long position = new File(cheminComplet).length();
+        
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(cheminComplet, true))) {
+            for (int i = 0; i < lignes.size(); i++) {
+                byte[] octets = (String.join(SEPARATOR, lignes.get(i)) + System.lineSeparator()).getBytes(charset);
+                out.write(octets);
+                positions[i] = position;
+                position += octets.length;
+            }
+            out.flush();
+            
+            for (ObservateurFichier observateur : OBSERVATEURS) {
+                for (int i = 0; i < lignes.size(); i++) {
+                    observateur.ligneAjoutee(fileName, lignes.get(i), positions[i]);
+                }
+            }
             return true;
             
         } catch (IOException e) {
             System.err.println("✗ Erreur lors de l'ajout dans " + fileName + ": " + e.getMessage());
             return false;
+        } finally {
+            verrou.writeLock().unlock();
         }
     }
     
     /**
      * Trouve le prochain ID disponible dans un fichier
      * 
+     * L'ID vient de la séquence du fichier (voir Sequences):
+     * le fichier n'est pas relu à chaque ajout.
+     * 
      * @param fileName Le nom du fichier
      * @return Le prochain ID à utiliser
      */
     public static int getProchainId(String fileName) {
-        List<String[]> lignes = lireFichier(fileName);
-        int maxId = 0;
+        return Sequences.prochainId(fileName);
+    }
+    
+    /**
+     * Trouve le plus grand ID présent dans un fichier (lecture complète)
+     * 
+     * @param fileName Le nom du fichier
+     * @return Le plus grand ID, ou 0 si le fichier est vide
+     */
+    public static int getMaxId(String fileName) {
+        int[] maxId = {0};
         
-        for (String[] ligne : lignes) {
+        parcourirFichier(fileName, ligne -> {
             try {
-                int id = Integer.parseInt(ligne[0]);
-                if (id > maxId) {
-                    maxId = id;
-                }
+                maxId[0] = Math.max(maxId[0], Integer.parseInt(ligne[0]));
             } catch (NumberFormatException e) {
                 // Ignorer les lignes avec un ID invalide
             }
+            return true;
+        });
+        
+        return maxId[0];
+    }
+    
+    /**
+     * Version du contenu d'un fichier: taille du fichier et de ses journaux
+     * 
+     * Toute écriture (ajout, modification, suppression, compaction) change
+     * la version. Permet de savoir si un résultat calculé à partir du
+     * fichier (ex: des totaux enregistrés) est toujours à jour.
+     * 
+     * @param fileName Le nom du fichier
+     * @return La version (ex: "5230-0-0")
+     */
+    public static String versionFichier(String fileName) {
+        ReentrantReadWriteLock verrou = verrou(fileName);
+        verrou.readLock().lock();
+        
+        try {
+            return new File(DATA_FOLDER + fileName).length()
+                + "-" + new File(DATA_FOLDER + fileName + JournalCSV.EXTENSION).length()
+                + "-" + new File(DATA_FOLDER + fileName + JournalCSV.EXTENSION_COMPACTION).length();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Force un fichier et ses journaux sur le disque (fsync)
+     * 
+     * Les écritures normales ne sont pas forcées: c'est le journal de
+     * transactions qui est durable. Utilisé avant de vider ce journal,
+     * une fois les transactions rejouées (voir GestionnaireTransactions).
+     * 
+     * @param fileName Le nom du fichier
+     * @return true si tout est sur le disque (un fichier absent est ignoré)
+     */
+    static boolean forcerSurDisque(String fileName) {
+        String[] chemins = {
+            DATA_FOLDER + fileName,
+            DATA_FOLDER + fileName + JournalCSV.EXTENSION,
+            DATA_FOLDER + fileName + JournalCSV.EXTENSION_COMPACTION
+        };
+        
+        for (String chemin : chemins) {
+            File fichier = new File(chemin);
+            if (!fichier.exists()) {
+                continue;
+            }
+            
+            try (FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.WRITE)) {
+                canal.force(true);
+            } catch (IOException e) {
+                System.err.println("✗ Erreur lors de la synchronisation de " + chemin + ": " + e.getMessage());
+                return false;
+            }
         }
         
-        return maxId + 1;
+        return true;
     }
     
     /**
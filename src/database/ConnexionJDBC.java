@@ -0,0 +1,87 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classe ConnexionJDBC - Une connexion du pool et ses requêtes préparées
+ *
+ * Chaque requête SQL est préparée une seule fois par connexion, puis
+ * réutilisée à chaque emprunt: la base n'analyse plus la requête. Les
+ * requêtes des DAO sont des constantes, le cache reste donc petit.
+ *
+ * Une connexion n'est utilisée que par un thread à la fois (celui qui
+ * l'a empruntée, voir PoolConnexions).
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class ConnexionJDBC {
+
+    private final Connection connexion;
+    private final Map<String, PreparedStatement> requetes = new HashMap<>();
+
+    // Une erreur a eu lieu: la connexion est fermée à son retour au pool
+    boolean douteuse = false;
+
+    ConnexionJDBC(Connection connexion) {
+        this.connexion = connexion;
+    }
+
+    /**
+     * La requête préparée pour ce SQL (préparée au premier appel)
+     */
+    public PreparedStatement preparer(String sql) throws SQLException {
+        PreparedStatement requete = requetes.get(sql);
+        if (requete == null) {
+            requete = connexion.prepareStatement(sql);
+            requetes.put(sql, requete);
+        } else {
+            requete.clearParameters();
+        }
+        return requete;
+    }
+
+    /**
+     * Début d'une transaction (les écritures attendent valider())
+     */
+    void debuter() throws SQLException {
+        connexion.setAutoCommit(false);
+    }
+
+    void valider() throws SQLException {
+        connexion.commit();
+        connexion.setAutoCommit(true);
+    }
+
+    /**
+     * Annule les écritures en cours et les lots pas encore envoyés
+     * (la connexion est écartée si même l'annulation échoue)
+     */
+    void annuler() {
+        try {
+            for (PreparedStatement requete : requetes.values()) {
+                requete.clearBatch();
+            }
+            connexion.rollback();
+            connexion.setAutoCommit(true);
+        } catch (SQLException e) {
+            douteuse = true;
+        }
+    }
+
+    Connection getConnexion() {
+        return connexion;
+    }
+
+    void fermer() {
+        try {
+            connexion.close();
+        } catch (SQLException e) {
+            // Déjà fermée ou perdue: rien à faire
+        }
+    }
+}
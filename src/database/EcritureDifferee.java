@@ -0,0 +1,228 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Classe EcritureDifferee - Ajouts écrits en arrière-plan, par lots
+ *
+ * Les lignes ajoutées avec Transaction.ajouterLigneDifferee (ex: l'historique
+ * des stocks) sont écrites dans le journal de transactions comme les autres,
+ * mais leur ajout au fichier CSV ne retarde pas la validation: il est confié
+ * à cette file. Un thread les regroupe et les écrit DELAI_MS après la
+ * première, ou dès que TAILLE_LOT transactions attendent: un seul ajout par
+ * fichier, et le thread n'est pas réveillé à chaque transaction.
+ *
+ * La file est bornée (CAPACITE transactions): si le disque ne suit plus,
+ * les validations attendent qu'une place se libère. Elles attendent après
+ * avoir rendu le verrou d'application (voir attendrePlace): les lignes sont
+ * confiées dans l'ordre du journal sans jamais bloquer ce verrou.
+ *
+ * Garanties:
+ * - Arrêt normal: les lignes en attente sont écrites avant la fin du
+ *   programme (crochet d'arrêt, au plus DELAI_ARRET_MS).
+ * - Arrêt brutal: une transaction n'est marquée appliquée dans le journal
+ *   qu'une fois ses lignes écrites. Les lignes perdues sont donc rejouées
+ *   au démarrage suivant (voir GestionnaireTransactions.recuperer).
+ * - Lecture: vider() attend que tout ce qui a été confié soit écrit.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class EcritureDifferee {
+
+    private static final int CAPACITE = 4096;
+    private static final int TAILLE_LOT = 256;
+    private static final long DELAI_MS = 20;
+    private static final long DELAI_ARRET_MS = 5000;
+
+    // Sans limite propre: la limite (CAPACITE) est tenue par attendrePlace()
+    private static final BlockingQueue<Lot> FILE = new LinkedBlockingQueue<>();
+
+    // Lots confiés et pas encore écrits (file + lot en cours d'écriture)
+    private static final Object VERROU = new Object();
+    private static int enAttente = 0;
+
+    private static Thread ecrivain;
+
+    private EcritureDifferee() {
+    }
+
+    /**
+     * Confie les lignes d'une transaction validée (dans l'ordre du journal)
+     *
+     * N'attend jamais: appelée avec le verrou d'application de
+     * GestionnaireTransactions. L'appelant attend ensuite une place avec
+     * attendrePlace(), une fois ce verrou rendu.
+     *
+     * @param operations Les ajouts différés de la transaction
+     * @param numero     Le numéro de la transaction dans le journal
+     */
+    static void confier(List<Transaction.Operation> operations, long numero) {
+        demarrer();
+
+        synchronized (VERROU) {
+            enAttente++;
+        }
+
+        FILE.add(new Lot(operations, numero));
+
+        if (FILE.size() >= TAILLE_LOT) {
+            LockSupport.unpark(ecrivain);
+        }
+    }
+
+    /**
+     * Attend que la file repasse sous CAPACITE transactions
+     * (le disque ne suit plus: la validation est ralentie)
+     *
+     * @return true si le thread a été interrompu pendant l'attente
+     */
+    static boolean attendrePlace() {
+        boolean interrompu = false;
+
+        synchronized (VERROU) {
+            while (enAttente > CAPACITE) {
+                LockSupport.unpark(ecrivain);
+                try {
+                    VERROU.wait();
+                } catch (InterruptedException e) {
+                    interrompu = true;
+                }
+            }
+        }
+
+        return interrompu;
+    }
+
+    /**
+     * Attend que toutes les lignes confiées jusqu'ici soient écrites
+     */
+    public static void vider() {
+        boolean interrompu = false;
+
+        synchronized (VERROU) {
+            if (enAttente > 0) {
+                LockSupport.unpark(ecrivain);
+            }
+            while (enAttente > 0) {
+                try {
+                    VERROU.wait();
+                } catch (InterruptedException e) {
+                    interrompu = true;
+                }
+            }
+        }
+
+        if (interrompu) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * true si aucune ligne n'attend d'être écrite
+     */
+    static boolean estVide() {
+        synchronized (VERROU) {
+            return enAttente == 0;
+        }
+    }
+
+    // ========== ÉCRIVAIN ==========
+
+    private static synchronized void demarrer() {
+        if (ecrivain != null) {
+            return;
+        }
+
+        ecrivain = new Thread(EcritureDifferee::ecrire, "ecriture-differee");
+        ecrivain.setDaemon(true);
+        ecrivain.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(EcritureDifferee::viderAvantArret, "vidage-ecriture-differee"));
+    }
+
+    private static void ecrire() {
+        List<Lot> lots = new ArrayList<>();
+
+        while (true) {
+            try {
+                lots.add(FILE.take());
+            } catch (InterruptedException e) {
+                // Thread démon: seul l'arrêt du programme l'interrompt
+                continue;
+            }
+
+            // Laisser les suivantes s'accumuler (réveil anticipé: lot plein ou vider())
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(DELAI_MS));
+            FILE.drainTo(lots);
+
+            ecrireLots(lots);
+            lots.clear();
+        }
+    }
+
+    /**
+     * Un seul ajout par fichier, puis marquage des transactions
+     */
+    private static void ecrireLots(List<Lot> lots) {
+        Map<String, List<String[]>> parFichier = new LinkedHashMap<>();
+        for (Lot lot : lots) {
+            for (Transaction.Operation operation : lot.operations) {
+                parFichier.computeIfAbsent(operation.fichier, f -> new ArrayList<>()).add(operation.ligne);
+            }
+        }
+
+        boolean succes = true;
+        for (Map.Entry<String, List<String[]>> fichier : parFichier.entrySet()) {
+            succes &= CSVHelper.ajouterLignes(fichier.getKey(), fichier.getValue());
+        }
+
+        for (Lot lot : lots) {
+            GestionnaireTransactions.differeesEcrites(lot.numero, succes);
+        }
+
+        synchronized (VERROU) {
+            enAttente -= lots.size();
+            VERROU.notifyAll();
+        }
+    }
+
+    private static void viderAvantArret() {
+        long limite = System.currentTimeMillis() + DELAI_ARRET_MS;
+
+        synchronized (VERROU) {
+            LockSupport.unpark(ecrivain);
+            while (enAttente > 0 && System.currentTimeMillis() < limite) {
+                try {
+                    VERROU.wait(Math.max(1, limite - System.currentTimeMillis()));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            if (enAttente > 0) {
+                System.err.println("⚠️ " + enAttente + " transaction(s) non écrite(s) à l'arrêt: elles seront rejouées au prochain démarrage.");
+            }
+        }
+    }
+
+    /**
+     * Les ajouts différés d'une transaction
+     */
+    private static class Lot {
+        final List<Transaction.Operation> operations;
+        final long numero;
+
+        Lot(List<Transaction.Operation> operations, long numero) {
+            this.operations = operations;
+            this.numero = numero;
+        }
+    }
+}
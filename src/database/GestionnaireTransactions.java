@@ -0,0 +1,570 @@
+package database;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Classe GestionnaireTransactions - Journal de transactions (write-ahead log)
+ *
+ * Chaque transaction est d'abord écrite dans data/transactions.wal:
+ *
+ * DEBUT;12
+ * A;ventes.csv;4;1;1;1;2;3.0;2026-01-13 10:30:00
+ * D;stock_historique/2026-01-13.csv;4;1;-2;VENTE;2026-01-13 10:30:00
+ * M;medicaments.csv;1;Paracetamol;500mg;98;1.5
+ * VALIDEE;12
+ *
+ * Une fois ce journal forcé sur le disque (fsync), la transaction est
+ * considérée comme validée: ses écritures sont alors appliquées aux
+ * fichiers CSV, puis la ligne "APPLIQUEE;12" est ajoutée.
+ *
+ * Validation groupée (group commit): pendant qu'un thread force le journal
+ * sur le disque, les autres transactions s'accumulent; le fsync suivant les
+ * couvre toutes d'un coup.
+ *
+ * Au démarrage, les transactions validées mais non appliquées (arrêt brutal)
+ * sont rejouées; les transactions incomplètes sont ignorées.
+ *
+ * Les lignes des tables binaires (B;ventes.bin;4;<octets en Base64>) sont
+ * réécrites à leur position: les rejouer deux fois ne change rien (voir
+ * TableBinaire).
+ *
+ * Les ajouts différés (D;...) sont écrits en arrière-plan (voir
+ * EcritureDifferee): leur transaction n'est marquée "APPLIQUEE" qu'une fois
+ * ces lignes écrites, et le journal n'est pas vidé tant qu'il en reste.
+ * Ses autres écritures sont marquées à part ("SYNCHRONE;12") dès qu'elles
+ * sont appliquées: au rejeu, seuls ses ajouts différés sont réécrits, sans
+ * écraser les transactions suivantes.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class GestionnaireTransactions {
+
+    public static final String FICHIER_WAL = "transactions.wal";
+
+    private static final String DEBUT = "DEBUT";
+    private static final String VALIDEE = "VALIDEE";
+    private static final String SYNCHRONE = "SYNCHRONE";
+    private static final String APPLIQUEE = "APPLIQUEE";
+    private static final String ANNULEE = "ANNULEE";
+
+    // Au-delà de cette taille, le journal est vidé dès qu'aucune transaction n'est en cours
+    private static final long TAILLE_MAX_WAL = 1024 * 1024;
+
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    // Ordre des verrous: APPLICATION -> ECRITURE et SYNCHRO -> ECRITURE
+    private static final Object VERROU_ECRITURE = new Object();
+    private static final Object VERROU_SYNCHRO = new Object();
+    private static final Object VERROU_APPLICATION = new Object();
+
+    private static FileChannel canal;
+    private static long dernierNumeroEcrit = 0;
+    private static long dernierNumeroSynchronise = 0;
+    private static long dernierNumeroTraite = 0;   // appliquée ou abandonnée
+    private static boolean toutesAppliquees = true;
+    private static volatile boolean recuperationFaite = false;
+
+    // ========== VALIDATION ==========
+
+    /**
+     * Écrit la transaction dans le journal, sans attendre le disque
+     *
+     * Permet à l'appelant de fixer l'ordre des transactions dans le journal
+     * (par exemple en appelant cette méthode sous son propre verrou).
+     *
+     * @return true si l'écriture a réussi
+     */
+    public static boolean ecrire(Transaction transaction) {
+        if (transaction.numero != 0) {
+            return true;
+        }
+
+        recuperer();
+
+        synchronized (VERROU_ECRITURE) {
+            long numero = dernierNumeroEcrit + 1;
+
+            try {
+                ecrireOctets(serialiser(transaction, numero));
+            } catch (IOException e) {
+                System.err.println("✗ Erreur lors de l'écriture du journal de transactions: " + e.getMessage());
+                return false;
+            }
+
+            transaction.numero = numero;
+            dernierNumeroEcrit = numero;
+            return true;
+        }
+    }
+
+    /**
+     * Valide une transaction: écriture dans le journal, fsync groupé,
+     * puis application aux fichiers CSV (dans l'ordre du journal)
+     *
+     * @return true si la transaction est validée
+     */
+    static boolean valider(Transaction transaction) {
+        if (transaction.estVide()) {
+            return true;
+        }
+
+        if (!ecrire(transaction)) {
+            return false;
+        }
+
+        boolean durable = synchroniser(transaction.numero);
+        boolean interrompu;
+        boolean confiees = false;
+
+        synchronized (VERROU_APPLICATION) {
+            // Appliquer les transactions dans l'ordre exact du journal
+            interrompu = attendreSonTour(transaction.numero);
+
+            try {
+                List<Transaction.Operation> differees = new ArrayList<>();
+                if (!durable) {
+                    marquer(ANNULEE, transaction.numero);
+                } else if (appliquer(transaction.getOperations(), false, differees)) {
+                    if (differees.isEmpty()) {
+                        marquer(APPLIQUEE, transaction.numero);
+                    } else {
+                        // Confiées dans l'ordre du journal: écrites dans le même ordre
+                        marquer(SYNCHRONE, transaction.numero);
+                        EcritureDifferee.confier(differees, transaction.numero);
+                        confiees = true;
+                    }
+                } else {
+                    // La transaction est validée: elle sera terminée au prochain démarrage
+                    toutesAppliquees = false;
+                    System.err.println("✗ Transaction " + transaction.numero + " incomplète, elle sera rejouée au prochain démarrage.");
+                }
+            } finally {
+                dernierNumeroTraite = transaction.numero;
+                VERROU_APPLICATION.notifyAll();
+            }
+
+            viderSiInactif();
+        }
+
+        // Hors du verrou: si l'écriture différée prend du retard, seul ce thread attend
+        if (confiees) {
+            interrompu |= EcritureDifferee.attendrePlace();
+        }
+
+        if (interrompu) {
+            Thread.currentThread().interrupt();
+        }
+
+        return durable;
+    }
+
+    /**
+     * Abandonne une transaction écrite dans le journal mais qui ne sera pas
+     * validée (un participant a échoué, ou une erreur est survenue entre
+     * ecrire() et valider())
+     *
+     * Les transactions sont appliquées dans l'ordre de leur numéro: sans
+     * cela, toutes les transactions suivantes attendraient la nôtre. Le
+     * marqueur "ANNULEE" est forcé sur le disque, pour que la transaction
+     * ne soit pas rejouée au prochain démarrage.
+     *
+     * @return true si la transaction vient d'être abandonnée (false si elle
+     *         n'était pas écrite dans le journal, ou déjà traitée)
+     */
+    static boolean abandonner(Transaction transaction) {
+        if (transaction.numero == 0) {
+            return false;
+        }
+
+        boolean interrompu;
+
+        synchronized (VERROU_APPLICATION) {
+            if (dernierNumeroTraite >= transaction.numero) {
+                return false;
+            }
+
+            interrompu = attendreSonTour(transaction.numero);
+
+            try {
+                marquer(ANNULEE, transaction.numero);
+                canal.force(false);
+            } catch (IOException e) {
+                System.err.println("✗ Erreur lors de la synchronisation du journal: " + e.getMessage());
+            } finally {
+                dernierNumeroTraite = transaction.numero;
+                VERROU_APPLICATION.notifyAll();
+            }
+
+            viderSiInactif();
+        }
+
+        if (interrompu) {
+            Thread.currentThread().interrupt();
+        }
+
+        return true;
+    }
+
+    /**
+     * Attend que toutes les transactions précédentes soient traitées
+     * (appelée avec VERROU_APPLICATION)
+     *
+     * @return true si le thread a été interrompu pendant l'attente
+     */
+    private static boolean attendreSonTour(long numero) {
+        boolean interrompu = false;
+        while (dernierNumeroTraite != numero - 1) {
+            try {
+                VERROU_APPLICATION.wait();
+            } catch (InterruptedException e) {
+                interrompu = true;
+            }
+        }
+        return interrompu;
+    }
+
+    /**
+     * Fin de l'écriture des ajouts différés d'une transaction
+     * (appelée par EcritureDifferee)
+     */
+    static void differeesEcrites(long numero, boolean succes) {
+        if (succes) {
+            marquer(APPLIQUEE, numero);
+            return;
+        }
+
+        synchronized (VERROU_ECRITURE) {
+            toutesAppliquees = false;
+        }
+        System.err.println("✗ Transaction " + numero + " incomplète, elle sera rejouée au prochain démarrage.");
+    }
+
+    /**
+     * Force le journal sur le disque (validation groupée)
+     *
+     * Si un autre thread a déjà forcé le journal après l'écriture de
+     * notre transaction, il n'y a rien à faire.
+     */
+    private static boolean synchroniser(long numero) {
+        synchronized (VERROU_SYNCHRO) {
+            if (dernierNumeroSynchronise >= numero) {
+                return true;
+            }
+
+            long cible;
+            synchronized (VERROU_ECRITURE) {
+                cible = dernierNumeroEcrit;
+            }
+
+            try {
+                canal.force(false);
+                dernierNumeroSynchronise = cible;
+                return true;
+            } catch (IOException e) {
+                System.err.println("✗ Erreur lors de la synchronisation du journal: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Applique les opérations d'une transaction aux fichiers CSV
+     *
+     * @param rejeu     true au démarrage: les ajouts déjà présents sont ignorés,
+     *                  les ajouts différés sont écrits tout de suite
+     * @param differees Reçoit les ajouts différés (hors rejeu), non écrits
+     */
+    private static boolean appliquer(List<Transaction.Operation> operations, boolean rejeu,
+                                     List<Transaction.Operation> differees) {
+        Map<String, Set<String>> idsExistants = new HashMap<>();
+        boolean succes = true;
+
+        // Les ajouts consécutifs dans un même fichier sont écrits d'un coup
+        String fichierAjouts = null;
+        List<String[]> ajouts = new ArrayList<>();
+
+        for (Transaction.Operation operation : operations) {
+            boolean ajout = operation.type.equals(Transaction.OP_AJOUT) || (rejeu && operation.type.equals(Transaction.OP_AJOUT_DIFFERE));
+            if (!ajouts.isEmpty() && !(ajout && operation.fichier.equals(fichierAjouts))) {
+                succes &= CSVHelper.ajouterLignes(fichierAjouts, ajouts);
+                ajouts = new ArrayList<>();
+            }
+
+            if (operation.type.equals(Transaction.OP_AJOUT_DIFFERE) && !rejeu) {
+                differees.add(operation);
+                continue;
+            }
+
+            switch (operation.type) {
+                case Transaction.OP_AJOUT:
+                case Transaction.OP_AJOUT_DIFFERE:
+                    if (rejeu && idsExistants.computeIfAbsent(operation.fichier, GestionnaireTransactions::lireIds).contains(operation.ligne[0])) {
+                        break;
+                    }
+                    fichierAjouts = operation.fichier;
+                    ajouts.add(operation.ligne);
+                    break;
+                case Transaction.OP_MISE_A_JOUR:
+                    succes &= JournalCSV.ecrireMiseAJour(operation.fichier, operation.ligne);
+                    break;
+                case Transaction.OP_SUPPRESSION:
+                    succes &= JournalCSV.ecrireSuppression(operation.fichier, Integer.parseInt(operation.ligne[0]));
+                    break;
+                case Transaction.OP_LIGNE_BINAIRE:
+                    succes &= TableBinaire.ecrireLigne(operation.fichier, Base64.getDecoder().decode(operation.ligne[1]));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (!ajouts.isEmpty()) {
+            succes &= CSVHelper.ajouterLignes(fichierAjouts, ajouts);
+        }
+
+        return succes;
+    }
+
+    private static Set<String> lireIds(String fileName) {
+        Set<String> ids = new HashSet<>();
+        CSVHelper.parcourirFichier(fileName, ligne -> {
+            ids.add(ligne[0]);
+            return true;
+        });
+        return ids;
+    }
+
+    // ========== RÉCUPÉRATION ==========
+
+    /**
+     * Rejoue les transactions validées mais non appliquées (une seule fois)
+     *
+     * Doit être appelée avant toute lecture des fichiers concernés.
+     */
+    public static void recuperer() {
+        if (recuperationFaite) {
+            return;
+        }
+
+        synchronized (VERROU_ECRITURE) {
+            if (recuperationFaite) {
+                return;
+            }
+
+            File wal = new File(CSVHelper.DATA_FOLDER + FICHIER_WAL);
+            if (wal.exists() && rejouer(wal)) {
+                // Tout est appliqué et sur le disque: le journal n'est plus utile
+                wal.delete();
+            }
+
+            recuperationFaite = true;
+        }
+    }
+
+    /**
+     * Rejoue les transactions du journal (appelée avec VERROU_ECRITURE)
+     *
+     * @return true si toutes les transactions ont été rejouées et forcées
+     *         sur le disque (le journal peut alors être supprimé)
+     */
+    private static boolean rejouer(File wal) {
+        Map<Long, List<Transaction.Operation>> transactions = new LinkedHashMap<>();
+        Set<Long> validees = new HashSet<>();
+        Set<Long> synchrones = new HashSet<>();
+        Set<Long> terminees = new HashSet<>();
+        Set<Long> annulees = new HashSet<>();
+        long courante = 0;
+        long plusGrandNumero = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(wal), CHARSET))) {
+            String enregistrement;
+
+            while ((enregistrement = reader.readLine()) != null) {
+                String[] colonnes = enregistrement.split(CSVHelper.SEPARATOR, -1);
+                if (colonnes.length < 2) {
+                    continue;
+                }
+
+                switch (colonnes[0]) {
+                    case DEBUT:
+                        courante = Long.parseLong(colonnes[1]);
+                        plusGrandNumero = Math.max(plusGrandNumero, courante);
+                        transactions.put(courante, new ArrayList<>());
+                        break;
+                    case VALIDEE:
+                        validees.add(Long.parseLong(colonnes[1]));
+                        courante = 0;
+                        break;
+                    case SYNCHRONE:
+                        synchrones.add(Long.parseLong(colonnes[1]));
+                        break;
+                    case APPLIQUEE:
+                        terminees.add(Long.parseLong(colonnes[1]));
+                        break;
+                    case ANNULEE:
+                        terminees.add(Long.parseLong(colonnes[1]));
+                        annulees.add(Long.parseLong(colonnes[1]));
+                        break;
+                    default:
+                        if (courante != 0 && colonnes.length >= 3) {
+                            String[] ligne = Arrays.copyOfRange(colonnes, 2, colonnes.length);
+                            transactions.get(courante).add(new Transaction.Operation(colonnes[0], colonnes[1], ligne));
+                        }
+                        break;
+                }
+            }
+
+        } catch (IOException | NumberFormatException e) {
+            // Fin de journal tronquée: on garde ce qui a pu être lu
+            System.err.println("⚠️ Journal de transactions partiellement lisible: " + e.getMessage());
+        }
+
+        // Dernière transaction validée qui réécrit chaque ligne (fichier;id): elle
+        // est appliquée ou sera rejouée, les versions plus anciennes ne comptent plus
+        // (ex: transactions écrites après un rejeu en échec, rejouées au démarrage suivant)
+        Map<String, Long> dernieresVersions = new HashMap<>();
+        for (Map.Entry<Long, List<Transaction.Operation>> entree : transactions.entrySet()) {
+            if (validees.contains(entree.getKey()) && !annulees.contains(entree.getKey())) {
+                for (Transaction.Operation operation : entree.getValue()) {
+                    if (estReecriture(operation)) {
+                        dernieresVersions.merge(cleLigne(operation), entree.getKey(), Math::max);
+                    }
+                }
+            }
+        }
+
+        int rejouees = 0;
+        boolean succes = true;
+        Set<String> fichiers = new LinkedHashSet<>();
+
+        for (Map.Entry<Long, List<Transaction.Operation>> entree : transactions.entrySet()) {
+            if (validees.contains(entree.getKey()) && !terminees.contains(entree.getKey())) {
+                boolean synchrone = synchrones.contains(entree.getKey());
+                List<Transaction.Operation> operations = new ArrayList<>();
+                for (Transaction.Operation operation : entree.getValue()) {
+                    if (synchrone && !operation.type.equals(Transaction.OP_AJOUT_DIFFERE)) {
+                        // Déjà appliquée (et peut avoir été modifiée depuis)
+                        continue;
+                    }
+                    if (estReecriture(operation) && dernieresVersions.get(cleLigne(operation)) > entree.getKey()) {
+                        continue;
+                    }
+                    operations.add(operation);
+                }
+                succes &= appliquer(operations, true, null);
+                for (Transaction.Operation operation : operations) {
+                    fichiers.add(operation.fichier);
+                }
+                rejouees++;
+            }
+        }
+
+        // Les fichiers rejoués doivent être sur le disque avant de supprimer le journal
+        for (String fichier : fichiers) {
+            succes &= CSVHelper.forcerSurDisque(fichier);
+        }
+
+        if (rejouees > 0 && succes) {
+            System.out.println("✓ " + rejouees + " transaction(s) récupérée(s) depuis le journal.");
+        }
+
+        if (!succes) {
+            // Le journal est gardé: les nouvelles transactions sont numérotées à la
+            // suite, et le journal ne sera pas vidé avant le prochain démarrage
+            // (leurs lignes l'emportent alors sur celles rejouées, voir dernieresVersions)
+            dernierNumeroEcrit = plusGrandNumero;
+            dernierNumeroSynchronise = plusGrandNumero;
+            dernierNumeroTraite = plusGrandNumero;
+            toutesAppliquees = false;
+            System.err.println("✗ Récupération incomplète: le journal de transactions est conservé, "
+                + "il sera rejoué au prochain démarrage.");
+        }
+
+        return succes;
+    }
+
+    /**
+     * true si l'opération remplace une ligne existante (mise à jour,
+     * suppression, ligne binaire): la rejouer après une version plus
+     * récente la ferait revenir en arrière
+     */
+    private static boolean estReecriture(Transaction.Operation operation) {
+        return operation.type.equals(Transaction.OP_MISE_A_JOUR)
+            || operation.type.equals(Transaction.OP_SUPPRESSION)
+            || operation.type.equals(Transaction.OP_LIGNE_BINAIRE);
+    }
+
+    private static String cleLigne(Transaction.Operation operation) {
+        return operation.fichier + CSVHelper.SEPARATOR + operation.ligne[0];
+    }
+
+    // ========== ÉCRITURE DU JOURNAL ==========
+
+    private static byte[] serialiser(Transaction transaction, long numero) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(DEBUT).append(CSVHelper.SEPARATOR).append(numero).append('\n');
+
+        for (Transaction.Operation operation : transaction.getOperations()) {
+            sb.append(operation.type).append(CSVHelper.SEPARATOR)
+              .append(operation.fichier).append(CSVHelper.SEPARATOR)
+              .append(String.join(CSVHelper.SEPARATOR, operation.ligne)).append('\n');
+        }
+
+        sb.append(VALIDEE).append(CSVHelper.SEPARATOR).append(numero).append('\n');
+        return sb.toString().getBytes(CHARSET);
+    }
+
+    /**
+     * Ajoute un marqueur (SYNCHRONE / APPLIQUEE / ANNULEE), sans fsync:
+     * s'il est perdu, la transaction est simplement rejouée
+     */
+    private static void marquer(String marqueur, long numero) {
+        synchronized (VERROU_ECRITURE) {
+            try {
+                ecrireOctets((marqueur + CSVHelper.SEPARATOR + numero + "\n").getBytes(CHARSET));
+            } catch (IOException e) {
+                System.err.println("✗ Erreur lors de l'écriture du journal de transactions: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Vide le journal quand il est trop gros et que tout a été appliqué
+     * (appelée avec VERROU_APPLICATION)
+     */
+    private static void viderSiInactif() {
+        synchronized (VERROU_ECRITURE) {
+            try {
+                if (toutesAppliquees && dernierNumeroEcrit == dernierNumeroTraite && EcritureDifferee.estVide()
+                        && canal.size() > TAILLE_MAX_WAL) {
+                    canal.truncate(0);
+                }
+            } catch (IOException e) {
+                System.err.println("✗ Erreur lors du vidage du journal de transactions: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * (appelée avec VERROU_ECRITURE)
+     */
+    private static void ecrireOctets(byte[] octets) throws IOException {
+        if (canal == null) {
+            CSVHelper.initDataFolder();
+            canal = FileChannel.open(Paths.get(CSVHelper.DATA_FOLDER + FICHIER_WAL),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        ByteBuffer tampon = ByteBuffer.wrap(octets);
+        while (tampon.hasRemaining()) {
+            canal.write(tampon);
+        }
+    }
+}
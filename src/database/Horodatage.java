@@ -0,0 +1,253 @@
+package database;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Classe Horodatage - Lecture et écriture des dates des fichiers
+ * (yyyy-MM-dd HH:mm:ss), en millisecondes depuis 1970
+ *
+ * Les ventes, les commandes et l'historique datent chaque ligne au format
+ * yyyy-MM-dd HH:mm:ss, à l'heure locale. Un SimpleDateFormat n'est pas
+ * utilisable par plusieurs threads à la fois, et il crée plusieurs objets
+ * par date lue. Ici, le format étant fixe, les chiffres sont lus un par
+ * un, sans créer d'objet.
+ *
+ * Le passage de l'heure locale aux millisecondes ne dépend que du jour:
+ * le début de chaque jour (en millisecondes) est calculé une fois avec
+ * java.time puis gardé (les lignes d'une partition sont toutes du même
+ * jour). Les jours de changement d'heure sont convertis par java.time.
+ *
+ * Exemple:
+ * long ms = Horodatage.lire("2026-01-13 10:15:30");
+ * String texte = Horodatage.ecrire(ms);    // "2026-01-13 10:15:30"
+ * String jour = Horodatage.jour(ms);       // "2026-01-13"
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public final class Horodatage {
+
+    // Longueur de yyyy-MM-dd HH:mm:ss
+    public static final int LONGUEUR = 19;
+
+    private static final long MS_PAR_JOUR = 86_400_000L;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    // Jours déjà convertis, rangés par (numéro du jour % TAILLE_CACHE).
+    // Les Jour sont immuables: un thread qui lit une case pendant qu'un
+    // autre la remplace voit l'ancien jour, le nouveau ou null, et au pire
+    // recalcule le jour.
+    private static final int TAILLE_CACHE = 256;
+    private static final Jour[] JOURS = new Jour[TAILLE_CACHE];
+
+    /**
+     * Un jour local: son début et celui du lendemain, en millisecondes
+     */
+    private static final class Jour {
+        final long numero;      // Jours depuis le 1970-01-01
+        final long debut;
+        final long lendemain;
+        final boolean regulier; // 24 heures, sans changement d'heure
+        final String texte;     // yyyy-MM-dd
+
+        Jour(long numero) {
+            LocalDate date = LocalDate.ofEpochDay(numero);
+            this.numero = numero;
+            this.debut = date.atStartOfDay(ZONE).toInstant().toEpochMilli();
+            this.lendemain = date.plusDays(1).atStartOfDay(ZONE).toInstant().toEpochMilli();
+            this.regulier = lendemain - debut == MS_PAR_JOUR;
+            this.texte = date.toString();
+        }
+    }
+
+    private Horodatage() {
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Lit une date yyyy-MM-dd HH:mm:ss (espaces autour acceptés)
+     *
+     * @return La date en millisecondes depuis 1970
+     * @throws IllegalArgumentException si la date est mal formée
+     */
+    public static long lire(String texte) {
+        int debut = 0;
+        int fin = texte.length();
+        while (debut < fin && texte.charAt(debut) <= ' ') {
+            debut++;
+        }
+        while (fin > debut && texte.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+        if (fin - debut != LONGUEUR || texte.charAt(debut + 10) != ' '
+            || texte.charAt(debut + 13) != ':' || texte.charAt(debut + 16) != ':') {
+            throw invalide(texte);
+        }
+
+        long numero = numeroJour(texte, debut);
+        int heure = nombre(texte, debut + 11, 2);
+        int minute = nombre(texte, debut + 14, 2);
+        int seconde = nombre(texte, debut + 17, 2);
+        if (numero == Long.MIN_VALUE || heure < 0 || heure > 23
+            || minute < 0 || minute > 59 || seconde < 0 || seconde > 59) {
+            throw invalide(texte);
+        }
+
+        Jour jour = jourNumero(numero);
+        if (!jour.regulier) {
+            // Jour de changement d'heure: une heure répétée est lue comme la
+            // seconde (comme le faisait SimpleDateFormat)
+            return LocalDateTime.of(LocalDate.ofEpochDay(numero), LocalTime.of(heure, minute, seconde))
+                .atZone(ZONE).withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+        }
+        return jour.debut + ((heure * 60L + minute) * 60L + seconde) * 1000L;
+    }
+
+    /**
+     * Début d'un jour (yyyy-MM-dd), en millisecondes
+     *
+     * @throws IllegalArgumentException si le jour est mal formé
+     */
+    public static long debutDuJour(String jour) {
+        return jourNumero(numeroJour(jour)).debut;
+    }
+
+    /**
+     * Début du jour suivant (fin exclue d'une période), en millisecondes
+     *
+     * @throws IllegalArgumentException si le jour est mal formé
+     */
+    public static long debutDuLendemain(String jour) {
+        return jourNumero(numeroJour(jour)).lendemain;
+    }
+
+    // ========== ÉCRITURE ==========
+
+    /**
+     * Écrit une date au format yyyy-MM-dd HH:mm:ss (les millisecondes sont ignorées)
+     */
+    public static String ecrire(long millisecondes) {
+        Jour jour = jourDe(millisecondes);
+        if (!jour.regulier || jour.texte.length() != 10) {
+            ZonedDateTime date = Instant.ofEpochMilli(millisecondes).atZone(ZONE);
+            return jour.texte + ' ' + deuxChiffres(date.getHour()) + ':'
+                + deuxChiffres(date.getMinute()) + ':' + deuxChiffres(date.getSecond());
+        }
+
+        int secondes = (int) ((millisecondes - jour.debut) / 1000);
+        char[] texte = new char[LONGUEUR];
+        jour.texte.getChars(0, 10, texte, 0);
+        texte[10] = ' ';
+        chiffres(texte, 11, secondes / 3600);
+        texte[13] = ':';
+        chiffres(texte, 14, secondes / 60 % 60);
+        texte[16] = ':';
+        chiffres(texte, 17, secondes % 60);
+        return new String(texte);
+    }
+
+    /**
+     * Le jour (yyyy-MM-dd) d'une date, à l'heure locale
+     */
+    public static String jour(long millisecondes) {
+        return jourDe(millisecondes).texte;
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    private static Jour jourNumero(long numero) {
+        int place = (int) Math.floorMod(numero, (long) TAILLE_CACHE);
+        Jour jour = JOURS[place];
+        if (jour == null || jour.numero != numero) {
+            jour = new Jour(numero);
+            JOURS[place] = jour;
+        }
+        return jour;
+    }
+
+    private static Jour jourDe(long millisecondes) {
+        // Le jour local est à un jour près celui de l'heure UTC
+        long numero = Math.floorDiv(millisecondes, MS_PAR_JOUR);
+        Jour jour = jourNumero(numero);
+        if (millisecondes < jour.debut) {
+            jour = jourNumero(numero - 1);
+        } else if (millisecondes >= jour.lendemain) {
+            jour = jourNumero(numero + 1);
+        }
+        return jour;
+    }
+
+    private static long numeroJour(String jour) {
+        long numero = jour.length() == 10 ? numeroJour(jour, 0) : Long.MIN_VALUE;
+        if (numero == Long.MIN_VALUE) {
+            throw invalide(jour);
+        }
+        return numero;
+    }
+
+    /**
+     * Le numéro du jour yyyy-MM-dd écrit à partir de debut (Long.MIN_VALUE s'il est mal formé)
+     */
+    private static long numeroJour(String texte, int debut) {
+        if (texte.charAt(debut + 4) != '-' || texte.charAt(debut + 7) != '-') {
+            return Long.MIN_VALUE;
+        }
+        int annee = nombre(texte, debut, 4);
+        int mois = nombre(texte, debut + 5, 2);
+        int jour = nombre(texte, debut + 8, 2);
+        if (annee < 0 || mois < 1 || mois > 12 || jour < 1 || jour > joursDuMois(annee, mois)) {
+            return Long.MIN_VALUE;
+        }
+
+        // Jours depuis le 1970-01-01 (calendrier grégorien, années commençant en mars)
+        int a = mois <= 2 ? annee - 1 : annee;
+        int ere = Math.floorDiv(a, 400);
+        int anneeEre = a - ere * 400;
+        int jourAnnee = (153 * (mois > 2 ? mois - 3 : mois + 9) + 2) / 5 + jour - 1;
+        int jourEre = anneeEre * 365 + anneeEre / 4 - anneeEre / 100 + jourAnnee;
+        return ere * 146_097L + jourEre - 719_468L;
+    }
+
+    private static int joursDuMois(int annee, int mois) {
+        if (mois == 2) {
+            boolean bissextile = annee % 4 == 0 && (annee % 100 != 0 || annee % 400 == 0);
+            return bissextile ? 29 : 28;
+        }
+        return mois == 4 || mois == 6 || mois == 9 || mois == 11 ? 30 : 31;
+    }
+
+    /**
+     * Lit un nombre de n chiffres (-1 si un caractère n'est pas un chiffre)
+     */
+    private static int nombre(String texte, int debut, int n) {
+        int valeur = 0;
+        for (int i = debut; i < debut + n; i++) {
+            int chiffre = texte.charAt(i) - '0';
+            if (chiffre < 0 || chiffre > 9) {
+                return -1;
+            }
+            valeur = valeur * 10 + chiffre;
+        }
+        return valeur;
+    }
+
+    private static void chiffres(char[] texte, int position, int valeur) {
+        texte[position] = (char) ('0' + valeur / 10);
+        texte[position + 1] = (char) ('0' + valeur % 10);
+    }
+
+    private static String deuxChiffres(int valeur) {
+        return valeur < 10 ? "0" + valeur : String.valueOf(valeur);
+    }
+
+    private static IllegalArgumentException invalide(String texte) {
+        return new IllegalArgumentException("Date invalide (format attendu: yyyy-MM-dd HH:mm:ss): " + texte);
+    }
+}
@@ -0,0 +1,568 @@
+package database;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Classe IndexTable - Index secondaires d'une table partitionnée
+ *
+ * Pour chaque colonne indexée, l'index associe une valeur aux positions
+ * (partition + position en octets) des lignes qui la contiennent:
+ *
+ * idPharmacien = 1  ->  ventes/2026-01-13.csv @ 71, @ 106
+ *                       ventes/2026-01-14.csv @ 71
+ *
+ * Une recherche relit directement ces lignes: son coût dépend du nombre de
+ * résultats, pas de la taille de l'historique. Un index primaire (ID ->
+ * position) est tenu en même temps.
+ *
+ * L'index est prévenu de chaque écriture (voir ObservateurFichier): ajouts,
+ * modifications et suppressions journalisées le tiennent à jour. Après une
+ * compaction ou une réécriture, les positions d'une partition ont changé:
+ * elle est réindexée à la prochaine recherche.
+ *
+ * Chaque partition a son fichier d'index à côté d'elle
+ * (ventes/2026-01-13.csv.index), avec la version de la partition indexée.
+ * Au démarrage, seules les partitions modifiées depuis sont relues.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class IndexTable implements ObservateurFichier {
+
+    private static final String EXTENSION = ".index";
+    private static final String VERSION = "version";
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    private final TablePartitionnee table;
+
+    // Définition des index: nom et colonne
+    private final List<String> noms = new ArrayList<>();
+    private final List<Integer> colonnes = new ArrayList<>();
+
+    // Nom de l'index -> valeur -> partition -> positions (dans l'ordre du fichier)
+    private final Map<String, Map<String, TreeMap<String, List<Position>>>> index = new HashMap<>();
+
+    // Index primaire: ID -> position
+    private final Map<Integer, Position> parId = new HashMap<>();
+
+    // Positions de chaque partition indexée
+    private final Map<String, List<Position>> parPartition = new HashMap<>();
+
+    // Partitions à réindexer avant la prochaine recherche
+    private final Set<String> perimees = new HashSet<>();
+
+    // Partitions modifiées depuis l'enregistrement de leur fichier d'index
+    private final Set<String> modifiees = new HashSet<>();
+
+    // Le verrou de l'index (this) est pris par les méthodes d'ObservateurFichier,
+    // appelées avec le verrou d'écriture d'une partition: il ne doit jamais être
+    // tenu pendant qu'on prend le verrou d'une partition (interblocage).
+
+    // Jamais pris par les méthodes d'ObservateurFichier (évite un interblocage avec les verrous des fichiers)
+    private final Object verrouInitialisation = new Object();
+    private boolean initialise = false;
+
+    public IndexTable(TablePartitionnee table) {
+        this.table = table;
+    }
+
+    /**
+     * Ajoute un index sur une colonne (avant initialiser())
+     *
+     * @param nom     Le nom de l'index (ex: "idPharmacien")
+     * @param colonne La colonne indexée
+     */
+    public IndexTable ajouterIndex(String nom, int colonne) {
+        noms.add(nom);
+        colonnes.add(colonne);
+        index.put(nom, new HashMap<>());
+        return this;
+    }
+
+    /**
+     * Charge les index de toutes les partitions (une seule fois,
+     * après l'initialisation de la table)
+     */
+    public void initialiser() {
+        synchronized (verrouInitialisation) {
+            if (initialise) {
+                return;
+            }
+
+            CSVHelper.ajouterObservateur(this);
+
+            for (String jour : table.jours()) {
+                charger(table.partitionDuJour(jour));
+            }
+
+            // Les partitions modifiées depuis l'arrêt n'ont pas encore leur fichier d'index à jour
+            Runtime.getRuntime().addShutdownHook(new Thread(this::enregistrerModifiees, "enregistrement-index"));
+            initialise = true;
+        }
+    }
+
+    // ========== RECHERCHE ==========
+
+    /**
+     * Retourne les lignes dont la colonne indexée vaut la valeur,
+     * dans l'ordre chronologique
+     *
+     * @param nom    Le nom de l'index (ex: "idPharmacien")
+     * @param valeur La valeur cherchée (ex: "1")
+     */
+    public List<String[]> chercher(String nom, String valeur) {
+        List<String[]> lignes = new ArrayList<>();
+
+        for (String partition : partitionsAvec(nom, valeur)) {
+            lignes.addAll(lire(partition, () -> positions(nom, valeur, partition)));
+        }
+
+        return lignes;
+    }
+
+    /**
+     * Retourne une ligne par son ID (index primaire)
+     *
+     * @return Les colonnes de la ligne, ou null si l'ID n'existe pas
+     */
+    public String[] trouverParId(int id) {
+        reindexerPerimees();
+
+        Position position;
+        synchronized (this) {
+            position = parId.get(id);
+        }
+        if (position == null) {
+            return null;
+        }
+
+        List<String[]> lignes = lire(position.partition, () -> {
+            Position actuelle = parId.get(id);
+            return actuelle != null && actuelle.partition.equals(position.partition)
+                ? Collections.singletonList(actuelle)
+                : Collections.emptyList();
+        });
+
+        return lignes.isEmpty() ? null : lignes.get(0);
+    }
+
+    /**
+     * Reconstruit tous les index à partir des partitions
+     */
+    public void reconstruire() {
+        synchronized (this) {
+            for (String jour : table.jours()) {
+                perimees.add(table.partitionDuJour(jour));
+            }
+        }
+
+        reindexerPerimees();
+        enregistrerModifiees();
+        System.out.println("✓ Index reconstruits.");
+    }
+
+    private List<String> partitionsAvec(String nom, String valeur) {
+        // Hors du verrou de l'index: reindexerPerimees prend les verrous des partitions
+        reindexerPerimees();
+
+        synchronized (this) {
+            TreeMap<String, List<Position>> parValeur = index.get(nom).get(valeur);
+            return parValeur != null ? new ArrayList<>(parValeur.keySet()) : Collections.emptyList();
+        }
+    }
+
+    /**
+     * Positions (non supprimées) d'une valeur dans une partition
+     * (appelée avec le verrou de l'index)
+     */
+    private List<Position> positions(String nom, String valeur, String partition) {
+        TreeMap<String, List<Position>> parValeur = index.get(nom).get(valeur);
+        if (parValeur == null || !parValeur.containsKey(partition)) {
+            return Collections.emptyList();
+        }
+
+        // Les positions supprimées sont retirées au passage
+        List<Position> positions = parValeur.get(partition);
+        positions.removeIf(position -> position.supprimee);
+        if (positions.isEmpty()) {
+            parValeur.remove(partition);
+        }
+
+        return new ArrayList<>(positions);
+    }
+
+    /**
+     * Relit des lignes d'une partition à leur position
+     *
+     * Les positions sont choisies sous le verrou de lecture de la partition:
+     * elles ne peuvent pas changer pendant la lecture.
+     */
+    private List<String[]> lire(String partition, java.util.function.Supplier<List<Position>> selection) {
+        List<String[]> lignes = new ArrayList<>();
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(partition);
+        verrou.readLock().lock();
+
+        try {
+            boolean perimee;
+            synchronized (this) {
+                perimee = perimees.contains(partition);
+            }
+            if (perimee) {
+                indexer(partition);
+            }
+
+            List<Position> positions;
+            synchronized (this) {
+                positions = selection.get();
+            }
+            if (positions.isEmpty()) {
+                return lignes;
+            }
+
+            Map<String, String[]> surcharge = JournalCSV.lireSurcharge(partition);
+
+            try (FileChannel canal = FileChannel.open(new File(CSVHelper.DATA_FOLDER + partition).toPath(), StandardOpenOption.READ)) {
+                for (Position position : positions) {
+                    String[] ligne = lireLigne(canal, position.position);
+
+                    if (surcharge.containsKey(ligne[0])) {
+                        ligne = surcharge.get(ligne[0]);
+                    }
+                    if (ligne != null) {
+                        lignes.add(ligne);
+                    }
+                }
+            }
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture de " + partition + ": " + e.getMessage());
+        } finally {
+            verrou.readLock().unlock();
+        }
+
+        return lignes;
+    }
+
+    /**
+     * Lit la ligne qui commence à une position du fichier
+     */
+    private static String[] lireLigne(FileChannel canal, long position) throws IOException {
+        ByteBuffer tampon = ByteBuffer.allocate(256);
+
+        while (true) {
+            int lus = canal.read(tampon, position + tampon.position());
+            byte[] octets = tampon.array();
+
+            for (int i = 0; i < tampon.position(); i++) {
+                if (octets[i] == '\n') {
+                    int fin = i > 0 && octets[i - 1] == '\r' ? i - 1 : i;
+                    return new String(octets, 0, fin, CHARSET).split(CSVHelper.SEPARATOR, -1);
+                }
+            }
+
+            if (lus < 0) {
+                return new String(octets, 0, tampon.position(), CHARSET).split(CSVHelper.SEPARATOR, -1);
+            }
+            if (!tampon.hasRemaining()) {
+                tampon = ByteBuffer.allocate(tampon.capacity() * 2).put(octets, 0, tampon.position());
+            }
+        }
+    }
+
+    // ========== INDEXATION ==========
+
+    private void reindexerPerimees() {
+        List<String> aReindexer;
+        synchronized (this) {
+            aReindexer = new ArrayList<>(perimees);
+        }
+
+        for (String partition : aReindexer) {
+            ReentrantReadWriteLock verrou = CSVHelper.verrou(partition);
+            verrou.readLock().lock();
+            try {
+                indexer(partition);
+            } finally {
+                verrou.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Recalcule l'index d'une partition en la parcourant
+     * (appelée avec le verrou de lecture de la partition)
+     */
+    private void indexer(String partition) {
+        List<Position> positions = new ArrayList<>();
+
+        CSVHelper.parcourirFichierMappe(partition, ligne -> {
+            positions.add(new Position(partition, ligne.position(), ligne.entier(0), cles(ligne.colonnes())));
+            return true;
+        });
+
+        synchronized (this) {
+            oublier(partition);
+            for (Position position : positions) {
+                ajouter(position);
+            }
+            perimees.remove(partition);
+            modifiees.add(partition);
+        }
+    }
+
+    /**
+     * Charge l'index d'une partition depuis son fichier s'il est à jour,
+     * sinon la réindexe et enregistre le fichier
+     */
+    private void charger(String partition) {
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(partition);
+        verrou.readLock().lock();
+
+        try {
+            List<Position> positions = lireFichierIndex(partition);
+
+            if (positions == null) {
+                indexer(partition);
+                enregistrer(partition);
+                return;
+            }
+
+            synchronized (this) {
+                oublier(partition);
+                for (Position position : positions) {
+                    ajouter(position);
+                }
+                perimees.remove(partition);
+            }
+
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    private String[] cles(String[] ligne) {
+        String[] cles = new String[colonnes.size()];
+        for (int i = 0; i < cles.length; i++) {
+            cles[i] = ligne[colonnes.get(i)];
+        }
+        return cles;
+    }
+
+    /**
+     * (appelée avec le verrou de l'index)
+     */
+    private void ajouter(Position position) {
+        for (int i = 0; i < noms.size(); i++) {
+            index.get(noms.get(i))
+                .computeIfAbsent(position.cles[i], v -> new TreeMap<>())
+                .computeIfAbsent(position.partition, p -> new ArrayList<>())
+                .add(position);
+        }
+        parId.put(position.id, position);
+        parPartition.computeIfAbsent(position.partition, p -> new ArrayList<>()).add(position);
+    }
+
+    /**
+     * Retire toutes les positions d'une partition (appelée avec le verrou de l'index)
+     */
+    private void oublier(String partition) {
+        List<Position> positions = parPartition.remove(partition);
+        if (positions == null) {
+            return;
+        }
+
+        for (Position position : positions) {
+            position.supprimee = true;
+            for (int i = 0; i < noms.size(); i++) {
+                TreeMap<String, List<Position>> parValeur = index.get(noms.get(i)).get(position.cles[i]);
+                if (parValeur != null) {
+                    parValeur.remove(partition);
+                }
+            }
+            parId.remove(position.id, position);
+        }
+    }
+
+    // ========== OBSERVATEUR ==========
+
+    @Override
+    public synchronized void ligneAjoutee(String fileName, String[] ligne, long position) {
+        if (!estSuivie(fileName)) {
+            return;
+        }
+        ajouter(new Position(fileName, position, Integer.parseInt(ligne[0]), cles(ligne)));
+        modifiees.add(fileName);
+    }
+
+    @Override
+    public synchronized void ligneModifiee(String fileName, String[] ligne) {
+        if (!estSuivie(fileName)) {
+            return;
+        }
+
+        Position ancienne = parId.get(Integer.parseInt(ligne[0]));
+        if (ancienne != null && ancienne.partition.equals(fileName)) {
+            ancienne.supprimee = true;
+            parPartition.get(fileName).remove(ancienne);
+            ajouter(new Position(fileName, ancienne.position, ancienne.id, cles(ligne)));
+            modifiees.add(fileName);
+        }
+    }
+
+    @Override
+    public synchronized void ligneSupprimee(String fileName, int id) {
+        if (!estSuivie(fileName)) {
+            return;
+        }
+
+        Position position = parId.get(id);
+        if (position != null && position.partition.equals(fileName)) {
+            position.supprimee = true;
+            parId.remove(id);
+            parPartition.get(fileName).remove(position);
+            modifiees.add(fileName);
+        }
+    }
+
+    @Override
+    public synchronized void fichierReecrit(String fileName) {
+        if (table.jourDe(fileName) != null) {
+            perimees.add(fileName);
+        }
+    }
+
+    /**
+     * Une partition dont l'index suit les écritures une par une
+     * (une partition inconnue ou périmée sera réindexée: on l'ignore)
+     * (appelée avec le verrou de l'index)
+     */
+    private boolean estSuivie(String fileName) {
+        if (table.jourDe(fileName) == null) {
+            return false;
+        }
+        if (!parPartition.containsKey(fileName) || perimees.contains(fileName)) {
+            perimees.add(fileName);
+            return false;
+        }
+        return true;
+    }
+
+    // ========== PERSISTANCE ==========
+
+    /**
+     * Enregistre les fichiers d'index des partitions modifiées
+     */
+    public void enregistrerModifiees() {
+        List<String> aEnregistrer;
+        synchronized (this) {
+            aEnregistrer = new ArrayList<>(modifiees);
+        }
+
+        for (String partition : aEnregistrer) {
+            ReentrantReadWriteLock verrou = CSVHelper.verrou(partition);
+            verrou.readLock().lock();
+            try {
+                enregistrer(partition);
+            } finally {
+                verrou.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Écrit le fichier d'index d'une partition avec sa version actuelle
+     * (appelée avec le verrou de lecture de la partition)
+     */
+    private void enregistrer(String partition) {
+        List<Position> positions;
+        synchronized (this) {
+            if (perimees.contains(partition)) {
+                return;
+            }
+            positions = new ArrayList<>(parPartition.getOrDefault(partition, Collections.emptyList()));
+            modifiees.remove(partition);
+        }
+
+        List<String[]> lignes = new ArrayList<>();
+        lignes.add(entetes().split(CSVHelper.SEPARATOR));
+        for (Position position : positions) {
+            String[] ligne = new String[2 + position.cles.length];
+            ligne[0] = String.valueOf(position.position);
+            ligne[1] = String.valueOf(position.id);
+            System.arraycopy(position.cles, 0, ligne, 2, position.cles.length);
+            lignes.add(ligne);
+        }
+
+        try {
+            CSVHelper.remplacerFichier(partition + EXTENSION,
+                new String[]{VERSION, CSVHelper.versionFichier(partition)}, lignes);
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture de l'index de " + partition + ": " + e.getMessage());
+            synchronized (this) {
+                modifiees.add(partition);
+            }
+        }
+    }
+
+    /**
+     * Lit le fichier d'index d'une partition
+     * (appelée avec le verrou de lecture de la partition)
+     *
+     * @return Les positions, ou null si le fichier est absent, illisible
+     *         ou d'une autre version que la partition
+     */
+    private List<Position> lireFichierIndex(String partition) {
+        File fichier = new File(CSVHelper.DATA_FOLDER + partition + EXTENSION);
+        if (!fichier.exists()) {
+            return null;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(fichier))) {
+            String version = VERSION + CSVHelper.SEPARATOR + CSVHelper.versionFichier(partition);
+            if (!version.equals(reader.readLine()) || !entetes().equals(reader.readLine())) {
+                return null;
+            }
+
+            List<Position> positions = new ArrayList<>();
+            String ligne;
+            while ((ligne = reader.readLine()) != null) {
+                String[] colonnesIndex = ligne.split(CSVHelper.SEPARATOR, -1);
+                positions.add(new Position(partition, Long.parseLong(colonnesIndex[0]), Integer.parseInt(colonnesIndex[1]),
+                    Arrays.copyOfRange(colonnesIndex, 2, colonnesIndex.length)));
+            }
+            return positions;
+
+        } catch (IOException | RuntimeException e) {
+            // Fichier d'index abîmé: la partition sera réindexée
+            return null;
+        }
+    }
+
+    private String entetes() {
+        return "position" + CSVHelper.SEPARATOR + "id" + CSVHelper.SEPARATOR + String.join(CSVHelper.SEPARATOR, noms);
+    }
+
+    /**
+     * Position d'une ligne dans une partition, avec ses valeurs indexées
+     */
+    private static class Position {
+        final String partition;
+        final long position;
+        final int id;
+        final String[] cles;
+        boolean supprimee;
+
+        Position(String partition, long position, int id, String[] cles) {
+            this.partition = partition;
+            this.position = position;
+            this.id = id;
+            this.cles = cles;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package database;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Classe IndexTrigrammes - Recherche rapide d'un texte dans des libellés
+ *
+ * Chaque libellé (ex: "Paracétamol 500mg") est normalisé (minuscules, sans
+ * accents) puis découpé en trigrammes: "par", "ara", "rac", "ace"...
+ * Pour chaque trigramme, l'index garde les IDs des libellés qui le contiennent.
+ *
+ * Une recherche ne vérifie que les libellés du trigramme le plus rare de
+ * la requête, au lieu de parcourir tout le catalogue. Les requêtes de
+ * moins de 3 caractères parcourent les libellés normalisés.
+ *
+ * Les résultats sont classés: libellé qui commence par la requête, puis
+ * mot qui commence par la requête, puis le reste; à égalité, le libellé
+ * le plus court d'abord.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class IndexTrigrammes {
+
+    private static final int N = 3;
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}");
+    private static final Pattern ESPACES = Pattern.compile("\\s+");
+
+    // ID -> libellé normalisé
+    private final Map<Integer, String> libelles = new HashMap<>();
+
+    // Trigramme -> IDs des libellés qui le contiennent
+    private final Map<String, Set<Integer>> trigrammes = new HashMap<>();
+
+    // Plusieurs recherches en même temps; les modifications du catalogue sont rares
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    /**
+     * Ajoute ou remplace le libellé d'un ID
+     */
+    public void ajouter(int id, String libelle) {
+        String normalise = normaliser(libelle);
+
+        verrou.writeLock().lock();
+        try {
+            retirerSansVerrou(id);
+            libelles.put(id, normalise);
+            for (String trigramme : decouper(normalise)) {
+                trigrammes.computeIfAbsent(trigramme, t -> new HashSet<>()).add(id);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire le libellé d'un ID
+     */
+    public void retirer(int id) {
+        verrou.writeLock().lock();
+        try {
+            retirerSansVerrou(id);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cherche les IDs dont le libellé contient la requête
+     * (sans tenir compte des majuscules ni des accents)
+     *
+     * @param requete La requête (ex: "parac")
+     * @return Les IDs trouvés, les plus pertinents d'abord
+     */
+    public List<Integer> chercher(String requete) {
+        String normalisee = normaliser(requete);
+        List<Resultat> resultats = new ArrayList<>();
+
+        verrou.readLock().lock();
+        try {
+            for (int id : candidats(normalisee)) {
+                String libelle = libelles.get(id);
+                int position = libelle.indexOf(normalisee);
+                if (position >= 0) {
+                    resultats.add(new Resultat(id, rang(libelle, position), libelle.length()));
+                }
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+
+        Collections.sort(resultats);
+
+        List<Integer> ids = new ArrayList<>(resultats.size());
+        for (Resultat resultat : resultats) {
+            ids.add(resultat.id);
+        }
+        return ids;
+    }
+
+    /**
+     * Minuscules, sans accents ni espaces superflus: "Paracétamol" -> "paracetamol"
+     */
+    public static String normaliser(String texte) {
+        String sansAccents = texte;
+        if (!Normalizer.isNormalized(texte, Normalizer.Form.NFD) || ACCENTS.matcher(texte).find()) {
+            sansAccents = ACCENTS.matcher(Normalizer.normalize(texte, Normalizer.Form.NFD)).replaceAll("");
+        }
+        return ESPACES.matcher(sansAccents.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    /**
+     * Les libellés à vérifier: ceux du trigramme le plus rare de la requête
+     * (appelée avec le verrou de lecture)
+     */
+    private Collection<Integer> candidats(String requete) {
+        if (requete.length() < N) {
+            return libelles.keySet();
+        }
+
+        Set<Integer> plusRare = null;
+        for (String trigramme : decouper(requete)) {
+            Set<Integer> ids = trigrammes.get(trigramme);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            if (plusRare == null || ids.size() < plusRare.size()) {
+                plusRare = ids;
+            }
+        }
+        return plusRare;
+    }
+
+    /**
+     * 0: le libellé commence par la requête, 1: un mot commence par la requête, 2: ailleurs
+     */
+    private static int rang(String libelle, int position) {
+        if (position == 0) {
+            return 0;
+        }
+        if (!Character.isLetterOrDigit(libelle.charAt(position - 1))) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private static Set<String> decouper(String texte) {
+        Set<String> resultat = new HashSet<>();
+        for (int i = 0; i + N <= texte.length(); i++) {
+            resultat.add(texte.substring(i, i + N));
+        }
+        return resultat;
+    }
+
+    private void retirerSansVerrou(int id) {
+        String ancien = libelles.remove(id);
+        if (ancien == null) {
+            return;
+        }
+
+        for (String trigramme : decouper(ancien)) {
+            Set<Integer> ids = trigrammes.get(trigramme);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    trigrammes.remove(trigramme);
+                }
+            }
+        }
+    }
+
+    /**
+     * Un libellé trouvé et son classement
+     */
+    private static class Resultat implements Comparable<Resultat> {
+        final int id;
+        final int rang;
+        final int longueur;
+
+        Resultat(int id, int rang, int longueur) {
+            this.id = id;
+            this.rang = rang;
+            this.longueur = longueur;
+        }
+
+        @Override
+        public int compareTo(Resultat autre) {
+            if (rang != autre.rang) {
+                return Integer.compare(rang, autre.rang);
+            }
+            if (longueur != autre.longueur) {
+                return Integer.compare(longueur, autre.longueur);
+            }
+            return Integer.compare(id, autre.id);
+        }
+    }
+}
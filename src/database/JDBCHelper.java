@@ -0,0 +1,212 @@
+package database;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe JDBCHelper - Utilitaire pour lire et écrire dans la base (stockage JDBC)
+ *
+ * L'équivalent de CSVHelper pour les DAO JDBC: chaque méthode emprunte
+ * une connexion au pool, exécute une requête préparée (mise en cache,
+ * voir ConnexionJDBC) et rend la connexion.
+ *
+ * Les écritures faites ici sont validées aussitôt; celles d'une
+ * Transaction passent par TransactionJDBC.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public final class JDBCHelper {
+
+    // Prochain ID de chaque table, initialisé une fois avec le plus grand ID
+    // (la base embarquée n'a qu'une application)
+    private static final Map<String, AtomicInteger> SEQUENCES = new ConcurrentHashMap<>();
+
+    private JDBCHelper() {
+    }
+
+    /**
+     * Transforme la ligne courante d'un résultat en objet
+     */
+    public interface Extracteur<T> {
+        T extraire(ResultSet resultat) throws SQLException;
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Tous les résultats d'une requête (liste vide en cas d'erreur)
+     */
+    public static <T> List<T> lister(String sql, Extracteur<T> extracteur, Object... valeurs) {
+        ConnexionJDBC connexion = null;
+        try {
+            connexion = PoolConnexions.emprunter();
+            return lister(connexion, sql, extracteur, valeurs);
+
+        } catch (SQLException e) {
+            signaler(connexion, e);
+            return new ArrayList<>();
+        } finally {
+            PoolConnexions.rendre(connexion);
+        }
+    }
+
+    /**
+     * Le premier résultat d'une requête, ou null (aucun résultat ou erreur)
+     */
+    public static <T> T trouver(String sql, Extracteur<T> extracteur, Object... valeurs) {
+        List<T> resultats = lister(sql, extracteur, valeurs);
+        return resultats.isEmpty() ? null : resultats.get(0);
+    }
+
+    /**
+     * Lecture avec une connexion déjà empruntée (ex: dans une transaction)
+     */
+    public static <T> List<T> lister(ConnexionJDBC connexion, String sql, Extracteur<T> extracteur,
+                                     Object... valeurs) throws SQLException {
+        PreparedStatement requete = connexion.preparer(sql);
+        lier(requete, valeurs);
+
+        List<T> resultats = new ArrayList<>();
+        try (ResultSet resultat = requete.executeQuery()) {
+            while (resultat.next()) {
+                resultats.add(extracteur.extraire(resultat));
+            }
+        }
+        return resultats;
+    }
+
+    // ========== ÉCRITURE ==========
+
+    /**
+     * Exécute une écriture, validée aussitôt
+     *
+     * @return Le nombre de lignes touchées, -1 en cas d'erreur
+     */
+    public static int executer(String sql, Object... valeurs) {
+        ConnexionJDBC connexion = null;
+        try {
+            connexion = PoolConnexions.emprunter();
+            PreparedStatement requete = connexion.preparer(sql);
+            lier(requete, valeurs);
+            return requete.executeUpdate();
+
+        } catch (SQLException e) {
+            signaler(connexion, e);
+            return -1;
+        } finally {
+            PoolConnexions.rendre(connexion);
+        }
+    }
+
+    /**
+     * Attribue le prochain ID d'une table (sans aller-retour avec la base,
+     * sauf la première fois)
+     *
+     * @return L'ID, ou -1 si la base est inaccessible
+     */
+    public static int prochainId(String table, String colonneId) {
+        AtomicInteger sequence = SEQUENCES.computeIfAbsent(table, t -> {
+            Integer maximum = trouver("SELECT COALESCE(MAX(" + colonneId + "), 0) FROM " + t, r -> r.getInt(1));
+            return maximum != null ? new AtomicInteger(maximum) : null;
+        });
+
+        return sequence != null ? sequence.incrementAndGet() : -1;
+    }
+
+    /**
+     * Oublie les séquences (relues dans la base au prochain ID, ex: après un import)
+     */
+    public static void reinitialiserSequences() {
+        SEQUENCES.clear();
+    }
+
+    /**
+     * Donne leurs valeurs aux paramètres "?" d'une requête, dans l'ordre
+     */
+    public static void lier(PreparedStatement requete, Object... valeurs) throws SQLException {
+        for (int i = 0; i < valeurs.length; i++) {
+            if (valeurs[i] == null) {
+                requete.setNull(i + 1, Types.NULL);
+            } else {
+                requete.setObject(i + 1, valeurs[i]);
+            }
+        }
+    }
+
+    static void signaler(ConnexionJDBC connexion, SQLException e) {
+        System.err.println("✗ Erreur SQL: " + e.getMessage());
+        if (connexion != null) {
+            connexion.douteuse = !estErreurDeDonnees(e);
+        }
+    }
+
+    /**
+     * Contrainte violée, valeur refusée...: la connexion reste utilisable
+     * (classe SQLSTATE 22 ou 23)
+     */
+    private static boolean estErreurDeDonnees(SQLException e) {
+        String etat = e.getSQLState();
+        return etat != null && (etat.startsWith("22") || etat.startsWith("23"));
+    }
+
+    /**
+     * Conflit avec une autre transaction, qui peut réussir si on la
+     * recommence: interblocage ou sérialisation impossible (classe SQLSTATE
+     * 40), verrou attendu trop longtemps (HYT00)
+     */
+    static boolean estConflit(SQLException e) {
+        String etat = e.getSQLState();
+        return etat != null && (etat.startsWith("40") || etat.equals("HYT00"));
+    }
+
+    // ========== MONTANTS ==========
+
+    /**
+     * Un montant des modèles (centimes) pour une colonne DECIMAL(10, 2)
+     */
+    public static BigDecimal montant(long centimes) {
+        return BigDecimal.valueOf(centimes, 2);
+    }
+
+    /**
+     * Une colonne DECIMAL(10, 2) ou une somme de ces colonnes, en centimes (0 si NULL)
+     */
+    public static long centimes(BigDecimal montant) {
+        return montant != null ? montant.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+    }
+
+    // ========== DATES ==========
+
+    /**
+     * Une date des modèles (millisecondes depuis 1970)
+     */
+    public static Timestamp horodatage(long millisecondes) {
+        return new Timestamp(millisecondes);
+    }
+
+    /**
+     * Le premier instant d'un jour (yyyy-MM-dd)
+     */
+    public static Timestamp debutDuJour(String jour) {
+        return Timestamp.valueOf(LocalDate.parse(jour).atStartOfDay());
+    }
+
+    /**
+     * Le premier instant du jour suivant: fin exclue d'une période
+     */
+    public static Timestamp debutDuLendemain(String jour) {
+        return Timestamp.valueOf(LocalDate.parse(jour).plusDays(1).atStartOfDay());
+    }
+}
@@ -0,0 +1,400 @@
+package database;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Classe JournalCSV - Journal des modifications d'un fichier CSV
+ *
+ * Au lieu de réécrire tout le fichier CSV à chaque modification,
+ * on ajoute un petit enregistrement à la fin d'un fichier journal:
+ *
+ * medicaments.csv.journal:
+ * M;1;Paracetamol;500mg;98;1.5     (mise à jour de la ligne d'ID 1)
+ * S;7                              (suppression de la ligne d'ID 7)
+ *
+ * À la lecture, le journal est appliqué par-dessus le fichier de base
+ * (voir CSVHelper.parcourirFichier). Un enregistrement incomplet (arrêt
+ * brutal pendant l'écriture: dernière ligne sans fin de ligne, ou moins de
+ * colonnes que l'en-tête du fichier) est ignoré.
+ * Une tâche de fond (compaction) intègre régulièrement le journal
+ * dans le fichier de base puis le vide.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class JournalCSV {
+
+    public static final String EXTENSION = ".journal";
+
+    // Journal en cours d'intégration par la compaction
+    static final String EXTENSION_COMPACTION = ".journal.compaction";
+
+    private static final String OP_MISE_A_JOUR = "M";
+    private static final String OP_SUPPRESSION = "S";
+
+    // Taille du journal (en octets) à partir de laquelle on compacte
+    public static final long SEUIL_COMPACTION = 256 * 1024;
+    private static final long PERIODE_COMPACTION_SECONDES = 30;
+
+    private static ScheduledExecutorService compacteur;
+
+    /**
+     * Journalise la nouvelle version complète d'une ligne
+     *
+     * @param fileName Le nom du fichier CSV
+     * @param ligne    La ligne complète (la colonne 0 est l'ID)
+     * @return true si l'écriture a réussi
+     */
+    public static boolean ecrireMiseAJour(String fileName, String[] ligne) {
+        return ecrireEnregistrement(fileName, OP_MISE_A_JOUR + CSVHelper.SEPARATOR + String.join(CSVHelper.SEPARATOR, ligne),
+            observateur -> observateur.ligneModifiee(fileName, ligne));
+    }
+
+    /**
+     * Journalise la suppression d'une ligne
+     *
+     * @param fileName Le nom du fichier CSV
+     * @param id       L'ID de la ligne supprimée
+     * @return true si l'écriture a réussi
+     */
+    public static boolean ecrireSuppression(String fileName, int id) {
+        return ecrireEnregistrement(fileName, OP_SUPPRESSION + CSVHelper.SEPARATOR + id,
+            observateur -> observateur.ligneSupprimee(fileName, id));
+    }
+
+    private static boolean ecrireEnregistrement(String fileName, String enregistrement, Consumer<ObservateurFichier> notification) {
+        CSVHelper.initDataFolder();
+        demarrerCompactionAutomatique();
+
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fileName);
+        verrou.writeLock().lock();
+
+        try {
+            // Un Writer (pas un PrintWriter): une écriture incomplète lance une exception
+            try (Writer writer = new FileWriter(CSVHelper.DATA_FOLDER + fileName + EXTENSION, true)) {
+                writer.write(enregistrement + System.lineSeparator());
+            }
+
+            // Prévenus seulement une fois l'enregistrement écrit
+            CSVHelper.observateurs().forEach(notification);
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture du journal de " + fileName + ": " + e.getMessage());
+            return false;
+
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Lit l'état final du journal: ID -> dernière version de la ligne
+     * (null si la ligne a été supprimée)
+     */
+    static Map<String, String[]> lireSurcharge(String fileName) {
+        Map<String, String[]> surcharge = new LinkedHashMap<>();
+        int colonnes = nombreColonnes(fileName);
+        lireEnregistrements(new File(CSVHelper.DATA_FOLDER + fileName + EXTENSION_COMPACTION), colonnes, surcharge);
+        lireEnregistrements(new File(CSVHelper.DATA_FOLDER + fileName + EXTENSION), colonnes, surcharge);
+        return surcharge;
+    }
+
+    /**
+     * @param colonnes Le nombre de colonnes d'une ligne complète (en-tête du
+     *                 fichier de base): une mise à jour plus courte est ignorée
+     */
+    private static void lireEnregistrements(File journal, int colonnes, Map<String, String[]> surcharge) {
+        if (!journal.exists()) {
+            return;
+        }
+
+        // Dernier enregistrement sans fin de ligne: l'ajout a été interrompu
+        boolean dernierComplet = finitParFinDeLigne(journal);
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+            String enregistrement = reader.readLine();
+
+            while (enregistrement != null) {
+                String suivant = reader.readLine();
+
+                if (suivant == null && !dernierComplet) {
+                    System.err.println("⚠️ Enregistrement incomplet ignoré à la fin de " + journal.getName());
+                } else {
+                    appliquerEnregistrement(journal, enregistrement, colonnes, surcharge);
+                }
+
+                enregistrement = suivant;
+            }
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture du journal " + journal.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private static void appliquerEnregistrement(File journal, String enregistrement, int colonnes,
+                                                Map<String, String[]> surcharge) {
+        String[] valeurs = enregistrement.split(CSVHelper.SEPARATOR, -1);
+
+        if (valeurs.length >= 2 && valeurs[0].equals(OP_SUPPRESSION)) {
+            surcharge.put(valeurs[1], null);
+        } else if (valeurs.length >= Math.max(2, colonnes + 1) && valeurs[0].equals(OP_MISE_A_JOUR)) {
+            String[] ligne = new String[valeurs.length - 1];
+            System.arraycopy(valeurs, 1, ligne, 0, ligne.length);
+            surcharge.put(ligne[0], ligne);
+        } else if (!enregistrement.isEmpty()) {
+            System.err.println("⚠️ Enregistrement incomplet ignoré dans " + journal.getName() + ": " + enregistrement);
+        }
+    }
+
+    private static boolean finitParFinDeLigne(File journal) {
+        try (RandomAccessFile fichier = new RandomAccessFile(journal, "r")) {
+            long taille = fichier.length();
+            if (taille == 0) {
+                return true;
+            }
+            fichier.seek(taille - 1);
+            return fichier.read() == '\n';
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Le nombre de colonnes de l'en-tête du fichier de base (0 s'il n'existe pas)
+     */
+    private static int nombreColonnes(String fileName) {
+        File base = new File(CSVHelper.DATA_FOLDER + fileName);
+        if (!base.exists()) {
+            return 0;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(base))) {
+            String entete = reader.readLine();
+            return entete == null ? 0 : entete.split(CSVHelper.SEPARATOR, -1).length;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Supprime le journal d'un fichier qui vient d'être entièrement réécrit
+     * (appelée par CSVHelper avec le verrou d'écriture du fichier)
+     */
+    static void effacer(String fileName) {
+        new File(CSVHelper.DATA_FOLDER + fileName + EXTENSION).delete();
+        new File(CSVHelper.DATA_FOLDER + fileName + EXTENSION_COMPACTION).delete();
+    }
+
+    // ========== COMPACTION ==========
+
+    /**
+     * Intègre le journal dans le fichier de base
+     *
+     * 1. (verrou) le journal est renommé en .journal.compaction, les nouvelles
+     *    modifications partent dans un journal neuf
+     * 2. (sans verrou) base + journal renommé sont fusionnés dans un fichier temporaire
+     * 3. (verrou) les lignes ajoutées entre-temps sont recopiées, puis le fichier
+     *    temporaire remplace la base et le journal renommé est supprimé
+     *
+     * Si l'application s'arrête au milieu, le journal renommé est simplement
+     * réappliqué (une mise à jour ou une suppression peut être rejouée sans risque).
+     *
+     * @param fileName Le nom du fichier CSV
+     * @return true si une compaction a eu lieu
+     */
+    public static synchronized boolean compacter(String fileName) {
+        File base = new File(CSVHelper.DATA_FOLDER + fileName);
+        File journal = new File(CSVHelper.DATA_FOLDER + fileName + EXTENSION);
+        File enCours = new File(CSVHelper.DATA_FOLDER + fileName + EXTENSION_COMPACTION);
+        File temporaire = new File(CSVHelper.DATA_FOLDER + fileName + ".tmp");
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fileName);
+        long tailleBase;
+
+        // ===== ÉTAPE 1: Rotation du journal =====
+        verrou.writeLock().lock();
+        try {
+            if (!base.exists()) {
+                return false;
+            }
+            // Un journal déjà renommé (compaction interrompue) est repris tel quel
+            if (!enCours.exists()) {
+                if (!journal.exists() || !journal.renameTo(enCours)) {
+                    return false;
+                }
+            }
+            tailleBase = base.length();
+        } finally {
+            verrou.writeLock().unlock();
+        }
+
+        // ===== ÉTAPE 2: Fusion hors verrou =====
+        Map<String, String[]> surcharge = new LinkedHashMap<>();
+        lireEnregistrements(enCours, nombreColonnes(fileName), surcharge);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FluxBorne(new FileInputStream(base), tailleBase)));
+             BufferedWriter writer = new BufferedWriter(new FileWriter(temporaire))) {
+
+            String ligne = reader.readLine();
+            if (ligne != null) {
+                ecrireLigne(writer, ligne); // En-têtes
+            }
+
+            while ((ligne = reader.readLine()) != null) {
+                if (ligne.trim().isEmpty()) {
+                    continue;
+                }
+
+                String id = ligne.substring(0, Math.max(0, ligne.indexOf(CSVHelper.SEPARATOR)));
+                if (!surcharge.containsKey(id)) {
+                    ecrireLigne(writer, ligne);
+                } else if (surcharge.get(id) != null) {
+                    ecrireLigne(writer, String.join(CSVHelper.SEPARATOR, surcharge.get(id)));
+                }
+            }
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la compaction de " + fileName + ": " + e.getMessage());
+            temporaire.delete();
+            return false;
+        }
+
+        // ===== ÉTAPE 3: Remplacement de la base =====
+        verrou.writeLock().lock();
+        try {
+            // Le fichier a été entièrement réécrit entre-temps: fusion obsolète
+            if (!enCours.exists()) {
+                temporaire.delete();
+                return false;
+            }
+
+            // Recopier les lignes ajoutées pendant la fusion
+            try (RandomAccessFile source = new RandomAccessFile(base, "r");
+                 FileOutputStream destination = new FileOutputStream(temporaire, true)) {
+                source.seek(tailleBase);
+                byte[] tampon = new byte[8192];
+                int lus;
+                while ((lus = source.read(tampon)) > 0) {
+                    destination.write(tampon, 0, lus);
+                }
+                // Sur le disque avant de remplacer la base et de supprimer le journal renommé
+                destination.getFD().sync();
+            }
+
+            Files.move(temporaire.toPath(), base.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            enCours.delete();
+
+            for (ObservateurFichier observateur : CSVHelper.observateurs()) {
+                observateur.fichierReecrit(fileName);
+            }
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la compaction de " + fileName + ": " + e.getMessage());
+            temporaire.delete();
+            return false;
+
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private static void ecrireLigne(Writer writer, String ligne) throws IOException {
+        writer.write(ligne);
+        writer.write(System.lineSeparator());
+    }
+
+    /**
+     * Démarre (une seule fois) la tâche de fond qui compacte les journaux trop gros
+     */
+    public static synchronized void demarrerCompactionAutomatique() {
+        if (compacteur != null) {
+            return;
+        }
+
+        compacteur = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "compaction-journaux");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        compacteur.scheduleWithFixedDelay(
+            JournalCSV::compacterJournauxVolumineux,
+            PERIODE_COMPACTION_SECONDES,
+            PERIODE_COMPACTION_SECONDES,
+            TimeUnit.SECONDS
+        );
+    }
+
+    private static void compacterJournauxVolumineux() {
+        compacterJournauxVolumineux(new File(CSVHelper.DATA_FOLDER), "");
+    }
+
+    /**
+     * Parcourt aussi les sous-dossiers (tables découpées en partitions,
+     * voir TablePartitionnee): le nom du fichier inclut alors le dossier
+     */
+    private static void compacterJournauxVolumineux(File dossier, String prefixe) {
+        File[] fichiers = dossier.listFiles();
+        if (fichiers == null) {
+            return;
+        }
+
+        for (File fichier : fichiers) {
+            if (fichier.isDirectory()) {
+                compacterJournauxVolumineux(fichier, prefixe + fichier.getName() + "/");
+            } else if (fichier.getName().endsWith(EXTENSION) && fichier.length() >= SEUIL_COMPACTION) {
+                String fileName = fichier.getName().substring(0, fichier.getName().length() - EXTENSION.length());
+                compacter(prefixe + fileName);
+            }
+        }
+    }
+
+    /**
+     * Flux limité aux premiers octets d'un fichier
+     * (les lignes ajoutées après la rotation du journal sont ignorées)
+     */
+    private static class FluxBorne extends FilterInputStream {
+        private long restant;
+
+        FluxBorne(InputStream in, long limite) {
+            super(in);
+            this.restant = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (restant <= 0) {
+                return -1;
+            }
+            int octet = super.read();
+            if (octet >= 0) {
+                restant--;
+            }
+            return octet;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (restant <= 0) {
+                return -1;
+            }
+            int lus = super.read(b, off, (int) Math.min(len, restant));
+            if (lus > 0) {
+                restant -= lus;
+            }
+            return lus;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package database;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classe LecteurMappe - Lecture d'un fichier CSV en mémoire mappée
+ *
+ * Le fichier est projeté en mémoire par fenêtres (FileChannel.map):
+ * le système lit les pages directement depuis son cache, sans copie
+ * dans un tampon Java ni décodage en caractères. Les lignes et les
+ * colonnes sont repérées dans les octets (voir LigneCSV).
+ *
+ * Une fenêtre est limitée à TAILLE_FENETRE octets: un fichier de
+ * plusieurs Go est parcouru en plusieurs fenêtres. Une ligne coupée
+ * en fin de fenêtre est relue au début de la fenêtre suivante.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+class LecteurMappe {
+
+    // Taille maximale d'une fenêtre projetée en mémoire (64 Mo)
+    static final int TAILLE_FENETRE = 64 * 1024 * 1024;
+
+    /**
+     * Convertit les modifications journalisées (ID texte -> ligne)
+     * pour pouvoir les chercher avec l'ID lu dans les octets
+     */
+    static Map<Integer, String[]> surchargeParId(Map<String, String[]> surcharge) {
+        Map<Integer, String[]> parId = new HashMap<>();
+        for (Map.Entry<String, String[]> entree : surcharge.entrySet()) {
+            try {
+                parId.put(Integer.parseInt(entree.getKey()), entree.getValue());
+            } catch (NumberFormatException e) {
+                // ID invalide dans le journal: aucune ligne ne peut correspondre
+            }
+        }
+        return parId;
+    }
+
+    /**
+     * Parcourt les lignes comprises entre deux positions du fichier
+     *
+     * debut doit être le début d'une ligne. Une ligne commencée avant
+     * fin est lue en entier (fin peut tomber au milieu d'une ligne).
+     *
+     * @param canal          Le fichier ouvert en lecture
+     * @param debut          Position de la première ligne
+     * @param fin            Position de fin (en général la taille du fichier)
+     * @param ignorerEntete  true si la première ligne est la ligne d'en-têtes
+     * @param surcharge      Modifications journalisées (ID -> ligne, null = supprimée)
+     * @param traitement     Le traitement appliqué à chaque ligne
+     * @return false si le traitement a demandé l'arrêt
+     */
+    static boolean parcourir(FileChannel canal, long debut, long fin, boolean ignorerEntete,
+                             Map<Integer, String[]> surcharge, TraitementLigneCSV traitement) throws IOException {
+        long tailleFichier = canal.size();
+        LigneCSV ligne = new LigneCSV();
+        long position = debut;
+        boolean entete = ignorerEntete;
+
+        while (position < fin) {
+            int taille = (int) Math.min(TAILLE_FENETRE, tailleFichier - position);
+            boolean derniereFenetre = position + taille >= tailleFichier;
+            MappedByteBuffer fenetre = canal.map(FileChannel.MapMode.READ_ONLY, position, taille);
+
+            int debutLigne = 0;
+            ligne.commencer(fenetre, 0, position);
+
+            // Un seul passage sur les octets: fins de ligne et séparateurs
+            for (int i = 0; i <= taille; i++) {
+                byte octet = i < taille ? fenetre.get(i) : (byte) '\n';
+
+                if (octet == ';') {
+                    ligne.separateur(i);
+                    continue;
+                }
+                if (octet != '\n' || (i == taille && (!derniereFenetre || i == debutLigne))) {
+                    continue;
+                }
+
+                // La ligne commence après la zone demandée: elle appartient à la suite
+                if (position + debutLigne >= fin) {
+                    return true;
+                }
+
+                int finLigne = i;
+                if (finLigne > debutLigne && fenetre.get(finLigne - 1) == '\r') {
+                    finLigne--;
+                }
+                ligne.terminer(finLigne);
+
+                if (entete) {
+                    entete = false;
+                } else if (!estVide(fenetre, debutLigne, finLigne)
+                        && !traiterLigne(ligne, surcharge, traitement)) {
+                    return false;
+                }
+
+                debutLigne = i + 1;
+                ligne.commencer(fenetre, debutLigne, position + debutLigne);
+            }
+
+            if (derniereFenetre) {
+                return true;
+            }
+            if (debutLigne == 0) {
+                throw new IOException("Ligne plus longue que " + TAILLE_FENETRE + " octets à la position " + position);
+            }
+
+            // Reprendre au début de la ligne coupée
+            position += debutLigne;
+        }
+
+        return true;
+    }
+
+    private static boolean traiterLigne(LigneCSV ligne, Map<Integer, String[]> surcharge, TraitementLigneCSV traitement) {
+        if (!surcharge.isEmpty()) {
+            Integer id;
+            try {
+                id = ligne.entier(0);
+            } catch (NumberFormatException e) {
+                id = null;
+            }
+
+            if (id != null && surcharge.containsKey(id)) {
+                String[] version = surcharge.get(id);
+                if (version == null) {
+                    return true; // Ligne supprimée
+                }
+                ligne.positionner(version);
+            }
+        }
+
+        return traitement.traiter(ligne);
+    }
+
+    private static boolean estVide(MappedByteBuffer fenetre, int debut, int fin) {
+        for (int i = debut; i < fin; i++) {
+            if (fenetre.get(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+package database;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Classe LigneBinaire - Une ligne d'une table binaire (voir TableBinaire)
+ *
+ * Chaque colonne est à une position fixe dans la ligne: lire un montant
+ * ou une date, c'est lire 8 octets, sans découper ni convertir de texte.
+ *
+ * ventes.bin:  [1][4][1][1][2][3][300][1768296600000]
+ *               ^  ^                ^    ^
+ *           état  ID     montant en centimes, date en millisecondes
+ *
+ * Deux usages:
+ * - pendant un parcours (TableBinaire.parcourir), une vue sur le bloc lu,
+ *   valable seulement pendant l'appel au traitement (la même instance
+ *   est réutilisée pour la ligne suivante);
+ * - une ligne lue par ID (TableBinaire.lire) ou créée par
+ *   TableBinaire.nouvelleLigne a ses propres octets: elle peut être
+ *   modifiée puis écrite (voir TransactionBinaire).
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class LigneBinaire {
+
+    // Premier octet de chaque ligne
+    static final byte VIDE = 0;       // jamais écrite, ou supprimée
+    static final byte PRESENTE = 1;
+
+    private final TableBinaire table;
+    private ByteBuffer tampon;
+    private int debut;
+
+    /**
+     * Vue réutilisée pendant un parcours
+     */
+    LigneBinaire(TableBinaire table) {
+        this.table = table;
+    }
+
+    /**
+     * Ligne avec ses propres octets
+     */
+    LigneBinaire(TableBinaire table, byte[] octets) {
+        this.table = table;
+        this.tampon = ByteBuffer.wrap(octets);
+        this.debut = 0;
+    }
+
+    /**
+     * Place la vue sur la ligne qui commence en position debut du tampon
+     */
+    void positionner(ByteBuffer tampon, int debut) {
+        this.tampon = tampon;
+        this.debut = debut;
+    }
+
+    boolean estPresente() {
+        return tampon.get(debut) == PRESENTE;
+    }
+
+    // ========== LECTURE DES COLONNES ==========
+
+    public TableBinaire table() {
+        return table;
+    }
+
+    public int id() {
+        return tampon.getInt(debut + 1);
+    }
+
+    public int entier(int colonne) {
+        return tampon.getInt(position(colonne, TableBinaire.ENTIER));
+    }
+
+    /**
+     * Une date, en millisecondes depuis le 1er janvier 1970 (epoch)
+     */
+    public long horodatage(int colonne) {
+        return tampon.getLong(position(colonne, TableBinaire.HORODATAGE));
+    }
+
+    /**
+     * Un montant, en centimes
+     */
+    public long montant(int colonne) {
+        return tampon.getLong(position(colonne, TableBinaire.MONTANT));
+    }
+
+    /**
+     * Lit une colonne de texte (crée une String)
+     */
+    public String texte(int colonne) {
+        int position = position(colonne, TableBinaire.TEXTE);
+        int longueur = tampon.getShort(position);
+        if (longueur < 0) {
+            return null;
+        }
+
+        byte[] octets = new byte[longueur];
+        for (int i = 0; i < longueur; i++) {
+            octets[i] = tampon.get(position + 2 + i);
+        }
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Vérifie si une colonne de texte est égale à une valeur ASCII
+     * (ex: "VENTE"), sans créer de String
+     */
+    public boolean egal(int colonne, String valeur) {
+        int position = position(colonne, TableBinaire.TEXTE);
+        if (tampon.getShort(position) != valeur.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < valeur.length(); i++) {
+            if (tampon.get(position + 2 + i) != valeur.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ========== ÉCRITURE DES COLONNES ==========
+
+    public LigneBinaire ecrireEntier(int colonne, int valeur) {
+        tampon.putInt(position(colonne, TableBinaire.ENTIER), valeur);
+        return this;
+    }
+
+    public LigneBinaire ecrireHorodatage(int colonne, long millisecondes) {
+        tampon.putLong(position(colonne, TableBinaire.HORODATAGE), millisecondes);
+        return this;
+    }
+
+    public LigneBinaire ecrireMontant(int colonne, long centimes) {
+        tampon.putLong(position(colonne, TableBinaire.MONTANT), centimes);
+        return this;
+    }
+
+    /**
+     * Écrit une colonne de texte (UTF-8, au plus la taille de la colonne)
+     *
+     * @throws IllegalArgumentException si le texte est trop long
+     */
+    public LigneBinaire ecrireTexte(int colonne, String valeur) {
+        int position = position(colonne, TableBinaire.TEXTE);
+        int tailleMax = table.tailleTexte(colonne);
+
+        if (valeur == null) {
+            tampon.putShort(position, (short) -1);
+            return this;
+        }
+
+        byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+        if (octets.length > tailleMax) {
+            throw new IllegalArgumentException("Texte trop long pour " + table.nomColonne(colonne)
+                + " (" + tailleMax + " octets au plus): " + valeur);
+        }
+
+        tampon.putShort(position, (short) octets.length);
+        for (int i = 0; i < tailleMax; i++) {
+            tampon.put(position + 2 + i, i < octets.length ? octets[i] : 0);
+        }
+        return this;
+    }
+
+    /**
+     * Marque la ligne comme supprimée (ses colonnes sont effacées)
+     */
+    LigneBinaire effacer() {
+        int id = id();
+        for (int i = 0; i < table.largeur(); i++) {
+            tampon.put(debut + i, (byte) 0);
+        }
+        tampon.putInt(debut + 1, id);
+        return this;
+    }
+
+    /**
+     * Les octets de la ligne, tels qu'ils sont écrits dans le fichier
+     */
+    byte[] octets() {
+        byte[] octets = new byte[table.largeur()];
+        for (int i = 0; i < octets.length; i++) {
+            octets[i] = tampon.get(debut + i);
+        }
+        return octets;
+    }
+
+    private int position(int colonne, byte type) {
+        return debut + table.position(colonne, type);
+    }
+}
@@ -0,0 +1,260 @@
+package database;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Classe LigneCSV - Vue sur une ligne d'un fichier CSV lu en mémoire mappée
+ *
+ * Les colonnes ne sont pas copiées: on retient seulement la position de
+ * chaque colonne dans le fichier mappé. Les nombres sont lus directement
+ * depuis les octets, sans créer de String intermédiaire.
+ *
+ * ventes.csv:  4;1;1;2;3;3.0;2026-01-13 10:30:00
+ *              ^ ^ ^ ^ ^ ^   ^
+ *              positions des colonnes 0 à 6
+ *
+ * Attention: la vue n'est valable que pendant l'appel au traitement
+ * (la même instance est réutilisée pour la ligne suivante).
+ * Pour garder une ligne, utiliser colonnes().
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class LigneCSV {
+
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    // Au-delà, le montant passe par Montant.lire (voir montant())
+    private static final long MANTISSE_EXACTE = 1L << 53;
+
+    // Mode "octets": la ligne est lue dans le fichier mappé
+    private ByteBuffer tampon;
+    private int[] debuts = new int[16];
+    private int[] fins = new int[16];
+    private int nombreColonnes;
+    private int debutColonne;
+
+    // Position du début de la ligne dans le fichier (en octets)
+    private long positionFichier;
+
+    // Mode "version journalisée": la ligne vient du journal des modifications
+    private String[] version;
+
+    // ========== POSITIONNEMENT ==========
+
+    /**
+     * Commence une nouvelle ligne à la position debut du tampon
+     * (positionFichier: la même position, comptée depuis le début du fichier)
+     *
+     * Le découpage est fait par LecteurMappe en un seul passage:
+     * chaque séparateur rencontré ferme une colonne.
+     */
+    void commencer(ByteBuffer tampon, int debut, long positionFichier) {
+        this.tampon = tampon;
+        this.positionFichier = positionFichier;
+        this.version = null;
+        this.nombreColonnes = 0;
+        this.debutColonne = debut;
+    }
+
+    /**
+     * Ferme la colonne en cours au séparateur situé en position
+     */
+    void separateur(int position) {
+        ajouterColonne(debutColonne, position);
+        debutColonne = position + 1;
+    }
+
+    /**
+     * Ferme la dernière colonne de la ligne
+     */
+    void terminer(int fin) {
+        ajouterColonne(debutColonne, Math.max(debutColonne, fin));
+    }
+
+    /**
+     * Remplace la ligne par sa version journalisée
+     * (appelée par LecteurMappe)
+     */
+    void positionner(String[] colonnes) {
+        this.tampon = null;
+        this.version = colonnes;
+        this.nombreColonnes = colonnes.length;
+    }
+
+    private void ajouterColonne(int debut, int fin) {
+        if (nombreColonnes == debuts.length) {
+            debuts = Arrays.copyOf(debuts, nombreColonnes * 2);
+            fins = Arrays.copyOf(fins, nombreColonnes * 2);
+        }
+        debuts[nombreColonnes] = debut;
+        fins[nombreColonnes] = fin;
+        nombreColonnes++;
+    }
+
+    // ========== LECTURE DES COLONNES ==========
+
+    /**
+     * Position du début de la ligne dans le fichier (pour la relire directement, voir IndexTable)
+     */
+    public long position() {
+        return positionFichier;
+    }
+
+    public int nombreColonnes() {
+        return nombreColonnes;
+    }
+
+    /**
+     * Lit une colonne entière (ID, quantité...) sans créer de String
+     */
+    public int entier(int colonne) {
+        if (version != null) {
+            return Integer.parseInt(version[colonne]);
+        }
+
+        int i = debuts[colonne];
+        int fin = fins[colonne];
+        boolean negatif = false;
+
+        if (i < fin && (tampon.get(i) == '-' || tampon.get(i) == '+')) {
+            negatif = tampon.get(i) == '-';
+            i++;
+        }
+        if (i == fin) {
+            throw new NumberFormatException("Colonne " + colonne + " vide");
+        }
+
+        long valeur = 0;
+        for (; i < fin; i++) {
+            int chiffre = tampon.get(i) - '0';
+            valeur = valeur * 10 + chiffre;
+            if (chiffre < 0 || chiffre > 9 || valeur > Integer.MAX_VALUE + 1L) {
+                // Valeur inattendue: laisser Integer.parseInt signaler l'erreur
+                return Integer.parseInt(texte(colonne));
+            }
+        }
+        if (!negatif && valeur > Integer.MAX_VALUE) {
+            return Integer.parseInt(texte(colonne));
+        }
+
+        return (int) (negatif ? -valeur : valeur);
+    }
+
+    /**
+     * Lit un montant en centimes sans créer de String (voir Montant)
+     *
+     * Cas courant (ex: "12.75" ou "12.5"): les chiffres sont lus
+     * directement en centimes. Les autres écritures (plus de deux
+     * décimales, exposant) passent par Montant.lire.
+     */
+    public long montant(int colonne) {
+        if (version != null) {
+            return Montant.lire(version[colonne]);
+        }
+
+        int i = debuts[colonne];
+        int fin = fins[colonne];
+        boolean negatif = false;
+
+        if (i < fin && (tampon.get(i) == '-' || tampon.get(i) == '+')) {
+            negatif = tampon.get(i) == '-';
+            i++;
+        }
+
+        long valeur = 0;
+        int decimales = -1;
+        boolean chiffreLu = false;
+
+        for (; i < fin; i++) {
+            byte octet = tampon.get(i);
+
+            if (octet == '.' && decimales < 0) {
+                decimales = 0;
+            } else if (octet >= '0' && octet <= '9' && decimales < 2 && valeur < MANTISSE_EXACTE) {
+                valeur = valeur * 10 + (octet - '0');
+                chiffreLu = true;
+                if (decimales >= 0) {
+                    decimales++;
+                }
+            } else {
+                return Montant.lire(texte(colonne));
+            }
+        }
+
+        if (!chiffreLu) {
+            return Montant.lire(texte(colonne));
+        }
+
+        // "12" -> 1200, "12.5" -> 1250, "12.75" -> 1275
+        for (int d = Math.max(decimales, 0); d < 2; d++) {
+            valeur *= 10;
+        }
+        return negatif ? -valeur : valeur;
+    }
+
+    /**
+     * Lit une colonne comme texte (crée une String)
+     */
+    public String texte(int colonne) {
+        if (version != null) {
+            return version[colonne];
+        }
+
+        int longueur = fins[colonne] - debuts[colonne];
+        byte[] octets = new byte[longueur];
+        for (int i = 0; i < longueur; i++) {
+            octets[i] = tampon.get(debuts[colonne] + i);
+        }
+        return new String(octets, CHARSET);
+    }
+
+    /**
+     * Vérifie si une colonne commence par un préfixe ASCII
+     * (ex: la date "2026-01-13" d'une vente), sans créer de String
+     */
+    public boolean commencePar(int colonne, String prefixe) {
+        if (version != null) {
+            return version[colonne].startsWith(prefixe);
+        }
+
+        int debut = debuts[colonne];
+        if (fins[colonne] - debut < prefixe.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefixe.length(); i++) {
+            if (tampon.get(debut + i) != prefixe.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Vérifie si une colonne est égale à une valeur ASCII (ex: "VENTE")
+     */
+    public boolean egal(int colonne, String valeur) {
+        if (version != null) {
+            return version[colonne].equals(valeur);
+        }
+        return fins[colonne] - debuts[colonne] == valeur.length() && commencePar(colonne, valeur);
+    }
+
+    /**
+     * Copie toutes les colonnes (pour garder la ligne après le traitement)
+     */
+    public String[] colonnes() {
+        if (version != null) {
+            return version;
+        }
+
+        String[] colonnes = new String[nombreColonnes];
+        for (int i = 0; i < nombreColonnes; i++) {
+            colonnes[i] = texte(i);
+        }
+        return colonnes;
+    }
+}
@@ -0,0 +1,136 @@
+package database;
+
+/**
+ * Classe Montant - Lecture et écriture des montants (prix, chiffres
+ * d'affaires), en centimes
+ *
+ * Les montants sont gardés en centimes dans un long: une somme de millions
+ * de ventes reste exacte, alors qu'une somme de double dérive (0.1 + 0.2
+ * donne 0.30000000000000004). Les fichiers CSV gardent le texte décimal
+ * avec deux chiffres après le point ("12.50").
+ *
+ * La lecture accepte aussi les montants écrits par les anciennes versions
+ * (String.valueOf d'un double: "12.5", "3.0000000000000004", "1.0E7"),
+ * arrondis au centime le plus proche.
+ *
+ * Exemple:
+ * long prix = Montant.lire("12.5");       // 1250
+ * String texte = Montant.ecrire(prix * 3); // "37.50"
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public final class Montant {
+
+    public static final int CENTIMES_PAR_UNITE = 100;
+
+    // Au-delà, les chiffres sont lus par Double.parseDouble
+    private static final long LIMITE = Long.MAX_VALUE / 1000;
+
+    private Montant() {
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Lit un montant décimal ("12.50", "-3.2", "7" ou "12,50")
+     *
+     * @return Le montant en centimes (arrondi au centime le plus proche)
+     * @throws NumberFormatException si le texte n'est pas un nombre
+     */
+    public static long lire(String texte) {
+        int i = 0;
+        int fin = texte.length();
+        while (i < fin && texte.charAt(i) <= ' ') {
+            i++;
+        }
+        while (fin > i && texte.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+
+        boolean negatif = false;
+        if (i < fin && (texte.charAt(i) == '-' || texte.charAt(i) == '+')) {
+            negatif = texte.charAt(i) == '-';
+            i++;
+        }
+
+        long unites = 0;
+        long centimes = 0;
+        int decimales = 0;
+        boolean virgule = false;
+        boolean chiffreLu = false;
+        boolean arrondiSuperieur = false;
+
+        for (; i < fin; i++) {
+            char c = texte.charAt(i);
+
+            if ((c == '.' || c == ',') && !virgule) {
+                virgule = true;
+            } else if (c >= '0' && c <= '9') {
+                chiffreLu = true;
+                if (!virgule) {
+                    unites = unites * 10 + (c - '0');
+                    if (unites >= LIMITE) {
+                        return depuisTexteDecimal(texte);
+                    }
+                } else if (decimales < 2) {
+                    centimes = centimes * 10 + (c - '0');
+                    decimales++;
+                } else if (decimales == 2) {
+                    // Troisième décimale: arrondi, les suivantes sont ignorées
+                    arrondiSuperieur = c >= '5';
+                    decimales++;
+                }
+            } else {
+                // Exposant ("1.0E7"), NaN...: lu comme un double
+                return depuisTexteDecimal(texte);
+            }
+        }
+
+        if (!chiffreLu) {
+            throw new NumberFormatException("Montant invalide: " + texte);
+        }
+
+        if (decimales == 1) {
+            centimes *= 10;
+        }
+        long valeur = unites * CENTIMES_PAR_UNITE + centimes + (arrondiSuperieur ? 1 : 0);
+        return negatif ? -valeur : valeur;
+    }
+
+    /**
+     * Un montant saisi en décimal (ex: un champ de formulaire), en centimes
+     */
+    public static long centimes(double montant) {
+        return Math.round(montant * CENTIMES_PAR_UNITE);
+    }
+
+    // ========== ÉCRITURE ==========
+
+    /**
+     * Écrit un montant avec deux décimales ("12.50", "-0.05")
+     */
+    public static String ecrire(long centimes) {
+        long absolu = Math.abs(centimes);
+        long unites = absolu / CENTIMES_PAR_UNITE;
+        int reste = (int) (absolu % CENTIMES_PAR_UNITE);
+
+        StringBuilder sb = new StringBuilder(24);
+        if (centimes < 0) {
+            sb.append('-');
+        }
+        sb.append(unites).append('.');
+        sb.append((char) ('0' + reste / 10)).append((char) ('0' + reste % 10));
+        return sb.toString();
+    }
+
+    // ========== MÉTHODE UTILITAIRE ==========
+
+    private static long depuisTexteDecimal(String texte) {
+        double valeur = Double.parseDouble(texte.trim().replace(',', '.'));
+        if (Double.isNaN(valeur) || Double.isInfinite(valeur)) {
+            throw new NumberFormatException("Montant invalide: " + texte);
+        }
+        return centimes(valeur);
+    }
+}
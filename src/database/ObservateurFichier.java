@@ -0,0 +1,41 @@
+package database;
+
+/**
+ * Interface ObservateurFichier - Prévenu de chaque écriture dans les fichiers CSV
+ * 
+ * Permet de tenir à jour une structure calculée à partir d'un fichier
+ * (par exemple un index, voir IndexTable) sans que les DAO aient à
+ * s'en occuper: ajouts directs, transactions rejouées et journal
+ * passent tous par CSVHelper et JournalCSV.
+ * 
+ * Les méthodes sont appelées avec le verrou d'écriture du fichier:
+ * elles doivent rester rapides.
+ * 
+ * @author Étudiant
+ * @version 1.0
+ */
+public interface ObservateurFichier {
+    
+    /**
+     * Une ligne a été ajoutée à la fin du fichier
+     * 
+     * @param position Position du début de la ligne dans le fichier (en octets)
+     */
+    void ligneAjoutee(String fileName, String[] ligne, long position);
+    
+    /**
+     * Une nouvelle version de la ligne a été journalisée (même ID)
+     */
+    void ligneModifiee(String fileName, String[] ligne);
+    
+    /**
+     * La suppression d'une ligne a été journalisée
+     */
+    void ligneSupprimee(String fileName, int id);
+    
+    /**
+     * Le fichier a été réécrit (réécriture complète ou compaction):
+     * les positions des lignes ont changé
+     */
+    void fichierReecrit(String fileName);
+}
@@ -0,0 +1,21 @@
+package database;
+
+/**
+ * Interface ParticipantTransaction - Un autre stockage validé avec une Transaction
+ *
+ * Le participant garde ses écritures jusqu'à Transaction.valider(): une
+ * transaction abandonnée (ex: stock insuffisant) ne laisse donc rien
+ * derrière elle.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public interface ParticipantTransaction {
+
+    /**
+     * Applique et valide toutes les écritures du participant
+     *
+     * @return false si elles ont toutes été annulées
+     */
+    boolean valider();
+}
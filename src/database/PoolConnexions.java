@@ -0,0 +1,205 @@
+package database;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe PoolConnexions - Les connexions à la base embarquée (stockage JDBC)
+ *
+ * La base est un fichier ouvert par le pilote lui-même (par défaut H2,
+ * dans data/pharmacie.mv.db): pas de serveur à installer. Le pilote doit
+ * seulement être dans le classpath:
+ *
+ *   java -cp bin:lib/h2.jar -Dpharmacie.stockage=jdbc Main
+ *
+ * Propriétés (toutes facultatives):
+ * - pharmacie.jdbc.url         (défaut: jdbc:h2:./data/pharmacie)
+ * - pharmacie.jdbc.utilisateur (défaut: sa)
+ * - pharmacie.jdbc.motDePasse  (défaut: vide)
+ * - pharmacie.jdbc.connexions  (défaut: 4)
+ *
+ * Au plus TAILLE connexions sont ouvertes; elles sont gardées ouvertes
+ * entre deux emprunts (avec leurs requêtes préparées, voir ConnexionJDBC).
+ * Quand toutes sont prises, emprunter() attend au plus ATTENTE_MS.
+ *
+ * À la première connexion, les tables de database/schema.sql sont créées
+ * si la base est vide.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public final class PoolConnexions {
+
+    private static final String URL = System.getProperty("pharmacie.jdbc.url",
+        "jdbc:h2:./" + CSVHelper.DATA_FOLDER + "pharmacie");
+    private static final String UTILISATEUR = System.getProperty("pharmacie.jdbc.utilisateur", "sa");
+    private static final String MOT_DE_PASSE = System.getProperty("pharmacie.jdbc.motDePasse", "");
+    private static final int TAILLE = Integer.getInteger("pharmacie.jdbc.connexions", 4);
+    private static final long ATTENTE_MS = 10000;
+
+    private static final String SCHEMA = "database/schema.sql";
+    private static final String TABLE_TEMOIN = "Medicament";
+
+    // Une place par connexion empruntable; les connexions libres, la plus récente d'abord
+    private static final Semaphore PLACES = new Semaphore(TAILLE, true);
+    private static final Deque<ConnexionJDBC> LIBRES = new ConcurrentLinkedDeque<>();
+
+    private static boolean initialise = false;
+
+    private PoolConnexions() {
+    }
+
+    /**
+     * Emprunte une connexion (à rendre dans un finally)
+     *
+     * @throws SQLException si la base est inaccessible ou si aucune
+     *                      connexion ne s'est libérée à temps
+     */
+    public static ConnexionJDBC emprunter() throws SQLException {
+        initialiser();
+
+        try {
+            if (!PLACES.tryAcquire(ATTENTE_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Aucune connexion libre après " + ATTENTE_MS + " ms (" + TAILLE + " connexions)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Attente d'une connexion interrompue");
+        }
+
+        ConnexionJDBC connexion = LIBRES.pollFirst();
+        if (connexion == null) {
+            try {
+                connexion = ouvrir();
+            } catch (SQLException e) {
+                PLACES.release();
+                throw e;
+            }
+        }
+        return connexion;
+    }
+
+    /**
+     * Rend une connexion empruntée (null accepté)
+     */
+    public static void rendre(ConnexionJDBC connexion) {
+        if (connexion == null) {
+            return;
+        }
+
+        if (connexion.douteuse) {
+            connexion.fermer();
+        } else {
+            LIBRES.offerFirst(connexion);
+        }
+        PLACES.release();
+    }
+
+    // ========== INITIALISATION ==========
+
+    private static ConnexionJDBC ouvrir() throws SQLException {
+        return new ConnexionJDBC(DriverManager.getConnection(URL, UTILISATEUR, MOT_DE_PASSE));
+    }
+
+    /**
+     * Première connexion: crée le schéma si besoin (une seule fois)
+     */
+    private static synchronized void initialiser() throws SQLException {
+        if (initialise) {
+            return;
+        }
+
+        ConnexionJDBC connexion;
+        try {
+            connexion = ouvrir();
+        } catch (SQLException e) {
+            throw new SQLException("Base " + URL + " inaccessible (pilote JDBC dans le classpath?): " + e.getMessage(), e);
+        }
+
+        try {
+            if (!tableExiste(connexion.getConnexion(), TABLE_TEMOIN)) {
+                creerSchema(connexion.getConnexion());
+            }
+        } catch (SQLException e) {
+            connexion.fermer();
+            throw e;
+        }
+
+        LIBRES.offerFirst(connexion);
+        Runtime.getRuntime().addShutdownHook(new Thread(PoolConnexions::fermerTout, "fermeture-connexions"));
+        initialise = true;
+    }
+
+    private static boolean tableExiste(Connection connexion, String table) throws SQLException {
+        DatabaseMetaData metadonnees = connexion.getMetaData();
+
+        // Selon la base, les noms sont gardés tels quels, en majuscules ou en minuscules
+        try (ResultSet tables = metadonnees.getTables(null, null, "%", new String[]{"TABLE"})) {
+            while (tables.next()) {
+                if (tables.getString("TABLE_NAME").equalsIgnoreCase(table)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Exécute les CREATE TABLE et CREATE INDEX de database/schema.sql
+     * (création de la base, données de test et requêtes d'exemple ignorées)
+     */
+    private static void creerSchema(Connection connexion) throws SQLException {
+        List<String> instructions = lireSchema();
+
+        try (Statement statement = connexion.createStatement()) {
+            for (String instruction : instructions) {
+                statement.execute(instruction);
+            }
+        }
+
+        System.out.println("✓ Schéma créé dans la base (" + instructions.size() + " instructions)");
+    }
+
+    private static List<String> lireSchema() throws SQLException {
+        StringBuilder script = new StringBuilder();
+        try {
+            for (String ligne : Files.readAllLines(Paths.get(SCHEMA), StandardCharsets.UTF_8)) {
+                int commentaire = ligne.indexOf("--");
+                script.append(commentaire >= 0 ? ligne.substring(0, commentaire) : ligne).append('\n');
+            }
+        } catch (IOException e) {
+            throw new SQLException("Lecture de " + SCHEMA + " impossible: " + e.getMessage(), e);
+        }
+
+        List<String> instructions = new ArrayList<>();
+        for (String instruction : script.toString().split(";")) {
+            String texte = instruction.trim();
+            String debut = texte.toUpperCase();
+            if (debut.startsWith("CREATE TABLE") || debut.startsWith("CREATE INDEX")) {
+                instructions.add(texte);
+            }
+        }
+        return instructions;
+    }
+
+    private static void fermerTout() {
+        ConnexionJDBC connexion;
+        while ((connexion = LIBRES.pollFirst()) != null) {
+            connexion.fermer();
+        }
+    }
+}
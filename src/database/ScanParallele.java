@@ -0,0 +1,149 @@
+package database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Classe ScanParallele - Parcours d'un gros fichier CSV sur plusieurs coeurs
+ *
+ * Le fichier est découpé en blocs qui commencent toujours au début d'une
+ * ligne. Chaque bloc est lu en mémoire mappée (voir LecteurMappe) par un
+ * thread du pool fork-join, avec son propre résultat partiel. Les
+ * résultats partiels sont ensuite fusionnés deux à deux, dans l'ordre du
+ * fichier:
+ *
+ * ventes.csv:  [ bloc 1 ][ bloc 2 ][ bloc 3 ][ bloc 4 ]
+ *                  |         |         |         |
+ *               total 1   total 2   total 3   total 4
+ *                   \       /           \       /
+ *                  total 1+2           total 3+4
+ *                         \             /
+ *                          total général
+ *
+ * La fusion doit être associative (somme, concaténation de listes dans
+ * l'ordre, min/max...).
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+class ScanParallele {
+
+    // Un bloc plus petit ne vaut pas le coût d'une tâche séparée (8 Mo)
+    private static final long TAILLE_MIN_BLOC = 8 * 1024 * 1024;
+
+    // Nombre de blocs par coeur (équilibre la charge si un bloc est plus lent)
+    private static final int BLOCS_PAR_COEUR = 4;
+
+    /**
+     * Parcourt tout le fichier en parallèle et fusionne les résultats
+     * (appelée par CSVHelper avec le verrou de lecture du fichier)
+     *
+     * @param canal      Le fichier ouvert en lecture
+     * @param surcharge  Modifications journalisées (ID -> ligne, null = supprimée)
+     * @param initial    Crée un résultat partiel vide (un par bloc)
+     * @param accumuler  Ajoute une ligne à un résultat partiel
+     * @param fusionner  Fusionne deux résultats partiels (gauche puis droite)
+     * @return Le résultat de tout le fichier
+     */
+    static <R> R agreger(FileChannel canal, Map<Integer, String[]> surcharge, Supplier<R> initial,
+                         BiConsumer<R, LigneCSV> accumuler, BinaryOperator<R> fusionner) throws IOException {
+        long taille = canal.size();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long tailleBloc = Math.max(TAILLE_MIN_BLOC, taille / ((long) pool.getParallelism() * BLOCS_PAR_COEUR));
+
+        try {
+            return pool.invoke(new Bloc<>(canal, 0, taille, tailleBloc, surcharge, initial, accumuler, fusionner));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Trouve le début de la première ligne qui commence à partir de position
+     */
+    private static long debutDeLigne(FileChannel canal, long position) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+
+        ByteBuffer tampon = ByteBuffer.allocate(4096);
+        long courante = position - 1;
+
+        while (canal.read(tampon, courante) > 0) {
+            tampon.flip();
+            while (tampon.hasRemaining()) {
+                courante++;
+                if (tampon.get() == '\n') {
+                    return courante;
+                }
+            }
+            tampon.clear();
+        }
+
+        return canal.size();
+    }
+
+    /**
+     * Une partie du fichier: découpée en deux tant qu'elle est plus grande
+     * qu'un bloc, puis lue par un seul thread
+     */
+    private static class Bloc<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel canal;
+        private final long debut;
+        private final long fin;
+        private final long tailleBloc;
+        private final Map<Integer, String[]> surcharge;
+        private final Supplier<R> initial;
+        private final BiConsumer<R, LigneCSV> accumuler;
+        private final BinaryOperator<R> fusionner;
+
+        Bloc(FileChannel canal, long debut, long fin, long tailleBloc, Map<Integer, String[]> surcharge,
+             Supplier<R> initial, BiConsumer<R, LigneCSV> accumuler, BinaryOperator<R> fusionner) {
+            this.canal = canal;
+            this.debut = debut;
+            this.fin = fin;
+            this.tailleBloc = tailleBloc;
+            this.surcharge = surcharge;
+            this.initial = initial;
+            this.accumuler = accumuler;
+            this.fusionner = fusionner;
+        }
+
+        @Override
+        protected R compute() {
+            try {
+                if (fin - debut > tailleBloc) {
+                    long milieu = debutDeLigne(canal, debut + (fin - debut) / 2);
+
+                    if (milieu > debut && milieu < fin) {
+                        Bloc<R> gauche = new Bloc<>(canal, debut, milieu, tailleBloc, surcharge, initial, accumuler, fusionner);
+                        Bloc<R> droite = new Bloc<>(canal, milieu, fin, tailleBloc, surcharge, initial, accumuler, fusionner);
+                        droite.fork();
+                        R resultatGauche = gauche.compute();
+                        return fusionner.apply(resultatGauche, droite.join());
+                    }
+                }
+
+                R resultat = initial.get();
+                LecteurMappe.parcourir(canal, debut, fin, debut == 0, surcharge, ligne -> {
+                    accumuler.accept(resultat, ligne);
+                    return true;
+                });
+                return resultat;
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
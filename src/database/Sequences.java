@@ -0,0 +1,183 @@
+package database;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Classe Sequences - Attribution des IDs sans relire les fichiers
+ *
+ * Chaque fichier CSV a sa propre séquence. Les IDs sont réservés par
+ * blocs: la fin du bloc réservé est enregistrée dans data/sequences.csv
+ * AVANT de distribuer les IDs du bloc.
+ *
+ * sequences.csv:
+ * fichier;reserveJusqua
+ * ventes.csv;1200
+ * stock_historique.csv;1300
+ *
+ * Après un arrêt brutal, on repart après la fin du dernier bloc réservé:
+ * un ID n'est donc jamais distribué deux fois (quelques IDs peuvent être
+ * sautés, ce qui est sans conséquence).
+ *
+ * La séquence d'un fichier est initialisée une seule fois, en lisant
+ * le plus grand ID du fichier.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class Sequences {
+
+    private static final String FICHIER = "sequences.csv";
+    private static final String[] ENTETES = {"fichier", "reserveJusqua"};
+
+    // Nombre d'IDs réservés à chaque écriture de sequences.csv
+    public static final int TAILLE_BLOC = 100;
+
+    private static final Map<String, Sequence> SEQUENCES = new ConcurrentHashMap<>();
+    private static Map<String, Integer> reservations;
+
+    /**
+     * Retourne le prochain ID d'un fichier
+     *
+     * @param fileName Le nom du fichier (ex: "ventes.csv")
+     * @return Un ID jamais distribué auparavant
+     */
+    public static int prochainId(String fileName) {
+        return sequence(fileName, () -> CSVHelper.getMaxId(fileName)).prochainId();
+    }
+
+    /**
+     * Retourne le prochain ID d'une table qui n'est pas stockée dans un
+     * seul fichier (voir TablePartitionnee)
+     *
+     * @param nom         Le nom de la séquence (ex: "ventes.csv")
+     * @param dernierId   Donne le plus grand ID de la table, si la séquence n'a jamais été enregistrée
+     * @return Un ID jamais distribué auparavant
+     */
+    public static int prochainId(String nom, IntSupplier dernierId) {
+        return sequence(nom, dernierId).prochainId();
+    }
+
+    /**
+     * Réserve d'un coup plusieurs IDs consécutifs
+     *
+     * Un écrivain qui a beaucoup de lignes à ajouter les numérote
+     * lui-même sans repasser par la séquence.
+     *
+     * @param fileName Le nom du fichier
+     * @param nombre   Le nombre d'IDs voulus
+     * @return Le premier ID du bloc (les IDs vont de premier à premier + nombre - 1)
+     */
+    public static int reserverBloc(String fileName, int nombre) {
+        return sequence(fileName, () -> CSVHelper.getMaxId(fileName)).reserver(nombre);
+    }
+
+    /**
+     * Garantit que les prochains IDs d'une séquence suivent un ID donné
+     * (après un import qui garde les IDs, voir TableBinaire.remplir)
+     */
+    public static void avancer(String nom, int dernierId) {
+        sequence(nom, () -> dernierId).avancer(dernierId);
+    }
+
+    private static Sequence sequence(String fileName, IntSupplier dernierId) {
+        return SEQUENCES.computeIfAbsent(fileName, f -> initialiser(f, dernierId));
+    }
+
+    /**
+     * Crée la séquence d'un fichier à partir de sequences.csv,
+     * ou à défaut à partir du plus grand ID du fichier (une seule lecture)
+     */
+    private static Sequence initialiser(String fileName, IntSupplier dernierIdFichier) {
+        Integer reserveJusqua;
+        synchronized (Sequences.class) {
+            reserveJusqua = lireReservations().get(fileName);
+        }
+
+        int dernierId = reserveJusqua != null ? reserveJusqua : dernierIdFichier.getAsInt();
+        return new Sequence(fileName, dernierId);
+    }
+
+    // ========== PERSISTANCE ==========
+
+    private static Map<String, Integer> lireReservations() {
+        if (reservations == null) {
+            reservations = new TreeMap<>();
+            for (String[] ligne : CSVHelper.lireFichier(FICHIER)) {
+                try {
+                    reservations.put(ligne[0], Integer.parseInt(ligne[1]));
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    // Ignorer une ligne invalide: la séquence sera recalculée depuis le fichier
+                }
+            }
+        }
+        return reservations;
+    }
+
+    /**
+     * Enregistre la fin du bloc réservé pour un fichier
+     *
+     * Remplacement atomique de sequences.csv (voir CSVHelper.remplacerFichier).
+     */
+    private static synchronized boolean enregistrerReservation(String fileName, int reserveJusqua) {
+        lireReservations().put(fileName, reserveJusqua);
+
+        List<String[]> lignes = new ArrayList<>();
+        for (Map.Entry<String, Integer> entree : reservations.entrySet()) {
+            lignes.add(new String[]{entree.getKey(), String.valueOf(entree.getValue())});
+        }
+
+        try {
+            CSVHelper.remplacerFichier(FICHIER, ENTETES, lignes);
+            return true;
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture de " + FICHIER + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * La séquence d'un fichier (un verrou par fichier: pas de contention entre tables)
+     */
+    private static class Sequence {
+        private final String fileName;
+        private int dernierDistribue;
+        private int reserveJusqua;
+
+        Sequence(String fileName, int dernierId) {
+            this.fileName = fileName;
+            this.dernierDistribue = dernierId;
+            this.reserveJusqua = dernierId;
+        }
+
+        synchronized int prochainId() {
+            return reserver(1);
+        }
+
+        synchronized int reserver(int nombre) {
+            int premier = dernierDistribue + 1;
+            int dernier = dernierDistribue + nombre;
+
+            if (dernier > reserveJusqua) {
+                // En cas d'échec l'erreur est affichée et on continue:
+                // seule la garantie après un arrêt brutal est perdue
+                reserveJusqua = dernier + TAILLE_BLOC;
+                enregistrerReservation(fileName, reserveJusqua);
+            }
+
+            dernierDistribue = dernier;
+            return premier;
+        }
+
+        synchronized void avancer(int dernierId) {
+            if (dernierId > dernierDistribue) {
+                reserver(dernierId - dernierDistribue);
+            }
+        }
+    }
+}
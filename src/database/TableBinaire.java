@@ -0,0 +1,481 @@
+package database;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Classe TableBinaire - Table stockée en lignes binaires de taille fixe
+ *
+ * Toutes les lignes ont la même taille, et la ligne d'un ID est toujours
+ * au même endroit:
+ *
+ * data/ventes.bin
+ *     en-tête (ENTETE octets): format de la table
+ *     ligne 1  à la position ENTETE
+ *     ligne 2  à la position ENTETE + largeur
+ *     ligne n  à la position ENTETE + (n - 1) * largeur
+ *
+ * Chaque ligne commence par un octet d'état (présente ou vide), suivi de
+ * l'ID puis des colonnes:
+ * - entier:     int, 4 octets
+ * - horodatage: long, 8 octets (millisecondes depuis 1970, pas de texte à relire)
+ * - montant:    long, 8 octets (centimes: les sommes sont exactes)
+ * - texte:      longueur sur 2 octets + taille maximale en octets UTF-8
+ *
+ * Une recherche par ID est donc une seule lecture positionnée. Un parcours
+ * lit le fichier par blocs et ne décode que les colonnes demandées (voir
+ * LigneBinaire). Une modification ou une suppression réécrit la ligne sur
+ * place: pas de journal à appliquer à la lecture.
+ *
+ * Les écritures passent par le journal de transactions (voir
+ * TransactionBinaire): une ligne écrite deux fois (rejeu après un arrêt
+ * brutal) donne le même fichier.
+ *
+ * Exemple:
+ * TableBinaire table = new TableBinaire("commandes.bin")
+ *     .entier("idGestionnaire")
+ *     .texte("statut", 20)
+ *     .horodatage("dateCommande");
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class TableBinaire {
+
+    public static final String EXTENSION = ".bin";
+
+    // Types de colonnes
+    static final byte ENTIER = 1;
+    static final byte HORODATAGE = 2;
+    static final byte MONTANT = 3;
+    static final byte TEXTE = 4;
+
+    // En-tête: MAGIQUE, largeur, nombre de colonnes, signature des types
+    static final int ENTETE = 32;
+    private static final int MAGIQUE = 0x50484231; // "PHB1"
+
+    // Taille des blocs lus pendant un parcours
+    private static final int TAILLE_BLOC = 1024 * 1024;
+
+    // Tables déclarées, par fichier (pour appliquer le journal de transactions)
+    private static final Map<String, TableBinaire> TABLES = new ConcurrentHashMap<>();
+
+    private final String fichier;
+    private final List<String> noms = new ArrayList<>();
+    private byte[] types = new byte[0];
+    private int[] positions = new int[0];
+    private int[] tailles = new int[0];
+    private int largeur = 1; // octet d'état
+
+    private FileChannel canal;
+    private boolean initialisee = false;
+
+    /**
+     * @param fichier Le fichier de la table dans data/ (ex: "ventes.bin");
+     *                la colonne 0 est l'ID
+     */
+    public TableBinaire(String fichier) {
+        this.fichier = fichier;
+        colonne("id", ENTIER, 4);
+        TABLES.put(fichier, this);
+    }
+
+    // ========== DÉFINITION DES COLONNES ==========
+
+    public TableBinaire entier(String nom) {
+        return colonne(nom, ENTIER, 4);
+    }
+
+    public TableBinaire horodatage(String nom) {
+        return colonne(nom, HORODATAGE, 8);
+    }
+
+    public TableBinaire montant(String nom) {
+        return colonne(nom, MONTANT, 8);
+    }
+
+    /**
+     * @param tailleMax Taille maximale du texte, en octets UTF-8
+     *                  (une lettre accentuée en prend 2)
+     */
+    public TableBinaire texte(String nom, int tailleMax) {
+        return colonne(nom, TEXTE, 2 + tailleMax);
+    }
+
+    private TableBinaire colonne(String nom, byte type, int taille) {
+        int n = noms.size();
+        noms.add(nom);
+        types = Arrays.copyOf(types, n + 1);
+        positions = Arrays.copyOf(positions, n + 1);
+        tailles = Arrays.copyOf(tailles, n + 1);
+
+        types[n] = type;
+        positions[n] = largeur;
+        tailles[n] = taille;
+        largeur += taille;
+        return this;
+    }
+
+    // ========== OUVERTURE ==========
+
+    /**
+     * Ouvre le fichier de la table (le crée s'il n'existe pas)
+     *
+     * @throws IllegalStateException si le fichier a été écrit avec d'autres colonnes
+     */
+    public synchronized void initialiser() {
+        if (initialisee) {
+            return;
+        }
+
+        CSVHelper.initDataFolder();
+
+        try {
+            canal = FileChannel.open(Paths.get(CSVHelper.DATA_FOLDER + fichier),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            if (canal.size() == 0) {
+                ByteBuffer entete = ByteBuffer.allocate(ENTETE);
+                entete.putInt(0, MAGIQUE).putInt(4, largeur).putInt(8, types.length).putInt(12, signature());
+                ecrireTout(canal, entete, 0);
+                canal.force(true);
+                System.out.println("✓ Fichier " + fichier + " créé.");
+
+            } else {
+                ByteBuffer entete = ByteBuffer.allocate(ENTETE);
+                lireTout(canal, entete, 0);
+                if (entete.position() < ENTETE || entete.getInt(0) != MAGIQUE || entete.getInt(4) != largeur
+                        || entete.getInt(8) != types.length || entete.getInt(12) != signature()) {
+                    canal.close();
+                    throw new IllegalStateException("Format de " + fichier + " différent de celui de la table");
+                }
+            }
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Impossible d'ouvrir " + fichier + ": " + e.getMessage(), e);
+        }
+
+        initialisee = true;
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Lit la ligne d'un ID (une seule lecture positionnée)
+     *
+     * @return La ligne (modifiable), ou null si l'ID n'existe pas
+     */
+    public LigneBinaire lire(int id) {
+        if (id < 1) {
+            return null;
+        }
+
+        byte[] octets = new byte[largeur];
+        ByteBuffer tampon = ByteBuffer.wrap(octets);
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fichier);
+        verrou.readLock().lock();
+
+        try {
+            lireTout(canal, tampon, position(id));
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture de " + fichier + ": " + e.getMessage());
+            return null;
+        } finally {
+            verrou.readLock().unlock();
+        }
+
+        if (tampon.hasRemaining()) {
+            return null; // après la dernière ligne
+        }
+
+        LigneBinaire ligne = new LigneBinaire(this, octets);
+        return ligne.estPresente() ? ligne : null;
+    }
+
+    /**
+     * Parcourt toutes les lignes présentes, dans l'ordre des IDs
+     *
+     * Le fichier est lu par blocs d'environ 1 Mo; la lecture s'arrête dès
+     * que le traitement retourne false.
+     */
+    public void parcourir(TraitementLigneBinaire traitement) {
+        ByteBuffer tampon = ByteBuffer.allocate(Math.max(1, TAILLE_BLOC / largeur) * largeur);
+        LigneBinaire ligne = new LigneBinaire(this);
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fichier);
+        verrou.readLock().lock();
+
+        try {
+            long position = ENTETE;
+            long fin = canal.size();
+
+            while (position < fin) {
+                tampon.clear();
+                if (fin - position < tampon.capacity()) {
+                    tampon.limit((int) (fin - position));
+                }
+                lireTout(canal, tampon, position);
+
+                int completes = tampon.position() / largeur;
+                if (completes == 0) {
+                    break;
+                }
+
+                for (int i = 0; i < completes; i++) {
+                    int debut = i * largeur;
+                    if (tampon.get(debut) == LigneBinaire.PRESENTE) {
+                        ligne.positionner(tampon, debut);
+                        if (!traitement.traiter(ligne)) {
+                            return;
+                        }
+                    }
+                }
+                position += (long) completes * largeur;
+            }
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture de " + fichier + ": " + e.getMessage());
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vérifie si la table n'a aucune ligne
+     */
+    public boolean estVide() {
+        boolean[] vide = {true};
+        parcourir(ligne -> {
+            vide[0] = false;
+            return false;
+        });
+        return vide[0];
+    }
+
+    // ========== ÉCRITURE ==========
+
+    /**
+     * Retourne le prochain ID de la table (voir Sequences)
+     */
+    public int prochainId() {
+        return Sequences.prochainId(fichier, this::nombreEmplacements);
+    }
+
+    /**
+     * Une nouvelle ligne vide, à remplir puis écrire (voir TransactionBinaire)
+     */
+    public LigneBinaire nouvelleLigne(int id) {
+        byte[] octets = new byte[largeur];
+        ByteBuffer.wrap(octets).put(0, LigneBinaire.PRESENTE).putInt(1, id);
+        return new LigneBinaire(this, octets);
+    }
+
+    /**
+     * Écrit une ligne à la position de son ID
+     * (appelée en appliquant le journal de transactions)
+     *
+     * La table peut ne pas être encore chargée (rejeu au démarrage): la
+     * ligne est alors écrite directement dans le fichier.
+     */
+    static boolean ecrireLigne(String fileName, byte[] octets) {
+        TableBinaire table = TABLES.get(fileName);
+        if (table != null) {
+            table.initialiser();
+            return table.ecrire(octets);
+        }
+
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fileName);
+        verrou.writeLock().lock();
+
+        try (FileChannel canal = FileChannel.open(Paths.get(CSVHelper.DATA_FOLDER + fileName),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer entete = ByteBuffer.allocate(ENTETE);
+            lireTout(canal, entete, 0);
+            if (entete.position() < ENTETE || entete.getInt(0) != MAGIQUE || entete.getInt(4) != octets.length) {
+                System.err.println("✗ Ligne de taille inattendue pour " + fileName);
+                return false;
+            }
+
+            int id = ByteBuffer.wrap(octets).getInt(1);
+            ecrireTout(canal, ByteBuffer.wrap(octets), ENTETE + (long) (id - 1) * octets.length);
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture dans " + fileName + ": " + e.getMessage());
+            return false;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private boolean ecrire(byte[] octets) {
+        if (octets.length != largeur) {
+            System.err.println("✗ Ligne de taille inattendue pour " + fichier);
+            return false;
+        }
+
+        int id = ByteBuffer.wrap(octets).getInt(1);
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fichier);
+        verrou.writeLock().lock();
+
+        try {
+            ecrireTout(canal, ByteBuffer.wrap(octets), position(id));
+            return true;
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture dans " + fichier + ": " + e.getMessage());
+            return false;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remplit une table vide en une seule passe (import de données)
+     *
+     * Les lignes sont triées par ID et les lignes consécutives écrites par
+     * blocs, puis le fichier est forcé sur le disque. La séquence de la
+     * table est avancée après le plus grand ID. En cas d'erreur, la table
+     * est vidée.
+     *
+     * @return true si toutes les lignes ont été écrites
+     */
+    public boolean remplir(List<LigneBinaire> lignes) {
+        List<LigneBinaire> triees = new ArrayList<>(lignes);
+        triees.sort(Comparator.comparingInt(LigneBinaire::id));
+
+        ByteBuffer tampon = ByteBuffer.allocate(Math.max(1, TAILLE_BLOC / largeur) * largeur);
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fichier);
+        verrou.writeLock().lock();
+
+        try {
+            if (!estVide()) {
+                System.err.println("✗ " + fichier + " contient déjà des lignes.");
+                return false;
+            }
+
+            long debutBloc = -1;
+            for (LigneBinaire ligne : triees) {
+                long position = position(ligne.id());
+                if (debutBloc >= 0 && (position != debutBloc + tampon.position() || !tampon.hasRemaining())) {
+                    tampon.flip();
+                    ecrireTout(canal, tampon, debutBloc);
+                    tampon.clear();
+                }
+                if (tampon.position() == 0) {
+                    debutBloc = position;
+                }
+                tampon.put(ligne.octets());
+            }
+            if (tampon.position() > 0) {
+                tampon.flip();
+                ecrireTout(canal, tampon, debutBloc);
+            }
+
+            canal.force(true);
+
+            // Les IDs importés ne seront pas redistribués
+            if (!triees.isEmpty()) {
+                Sequences.avancer(fichier, triees.get(triees.size() - 1).id());
+            }
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture dans " + fichier + ": " + e.getMessage());
+            vider();
+            return false;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Supprime toutes les lignes (l'en-tête est gardé)
+     */
+    public void vider() {
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fichier);
+        verrou.writeLock().lock();
+
+        try {
+            canal.truncate(ENTETE);
+            canal.force(true);
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors du vidage de " + fichier + ": " + e.getMessage());
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // ========== FORMAT ==========
+
+    public String fichier() {
+        return fichier;
+    }
+
+    int largeur() {
+        return largeur;
+    }
+
+    String nomColonne(int colonne) {
+        return noms.get(colonne);
+    }
+
+    int tailleTexte(int colonne) {
+        return tailles[colonne] - 2;
+    }
+
+    /**
+     * Position d'une colonne dans la ligne
+     *
+     * @throws IllegalArgumentException si la colonne n'a pas ce type
+     */
+    int position(int colonne, byte type) {
+        if (types[colonne] != type) {
+            throw new IllegalArgumentException("La colonne " + noms.get(colonne) + " de " + fichier + " n'a pas ce type");
+        }
+        return positions[colonne];
+    }
+
+    /**
+     * Change dès qu'une colonne change de type ou de taille
+     */
+    private int signature() {
+        return 31 * Arrays.hashCode(types) + Arrays.hashCode(tailles);
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    private long position(int id) {
+        return ENTETE + (long) (id - 1) * largeur;
+    }
+
+    private int nombreEmplacements() {
+        try {
+            return (int) ((canal.size() - ENTETE) / largeur);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void lireTout(FileChannel canal, ByteBuffer tampon, long position) throws IOException {
+        while (tampon.hasRemaining()) {
+            if (canal.read(tampon, position + tampon.position()) < 0) {
+                return;
+            }
+        }
+    }
+
+    private static void ecrireTout(FileChannel canal, ByteBuffer tampon, long position) throws IOException {
+        while (tampon.hasRemaining()) {
+            canal.write(tampon, position + tampon.position());
+        }
+    }
+}
@@ -0,0 +1,718 @@
+package database;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Classe TableColonnes - Copie en colonnes d'une table partitionnée, pour
+ * les rapports
+ *
+ * Un rapport sur les ventes n'a besoin que de quelques colonnes (montant,
+ * quantité, médicament, date), mais relire les partitions décode toutes
+ * les colonnes de chaque ligne. Ces colonnes sont donc copiées à côté des
+ * partitions, une valeur binaire de taille fixe par ligne, un fichier par
+ * colonne:
+ *
+ * data/ventes/colonnes/
+ *     idMedicament.col   int par ligne
+ *     montantTotal.col   long par ligne (centimes)
+ *     dateVente.col      long par ligne (millisecondes depuis 1970)
+ *     partitions.csv     lignes copiées de chaque partition, avec sa version
+ *     zones.csv          minimum et maximum de chaque colonne, par bloc
+ *
+ * Les lignes sont rangées par blocs de TAILLE_BLOC. Un parcours filtré sur
+ * une colonne (ex: la date) saute les blocs dont le minimum et le maximum
+ * sont hors de l'intervalle, et ne lit que les colonnes demandées, bloc
+ * par bloc, dans des tableaux (voir BlocColonnes).
+ *
+ * La copie est tenue à jour par les écritures dans les partitions (voir
+ * ObservateurFichier): les ajouts sont copiés au parcours suivant. Une
+ * modification, une suppression ou un ajout daté d'un jour passé rend la
+ * copie périmée à partir de ce jour: elle est recopiée depuis les
+ * partitions au parcours suivant. Au démarrage, seuls les jours dont la
+ * partition a changé depuis (en général: le jour même) sont recopiés.
+ *
+ * Les fichiers de colonnes ne sont qu'une copie: s'ils sont perdus ou
+ * incomplets, ils sont reconstruits.
+ *
+ * Exemple:
+ * TableColonnes colonnes = new TableColonnes(table)
+ *     .entier("idMedicament", 3)
+ *     .montant("montantTotal", 5)
+ *     .horodatage("dateVente", 6);
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class TableColonnes implements ObservateurFichier {
+
+    public static final String EXTENSION = ".col";
+
+    // Nombre de lignes par bloc (une zone par bloc)
+    public static final int TAILLE_BLOC = 4096;
+
+    private static final String DOSSIER = "colonnes/";
+    private static final String PARTITIONS = "partitions.csv";
+    private static final String[] ENTETES_PARTITIONS = {"partition", "version", "premiereLigne", "nombre"};
+    private static final String ZONES = "zones.csv";
+
+    // Types de colonnes
+    private static final byte ENTIER = 1;
+    private static final byte HORODATAGE = 2;
+    private static final byte MONTANT = 3;
+
+    private final TablePartitionnee table;
+    private final String dossier;
+
+    // Définition des colonnes: nom, type et colonne de la partition copiée
+    private final List<String> noms = new ArrayList<>();
+    private final List<Byte> types = new ArrayList<>();
+    private final List<Integer> colonnesSource = new ArrayList<>();
+
+    // ========== ÉTAT DES FICHIERS (verrouColonnes) ==========
+
+    // Jamais pris par les méthodes d'ObservateurFichier (il est gardé pendant la lecture des partitions)
+    private final Object verrouColonnes = new Object();
+
+    private FileChannel[] canaux;
+    private ByteBuffer[] tampons;
+    private int premiereLigneTampon;
+    private int nombreLignes;
+
+    // Jour -> lignes copiées de sa partition, dans l'ordre chronologique
+    private final TreeMap<String, Partition> partitions = new TreeMap<>();
+
+    // Par bloc: minimum et maximum de chaque colonne {min0, max0, min1, max1, ...}
+    private final List<long[]> zones = new ArrayList<>();
+
+    private boolean modifiee = false;
+    private boolean initialisee = false;
+
+    // ========== ÉCRITURES OBSERVÉES (this) ==========
+
+    // Premier jour à recopier depuis les partitions (null: la copie est à jour)
+    private String perimeeDepuis;
+
+    // Lignes ajoutées aux partitions, pas encore copiées
+    private List<Ajout> enAttente = new ArrayList<>();
+
+    // Dernier jour copié ou en attente (un ajout plus ancien oblige à recopier)
+    private String dernierJour = "";
+
+    /**
+     * @param table La table partitionnée copiée (les fichiers sont dans
+     *              son dossier, sous colonnes/)
+     */
+    public TableColonnes(TablePartitionnee table) {
+        this.table = table;
+        this.dossier = table.nom() + "/" + DOSSIER;
+    }
+
+    // ========== DÉFINITION DES COLONNES ==========
+
+    /**
+     * Colonne d'entiers (int)
+     *
+     * @param colonneSource La colonne copiée dans les partitions
+     */
+    public TableColonnes entier(String nom, int colonneSource) {
+        return colonne(nom, ENTIER, colonneSource);
+    }
+
+    /**
+     * Colonne de dates (yyyy-MM-dd HH:mm:ss), copiée en millisecondes
+     */
+    public TableColonnes horodatage(String nom, int colonneSource) {
+        return colonne(nom, HORODATAGE, colonneSource);
+    }
+
+    /**
+     * Colonne de montants, copiée en centimes (sommes exactes)
+     */
+    public TableColonnes montant(String nom, int colonneSource) {
+        return colonne(nom, MONTANT, colonneSource);
+    }
+
+    private TableColonnes colonne(String nom, byte type, int colonneSource) {
+        noms.add(nom);
+        types.add(type);
+        colonnesSource.add(colonneSource);
+        return this;
+    }
+
+    /**
+     * Ouvre les fichiers de colonnes et repère les jours à recopier (une
+     * seule fois, après l'initialisation de la table)
+     *
+     * La copie elle-même est faite au premier parcours.
+     */
+    public void initialiser() {
+        synchronized (verrouColonnes) {
+            if (initialisee) {
+                return;
+            }
+
+            CSVHelper.initDataFolder();
+            new File(CSVHelper.DATA_FOLDER + dossier).mkdirs();
+
+            canaux = new FileChannel[noms.size()];
+            tampons = new ByteBuffer[noms.size()];
+            try {
+                for (int c = 0; c < noms.size(); c++) {
+                    canaux[c] = FileChannel.open(Paths.get(CSVHelper.DATA_FOLDER + dossier + noms.get(c) + EXTENSION),
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    tampons[c] = ByteBuffer.allocate(TAILLE_BLOC * taille(c));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Impossible d'ouvrir les colonnes de " + dossier + ": " + e.getMessage(), e);
+            }
+
+            // Avant de comparer les versions: aucune écriture ne peut être manquée
+            CSVHelper.ajouterObservateur(this);
+            charger();
+
+            List<String> jours = table.jours();
+            for (String jour : jours) {
+                Partition partition = partitions.get(jour);
+                if (partition == null || !partition.version.equals(table.versionJour(jour))) {
+                    perimer(jour);
+                    break;
+                }
+            }
+            for (String jour : partitions.keySet()) {
+                if (!jours.contains(jour)) {
+                    perimer(jour);
+                    break;
+                }
+            }
+
+            initialisee = true;
+        }
+    }
+
+    // ========== PARCOURS ==========
+
+    /**
+     * Parcourt les lignes dont une colonne est dans [debut, fin[, bloc par
+     * bloc, en ne lisant que les colonnes demandées
+     *
+     * Les blocs dont la zone (minimum, maximum) est hors de l'intervalle ne
+     * sont pas lus.
+     *
+     * @param colonneFiltre La colonne filtrée (ex: la date)
+     * @param debut         Valeur minimale (incluse)
+     * @param fin           Valeur maximale (exclue)
+     * @param colonnesLues  Les colonnes passées au traitement
+     */
+    public void parcourir(int colonneFiltre, long debut, long fin, int[] colonnesLues, TraitementBlocColonnes traitement) {
+        synchronized (verrouColonnes) {
+            synchroniser();
+
+            BlocColonnes bloc = new BlocColonnes(noms.size());
+            ByteBuffer lecture = ByteBuffer.allocate(TAILLE_BLOC * Long.BYTES);
+
+            try {
+                for (int b = 0; b < zones.size(); b++) {
+                    long[] zone = zones.get(b);
+                    long min = zone[2 * colonneFiltre];
+                    long max = zone[2 * colonneFiltre + 1];
+                    if (max < debut || min >= fin) {
+                        continue;
+                    }
+
+                    int premiere = b * TAILLE_BLOC;
+                    int taille = Math.min(TAILLE_BLOC, nombreLignes - premiere);
+
+                    lireColonne(colonneFiltre, premiere, taille, bloc, lecture);
+                    for (int colonne : colonnesLues) {
+                        if (colonne != colonneFiltre) {
+                            lireColonne(colonne, premiere, taille, bloc, lecture);
+                        }
+                    }
+                    bloc.fixerTaille(taille);
+
+                    // Bloc entièrement dans l'intervalle: pas de filtre ligne par ligne
+                    if (min < debut || max >= fin) {
+                        bloc.filtrer(colonneFiltre, debut, fin);
+                    }
+                    if (bloc.taille() > 0) {
+                        traitement.traiter(bloc);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("✗ Erreur lors de la lecture de " + dossier + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // ========== ÉCRITURES OBSERVÉES ==========
+
+    @Override
+    public void ligneAjoutee(String fileName, String[] ligne, long position) {
+        String jour = table.jourDe(fileName);
+        if (jour == null) {
+            return;
+        }
+
+        long[] valeurs = new long[noms.size()];
+        for (int c = 0; c < valeurs.length; c++) {
+            valeurs[c] = convertir(c, ligne[colonnesSource.get(c)]);
+        }
+
+        synchronized (this) {
+            if (perimeeDepuis != null && jour.compareTo(perimeeDepuis) >= 0) {
+                return; // ce jour sera recopié
+            }
+            if (jour.compareTo(dernierJour) < 0) {
+                perimer(jour);
+                return;
+            }
+            dernierJour = jour;
+            enAttente.add(new Ajout(jour, position, valeurs));
+        }
+    }
+
+    @Override
+    public void ligneModifiee(String fileName, String[] ligne) {
+        perimerPartition(fileName);
+    }
+
+    @Override
+    public void ligneSupprimee(String fileName, int id) {
+        perimerPartition(fileName);
+    }
+
+    @Override
+    public void fichierReecrit(String fileName) {
+        perimerPartition(fileName);
+    }
+
+    private void perimerPartition(String fileName) {
+        String jour = table.jourDe(fileName);
+        if (jour != null) {
+            perimer(jour);
+        }
+    }
+
+    private synchronized void perimer(String jour) {
+        if (perimeeDepuis == null || jour.compareTo(perimeeDepuis) < 0) {
+            perimeeDepuis = jour;
+        }
+    }
+
+    // ========== SYNCHRONISATION (verrouColonnes) ==========
+
+    /**
+     * Recopie les jours périmés puis ajoute les lignes en attente
+     */
+    private void synchroniser() {
+        String depuis;
+        List<Ajout> ajouts;
+        synchronized (this) {
+            depuis = perimeeDepuis;
+            ajouts = enAttente;
+            perimeeDepuis = null;
+            enAttente = new ArrayList<>();
+
+            // Les ajouts en attente sont relus avec leur partition
+            if (depuis != null && !ajouts.isEmpty() && ajouts.get(0).jour.compareTo(depuis) < 0) {
+                depuis = ajouts.get(0).jour;
+            }
+        }
+
+        try {
+            if (depuis != null) {
+                recopier(depuis);
+            } else {
+                for (Ajout ajout : ajouts) {
+                    Partition partition = partitions.get(ajout.jour);
+                    if (partition == null) {
+                        partition = new Partition(nombreLignes);
+                        partitions.put(ajout.jour, partition);
+                    }
+                    // Déjà lue avec sa partition
+                    if (ajout.position <= partition.derniereLue) {
+                        continue;
+                    }
+                    ajouter(ajout.valeurs);
+                    partition.nombre++;
+                    partition.derniereLue = ajout.position;
+                    partition.version = "";
+                }
+            }
+            ecrireTampons();
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture de " + dossier + ": " + e.getMessage());
+            synchronized (this) {
+                perimer(partitions.isEmpty() ? "" : partitions.firstKey());
+            }
+            return;
+        }
+
+        if (modifiee) {
+            enregistrer();
+            modifiee = false;
+        }
+    }
+
+    /**
+     * Recopie les partitions à partir d'un jour (les lignes suivantes des
+     * colonnes sont d'abord retirées)
+     */
+    private void recopier(String depuis) throws IOException {
+        Map.Entry<String, Partition> premiere = partitions.ceilingEntry(depuis);
+        tronquer(premiere != null ? premiere.getValue().premiereLigne : nombreLignes);
+        partitions.tailMap(depuis, true).clear();
+
+        for (String jour : table.jours()) {
+            if (jour.compareTo(depuis) < 0) {
+                continue;
+            }
+
+            Partition partition = new Partition(nombreLignes);
+            try {
+                partition.version = table.parcourirJour(jour, ligne -> {
+                    long[] valeurs = new long[noms.size()];
+                    for (int c = 0; c < valeurs.length; c++) {
+                        valeurs[c] = convertir(c, ligne);
+                    }
+                    try {
+                        ajouter(valeurs);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    partition.nombre++;
+                    partition.derniereLue = ligne.position();
+                    return true;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            partitions.put(jour, partition);
+
+            synchronized (this) {
+                if (jour.compareTo(dernierJour) > 0) {
+                    dernierJour = jour;
+                }
+            }
+        }
+    }
+
+    // ========== ÉCRITURE DES COLONNES ==========
+
+    /**
+     * Ajoute une ligne à la fin des colonnes (écrite par blocs)
+     */
+    private void ajouter(long[] valeurs) throws IOException {
+        int bloc = nombreLignes / TAILLE_BLOC;
+        if (bloc == zones.size()) {
+            zones.add(zoneVide());
+        }
+        long[] zone = zones.get(bloc);
+
+        for (int c = 0; c < valeurs.length; c++) {
+            if (types.get(c) == ENTIER) {
+                tampons[c].putInt((int) valeurs[c]);
+            } else {
+                tampons[c].putLong(valeurs[c]);
+            }
+            zone[2 * c] = Math.min(zone[2 * c], valeurs[c]);
+            zone[2 * c + 1] = Math.max(zone[2 * c + 1], valeurs[c]);
+        }
+
+        nombreLignes++;
+        modifiee = true;
+        if (nombreLignes - premiereLigneTampon == TAILLE_BLOC) {
+            ecrireTampons();
+        }
+    }
+
+    private void ecrireTampons() throws IOException {
+        for (int c = 0; c < canaux.length; c++) {
+            tampons[c].flip();
+            long position = (long) premiereLigneTampon * taille(c);
+            while (tampons[c].hasRemaining()) {
+                position += canaux[c].write(tampons[c], position);
+            }
+            tampons[c].clear();
+        }
+        premiereLigneTampon = nombreLignes;
+    }
+
+    /**
+     * Ne garde que les premières lignes des colonnes
+     */
+    private void tronquer(int lignes) throws IOException {
+        ecrireTampons();
+
+        for (int c = 0; c < canaux.length; c++) {
+            canaux[c].truncate((long) lignes * taille(c));
+        }
+        nombreLignes = lignes;
+        premiereLigneTampon = lignes;
+        modifiee = true;
+
+        // La zone du dernier bloc, s'il est incomplet, est recalculée
+        while (zones.size() > (lignes + TAILLE_BLOC - 1) / TAILLE_BLOC) {
+            zones.remove(zones.size() - 1);
+        }
+        if (lignes % TAILLE_BLOC != 0) {
+            zones.set(zones.size() - 1, calculerZone(zones.size() - 1));
+        }
+    }
+
+    // ========== LECTURE DES COLONNES ==========
+
+    private void lireColonne(int colonne, int premiere, int taille, BlocColonnes bloc, ByteBuffer lecture) throws IOException {
+        int largeur = taille(colonne);
+        lecture.clear().limit(taille * largeur);
+
+        long position = (long) premiere * largeur;
+        while (lecture.hasRemaining()) {
+            if (canaux[colonne].read(lecture, position + lecture.position()) < 0) {
+                throw new IOException("colonne " + noms.get(colonne) + " incomplète");
+            }
+        }
+        lecture.flip();
+
+        long[] valeurs = bloc.tableau(colonne, TAILLE_BLOC);
+        if (types.get(colonne) == ENTIER) {
+            for (int i = 0; i < taille; i++) {
+                valeurs[i] = lecture.getInt();
+            }
+        } else {
+            lecture.asLongBuffer().get(valeurs, 0, taille);
+        }
+    }
+
+    private long[] calculerZone(int bloc) throws IOException {
+        int premiere = bloc * TAILLE_BLOC;
+        int taille = Math.min(TAILLE_BLOC, nombreLignes - premiere);
+        BlocColonnes valeurs = new BlocColonnes(noms.size());
+        ByteBuffer lecture = ByteBuffer.allocate(TAILLE_BLOC * Long.BYTES);
+
+        long[] zone = zoneVide();
+        for (int c = 0; c < noms.size(); c++) {
+            lireColonne(c, premiere, taille, valeurs, lecture);
+            long[] colonne = valeurs.colonne(c);
+            for (int i = 0; i < taille; i++) {
+                zone[2 * c] = Math.min(zone[2 * c], colonne[i]);
+                zone[2 * c + 1] = Math.max(zone[2 * c + 1], colonne[i]);
+            }
+        }
+        return zone;
+    }
+
+    // ========== PERSISTANCE ==========
+
+    /**
+     * Charge la liste des partitions copiées et les zones
+     *
+     * Des colonnes plus longues que prévu (arrêt avant l'enregistrement)
+     * sont coupées; plus courtes, elles sont entièrement recopiées.
+     */
+    private void charger() {
+        int lignes = 0;
+        for (String[] ligne : CSVHelper.lireFichier(dossier + PARTITIONS)) {
+            try {
+                Partition partition = new Partition(Integer.parseInt(ligne[2]));
+                partition.version = ligne[1];
+                partition.nombre = Integer.parseInt(ligne[3]);
+                if (partition.premiereLigne != lignes) {
+                    break;
+                }
+                partitions.put(ligne[0], partition);
+                lignes += partition.nombre;
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                break;
+            }
+        }
+
+        try {
+            for (int c = 0; c < canaux.length; c++) {
+                if (canaux[c].size() < (long) lignes * taille(c)) {
+                    partitions.clear();
+                    lignes = 0;
+                }
+            }
+
+            for (int c = 0; c < canaux.length; c++) {
+                canaux[c].truncate((long) lignes * taille(c));
+            }
+            nombreLignes = lignes;
+            premiereLigneTampon = lignes;
+
+            List<String[]> enregistrees = CSVHelper.lireFichier(dossier + ZONES);
+            int nombreBlocs = (lignes + TAILLE_BLOC - 1) / TAILLE_BLOC;
+            for (int b = 0; b < nombreBlocs; b++) {
+                long[] zone = b < enregistrees.size() ? lireZone(enregistrees.get(b)) : null;
+                zones.add(zone != null ? zone : calculerZone(b));
+            }
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture de " + dossier + ": " + e.getMessage());
+            partitions.clear();
+            zones.clear();
+            nombreLignes = 0;
+            premiereLigneTampon = 0;
+        }
+
+        if (!partitions.isEmpty()) {
+            dernierJour = partitions.lastKey();
+        }
+    }
+
+    private long[] lireZone(String[] ligne) {
+        if (ligne.length != 2 * noms.size()) {
+            return null;
+        }
+        try {
+            long[] zone = new long[ligne.length];
+            for (int i = 0; i < zone.length; i++) {
+                zone[i] = Long.parseLong(ligne[i]);
+            }
+            return zone;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Enregistre les partitions copiées et les zones (remplacement
+     * atomique, voir CSVHelper.remplacerFichier)
+     */
+    private void enregistrer() {
+        List<String[]> lignesPartitions = new ArrayList<>();
+        for (Map.Entry<String, Partition> entree : partitions.entrySet()) {
+            Partition partition = entree.getValue();
+            lignesPartitions.add(new String[]{
+                entree.getKey(),
+                partition.version,
+                String.valueOf(partition.premiereLigne),
+                String.valueOf(partition.nombre)
+            });
+        }
+
+        String[] entetesZones = new String[2 * noms.size()];
+        for (int c = 0; c < noms.size(); c++) {
+            entetesZones[2 * c] = "min_" + noms.get(c);
+            entetesZones[2 * c + 1] = "max_" + noms.get(c);
+        }
+        List<String[]> lignesZones = new ArrayList<>();
+        for (long[] zone : zones) {
+            String[] ligne = new String[zone.length];
+            for (int i = 0; i < zone.length; i++) {
+                ligne[i] = String.valueOf(zone[i]);
+            }
+            lignesZones.add(ligne);
+        }
+
+        // Les zones d'abord: des partitions enregistrées sans leurs zones les font recalculer
+        if (remplacer(ZONES, entetesZones, lignesZones)) {
+            remplacer(PARTITIONS, ENTETES_PARTITIONS, lignesPartitions);
+        }
+    }
+
+    private boolean remplacer(String nom, String[] entetes, List<String[]> lignes) {
+        try {
+            CSVHelper.remplacerFichier(dossier + nom, entetes, lignes);
+            return true;
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de l'écriture de " + dossier + nom + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    private int taille(int colonne) {
+        return types.get(colonne) == ENTIER ? Integer.BYTES : Long.BYTES;
+    }
+
+    private long[] zoneVide() {
+        long[] zone = new long[2 * noms.size()];
+        for (int c = 0; c < noms.size(); c++) {
+            zone[2 * c] = Long.MAX_VALUE;
+            zone[2 * c + 1] = Long.MIN_VALUE;
+        }
+        return zone;
+    }
+
+    /**
+     * Valeur d'une colonne lue en mémoire mappée (0 si illisible)
+     */
+    private long convertir(int colonne, LigneCSV ligne) {
+        int source = colonnesSource.get(colonne);
+        try {
+            switch (types.get(colonne)) {
+                case ENTIER:
+                    return ligne.entier(source);
+                case MONTANT:
+                    return ligne.montant(source);
+                default:
+                    return Horodatage.lire(ligne.texte(source));
+            }
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Valeur d'une colonne d'une ligne ajoutée (0 si illisible)
+     */
+    private long convertir(int colonne, String texte) {
+        try {
+            switch (types.get(colonne)) {
+                case ENTIER:
+                    return Integer.parseInt(texte.trim());
+                case MONTANT:
+                    return Montant.lire(texte);
+                default:
+                    return Horodatage.lire(texte);
+            }
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Les lignes copiées d'une partition
+     */
+    private static class Partition {
+        final int premiereLigne;
+        int nombre;
+        // Version de la partition copiée ("" = ajouts copiés depuis: à recopier au démarrage)
+        String version = "";
+        // Position de la dernière ligne copiée dans la partition
+        long derniereLue = -1;
+
+        Partition(int premiereLigne) {
+            this.premiereLigne = premiereLigne;
+        }
+    }
+
+    /**
+     * Une ligne ajoutée à une partition, en attente de copie
+     */
+    private static class Ajout {
+        final String jour;
+        final long position;
+        final long[] valeurs;
+
+        Ajout(String jour, long position, long[] valeurs) {
+            this.jour = jour;
+            this.position = position;
+            this.valeurs = valeurs;
+        }
+    }
+}
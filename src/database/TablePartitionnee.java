@@ -0,0 +1,604 @@
+package database;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Classe TablePartitionnee - Table d'historique découpée en un fichier par jour
+ *
+ * Au lieu d'un seul fichier qui grossit chaque jour (ventes.csv), chaque
+ * journée a son propre fichier, avec les mêmes en-têtes:
+ *
+ * data/ventes/
+ *     manifest.csv
+ *     2026-01-13.csv
+ *     2026-01-14.csv
+ *
+ * Le manifeste liste les partitions et la plage d'IDs de chacune:
+ *
+ * partition;premierId;dernierId
+ * 2026-01-13;1;103
+ * 2026-01-14;4;210
+ *
+ * Une requête sur une période n'ouvre que les fichiers des jours concernés
+ * (les ventes du jour coûtent autant le premier jour que le 3000e), et une
+ * recherche par ID n'ouvre que les partitions dont la plage contient l'ID.
+ *
+ * Le manifeste est enregistré AVANT l'écriture d'une ligne qui sort de la
+ * plage connue. Pour ne pas le réécrire à chaque ajout, la plage est
+ * étendue de MARGE_IDS d'un coup: les plages peuvent donc se chevaucher
+ * un peu (une recherche par ID ouvre alors deux partitions).
+ *
+ * Si le manifeste ne peut pas être enregistré (disque plein...), la ligne
+ * est tout de même écrite et le manifeste est réessayé à l'ajout suivant.
+ * Au démarrage, il est complété d'après les fichiers du dossier: une
+ * partition absente, ou dont les premiers ou derniers IDs sortent de sa
+ * plage, y est ajoutée ou étendue (seuls le début et la fin de chaque
+ * fichier sont lus).
+ *
+ * L'ancien fichier unique (ventes.csv) est découpé automatiquement au
+ * premier démarrage, puis renommé en ventes.csv.migre.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class TablePartitionnee {
+
+    private static final String MANIFESTE = "manifest.csv";
+    private static final String[] ENTETES_MANIFESTE = {"partition", "premierId", "dernierId"};
+
+    // Extension de la plage d'IDs à chaque réécriture du manifeste
+    private static final int MARGE_IDS = 100;
+
+    // Octets lus au début et à la fin d'une partition (voir completerManifeste)
+    private static final int TAILLE_EXTREMITE = 4096;
+
+    // Partition des lignes dont la date est illisible
+    private static final String JOUR_INCONNU = "0000-00-00";
+
+    private final String nom;
+    private final String fichierUnique;
+    private final String[] entetes;
+    private final int colonneDate;
+
+    // Jour (yyyy-MM-dd) -> plage d'IDs, dans l'ordre chronologique
+    private final TreeMap<String, int[]> partitions = new TreeMap<>();
+    private boolean initialisee = false;
+
+    // Le dernier enregistrement du manifeste a échoué (réessayé à l'ajout suivant)
+    private boolean manifesteEnRetard = false;
+
+    /**
+     * @param nom         Le nom de la table et de son dossier (ex: "ventes")
+     * @param entetes     Les en-têtes des colonnes (colonne 0 = ID)
+     * @param colonneDate La colonne de date (format yyyy-MM-dd HH:mm:ss)
+     */
+    public TablePartitionnee(String nom, String[] entetes, int colonneDate) {
+        this.nom = nom;
+        this.fichierUnique = nom + ".csv";
+        this.entetes = entetes;
+        this.colonneDate = colonneDate;
+    }
+
+    /**
+     * Charge le manifeste et découpe l'ancien fichier unique (une seule fois)
+     *
+     * Doit être appelée après GestionnaireTransactions.recuperer(), pour que
+     * les transactions rejouées sur l'ancien fichier soient découpées aussi.
+     */
+    public synchronized void initialiser() {
+        if (initialisee) {
+            return;
+        }
+
+        CSVHelper.initDataFolder();
+        new File(CSVHelper.DATA_FOLDER + nom).mkdirs();
+
+        lireManifeste();
+        completerManifeste();
+        migrerFichierUnique();
+
+        initialisee = true;
+    }
+
+    // ========== ÉCRITURE ==========
+
+    /**
+     * Retourne le prochain ID de la table
+     *
+     * La séquence garde le nom de l'ancien fichier unique (ex: "ventes.csv"):
+     * les IDs continuent là où ils s'étaient arrêtés.
+     */
+    public int prochainId() {
+        return Sequences.prochainId(fichierUnique, this::dernierIdConnu);
+    }
+
+    /**
+     * Prépare l'ajout d'une ligne: crée la partition de son jour si besoin
+     * et étend la plage d'IDs du manifeste
+     *
+     * @param ligne La ligne à ajouter (ID et date déjà remplis)
+     * @return Le fichier où écrire la ligne (ex: "ventes/2026-01-13.csv")
+     */
+    public synchronized String preparerAjout(String[] ligne) {
+        String jour = jour(ligne[colonneDate]);
+        int id = Integer.parseInt(ligne[0]);
+        int[] plage = partitions.get(jour);
+
+        if (plage == null) {
+            partitions.put(jour, new int[]{id, id + MARGE_IDS});
+            enregistrerManifeste();
+            CSVHelper.creerFichierSiAbsent(fichier(jour), entetes);
+
+        } else if (id < plage[0] || id > plage[1]) {
+            plage[0] = Math.min(plage[0], id);
+            plage[1] = Math.max(plage[1], id + MARGE_IDS);
+            enregistrerManifeste();
+
+        } else if (manifesteEnRetard) {
+            enregistrerManifeste();
+        }
+
+        return fichier(jour);
+    }
+
+    /**
+     * Remplace tout le contenu de la partition d'un jour (ex: par un résumé)
+     *
+     * Remplacement atomique (voir CSVHelper.remplacerFichier) sous le
+     * verrou du fichier: une lecture voit l'ancien contenu ou le nouveau,
+     * jamais un fichier à moitié écrit.
+     * Les IDs des nouvelles lignes doivent rester dans la plage du jour.
+     *
+     * @return true si la partition a été remplacée
+     */
+    public boolean remplacerPartition(String jour, List<String[]> lignes) {
+        String fileName = fichier(jour);
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fileName);
+        verrou.writeLock().lock();
+
+        try {
+            CSVHelper.remplacerFichier(fileName, entetes, lignes);
+            JournalCSV.effacer(fileName);
+
+            for (ObservateurFichier observateur : CSVHelper.observateurs()) {
+                observateur.fichierReecrit(fileName);
+            }
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors du remplacement de " + fileName + ": " + e.getMessage());
+            return false;
+
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Toutes les partitions, dans l'ordre chronologique
+     */
+    public synchronized List<String> toutesPartitions() {
+        List<String> fichiers = new ArrayList<>();
+        for (String jour : partitions.keySet()) {
+            fichiers.add(fichier(jour));
+        }
+        return fichiers;
+    }
+
+    /**
+     * Les jours qui ont une partition (yyyy-MM-dd), dans l'ordre chronologique
+     */
+    public synchronized List<String> jours() {
+        return new ArrayList<>(partitions.keySet());
+    }
+
+    /**
+     * Parcourt la partition d'un jour et retourne sa version
+     * (voir CSVHelper.versionFichier), lue sous le même verrou: le résultat
+     * du parcours correspond exactement à cette version
+     */
+    public String parcourirJour(String jour, TraitementLigneCSV traitement) {
+        String fichier = fichier(jour);
+        ReentrantReadWriteLock verrou = CSVHelper.verrou(fichier);
+        verrou.readLock().lock();
+
+        try {
+            CSVHelper.parcourirFichierMappe(fichier, traitement);
+            return CSVHelper.versionFichier(fichier);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Le nom de la table, qui est aussi celui de son dossier (ex: "ventes")
+     */
+    public String nom() {
+        return nom;
+    }
+
+    /**
+     * La partition d'un jour (ex: "ventes/2026-01-13.csv")
+     */
+    public String partitionDuJour(String jour) {
+        return fichier(jour);
+    }
+
+    /**
+     * Le jour d'une partition de la table
+     *
+     * @return Le jour (yyyy-MM-dd), ou null si le fichier n'est pas une partition de la table
+     */
+    public String jourDe(String fileName) {
+        String prefixe = nom + "/";
+        if (!fileName.startsWith(prefixe) || !fileName.endsWith(".csv")
+                || fileName.length() != prefixe.length() + JOUR_INCONNU.length() + 4) {
+            return null;
+        }
+
+        String jour = fileName.substring(prefixe.length(), prefixe.length() + JOUR_INCONNU.length());
+        return jour(jour).equals(jour) ? jour : null;
+    }
+
+    /**
+     * Version actuelle de la partition d'un jour (voir CSVHelper.versionFichier)
+     */
+    public String versionJour(String jour) {
+        return CSVHelper.versionFichier(fichier(jour));
+    }
+
+    /**
+     * Les partitions d'une période (jours inclus, format yyyy-MM-dd)
+     */
+    public synchronized List<String> partitionsEntre(String premierJour, String dernierJour) {
+        List<String> fichiers = new ArrayList<>();
+        if (premierJour.compareTo(dernierJour) > 0) {
+            return fichiers;
+        }
+
+        for (String jour : partitions.subMap(premierJour, true, dernierJour, true).keySet()) {
+            fichiers.add(fichier(jour));
+        }
+        return fichiers;
+    }
+
+    /**
+     * Les partitions après un jour (exclu) jusqu'à un autre (inclus)
+     */
+    public synchronized List<String> partitionsApres(String jourExclu, String dernierJour) {
+        List<String> fichiers = new ArrayList<>();
+        if (jourExclu.compareTo(dernierJour) >= 0) {
+            return fichiers;
+        }
+
+        for (String jour : partitions.subMap(jourExclu, false, dernierJour, true).keySet()) {
+            fichiers.add(fichier(jour));
+        }
+        return fichiers;
+    }
+
+    /**
+     * Les partitions dont la plage d'IDs contient l'ID
+     */
+    public synchronized List<String> partitionsPourId(int id) {
+        List<String> fichiers = new ArrayList<>();
+        for (Map.Entry<String, int[]> entree : partitions.entrySet()) {
+            if (id >= entree.getValue()[0] && id <= entree.getValue()[1]) {
+                fichiers.add(fichier(entree.getKey()));
+            }
+        }
+        return fichiers;
+    }
+
+    /**
+     * La partition d'une ligne existante (déterminée par sa date)
+     */
+    public String partitionDe(String[] ligne) {
+        return fichier(jour(ligne[colonneDate]));
+    }
+
+    /**
+     * Cherche une ligne par son ID
+     *
+     * @return Les colonnes de la ligne, ou null si l'ID n'existe pas
+     */
+    public String[] trouverLigne(int id) {
+        for (String partition : partitionsPourId(id)) {
+            String[][] resultat = new String[1][];
+
+            CSVHelper.parcourirFichierMappe(partition, ligne -> {
+                if (ligne.entier(0) == id) {
+                    resultat[0] = ligne.colonnes();
+                    return false;
+                }
+                return true;
+            });
+
+            if (resultat[0] != null) {
+                return resultat[0];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parcourt plusieurs partitions en parallèle et fusionne les résultats
+     * dans l'ordre chronologique (voir CSVHelper.agregerFichier)
+     */
+    public <R> R agreger(List<String> fichiers, Supplier<R> initial,
+                         BiConsumer<R, LigneCSV> accumuler, BinaryOperator<R> fusionner) {
+        return fichiers.parallelStream()
+            .map(fichier -> CSVHelper.agregerFichier(fichier, initial, accumuler, fusionner))
+            .reduce(fusionner)
+            .orElseGet(initial);
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    /**
+     * Le jour d'une date au format yyyy-MM-dd HH:mm:ss
+     */
+    private static String jour(String date) {
+        if (date.length() < 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return JOUR_INCONNU;
+        }
+        return date.substring(0, 10);
+    }
+
+    private String fichier(String jour) {
+        return nom + "/" + jour + ".csv";
+    }
+
+    private synchronized int dernierIdConnu() {
+        int dernier = 0;
+        for (int[] plage : partitions.values()) {
+            dernier = Math.max(dernier, plage[1]);
+        }
+        return dernier;
+    }
+
+    // ========== MANIFESTE ==========
+
+    private void lireManifeste() {
+        for (String[] ligne : CSVHelper.lireFichier(nom + "/" + MANIFESTE)) {
+            try {
+                partitions.put(ligne[0], new int[]{Integer.parseInt(ligne[1]), Integer.parseInt(ligne[2])});
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                System.err.println("⚠️ Ligne invalide dans le manifeste de " + nom + ": " + String.join(CSVHelper.SEPARATOR, ligne));
+            }
+        }
+    }
+
+    /**
+     * Remplacement atomique du manifeste (voir CSVHelper.remplacerFichier)
+     */
+    private void enregistrerManifeste() {
+        List<String[]> lignes = new ArrayList<>();
+        for (Map.Entry<String, int[]> entree : partitions.entrySet()) {
+            lignes.add(new String[]{entree.getKey(), String.valueOf(entree.getValue()[0]), String.valueOf(entree.getValue()[1])});
+        }
+
+        try {
+            CSVHelper.remplacerFichier(nom + "/" + MANIFESTE, ENTETES_MANIFESTE, lignes);
+            manifesteEnRetard = false;
+        } catch (IOException e) {
+            manifesteEnRetard = true;
+            System.err.println("✗ Erreur lors de l'écriture du manifeste de " + nom + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ajoute au manifeste les partitions du dossier qu'il ne couvre pas
+     * (manifeste non enregistré avant un arrêt)
+     *
+     * Les IDs sont croissants dans une partition: les premières lignes
+     * donnent le plus petit, les dernières le plus grand.
+     */
+    private void completerManifeste() {
+        File[] fichiers = new File(CSVHelper.DATA_FOLDER + nom).listFiles(
+            (dossier, nomFichier) -> nomFichier.endsWith(".csv") && !nomFichier.equals(MANIFESTE));
+        if (fichiers == null) {
+            return;
+        }
+
+        boolean modifie = false;
+
+        for (File fichier : fichiers) {
+            String jour = fichier.getName().substring(0, fichier.getName().length() - ".csv".length());
+            int[] extremes = idsExtremes(fichier);
+            if (extremes == null) {
+                continue;
+            }
+
+            int[] plage = partitions.get(jour);
+            if (plage == null) {
+                partitions.put(jour, extremes);
+                modifie = true;
+                System.out.println("⚠️ Partition " + jour + " absente du manifeste de " + nom + ": ajoutée.");
+            } else if (extremes[0] < plage[0] || extremes[1] > plage[1]) {
+                plage[0] = Math.min(plage[0], extremes[0]);
+                plage[1] = Math.max(plage[1], extremes[1]);
+                modifie = true;
+                System.out.println("⚠️ Plage d'IDs de la partition " + jour + " étendue dans le manifeste de " + nom + ".");
+            }
+        }
+
+        if (modifie) {
+            enregistrerManifeste();
+        }
+    }
+
+    /**
+     * Le plus petit et le plus grand ID parmi les premières et les dernières
+     * lignes d'une partition (null si elle n'a aucune ligne lisible)
+     */
+    private static int[] idsExtremes(File fichier) {
+        int[] extremes = null;
+
+        try (RandomAccessFile lecteur = new RandomAccessFile(fichier, "r")) {
+            long taille = lecteur.length();
+            long finDebut = Math.min(taille, TAILLE_EXTREMITE);
+            long debutFin = Math.max(finDebut, taille - TAILLE_EXTREMITE);
+
+            // Début: la première ligne est l'en-tête
+            extremes = idsLignes(lire(lecteur, 0, finDebut), true, finDebut < taille, extremes);
+            if (debutFin < taille) {
+                // Fin: la première ligne lue peut être coupée
+                extremes = idsLignes(lire(lecteur, debutFin, taille), debutFin > finDebut, false, extremes);
+            }
+
+        } catch (IOException e) {
+            System.err.println("✗ Erreur lors de la lecture de " + fichier.getName() + ": " + e.getMessage());
+        }
+
+        return extremes;
+    }
+
+    private static String lire(RandomAccessFile lecteur, long debut, long fin) throws IOException {
+        byte[] octets = new byte[(int) (fin - debut)];
+        lecteur.seek(debut);
+        lecteur.readFully(octets);
+        return new String(octets);
+    }
+
+    /**
+     * Étend [min, max] avec les IDs des lignes complètes d'un morceau de fichier
+     *
+     * @param sauterPremiere La première ligne est l'en-tête ou une ligne coupée
+     * @param sauterDerniere La dernière ligne peut être coupée
+     */
+    private static int[] idsLignes(String morceau, boolean sauterPremiere, boolean sauterDerniere, int[] extremes) {
+        String[] lignes = morceau.split("\\r?\\n", -1);
+        int debut = sauterPremiere ? 1 : 0;
+        int fin = sauterDerniere ? lignes.length - 1 : lignes.length;
+
+        for (int i = debut; i < fin; i++) {
+            int separateur = lignes[i].indexOf(CSVHelper.SEPARATOR);
+            try {
+                int id = Integer.parseInt(separateur < 0 ? lignes[i] : lignes[i].substring(0, separateur));
+                if (extremes == null) {
+                    extremes = new int[]{id, id};
+                } else {
+                    extremes[0] = Math.min(extremes[0], id);
+                    extremes[1] = Math.max(extremes[1], id);
+                }
+            } catch (NumberFormatException e) {
+                // Ligne vide ou incomplète
+            }
+        }
+
+        return extremes;
+    }
+
+    // ========== MIGRATION ==========
+
+    /**
+     * Découpe l'ancien fichier unique en partitions
+     *
+     * Le fichier est lu en flux (journal appliqué). Les lignes étant presque
+     * toujours dans l'ordre chronologique, un seul fichier de partition est
+     * ouvert à la fois. Le manifeste n'est écrit qu'à la fin: si la migration
+     * est interrompue, elle recommence entièrement au démarrage suivant.
+     */
+    private void migrerFichierUnique() {
+        File ancien = new File(CSVHelper.DATA_FOLDER + fichierUnique);
+        if (!ancien.exists()) {
+            return;
+        }
+
+        // Manifeste déjà écrit: seul le renommage avait été interrompu
+        if (partitions.isEmpty()) {
+            Map<String, int[]> plages = new TreeMap<>();
+            PrintWriter[] writer = {null};
+            String[] jourOuvert = {null};
+
+            try {
+                CSVHelper.parcourirFichier(fichierUnique, ligne -> {
+                    String jour = jour(ligne[colonneDate]);
+                    int id;
+                    try {
+                        id = Integer.parseInt(ligne[0]);
+                    } catch (NumberFormatException e) {
+                        System.err.println("⚠️ Ligne ignorée (ID invalide) dans " + fichierUnique + ": " + String.join(CSVHelper.SEPARATOR, ligne));
+                        return true;
+                    }
+
+                    if (!jour.equals(jourOuvert[0])) {
+                        if (writer[0] != null) {
+                            fermerPartition(writer[0], jourOuvert[0]);
+                        }
+                        writer[0] = ouvrirPartition(jour, !plages.containsKey(jour));
+                        jourOuvert[0] = jour;
+                    }
+                    writer[0].println(String.join(CSVHelper.SEPARATOR, ligne));
+
+                    int[] plage = plages.computeIfAbsent(jour, j -> new int[]{id, id});
+                    plage[0] = Math.min(plage[0], id);
+                    plage[1] = Math.max(plage[1], id);
+                    return true;
+                });
+
+                if (writer[0] != null) {
+                    fermerPartition(writer[0], jourOuvert[0]);
+                    writer[0] = null;
+                }
+
+            } catch (UncheckedIOException e) {
+                System.err.println("✗ Erreur lors du découpage de " + fichierUnique + ": " + e.getCause().getMessage());
+                return;
+
+            } finally {
+                if (writer[0] != null) {
+                    writer[0].close();
+                }
+            }
+
+            partitions.putAll(plages);
+            enregistrerManifeste();
+            System.out.println("✓ " + fichierUnique + " découpé en " + plages.size() + " partition(s) journalière(s).");
+        }
+
+        // Garder l'ancien fichier comme sauvegarde
+        File sauvegarde = new File(CSVHelper.DATA_FOLDER + fichierUnique + ".migre");
+        if (ancien.renameTo(sauvegarde)) {
+            JournalCSV.effacer(fichierUnique);
+        } else {
+            System.err.println("✗ Impossible de renommer " + fichierUnique + " en " + sauvegarde.getName());
+        }
+    }
+
+    /**
+     * Ouvre le fichier d'une partition pendant la migration
+     *
+     * @param nouveau true à la première ouverture: le fichier est recréé avec les en-têtes
+     */
+    private PrintWriter ouvrirPartition(String jour, boolean nouveau) {
+        try {
+            PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(CSVHelper.DATA_FOLDER + fichier(jour), !nouveau)));
+            if (nouveau) {
+                writer.println(String.join(CSVHelper.SEPARATOR, entetes));
+            }
+            return writer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ferme le fichier d'une partition pendant la migration
+     * (un PrintWriter ne lance pas d'exception: ses erreurs sont vérifiées ici)
+     */
+    private void fermerPartition(PrintWriter writer, String jour) {
+        writer.close();
+        if (writer.checkError()) {
+            throw new UncheckedIOException(new IOException("écriture de " + fichier(jour) + " incomplète"));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package database;
+
+/**
+ * Interface TraitementBlocColonnes - Traite les blocs d'une table en colonnes
+ *
+ * Utilisée avec TableColonnes.parcourir: chaque appel reçoit des tableaux
+ * de valeurs (une colonne par tableau), à parcourir dans une simple boucle.
+ *
+ * Exemple:
+ * COLONNES.parcourir(DATE, debut, fin, new int[]{MONTANT}, bloc -> {
+ *     long[] montants = bloc.colonne(MONTANT);
+ *     for (int i = 0; i < bloc.taille(); i++) {
+ *         total[0] += montants[i];
+ *     }
+ * });
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public interface TraitementBlocColonnes {
+
+    /**
+     * Traite un bloc de lignes
+     *
+     * @param bloc Les colonnes lues (valables seulement pendant l'appel)
+     */
+    void traiter(BlocColonnes bloc);
+}
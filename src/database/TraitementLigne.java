@@ -0,0 +1,27 @@
+package database;
+
+/**
+ * Interface TraitementLigne - Traite les lignes d'un fichier CSV une par une
+ * 
+ * Utilisée avec CSVHelper.parcourirFichier: le fichier est lu ligne par
+ * ligne, sans jamais être chargé entièrement en mémoire.
+ * 
+ * Exemple:
+ * CSVHelper.parcourirFichier("ventes.csv", ligne -> {
+ *     total[0] += Montant.lire(ligne[5]);
+ *     return true; // continuer
+ * });
+ * 
+ * @author Étudiant
+ * @version 1.0
+ */
+public interface TraitementLigne {
+    
+    /**
+     * Traite une ligne du fichier
+     * 
+     * @param ligne Les colonnes de la ligne
+     * @return true pour continuer la lecture, false pour l'arrêter
+     */
+    boolean traiter(String[] ligne);
+}
@@ -0,0 +1,27 @@
+package database;
+
+/**
+ * Interface TraitementLigneBinaire - Traite les lignes d'une table binaire
+ *
+ * Utilisée avec TableBinaire.parcourir: les colonnes sont lues à la
+ * demande, directement dans les octets (voir LigneBinaire).
+ *
+ * Exemple:
+ * TABLE.parcourir(ligne -> {
+ *     total[0] += ligne.montant(5);
+ *     return true; // continuer
+ * });
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public interface TraitementLigneBinaire {
+
+    /**
+     * Traite une ligne de la table
+     *
+     * @param ligne Vue sur la ligne (valable seulement pendant l'appel)
+     * @return true pour continuer la lecture, false pour l'arrêter
+     */
+    boolean traiter(LigneBinaire ligne);
+}
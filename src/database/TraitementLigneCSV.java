@@ -0,0 +1,28 @@
+package database;
+
+/**
+ * Interface TraitementLigneCSV - Traite les lignes d'un fichier lu en mémoire mappée
+ * 
+ * Utilisée avec CSVHelper.parcourirFichierMappe: contrairement à
+ * TraitementLigne, la ligne n'est pas découpée en String. Les colonnes
+ * sont lues à la demande (voir LigneCSV).
+ * 
+ * Exemple:
+ * CSVHelper.parcourirFichierMappe("ventes.csv", ligne -> {
+ *     total[0] += ligne.montant(5);
+ *     return true; // continuer
+ * });
+ * 
+ * @author Étudiant
+ * @version 1.0
+ */
+public interface TraitementLigneCSV {
+    
+    /**
+     * Traite une ligne du fichier
+     * 
+     * @param ligne Vue sur la ligne (valable seulement pendant l'appel)
+     * @return true pour continuer la lecture, false pour l'arrêter
+     */
+    boolean traiter(LigneCSV ligne);
+}
@@ -0,0 +1,203 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Classe Transaction - Regroupe plusieurs écritures CSV en une seule validation
+ *
+ * Exemple (une vente):
+ * - ajout d'une ligne dans ventes.csv
+ * - ajout d'une ligne dans stock_historique.csv
+ * - mise à jour du stock dans medicaments.csv
+ *
+ * Soit toutes les écritures sont appliquées, soit aucune
+ * (voir GestionnaireTransactions).
+ *
+ * Un autre stockage (ex: une base de données, voir TransactionJDBC) prend
+ * part à la transaction comme participant: il est validé par valider(),
+ * avant les écritures CSV.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class Transaction {
+
+    // Types d'opérations (écrits tels quels dans le journal de transactions)
+    static final String OP_AJOUT = "A";
+    static final String OP_AJOUT_DIFFERE = "D";
+    static final String OP_MISE_A_JOUR = "M";
+    static final String OP_SUPPRESSION = "S";
+    static final String OP_LIGNE_BINAIRE = "B";
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<Runnable> annulations = new ArrayList<>();
+    private final List<Runnable> confirmations = new ArrayList<>();
+    private final Map<Object, ParticipantTransaction> participants = new LinkedHashMap<>();
+
+    // Numéro attribué lors de l'écriture dans le journal de transactions (0 = pas encore écrite)
+    long numero;
+
+    /**
+     * Ajoute une nouvelle ligne à un fichier
+     */
+    public void ajouterLigne(String fileName, String[] ligne) {
+        ajouterOperation(new Operation(OP_AJOUT, fileName, ligne));
+    }
+
+    /**
+     * Ajoute une nouvelle ligne à un fichier, écrite en arrière-plan après
+     * la validation (voir EcritureDifferee): pour les lignes que personne
+     * n'attend, comme l'historique des stocks
+     */
+    public void ajouterLigneDifferee(String fileName, String[] ligne) {
+        ajouterOperation(new Operation(OP_AJOUT_DIFFERE, fileName, ligne));
+    }
+
+    /**
+     * Remplace une ligne existante (même ID)
+     */
+    public void mettreAJourLigne(String fileName, String[] ligne) {
+        ajouterOperation(new Operation(OP_MISE_A_JOUR, fileName, ligne));
+    }
+
+    /**
+     * Supprime une ligne par son ID
+     */
+    public void supprimerLigne(String fileName, int id) {
+        ajouterOperation(new Operation(OP_SUPPRESSION, fileName, new String[]{String.valueOf(id)}));
+    }
+
+    /**
+     * Écrit une ligne d'une table binaire à la position de son ID
+     * (voir TransactionBinaire); les octets sont gardés en Base64 dans le
+     * journal
+     */
+    void ecrireLigneBinaire(String fileName, int id, byte[] octets) {
+        ajouterOperation(new Operation(OP_LIGNE_BINAIRE, fileName,
+            new String[]{String.valueOf(id), Base64.getEncoder().encodeToString(octets)}));
+    }
+
+    /**
+     * Le participant d'un autre stockage, créé au premier appel
+     * (un seul par clé et par transaction)
+     */
+    @SuppressWarnings("unchecked")
+    public <P extends ParticipantTransaction> P participant(Object cle, Supplier<P> creation) {
+        if (numero != 0) {
+            throw new IllegalStateException("Transaction déjà écrite dans le journal");
+        }
+        return (P) participants.computeIfAbsent(cle, c -> creation.get());
+    }
+
+    /**
+     * Enregistre une action à exécuter si la transaction échoue
+     * (par exemple: remettre en mémoire un stock déjà diminué)
+     */
+    public void siEchec(Runnable annulation) {
+        annulations.add(annulation);
+    }
+
+    /**
+     * Enregistre une action à exécuter une fois la transaction validée
+     * (par exemple: mettre à jour des totaux en mémoire)
+     */
+    public void apresValidation(Runnable confirmation) {
+        confirmations.add(confirmation);
+    }
+    
+    /**
+     * Valide la transaction (écriture durable puis application)
+     *
+     * @return true si toutes les écritures ont été appliquées
+     */
+    public boolean valider() {
+        boolean succes = false;
+
+        try {
+            succes = validerParticipants() && GestionnaireTransactions.valider(this);
+        } finally {
+            if (!succes) {
+                // Déjà numérotée (voir GestionnaireTransactions.ecrire): ne pas bloquer les suivantes
+                GestionnaireTransactions.abandonner(this);
+                annuler();
+            }
+        }
+
+        if (!succes) {
+            return false;
+        }
+
+        for (Runnable confirmation : confirmations) {
+            confirmation.run();
+        }
+
+        return true;
+    }
+
+    /**
+     * Abandonne une transaction qui ne sera pas validée
+     * (erreur entre GestionnaireTransactions.ecrire() et valider())
+     *
+     * Sans effet si la transaction n'a pas été écrite dans le journal ou si
+     * elle est déjà traitée.
+     */
+    public void abandonner() {
+        if (GestionnaireTransactions.abandonner(this)) {
+            annuler();
+        }
+    }
+
+    public boolean estVide() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * Valide les participants dans l'ordre; s'arrête au premier échec
+     * (en pratique, une transaction n'a qu'un seul stockage)
+     */
+    private boolean validerParticipants() {
+        for (ParticipantTransaction participant : participants.values()) {
+            if (!participant.valider()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void annuler() {
+        for (int i = annulations.size() - 1; i >= 0; i--) {
+            annulations.get(i).run();
+        }
+    }
+
+    List<Operation> getOperations() {
+        return operations;
+    }
+
+    private void ajouterOperation(Operation operation) {
+        if (numero != 0) {
+            throw new IllegalStateException("Transaction déjà écrite dans le journal");
+        }
+        operations.add(operation);
+    }
+
+    /**
+     * Une écriture élémentaire sur un fichier CSV
+     */
+    static class Operation {
+        final String type;
+        final String fichier;
+        final String[] ligne;
+
+        Operation(String type, String fichier, String[] ligne) {
+            this.type = type;
+            this.fichier = fichier;
+            this.ligne = ligne;
+        }
+    }
+}
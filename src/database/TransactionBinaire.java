@@ -0,0 +1,99 @@
+package database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Classe TransactionBinaire - La part d'une Transaction écrite dans les
+ * tables binaires (voir TableBinaire)
+ *
+ * Chaque ligne écrite (ajoutée, modifiée ou supprimée) est copiée telle
+ * quelle dans le journal de transactions, puis écrite à sa position dans
+ * la table: toutes les lignes de la transaction sont appliquées, ou
+ * aucune.
+ *
+ * Une écriture qui dépend d'une lecture (ex: diminuer un stock s'il
+ * suffit) est une étape, exécutée à la validation sous un verrou commun
+ * à toutes les tables binaires. Le verrou est gardé jusqu'à ce que la
+ * transaction soit appliquée: l'étape suivante, même sur une autre
+ * caisse, lit donc toujours les lignes à jour. Les simples ajouts (une
+ * vente, un mouvement d'historique) n'ont pas d'étape et ne prennent pas
+ * le verrou.
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class TransactionBinaire implements ParticipantTransaction {
+
+    /**
+     * Une lecture suivie d'écritures, exécutée à la validation
+     */
+    public interface Etape {
+        /**
+         * @return false pour annuler toute la transaction
+         */
+        boolean executer();
+    }
+
+    // Une seule transaction à étapes à la fois, de l'étape à l'application
+    private static final ReentrantLock VERROU = new ReentrantLock();
+
+    private final Transaction transaction;
+    private final List<Etape> etapes = new ArrayList<>();
+
+    private TransactionBinaire(Transaction transaction) {
+        this.transaction = transaction;
+    }
+
+    /**
+     * La part binaire d'une transaction (créée au premier appel)
+     */
+    public static TransactionBinaire de(Transaction transaction) {
+        return transaction.participant(TransactionBinaire.class, () -> new TransactionBinaire(transaction));
+    }
+
+    public void ajouterEtape(Etape etape) {
+        etapes.add(etape);
+    }
+
+    /**
+     * Écrit une ligne (nouvelle ou modifiée) à la position de son ID
+     * (aussi depuis une étape, pendant la validation)
+     */
+    public void ecrire(LigneBinaire ligne) {
+        transaction.ecrireLigneBinaire(ligne.table().fichier(), ligne.id(), ligne.octets());
+    }
+
+    /**
+     * Supprime la ligne d'un ID
+     */
+    public void supprimer(TableBinaire table, int id) {
+        ecrire(table.nouvelleLigne(id).effacer());
+    }
+
+    @Override
+    public boolean valider() {
+        if (etapes.isEmpty()) {
+            return true;
+        }
+
+        VERROU.lock();
+        try {
+            for (Etape etape : etapes) {
+                if (!etape.executer()) {
+                    VERROU.unlock();
+                    return false;
+                }
+            }
+        } catch (RuntimeException e) {
+            VERROU.unlock();
+            throw e;
+        }
+
+        // Rendu une fois la transaction appliquée (ou abandonnée)
+        transaction.apresValidation(VERROU::unlock);
+        transaction.siEchec(VERROU::unlock);
+        return true;
+    }
+}
@@ -0,0 +1,162 @@
+package database;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Classe TransactionJDBC - La part d'une Transaction écrite dans la base
+ *
+ * Les DAO JDBC y ajoutent leurs écritures; rien n'est envoyé à la base
+ * avant Transaction.valider(). Une connexion est alors empruntée pour
+ * une seule transaction SQL:
+ * 1. les étapes, dans l'ordre (ex: vérifier et diminuer un stock);
+ *    une étape qui renvoie false annule tout; elle peut encore ajouter
+ *    des lignes (ex: le mouvement d'un stock qu'elle vient de lire)
+ * 2. les ajouts de lignes, envoyés par lots: une requête préparée et un
+ *    seul aller-retour pour toutes les lignes d'une même table
+ * 3. commit
+ *
+ * Exemple (une ordonnance de 3 lignes): 3 étapes de stock, puis un lot
+ * de 3 ventes et un lot de 3 mouvements d'historique.
+ *
+ * Conflit avec une autre caisse (verrou attendu trop longtemps, interblocage
+ * détecté par la base): la transaction SQL est annulée puis recommencée,
+ * jusqu'à TENTATIVES fois. Les étapes sont donc exécutées à nouveau: elles
+ * doivent recalculer tout ce qu'elles produisent (les lignes qu'elles ont
+ * ajoutées aux lots sont retirées avant chaque nouvel essai).
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class TransactionJDBC implements ParticipantTransaction {
+
+    /**
+     * Une écriture exécutée à la validation
+     */
+    public interface Etape {
+        /**
+         * Peut être exécutée plusieurs fois (nouvel essai après un conflit)
+         *
+         * @return false pour annuler toute la transaction
+         */
+        boolean executer(ConnexionJDBC connexion) throws SQLException;
+    }
+
+    private static final int TENTATIVES = 5;
+    private static final long PAUSE_MS = 20;
+
+    private final List<Etape> etapes = new ArrayList<>();
+
+    // SQL d'ajout -> valeurs de chaque ligne (dans l'ordre d'ajout)
+    private final Map<String, List<Object[]>> lots = new LinkedHashMap<>();
+
+    /**
+     * La part JDBC d'une transaction (créée au premier appel)
+     */
+    public static TransactionJDBC de(Transaction transaction) {
+        return transaction.participant(TransactionJDBC.class, TransactionJDBC::new);
+    }
+
+    public void ajouterEtape(Etape etape) {
+        etapes.add(etape);
+    }
+
+    /**
+     * Ajoute une ligne (INSERT), envoyée avec les autres lignes du même SQL
+     */
+    public void inserer(String sql, Object... valeurs) {
+        lots.computeIfAbsent(sql, s -> new ArrayList<>()).add(valeurs);
+    }
+
+    @Override
+    public boolean valider() {
+        if (etapes.isEmpty() && lots.isEmpty()) {
+            return true;
+        }
+
+        // Les lignes ajoutées avant la validation (les étapes en ajoutent d'autres)
+        Map<String, List<Object[]>> lotsInitiaux = copier(lots);
+
+        for (int tentative = 1; ; tentative++) {
+            ConnexionJDBC connexion = null;
+            try {
+                connexion = PoolConnexions.emprunter();
+                return executer(connexion);
+
+            } catch (SQLException e) {
+                if (connexion != null) {
+                    connexion.annuler();
+                }
+
+                if (JDBCHelper.estConflit(e) && tentative < TENTATIVES) {
+                    lots.clear();
+                    lots.putAll(copier(lotsInitiaux));
+                    attendre(tentative);
+                    continue;
+                }
+
+                if (JDBCHelper.estConflit(e)) {
+                    System.err.println("✗ Base occupée par d'autres caisses (" + TENTATIVES + " essais): " + e.getMessage());
+                } else {
+                    JDBCHelper.signaler(connexion, e);
+                }
+                return false;
+
+            } finally {
+                PoolConnexions.rendre(connexion);
+            }
+        }
+    }
+
+    /**
+     * Une transaction SQL: les étapes, les lots puis le commit
+     */
+    private boolean executer(ConnexionJDBC connexion) throws SQLException {
+        connexion.debuter();
+
+        for (Etape etape : etapes) {
+            if (!etape.executer(connexion)) {
+                connexion.annuler();
+                return false;
+            }
+        }
+
+        for (Map.Entry<String, List<Object[]>> lot : lots.entrySet()) {
+            PreparedStatement requete = connexion.preparer(lot.getKey());
+            for (Object[] valeurs : lot.getValue()) {
+                JDBCHelper.lier(requete, valeurs);
+                requete.addBatch();
+            }
+            requete.executeBatch();
+        }
+
+        connexion.valider();
+        return true;
+    }
+
+    private static Map<String, List<Object[]>> copier(Map<String, List<Object[]>> lots) {
+        Map<String, List<Object[]>> copie = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Object[]>> lot : lots.entrySet()) {
+            copie.put(lot.getKey(), new ArrayList<>(lot.getValue()));
+        }
+        return copie;
+    }
+
+    /**
+     * Pause avant un nouvel essai, un peu plus longue à chaque fois et
+     * différente d'une caisse à l'autre (pour ne pas se retrouver en
+     * conflit au même moment)
+     */
+    private static void attendre(int tentative) {
+        try {
+            Thread.sleep(PAUSE_MS * tentative + ThreadLocalRandom.current().nextLong(PAUSE_MS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
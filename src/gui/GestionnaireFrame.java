@@ -1,5 +1,8 @@
 package gui;
 
+import dao.ObservateurStockCritique;
+import database.Horodatage;
+import database.Montant;
 import models.*;
 import services.*;
 
@@ -32,6 +35,9 @@ public class GestionnaireFrame extends JFrame {
     // Composants
     private JTabbedPane tabbedPane;
     
+    // Rafraîchit la vue des alertes quand un médicament franchit le seuil critique
+    private ObservateurStockCritique observateurAlertes;
+    
     /**
      * Constructeur
      */
@@ -137,7 +143,7 @@ public class GestionnaireFrame extends JFrame {
         topPanel.add(alertesBtn);
         
         // Tableau
-        String[] colonnes = {"ID", "Nom", "Dosage", "Stock", "Prix (DT)", "État"};
+        String[] colonnes = {"ID", "Nom", "Dosage", "Stock", "Seuils (min / max)", "Prix (DT)", "État"};
         DefaultTableModel model = new DefaultTableModel(colonnes, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -152,8 +158,25 @@ public class GestionnaireFrame extends JFrame {
         
         chargerMedicaments(model, false);
         
-        refreshBtn.addActionListener(e -> chargerMedicaments(model, false));
-        alertesBtn.addActionListener(e -> chargerMedicaments(model, true));
+        // Vue affichée: tout le catalogue ou seulement les alertes
+        boolean[] alertesAffichees = {false};
+        
+        refreshBtn.addActionListener(e -> {
+            alertesAffichees[0] = false;
+            chargerMedicaments(model, false);
+        });
+        alertesBtn.addActionListener(e -> {
+            alertesAffichees[0] = true;
+            chargerMedicaments(model, true);
+        });
+        
+        // La vue des alertes se met à jour quand un médicament franchit le seuil
+        observateurAlertes = (med, critique) -> SwingUtilities.invokeLater(() -> {
+            if (alertesAffichees[0]) {
+                chargerMedicaments(model, true);
+            }
+        });
+        medicamentService.ajouterObservateurStockCritique(observateurAlertes);
         
         panel.add(topPanel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -161,6 +184,14 @@ public class GestionnaireFrame extends JFrame {
         return panel;
     }
     
+    @Override
+    public void dispose() {
+        if (observateurAlertes != null) {
+            medicamentService.retirerObservateurStockCritique(observateurAlertes);
+        }
+        super.dispose();
+    }
+    
     /**
      * Charge les médicaments
      */
@@ -175,13 +206,15 @@ public class GestionnaireFrame extends JFrame {
         }
         
         for (Medicament med : medicaments) {
-            String etat = med.getStock() < 10 ? "⚠️ CRITIQUE" : "✓ OK";
+            String etat = med.estStockCritique() ? "⚠️ CRITIQUE" : med.estSurstock() ? "📦 SURSTOCK" : "✓ OK";
+            String seuils = med.getSeuilMin() + " / " + (med.getSeuilMax() != Medicament.SANS_MAXIMUM ? med.getSeuilMax() : "-");
             model.addRow(new Object[]{
                 med.getId(),
                 med.getNom(),
                 med.getDosage(),
                 med.getStock(),
-                String.format("%.2f", med.getPrixUnitaire()),
+                seuils,
+                Montant.ecrire(med.getPrixUnitaire()),
                 etat
             });
         }
@@ -233,8 +266,22 @@ public class GestionnaireFrame extends JFrame {
         JSpinner prixSpinner = new JSpinner(new SpinnerNumberModel(0.0, 0.0, 10000.0, 0.5));
         panel.add(prixSpinner, gbc);
         
+        // Seuil minimum (stock critique en dessous)
+        gbc.gridx = 0; gbc.gridy = 5;
+        panel.add(new JLabel("Seuil minimum:"), gbc);
+        gbc.gridx = 1;
+        JSpinner seuilMinSpinner = new JSpinner(new SpinnerNumberModel(Medicament.SEUIL_STOCK_CRITIQUE, 0, 10000, 1));
+        panel.add(seuilMinSpinner, gbc);
+        
+        // Seuil maximum (0 = aucun)
+        gbc.gridx = 0; gbc.gridy = 6;
+        panel.add(new JLabel("Seuil maximum (0 = aucun):"), gbc);
+        gbc.gridx = 1;
+        JSpinner seuilMaxSpinner = new JSpinner(new SpinnerNumberModel(Medicament.SANS_MAXIMUM, 0, 100000, 1));
+        panel.add(seuilMaxSpinner, gbc);
+        
         // Bouton ajouter
-        gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2;
+        gbc.gridx = 0; gbc.gridy = 7; gbc.gridwidth = 2;
         JButton ajouterBtn = new JButton("Ajouter le medicament");
         ajouterBtn.setFont(new Font("Arial", Font.BOLD, 14));
         ajouterBtn.setBackground(new Color(39, 174, 96));
@@ -245,7 +292,7 @@ public class GestionnaireFrame extends JFrame {
         panel.add(ajouterBtn, gbc);
         
         // Message
-        gbc.gridy = 6;
+        gbc.gridy = 8;
         JLabel resultLabel = new JLabel(" ");
         resultLabel.setHorizontalAlignment(SwingConstants.CENTER);
         panel.add(resultLabel, gbc);
@@ -254,7 +301,9 @@ public class GestionnaireFrame extends JFrame {
             String nom = nomField.getText().trim();
             String dosage = dosageField.getText().trim();
             int stock = (Integer) stockSpinner.getValue();
-            double prix = (Double) prixSpinner.getValue();
+            long prix = Montant.centimes((Double) prixSpinner.getValue());
+            int seuilMin = (Integer) seuilMinSpinner.getValue();
+            int seuilMax = (Integer) seuilMaxSpinner.getValue();
             
             if (nom.isEmpty()) {
                 resultLabel.setText("✗ Le nom est obligatoire");
@@ -262,7 +311,7 @@ public class GestionnaireFrame extends JFrame {
                 return;
             }
             
-            boolean succes = medicamentService.ajouterMedicament(nom, dosage, stock, prix);
+            boolean succes = medicamentService.ajouterMedicament(nom, dosage, stock, prix, seuilMin, seuilMax);
             
             if (succes) {
                 resultLabel.setText("✓ Médicament ajouté avec succès!");
@@ -271,6 +320,8 @@ public class GestionnaireFrame extends JFrame {
                 dosageField.setText("");
                 stockSpinner.setValue(0);
                 prixSpinner.setValue(0.0);
+                seuilMinSpinner.setValue(Medicament.SEUIL_STOCK_CRITIQUE);
+                seuilMaxSpinner.setValue(Medicament.SANS_MAXIMUM);
             } else {
                 resultLabel.setText("✗ Erreur lors de l'ajout");
                 resultLabel.setForeground(Color.RED);
@@ -314,9 +365,12 @@ public class GestionnaireFrame extends JFrame {
         validerBtn.setBorderPainted(false);
         validerBtn.setFocusPainted(false);
         
+        JButton toutRecevoirBtn = new JButton("📦 Recevoir toutes les commandes en attente");
+        
         validationPanel.add(idLabel);
         validationPanel.add(idField);
         validationPanel.add(validerBtn);
+        validationPanel.add(toutRecevoirBtn);
         
         chargerCommandes(model, false);
         
@@ -334,6 +388,12 @@ public class GestionnaireFrame extends JFrame {
             }
         });
         
+        toutRecevoirBtn.addActionListener(e -> {
+            int recues = commandeService.recevoirCommandesEnAttente();
+            chargerCommandes(model, false);
+            JOptionPane.showMessageDialog(this, recues + " commande(s) reçue(s)");
+        });
+        
         panel.add(topPanel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
         panel.add(validationPanel, BorderLayout.SOUTH);
@@ -360,7 +420,7 @@ public class GestionnaireFrame extends JFrame {
                 c.getIdMedicament(),
                 c.getQuantite(),
                 c.getStatut(),
-                c.getDateCommande().toString().substring(0, 16)
+                Horodatage.ecrire(c.getDateCommande()).substring(0, 16)
             });
         }
     }
@@ -430,7 +490,7 @@ public class GestionnaireFrame extends JFrame {
                     Medicament med = medicamentService.getMedicament(id);
                     if (med != null) {
                         infoLabel.setText(med.getNom() + " - Stock actuel: " + med.getStock());
-                        infoLabel.setForeground(med.getStock() < 10 ? Color.RED : new Color(46, 204, 113));
+                        infoLabel.setForeground(med.estStockCritique() ? Color.RED : new Color(46, 204, 113));
                     } else {
                         infoLabel.setText("Médicament non trouvé");
                         infoLabel.setForeground(Color.RED);
@@ -501,22 +561,22 @@ public class GestionnaireFrame extends JFrame {
             // Chiffre d'affaires
             sb.append("📊 CHIFFRE D'AFFAIRES\n");
             sb.append("─────────────────────────────────────────────────────────\n");
-            sb.append(String.format("   • CA Total:      %10.2f €\n", venteService.getChiffreAffairesTotal()));
-            sb.append(String.format("   • CA du jour:    %10.2f €\n", venteService.getChiffreAffairesDuJour()));
+            sb.append(String.format("   • CA Total:      %10s €\n", Montant.ecrire(venteService.getChiffreAffairesTotal())));
+            sb.append(String.format("   • CA du jour:    %10s €\n", Montant.ecrire(venteService.getChiffreAffairesDuJour())));
             sb.append("\n");
             
             // Ventes
             sb.append("🛒 VENTES\n");
             sb.append("─────────────────────────────────────────────────────────\n");
-            sb.append(String.format("   • Ventes du jour:     %5d\n", venteService.getVentesDuJour().size()));
-            sb.append(String.format("   • Total des ventes:   %5d\n", venteService.getToutesVentes().size()));
+            sb.append(String.format("   • Ventes du jour:     %5d\n", venteService.getNombreVentesDuJour()));
+            sb.append(String.format("   • Total des ventes:   %5d\n", venteService.getNombreVentes()));
             sb.append("\n");
             
             // Stock
             sb.append("📦 STOCK\n");
             sb.append("─────────────────────────────────────────────────────────\n");
             sb.append(String.format("   • Médicaments en catalogue:  %5d\n", medicamentService.getTousMedicaments().size()));
-            sb.append(String.format("   • Stock critique:            %5d ⚠️\n", medicamentService.getMedicamentsStockCritique().size()));
+            sb.append(String.format("   • Stock critique:            %5d ⚠️\n", medicamentService.getNombreStockCritique()));
             sb.append("\n");
             
             // Commandes
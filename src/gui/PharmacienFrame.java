@@ -1,5 +1,8 @@
 package gui;
 
+import dao.ObservateurStockCritique;
+import database.Horodatage;
+import database.Montant;
 import models.*;
 import services.*;
 
@@ -8,6 +11,8 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Interface graphique pour le Pharmacien
@@ -28,6 +33,10 @@ public class PharmacienFrame extends JFrame {
     private MedicamentService medicamentService;
     private VenteService venteService;
     private ClientService clientService;
+    private AutocompletionService autocompletionService;
+    
+    // Rafraîchit les alertes quand un médicament franchit le seuil critique
+    private ObservateurStockCritique observateurAlertes;
     
     // Composants
     private JTabbedPane tabbedPane;
@@ -43,6 +52,7 @@ public class PharmacienFrame extends JFrame {
         this.medicamentService = new MedicamentService();
         this.venteService = new VenteService();
         this.clientService = new ClientService();
+        this.autocompletionService = new AutocompletionService();
         
         // Configuration de la fenêtre
         setTitle("Pharmacie - Espace Pharmacien");
@@ -200,7 +210,7 @@ public class PharmacienFrame extends JFrame {
                 med.getNom(),
                 med.getDosage(),
                 med.getStock(),
-                String.format("%.2f", med.getPrixUnitaire())
+                Montant.ecrire(med.getPrixUnitaire())
             });
         }
     }
@@ -224,7 +234,7 @@ public class PharmacienFrame extends JFrame {
                 med.getNom(),
                 med.getDosage(),
                 med.getStock(),
-                String.format("%.2f", med.getPrixUnitaire())
+                Montant.ecrire(med.getPrixUnitaire())
             });
         }
     }
@@ -247,23 +257,37 @@ public class PharmacienFrame extends JFrame {
         
         gbc.gridwidth = 1;
         
-        // ID Médicament
+        // Nom du médicament (avec suggestions)
         gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(new JLabel("Médicament (nom):"), gbc);
+        gbc.gridx = 1;
+        JTextField nomMedField = new JTextField(15);
+        panel.add(nomMedField, gbc);
+        
+        // ID Médicament
+        gbc.gridx = 0; gbc.gridy = 2;
         panel.add(new JLabel("ID Médicament:"), gbc);
         gbc.gridx = 1;
         JTextField idMedField = new JTextField(15);
         panel.add(idMedField, gbc);
         
         // Info médicament
-        gbc.gridx = 0; gbc.gridy = 2; gbc.gridwidth = 2;
+        gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 2;
         JLabel infoMedLabel = new JLabel(" ");
         infoMedLabel.setFont(new Font("Arial", Font.ITALIC, 12));
         panel.add(infoMedLabel, gbc);
         
         gbc.gridwidth = 1;
         
+        // Nom du client (avec suggestions)
+        gbc.gridx = 0; gbc.gridy = 4;
+        panel.add(new JLabel("Client (nom):"), gbc);
+        gbc.gridx = 1;
+        JTextField nomClientField = new JTextField(15);
+        panel.add(nomClientField, gbc);
+        
         // ID Client
-        gbc.gridx = 0; gbc.gridy = 3;
+        gbc.gridx = 0; gbc.gridy = 5;
         panel.add(new JLabel("ID Client (0 = anonyme):"), gbc);
         gbc.gridx = 1;
         JTextField idClientField = new JTextField(15);
@@ -271,14 +295,14 @@ public class PharmacienFrame extends JFrame {
         panel.add(idClientField, gbc);
         
         // Quantité
-        gbc.gridx = 0; gbc.gridy = 4;
+        gbc.gridx = 0; gbc.gridy = 6;
         panel.add(new JLabel("Quantité:"), gbc);
         gbc.gridx = 1;
         JSpinner quantiteSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 1000, 1));
         panel.add(quantiteSpinner, gbc);
         
         // Bouton vendre
-        gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2;
+        gbc.gridx = 0; gbc.gridy = 7; gbc.gridwidth = 2;
         JButton vendreBtn = new JButton("Enregistrer la vente");
         vendreBtn.setFont(new Font("Arial", Font.BOLD, 14));
         vendreBtn.setBackground(new Color(39, 174, 96));
@@ -289,7 +313,7 @@ public class PharmacienFrame extends JFrame {
         panel.add(vendreBtn, gbc);
         
         // Message résultat
-        gbc.gridy = 6;
+        gbc.gridy = 8;
         JLabel resultLabel = new JLabel(" ");
         resultLabel.setHorizontalAlignment(SwingConstants.CENTER);
         panel.add(resultLabel, gbc);
@@ -298,22 +322,28 @@ public class PharmacienFrame extends JFrame {
         idMedField.addFocusListener(new FocusAdapter() {
             @Override
             public void focusLost(FocusEvent e) {
-                try {
-                    int id = Integer.parseInt(idMedField.getText().trim());
-                    Medicament med = medicamentService.getMedicament(id);
-                    if (med != null) {
-                        infoMedLabel.setText(med.getNom() + " - " + med.getDosage() + " - Stock: " + med.getStock() + " - Prix: " + med.getPrixUnitaire() + " DT");
-                        infoMedLabel.setForeground(new Color(46, 204, 113));
-                    } else {
-                        infoMedLabel.setText("Médicament non trouvé");
-                        infoMedLabel.setForeground(Color.RED);
-                    }
-                } catch (NumberFormatException ex) {
-                    infoMedLabel.setText(" ");
-                }
+                afficherInfoMedicament(idMedField, infoMedLabel);
             }
         });
         
+        // Suggestions pendant la saisie: le choix remplit l'ID
+        installerSuggestions(nomMedField,
+            prefixe -> autocompletionService.suggererMedicaments(prefixe, AutocompletionService.NOMBRE_SUGGESTIONS),
+            med -> med.getNom() + " " + med.getDosage() + " (stock: " + med.getStock() + ")",
+            med -> {
+                nomMedField.setText(med.getNom() + " " + med.getDosage());
+                idMedField.setText(String.valueOf(med.getId()));
+                afficherInfoMedicament(idMedField, infoMedLabel);
+            });
+        
+        installerSuggestions(nomClientField,
+            prefixe -> autocompletionService.suggererClients(prefixe, AutocompletionService.NOMBRE_SUGGESTIONS),
+            client -> client.getNom() + " " + client.getPrenom(),
+            client -> {
+                nomClientField.setText(client.getNom() + " " + client.getPrenom());
+                idClientField.setText(String.valueOf(client.getId()));
+            });
+        
         vendreBtn.addActionListener(e -> {
             try {
                 int idMed = Integer.parseInt(idMedField.getText().trim());
@@ -329,6 +359,8 @@ public class PharmacienFrame extends JFrame {
                     resultLabel.setText("✓ Vente enregistrée avec succès!");
                     resultLabel.setForeground(new Color(46, 204, 113));
                     // Reset form
+                    nomMedField.setText("");
+                    nomClientField.setText("");
                     idMedField.setText("");
                     idClientField.setText("0");
                     quantiteSpinner.setValue(1);
@@ -346,6 +378,129 @@ public class PharmacienFrame extends JFrame {
         return panel;
     }
     
+    /**
+     * Affiche le nom, le stock et le prix du médicament dont l'ID est saisi
+     */
+    private void afficherInfoMedicament(JTextField idMedField, JLabel infoMedLabel) {
+        try {
+            int id = Integer.parseInt(idMedField.getText().trim());
+            Medicament med = medicamentService.getMedicament(id);
+            if (med != null) {
+                infoMedLabel.setText(med.getNom() + " - " + med.getDosage() + " - Stock: " + med.getStock() + " - Prix: " + Montant.ecrire(med.getPrixUnitaire()) + " DT");
+                infoMedLabel.setForeground(new Color(46, 204, 113));
+            } else {
+                infoMedLabel.setText("Médicament non trouvé");
+                infoMedLabel.setForeground(Color.RED);
+            }
+        } catch (NumberFormatException ex) {
+            infoMedLabel.setText(" ");
+        }
+    }
+    
+    /**
+     * Affiche une liste de suggestions sous un champ pendant la saisie
+     * (flèches haut/bas pour choisir, Entrée ou clic pour valider)
+     * 
+     * @param champ    Le champ de saisie
+     * @param source   Les suggestions pour le texte saisi
+     * @param libelle  Le texte affiché pour une suggestion
+     * @param choix    L'action quand une suggestion est choisie
+     */
+    private <T> void installerSuggestions(JTextField champ, Function<String, List<T>> source,
+                                          Function<T, String> libelle, Consumer<T> choix) {
+        DefaultListModel<T> suggestions = new DefaultListModel<>();
+        JList<T> liste = new JList<>(suggestions);
+        liste.setFocusable(false);
+        liste.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                return super.getListCellRendererComponent(list, libelle.apply((T) value), index, isSelected, cellHasFocus);
+            }
+        });
+        
+        JPopupMenu popup = new JPopupMenu();
+        popup.setFocusable(false);
+        popup.add(new JScrollPane(liste));
+        
+        // Vrai pendant que le champ est rempli par un choix (pas de nouvelles suggestions)
+        boolean[] remplissage = {false};
+        
+        Runnable choisir = () -> {
+            T selection = liste.getSelectedValue();
+            popup.setVisible(false);
+            if (selection != null) {
+                remplissage[0] = true;
+                choix.accept(selection);
+                remplissage[0] = false;
+            }
+        };
+        
+        champ.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            private void mettreAJour() {
+                if (remplissage[0]) {
+                    return;
+                }
+                // Après la modification du document (on ne peut pas le lire pendant la notification)
+                SwingUtilities.invokeLater(() -> {
+                    String texte = champ.getText().trim();
+                    suggestions.clear();
+                    if (!texte.isEmpty()) {
+                        for (T suggestion : source.apply(texte)) {
+                            suggestions.addElement(suggestion);
+                        }
+                    }
+                    
+                    if (suggestions.isEmpty() || !champ.isShowing()) {
+                        popup.setVisible(false);
+                        return;
+                    }
+                    liste.setSelectedIndex(0);
+                    liste.setVisibleRowCount(Math.min(suggestions.size(), AutocompletionService.NOMBRE_SUGGESTIONS));
+                    popup.setPopupSize(champ.getWidth(), popup.getPreferredSize().height);
+                    popup.show(champ, 0, champ.getHeight());
+                    champ.requestFocusInWindow();
+                });
+            }
+            
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { mettreAJour(); }
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { mettreAJour(); }
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { mettreAJour(); }
+        });
+        
+        champ.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                int index = liste.getSelectedIndex();
+                if (e.getKeyCode() == KeyEvent.VK_DOWN) {
+                    liste.setSelectedIndex(Math.min(index + 1, suggestions.size() - 1));
+                    liste.ensureIndexIsVisible(liste.getSelectedIndex());
+                } else if (e.getKeyCode() == KeyEvent.VK_UP) {
+                    liste.setSelectedIndex(Math.max(index - 1, 0));
+                    liste.ensureIndexIsVisible(liste.getSelectedIndex());
+                } else if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    choisir.run();
+                } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    popup.setVisible(false);
+                }
+            }
+        });
+        
+        liste.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                choisir.run();
+            }
+        });
+    }
+    
     /**
      * Crée le panel pour voir les ventes du pharmacien
      */
@@ -396,19 +551,19 @@ public class PharmacienFrame extends JFrame {
         int idPharmacien = authService.getPharmacienConnecte().getId();
         List<Vente> ventes = venteService.getVentesPharmacien(idPharmacien);
         
-        double total = 0;
+        long total = 0;
         for (Vente v : ventes) {
             model.addRow(new Object[]{
                 v.getId(),
-                v.getDateVente().toString().substring(0, 16),
+                Horodatage.ecrire(v.getDateVente()).substring(0, 16),
                 v.getIdMedicament(),
                 v.getQuantite(),
-                String.format("%.2f", v.getMontantTotal())
+                Montant.ecrire(v.getMontantTotal())
             });
             total += v.getMontantTotal();
         }
         
-        totalLabel.setText("Total: " + String.format("%.2f", total) + " € (" + ventes.size() + " ventes)");
+        totalLabel.setText("Total: " + Montant.ecrire(total) + " € (" + ventes.size() + " ventes)");
     }
     
     /**
@@ -419,7 +574,7 @@ public class PharmacienFrame extends JFrame {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
         // Titre
-        JLabel titre = new JLabel("⚠️ Médicaments en stock critique (< 10 unités)");
+        JLabel titre = new JLabel("⚠️ Médicaments sous leur seuil minimum de stock");
         titre.setFont(new Font("Arial", Font.BOLD, 16));
         titre.setForeground(new Color(231, 76, 60));
         
@@ -431,7 +586,7 @@ public class PharmacienFrame extends JFrame {
         topPanel.add(refreshBtn, BorderLayout.EAST);
         
         // Tableau
-        String[] colonnes = {"ID", "Nom", "Dosage", "Stock"};
+        String[] colonnes = {"ID", "Nom", "Dosage", "Stock", "Seuil min"};
         DefaultTableModel model = new DefaultTableModel(colonnes, 0);
         JTable alertesTable = new JTable(model);
         alertesTable.setFont(new Font("Arial", Font.PLAIN, 13));
@@ -444,12 +599,24 @@ public class PharmacienFrame extends JFrame {
         
         refreshBtn.addActionListener(e -> chargerAlertes(model));
         
+        // Mise à jour automatique (l'observateur est appelé par le thread de la vente)
+        observateurAlertes = (med, critique) -> SwingUtilities.invokeLater(() -> chargerAlertes(model));
+        medicamentService.ajouterObservateurStockCritique(observateurAlertes);
+        
         panel.add(topPanel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
         
         return panel;
     }
     
+    @Override
+    public void dispose() {
+        if (observateurAlertes != null) {
+            medicamentService.retirerObservateurStockCritique(observateurAlertes);
+        }
+        super.dispose();
+    }
+    
     /**
      * Charge les médicaments en stock critique
      */
@@ -462,7 +629,8 @@ public class PharmacienFrame extends JFrame {
                 med.getId(),
                 med.getNom(),
                 med.getDosage(),
-                med.getStock()
+                med.getStock(),
+                med.getSeuilMin()
             });
         }
     }
@@ -19,7 +19,7 @@ public class Commande {
     private int idGestionnaire; // ID du gestionnaire qui a passé la commande
     private int idMedicament;   // ID du médicament commandé
     private int quantite;       // Quantité commandée
-    private Date dateCommande;  // Date de la commande
+    private long dateCommande;  // Date de la commande (ms depuis 1970)
     private String statut;      // Statut: "EN_ATTENTE", "LIVREE", "ANNULEE"
     
     // Constantes pour les statuts possibles
@@ -33,7 +33,7 @@ public class Commande {
      * Constructeur par défaut
      */
     public Commande() {
-        this.dateCommande = new Date();
+        this.dateCommande = System.currentTimeMillis();
         this.statut = STATUT_EN_ATTENTE;
     }
     
@@ -41,7 +41,7 @@ public class Commande {
      * Constructeur avec tous les paramètres
      */
     public Commande(int id, int idGestionnaire, int idMedicament, 
-                    int quantite, Date dateCommande, String statut) {
+                    int quantite, long dateCommande, String statut) {
         this.id = id;
         this.idGestionnaire = idGestionnaire;
         this.idMedicament = idMedicament;
@@ -57,7 +57,7 @@ public class Commande {
         this.idGestionnaire = idGestionnaire;
         this.idMedicament = idMedicament;
         this.quantite = quantite;
-        this.dateCommande = new Date();
+        this.dateCommande = System.currentTimeMillis();
         this.statut = STATUT_EN_ATTENTE;
     }
     
@@ -95,7 +95,7 @@ public class Commande {
         System.out.println("ID Gestionnaire: " + idGestionnaire);
         System.out.println("ID Médicament: " + idMedicament);
         System.out.println("Quantité: " + quantite);
-        System.out.println("Date: " + dateCommande);
+        System.out.println("Date: " + new Date(dateCommande));
         System.out.println("Statut: " + statut);
         System.out.println("==============================");
     }
@@ -134,11 +134,11 @@ public class Commande {
         this.quantite = quantite;
     }
     
-    public Date getDateCommande() {
+    public long getDateCommande() {
         return dateCommande;
     }
     
-    public void setDateCommande(Date dateCommande) {
+    public void setDateCommande(long dateCommande) {
         this.dateCommande = dateCommande;
     }
     
@@ -159,7 +159,7 @@ public class Commande {
                 ", idGestionnaire=" + idGestionnaire +
                 ", idMedicament=" + idMedicament +
                 ", quantite=" + quantite +
-                ", dateCommande=" + dateCommande +
+                ", dateCommande=" + new Date(dateCommande) +
                 ", statut='" + statut + '\'' +
                 '}';
     }
@@ -0,0 +1,65 @@
+package models;
+
+/**
+ * Classe LignePanier - Une ligne d'une ordonnance (panier de vente)
+ * 
+ * Une ordonnance contient plusieurs lignes:
+ * - Un médicament
+ * - Une quantité
+ * 
+ * Toutes les lignes sont vendues ensemble (voir VenteService.enregistrerPanier).
+ * 
+ * @author Étudiant
+ * @version 1.0
+ */
+public class LignePanier {
+    
+    // ========== ATTRIBUTS ==========
+    
+    private int idMedicament;   // ID du médicament
+    private int quantite;       // Quantité demandée
+    
+    // ========== CONSTRUCTEURS ==========
+    
+    /**
+     * Constructeur par défaut
+     */
+    public LignePanier() {
+    }
+    
+    /**
+     * Constructeur avec tous les paramètres
+     */
+    public LignePanier(int idMedicament, int quantite) {
+        this.idMedicament = idMedicament;
+        this.quantite = quantite;
+    }
+    
+    // ========== GETTERS ET SETTERS ==========
+    
+    public int getIdMedicament() {
+        return idMedicament;
+    }
+    
+    public void setIdMedicament(int idMedicament) {
+        this.idMedicament = idMedicament;
+    }
+    
+    public int getQuantite() {
+        return quantite;
+    }
+    
+    public void setQuantite(int quantite) {
+        this.quantite = quantite;
+    }
+    
+    // ========== MÉTHODE toString ==========
+    
+    @Override
+    public String toString() {
+        return "LignePanier{" +
+                "idMedicament=" + idMedicament +
+                ", quantite=" + quantite +
+                '}';
+    }
+}
@@ -9,6 +9,7 @@ package models;
  * - Son dosage (ex: "500mg", "10ml")
  * - La quantité en stock
  * - Son prix unitaire
+ * - Ses seuils de stock minimum et maximum
  * 
  * @author Étudiant
  * @version 1.0
@@ -21,11 +22,16 @@ public class Medicament {
     private String nom;         // Nom du médicament (ex: "Paracétamol")
     private String dosage;      // Dosage (ex: "500mg")
     private int stock;          // Quantité disponible en stock
-    private double prixUnitaire; // Prix d'une unité
+    private long prixUnitaire;  // Prix d'une unité (centimes)
+    private int seuilMin = SEUIL_STOCK_CRITIQUE; // En dessous: stock critique
+    private int seuilMax = SANS_MAXIMUM;         // Au-dessus: surstock
     
-    // Constante pour le seuil de stock critique
+    // Seuil de stock critique par défaut (modifiable pour chaque médicament)
     public static final int SEUIL_STOCK_CRITIQUE = 10;
     
+    // Seuil maximum non défini
+    public static final int SANS_MAXIMUM = 0;
+    
     // ========== CONSTRUCTEURS ==========
     
     /**
@@ -37,7 +43,7 @@ public class Medicament {
     /**
      * Constructeur avec tous les paramètres
      */
-    public Medicament(int id, String nom, String dosage, int stock, double prixUnitaire) {
+    public Medicament(int id, String nom, String dosage, int stock, long prixUnitaire) {
         this.id = id;
         this.nom = nom;
         this.dosage = dosage;
@@ -48,7 +54,7 @@ public class Medicament {
     /**
      * Constructeur sans id (pour création d'un nouveau médicament)
      */
-    public Medicament(String nom, String dosage, int stock, double prixUnitaire) {
+    public Medicament(String nom, String dosage, int stock, long prixUnitaire) {
         this.nom = nom;
         this.dosage = dosage;
         this.stock = stock;
@@ -70,10 +76,19 @@ public class Medicament {
     /**
      * Vérifie si le médicament est en stock critique
      * 
-     * @return true si le stock est inférieur au seuil critique
+     * @return true si le stock est inférieur au seuil minimum
      */
     public boolean estStockCritique() {
-        return this.stock < SEUIL_STOCK_CRITIQUE;
+        return this.stock < seuilMin;
+    }
+    
+    /**
+     * Vérifie si le médicament est en surstock
+     * 
+     * @return true si un seuil maximum est défini et que le stock le dépasse
+     */
+    public boolean estSurstock() {
+        return seuilMax != SANS_MAXIMUM && this.stock > seuilMax;
     }
     
     /**
@@ -119,9 +134,9 @@ public class Medicament {
      * Calcule le prix total pour une quantité donnée
      * 
      * @param quantite La quantité
-     * @return Le prix total
+     * @return Le prix total (centimes, exact)
      */
-    public double calculerPrixTotal(int quantite) {
+    public long calculerPrixTotal(int quantite) {
         return this.prixUnitaire * quantite;
     }
     
@@ -159,14 +174,30 @@ public class Medicament {
         this.stock = stock;
     }
     
-    public double getPrixUnitaire() {
+    public long getPrixUnitaire() {
         return prixUnitaire;
     }
     
-    public void setPrixUnitaire(double prixUnitaire) {
+    public void setPrixUnitaire(long prixUnitaire) {
         this.prixUnitaire = prixUnitaire;
     }
     
+    public int getSeuilMin() {
+        return seuilMin;
+    }
+    
+    public void setSeuilMin(int seuilMin) {
+        this.seuilMin = seuilMin;
+    }
+    
+    public int getSeuilMax() {
+        return seuilMax;
+    }
+    
+    public void setSeuilMax(int seuilMax) {
+        this.seuilMax = seuilMax;
+    }
+    
     // ========== MÉTHODE toString ==========
     
     @Override
@@ -177,6 +208,8 @@ public class Medicament {
                 ", dosage='" + dosage + '\'' +
                 ", stock=" + stock +
                 ", prixUnitaire=" + prixUnitaire +
+                ", seuilMin=" + seuilMin +
+                ", seuilMax=" + seuilMax +
                 '}';
     }
     
@@ -188,8 +221,9 @@ public class Medicament {
         System.out.println("ID: " + id);
         System.out.println("Nom: " + nom);
         System.out.println("Dosage: " + dosage);
-        System.out.println("Stock: " + stock + (estStockCritique() ? " (CRITIQUE!)" : ""));
-        System.out.println("Prix unitaire: " + prixUnitaire + " DT");
+        System.out.println("Stock: " + stock + (estStockCritique() ? " (CRITIQUE!)" : estSurstock() ? " (SURSTOCK)" : ""));
+        System.out.println("Seuils: min " + seuilMin + (seuilMax != SANS_MAXIMUM ? " / max " + seuilMax : ""));
+        System.out.println("Prix unitaire: " + prixUnitaire + " centimes");
         System.out.println("=================================");
     }
 }
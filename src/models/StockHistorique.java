@@ -20,7 +20,7 @@ public class StockHistorique {
     private int id;             // Identifiant unique de l'entrée
     private int idMedicament;   // ID du médicament concerné
     private int quantite;       // Quantité du mouvement (+ ou -)
-    private Date dateOperation; // Date de l'opération
+    private long dateOperation; // Date de l'opération (ms depuis 1970)
     private String typeOperation; // Type: "VENTE", "REAPPROVISIONNEMENT", "AJUSTEMENT"
     
     // Constantes pour les types d'opérations
@@ -34,14 +34,14 @@ public class StockHistorique {
      * Constructeur par défaut
      */
     public StockHistorique() {
-        this.dateOperation = new Date();
+        this.dateOperation = System.currentTimeMillis();
     }
     
     /**
      * Constructeur avec tous les paramètres
      */
     public StockHistorique(int id, int idMedicament, int quantite, 
-                           Date dateOperation, String typeOperation) {
+                           long dateOperation, String typeOperation) {
         this.id = id;
         this.idMedicament = idMedicament;
         this.quantite = quantite;
@@ -55,7 +55,7 @@ public class StockHistorique {
     public StockHistorique(int idMedicament, int quantite, String typeOperation) {
         this.idMedicament = idMedicament;
         this.quantite = quantite;
-        this.dateOperation = new Date();
+        this.dateOperation = System.currentTimeMillis();
         this.typeOperation = typeOperation;
     }
     
@@ -69,7 +69,7 @@ public class StockHistorique {
         System.out.println("ID: " + id);
         System.out.println("ID Médicament: " + idMedicament);
         System.out.println("Quantité: " + quantite);
-        System.out.println("Date: " + dateOperation);
+        System.out.println("Date: " + new Date(dateOperation));
         System.out.println("Type: " + typeOperation);
         System.out.println("=======================================");
     }
@@ -114,11 +114,11 @@ public class StockHistorique {
         this.quantite = quantite;
     }
     
-    public Date getDateOperation() {
+    public long getDateOperation() {
         return dateOperation;
     }
     
-    public void setDateOperation(Date dateOperation) {
+    public void setDateOperation(long dateOperation) {
         this.dateOperation = dateOperation;
     }
     
@@ -138,7 +138,7 @@ public class StockHistorique {
                 "id=" + id +
                 ", idMedicament=" + idMedicament +
                 ", quantite=" + quantite +
-                ", dateOperation=" + dateOperation +
+                ", dateOperation=" + new Date(dateOperation) +
                 ", typeOperation='" + typeOperation + '\'' +
                 '}';
     }
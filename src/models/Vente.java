@@ -24,8 +24,8 @@ public class Vente {
     private int idClient;       // ID du client
     private int idMedicament;   // ID du médicament vendu
     private int quantite;       // Quantité vendue
-    private Date dateVente;     // Date de la vente
-    private double montantTotal; // Montant total de la vente
+    private long dateVente;     // Date de la vente (ms depuis 1970)
+    private long montantTotal;  // Montant total de la vente (centimes)
     
     // ========== CONSTRUCTEURS ==========
     
@@ -33,14 +33,14 @@ public class Vente {
      * Constructeur par défaut
      */
     public Vente() {
-        this.dateVente = new Date(); // Date actuelle par défaut
+        this.dateVente = System.currentTimeMillis(); // Date actuelle par défaut
     }
     
     /**
      * Constructeur avec tous les paramètres
      */
     public Vente(int id, int idPharmacien, int idClient, int idMedicament, 
-                 int quantite, Date dateVente, double montantTotal) {
+                 int quantite, long dateVente, long montantTotal) {
         this.id = id;
         this.idPharmacien = idPharmacien;
         this.idClient = idClient;
@@ -54,12 +54,12 @@ public class Vente {
      * Constructeur sans id (pour création)
      */
     public Vente(int idPharmacien, int idClient, int idMedicament, 
-                 int quantite, double montantTotal) {
+                 int quantite, long montantTotal) {
         this.idPharmacien = idPharmacien;
         this.idClient = idClient;
         this.idMedicament = idMedicament;
         this.quantite = quantite;
-        this.dateVente = new Date(); // Date actuelle
+        this.dateVente = System.currentTimeMillis(); // Date actuelle
         this.montantTotal = montantTotal;
     }
     
@@ -68,9 +68,9 @@ public class Vente {
     /**
      * Calcule le montant total en fonction du prix unitaire
      * 
-     * @param prixUnitaire Le prix d'une unité
+     * @param prixUnitaire Le prix d'une unité (centimes)
      */
-    public void calculerMontant(double prixUnitaire) {
+    public void calculerMontant(long prixUnitaire) {
         this.montantTotal = prixUnitaire * this.quantite;
     }
     
@@ -84,8 +84,8 @@ public class Vente {
         System.out.println("ID Client: " + idClient);
         System.out.println("ID Médicament: " + idMedicament);
         System.out.println("Quantité: " + quantite);
-        System.out.println("Date: " + dateVente);
-        System.out.println("Montant Total: " + montantTotal + " DT");
+        System.out.println("Date: " + new Date(dateVente));
+        System.out.println("Montant Total: " + montantTotal + " centimes");
         System.out.println("===========================");
     }
     
@@ -131,19 +131,19 @@ public class Vente {
         this.quantite = quantite;
     }
     
-    public Date getDateVente() {
+    public long getDateVente() {
         return dateVente;
     }
     
-    public void setDateVente(Date dateVente) {
+    public void setDateVente(long dateVente) {
         this.dateVente = dateVente;
     }
     
-    public double getMontantTotal() {
+    public long getMontantTotal() {
         return montantTotal;
     }
     
-    public void setMontantTotal(double montantTotal) {
+    public void setMontantTotal(long montantTotal) {
         this.montantTotal = montantTotal;
     }
     
@@ -157,7 +157,7 @@ public class Vente {
                 ", idClient=" + idClient +
                 ", idMedicament=" + idMedicament +
                 ", quantite=" + quantite +
-                ", dateVente=" + dateVente +
+                ", dateVente=" + new Date(dateVente) +
                 ", montantTotal=" + montantTotal +
                 '}';
     }
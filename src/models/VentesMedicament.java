@@ -0,0 +1,86 @@
+package models;
+
+/**
+ * Classe VentesMedicament - Les ventes d'un médicament sur une période
+ * 
+ * Une ligne du rapport des ventes par médicament:
+ * - Le nombre de ventes
+ * - La quantité totale vendue
+ * - Le chiffre d'affaires
+ * 
+ * @author Étudiant
+ * @version 1.0
+ */
+public class VentesMedicament {
+    
+    // ========== ATTRIBUTS ==========
+    
+    private int idMedicament;    // ID du médicament
+    private int nombreVentes;    // Nombre de ventes
+    private int quantite;        // Quantité totale vendue
+    private long montantTotal;   // Chiffre d'affaires (centimes)
+    
+    // ========== CONSTRUCTEURS ==========
+    
+    /**
+     * Constructeur par défaut
+     */
+    public VentesMedicament() {
+    }
+    
+    /**
+     * Constructeur avec tous les paramètres
+     */
+    public VentesMedicament(int idMedicament, int nombreVentes, int quantite, long montantTotal) {
+        this.idMedicament = idMedicament;
+        this.nombreVentes = nombreVentes;
+        this.quantite = quantite;
+        this.montantTotal = montantTotal;
+    }
+    
+    // ========== GETTERS ET SETTERS ==========
+    
+    public int getIdMedicament() {
+        return idMedicament;
+    }
+    
+    public void setIdMedicament(int idMedicament) {
+        this.idMedicament = idMedicament;
+    }
+    
+    public int getNombreVentes() {
+        return nombreVentes;
+    }
+    
+    public void setNombreVentes(int nombreVentes) {
+        this.nombreVentes = nombreVentes;
+    }
+    
+    public int getQuantite() {
+        return quantite;
+    }
+    
+    public void setQuantite(int quantite) {
+        this.quantite = quantite;
+    }
+    
+    public long getMontantTotal() {
+        return montantTotal;
+    }
+    
+    public void setMontantTotal(long montantTotal) {
+        this.montantTotal = montantTotal;
+    }
+    
+    // ========== MÉTHODE toString ==========
+    
+    @Override
+    public String toString() {
+        return "VentesMedicament{" +
+                "idMedicament=" + idMedicament +
+                ", nombreVentes=" + nombreVentes +
+                ", quantite=" + quantite +
+                ", montantTotal=" + montantTotal +
+                '}';
+    }
+}
@@ -1,7 +1,8 @@
 package services;
 
-import dao.PharmacienDAO;
+import dao.FabriqueDAO;
 import dao.GestionnaireDAO;
+import dao.PharmacienDAO;
 import models.Pharmacien;
 import models.Gestionnaire;
 import models.Utilisateur;
@@ -28,8 +29,8 @@ public class AuthenticationService {
      * Constructeur
      */
     public AuthenticationService() {
-        this.pharmacienDAO = new PharmacienDAO();
-        this.gestionnaireDAO = new GestionnaireDAO();
+        this.pharmacienDAO = FabriqueDAO.pharmaciens();
+        this.gestionnaireDAO = FabriqueDAO.gestionnaires();
         this.utilisateurConnecte = null;
     }
     
@@ -0,0 +1,135 @@
+package services;
+
+import dao.ClientDAO;
+import dao.FabriqueDAO;
+import dao.MedicamentDAO;
+import database.ArbreRadix;
+import models.Client;
+import models.Medicament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe AutocompletionService - Suggestions pendant la saisie d'une vente
+ *
+ * Les noms des médicaments et des clients sont rangés dans des arbres de
+ * préfixes (voir ArbreRadix), partagés par toute l'application et tenus à
+ * jour à chaque ajout, modification ou suppression:
+ * - "para"   -> Paracetamol 500mg, ...
+ * - "dupo"   -> Dupont Jean, ...
+ *
+ * @author Étudiant
+ * @version 1.0
+ */
+public class AutocompletionService {
+
+    // Nombre de suggestions affichées par défaut
+    public static final int NOMBRE_SUGGESTIONS = 10;
+
+    // Préfixe -> IDs (chargés une seule fois pour toute l'application)
+    private static final ArbreRadix<Integer> MEDICAMENTS = new ArbreRadix<>();
+    private static final ArbreRadix<Integer> CLIENTS = new ArbreRadix<>();
+    private static final Map<Integer, Client> FICHES_CLIENTS = new ConcurrentHashMap<>();
+    private static boolean charge = false;
+
+    private MedicamentDAO medicamentDAO;
+    private ClientDAO clientDAO;
+
+    public AutocompletionService() {
+        this.medicamentDAO = FabriqueDAO.medicaments();
+        this.clientDAO = FabriqueDAO.clients();
+        charger(medicamentDAO, clientDAO);
+    }
+
+    private static synchronized void charger(MedicamentDAO medicamentDAO, ClientDAO clientDAO) {
+        if (charge) {
+            return;
+        }
+
+        for (Medicament medicament : medicamentDAO.trouverTous()) {
+            MEDICAMENTS.ajouter(cle(medicament), medicament.getId());
+        }
+        for (Client client : clientDAO.trouverTous()) {
+            indexerClient(client);
+        }
+
+        charge = true;
+    }
+
+    // ========== SUGGESTIONS ==========
+
+    /**
+     * Les médicaments dont le nom commence par le préfixe (ordre alphabétique)
+     */
+    public List<Medicament> suggererMedicaments(String prefixe, int nombre) {
+        List<Medicament> suggestions = new ArrayList<>();
+        for (int id : MEDICAMENTS.chercher(prefixe, nombre)) {
+            Medicament medicament = medicamentDAO.trouverParId(id);
+            if (medicament != null) {
+                suggestions.add(medicament);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Les clients dont le nom ou le prénom commence par le préfixe
+     */
+    public List<Client> suggererClients(String prefixe, int nombre) {
+        List<Client> suggestions = new ArrayList<>();
+        // Un client peut apparaître deux fois (nom et prénom): en demander un peu plus
+        for (int id : CLIENTS.chercher(prefixe, nombre * 2)) {
+            Client client = FICHES_CLIENTS.get(id);
+            if (client != null && !suggestions.contains(client) && suggestions.size() < nombre) {
+                suggestions.add(client);
+            }
+        }
+        return suggestions;
+    }
+
+    // ========== MISE À JOUR ==========
+
+    public void medicamentAjoute(Medicament medicament) {
+        MEDICAMENTS.ajouter(cle(medicament), medicament.getId());
+    }
+
+    public void medicamentModifie(Medicament ancien, Medicament nouveau) {
+        MEDICAMENTS.retirer(cle(ancien), ancien.getId());
+        MEDICAMENTS.ajouter(cle(nouveau), nouveau.getId());
+    }
+
+    public void clientAjoute(Client client) {
+        indexerClient(client);
+    }
+
+    public void clientModifie(Client client) {
+        clientSupprime(client.getId());
+        indexerClient(client);
+    }
+
+    public void clientSupprime(int idClient) {
+        Client ancien = FICHES_CLIENTS.remove(idClient);
+        if (ancien != null) {
+            CLIENTS.retirer(ancien.getNom() + " " + ancien.getPrenom(), idClient);
+            CLIENTS.retirer(ancien.getPrenom() + " " + ancien.getNom(), idClient);
+        }
+    }
+
+    // ========== MÉTHODES UTILITAIRES ==========
+
+    private static String cle(Medicament medicament) {
+        return medicament.getNom() + " " + medicament.getDosage();
+    }
+
+    /**
+     * Un client est rangé sous "nom prénom" et sous "prénom nom"
+     */
+    private static void indexerClient(Client client) {
+        FICHES_CLIENTS.put(client.getId(), client);
+        CLIENTS.ajouter(client.getNom() + " " + client.getPrenom(), client.getId());
+        CLIENTS.ajouter(client.getPrenom() + " " + client.getNom(), client.getId());
+    }
+}
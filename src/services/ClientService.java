@@ -1,6 +1,7 @@
 package services;
 
 import dao.ClientDAO;
+import dao.FabriqueDAO;
 import models.Client;
 
 import java.util.List;
@@ -14,9 +15,11 @@ import java.util.List;
 public class ClientService {
     
     private ClientDAO clientDAO;
+    private AutocompletionService autocompletion;
     
     public ClientService() {
-        this.clientDAO = new ClientDAO();
+        this.clientDAO = FabriqueDAO.clients();
+        this.autocompletion = new AutocompletionService();
     }
     
     /**
@@ -30,7 +33,13 @@ public class ClientService {
         }
         
         Client client = new Client(nom, prenom, email, adresse);
-        return clientDAO.ajouter(client);
+        boolean succes = clientDAO.ajouter(client);
+        
+        if (succes) {
+            autocompletion.clientAjoute(client);
+        }
+        
+        return succes;
     }
     
     /**
@@ -58,14 +67,26 @@ public class ClientService {
      * Met à jour un client
      */
     public boolean mettreAJourClient(Client client) {
-        return clientDAO.mettreAJour(client);
+        boolean succes = clientDAO.mettreAJour(client);
+        
+        if (succes) {
+            autocompletion.clientModifie(client);
+        }
+        
+        return succes;
     }
     
     /**
      * Supprime un client
      */
     public boolean supprimerClient(int id) {
-        return clientDAO.supprimer(id);
+        boolean succes = clientDAO.supprimer(id);
+        
+        if (succes) {
+            autocompletion.clientSupprime(id);
+        }
+        
+        return succes;
     }
     
     /**
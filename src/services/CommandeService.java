@@ -1,10 +1,14 @@
 package services;
 
 import dao.CommandeDAO;
+import dao.FabriqueDAO;
 import dao.MedicamentDAO;
+import database.Horodatage;
 import models.Commande;
+import models.LignePanier;
 import models.Medicament;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,8 +29,8 @@ public class CommandeService {
     private MedicamentService medicamentService;
     
     public CommandeService() {
-        this.commandeDAO = new CommandeDAO();
-        this.medicamentDAO = new MedicamentDAO();
+        this.commandeDAO = FabriqueDAO.commandes();
+        this.medicamentDAO = FabriqueDAO.medicaments();
         this.medicamentService = new MedicamentService();
     }
     
@@ -107,6 +111,42 @@ public class CommandeService {
         return stockMisAJour;
     }
     
+    /**
+     * Reçoit toutes les commandes en attente (une livraison groupée)
+     * 
+     * Les stocks sont augmentés en une seule transaction; les seuils des
+     * médicaments livrés sont vérifiés ensemble.
+     * 
+     * @return Le nombre de commandes reçues
+     */
+    public int recevoirCommandesEnAttente() {
+        List<Commande> recues = new ArrayList<>();
+        List<LignePanier> lignes = new ArrayList<>();
+        
+        for (Commande commande : commandeDAO.trouverCommandesEnAttente()) {
+            if (commandeDAO.marquerLivree(commande.getId())) {
+                recues.add(commande);
+                lignes.add(new LignePanier(commande.getIdMedicament(), commande.getQuantite()));
+            }
+        }
+        
+        if (lignes.isEmpty()) {
+            System.out.println("Aucune commande en attente.");
+            return 0;
+        }
+        
+        if (!medicamentService.augmenterStocks(lignes)) {
+            System.out.println("✗ Erreur lors de la mise à jour des stocks.");
+            return 0;
+        }
+        
+        System.out.println("\n========== LIVRAISON REÇUE ==========");
+        System.out.println(recues.size() + " commande(s) reçue(s)");
+        System.out.println("=====================================\n");
+        
+        return recues.size();
+    }
+    
     /**
      * Annule une commande
      */
@@ -166,7 +206,7 @@ public class CommandeService {
                 nomMed,
                 cmd.getQuantite(),
                 cmd.getStatut(),
-                cmd.getDateCommande().toString().substring(0, 10)
+                Horodatage.jour(cmd.getDateCommande())
             );
         }
         
@@ -198,7 +238,7 @@ public class CommandeService {
                     cmd.getId(), 
                     nomMed,
                     cmd.getQuantite(),
-                    cmd.getDateCommande().toString().substring(0, 10)
+                    Horodatage.jour(cmd.getDateCommande())
                 );
             }
         }
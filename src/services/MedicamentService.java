@@ -1,11 +1,18 @@
 package services;
 
+import dao.FabriqueDAO;
 import dao.MedicamentDAO;
+import dao.ObservateurStockCritique;
 import dao.StockHistoriqueDAO;
+import database.Horodatage;
+import database.Montant;
+import database.Transaction;
+import models.LignePanier;
 import models.Medicament;
 import models.StockHistorique;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Classe MedicamentService - Logique métier pour la gestion des médicaments
@@ -23,18 +30,35 @@ public class MedicamentService {
     
     private MedicamentDAO medicamentDAO;
     private StockHistoriqueDAO stockHistoriqueDAO;
+    private AutocompletionService autocompletion;
     
     public MedicamentService() {
-        this.medicamentDAO = new MedicamentDAO();
-        this.stockHistoriqueDAO = new StockHistoriqueDAO();
+        this.medicamentDAO = FabriqueDAO.medicaments();
+        this.stockHistoriqueDAO = FabriqueDAO.historiqueStock();
+        this.autocompletion = new AutocompletionService();
     }
     
     // ========== GESTION DU CATALOGUE ==========
     
     /**
      * Ajoute un nouveau médicament au catalogue
+     * 
+     * @param prixUnitaire Le prix d'une unité, en centimes (voir Montant)
      */
-    public boolean ajouterMedicament(String nom, String dosage, int stockInitial, double prixUnitaire) {
+    public boolean ajouterMedicament(String nom, String dosage, int stockInitial, long prixUnitaire) {
+        return ajouterMedicament(nom, dosage, stockInitial, prixUnitaire,
+                                 Medicament.SEUIL_STOCK_CRITIQUE, Medicament.SANS_MAXIMUM);
+    }
+    
+    /**
+     * Ajoute un nouveau médicament avec ses seuils de stock
+     * 
+     * @param prixUnitaire Le prix d'une unité, en centimes (voir Montant)
+     * @param seuilMin En dessous: stock critique
+     * @param seuilMax Au-dessus: surstock (Medicament.SANS_MAXIMUM si aucun)
+     */
+    public boolean ajouterMedicament(String nom, String dosage, int stockInitial, long prixUnitaire,
+                                     int seuilMin, int seuilMax) {
         // Validation des entrées
         if (nom == null || nom.isEmpty()) {
             System.out.println("✗ Le nom du médicament est obligatoire.");
@@ -51,15 +75,20 @@ public class MedicamentService {
             return false;
         }
         
+        if (!seuilsValides(seuilMin, seuilMax)) {
+            return false;
+        }
+        
         // Créer le médicament
         Medicament medicament = new Medicament(nom, dosage, stockInitial, prixUnitaire);
+        medicament.setSeuilMin(seuilMin);
+        medicament.setSeuilMax(seuilMax);
         
-        // L'ajouter à la base de données
+        // L'ajouter à la base de données (avec le mouvement du stock initial)
         boolean succes = medicamentDAO.ajouter(medicament);
         
-        // Si succès et stock initial > 0, enregistrer dans l'historique
-        if (succes && stockInitial > 0) {
-            stockHistoriqueDAO.enregistrerReapprovisionnement(medicament.getId(), stockInitial);
+        if (succes) {
+            autocompletion.medicamentAjoute(medicament);
         }
         
         return succes;
@@ -90,7 +119,18 @@ public class MedicamentService {
      * Met à jour les informations d'un médicament
      */
     public boolean mettreAJourMedicament(Medicament medicament) {
-        return medicamentDAO.mettreAJour(medicament);
+        if (!seuilsValides(medicament.getSeuilMin(), medicament.getSeuilMax())) {
+            return false;
+        }
+        
+        Medicament ancien = medicamentDAO.trouverParId(medicament.getId());
+        boolean succes = medicamentDAO.mettreAJour(medicament);
+        
+        if (succes && ancien != null) {
+            autocompletion.medicamentModifie(ancien, medicament);
+        }
+        
+        return succes;
     }
     
     // ========== GESTION DU STOCK ==========
@@ -111,19 +151,19 @@ public class MedicamentService {
      * Enregistre le mouvement dans l'historique
      */
     public boolean diminuerStock(int idMedicament, int quantite) {
-        // Vérifier que le stock est suffisant
-        if (!verifierStock(idMedicament, quantite)) {
+        // Pas de vérification préalable: le DAO vérifie et diminue le stock
+        // en une seule opération atomique (une autre caisse peut vendre entre-temps)
+        Transaction transaction = new Transaction();
+        
+        if (!diminuerStock(idMedicament, quantite, transaction)) {
             System.out.println("✗ Stock insuffisant pour ce médicament.");
             return false;
         }
         
-        // Diminuer le stock
-        boolean succes = medicamentDAO.diminuerStock(idMedicament, quantite);
+        // Le mouvement d'historique est validé avec le nouveau stock
+        boolean succes = transaction.valider();
         
-        // Enregistrer dans l'historique
         if (succes) {
-            stockHistoriqueDAO.enregistrerVente(idMedicament, quantite);
-            
             // Vérifier si le stock est maintenant critique
             Medicament med = medicamentDAO.trouverParId(idMedicament);
             if (med != null && med.estStockCritique()) {
@@ -134,9 +174,29 @@ public class MedicamentService {
         return succes;
     }
     
+    /**
+     * Diminue le stock dans le cadre d'une transaction (vente)
+     * 
+     * Le DAO ajoute le mouvement d'historique à la même transaction:
+     * il ne reste plus qu'à appeler transaction.valider().
+     */
+    public boolean diminuerStock(int idMedicament, int quantite, Transaction transaction) {
+        return medicamentDAO.diminuerStock(idMedicament, quantite, transaction);
+    }
+    
+    /**
+     * Diminue le stock de toutes les lignes d'une ordonnance dans une transaction
+     * 
+     * Les mouvements d'historique sont ajoutés à la transaction avec les
+     * nouveaux stocks: il ne reste plus qu'à appeler transaction.valider().
+     */
+    public boolean diminuerStocks(List<LignePanier> panier, Transaction transaction) {
+        return medicamentDAO.diminuerStocks(panier, transaction);
+    }
+    
     /**
      * Augmente le stock (pour un réapprovisionnement)
-     * Enregistre le mouvement dans l'historique
+     * Le mouvement d'historique est écrit dans la même transaction
      */
     public boolean augmenterStock(int idMedicament, int quantite) {
         if (quantite <= 0) {
@@ -144,13 +204,28 @@ public class MedicamentService {
             return false;
         }
         
-        boolean succes = medicamentDAO.augmenterStock(idMedicament, quantite);
+        return medicamentDAO.augmenterStock(idMedicament, quantite);
+    }
+    
+    /**
+     * Augmente le stock de plusieurs médicaments en une seule transaction
+     * (réception groupée), avec les mouvements d'historique
+     */
+    public boolean augmenterStocks(List<LignePanier> lignes) {
+        for (LignePanier ligne : lignes) {
+            if (ligne.getQuantite() <= 0) {
+                System.out.println("✗ La quantité doit être positive.");
+                return false;
+            }
+        }
         
-        if (succes) {
-            stockHistoriqueDAO.enregistrerReapprovisionnement(idMedicament, quantite);
+        Transaction transaction = new Transaction();
+        
+        if (!medicamentDAO.augmenterStocks(lignes, transaction)) {
+            return false;
         }
         
-        return succes;
+        return transaction.valider();
     }
     
     /**
@@ -160,6 +235,31 @@ public class MedicamentService {
         return medicamentDAO.trouverStockCritique();
     }
     
+    /**
+     * Récupère les médicaments au-dessus de leur seuil maximum
+     */
+    public List<Medicament> getMedicamentsSurstock() {
+        return medicamentDAO.trouverSurstock();
+    }
+    
+    /**
+     * Compte les médicaments en stock critique
+     */
+    public int getNombreStockCritique() {
+        return medicamentDAO.compterStockCritique();
+    }
+    
+    /**
+     * Prévient un observateur quand un médicament entre en stock critique ou en sort
+     */
+    public void ajouterObservateurStockCritique(ObservateurStockCritique observateur) {
+        medicamentDAO.ajouterObservateur(observateur);
+    }
+    
+    public void retirerObservateurStockCritique(ObservateurStockCritique observateur) {
+        medicamentDAO.retirerObservateur(observateur);
+    }
+    
     /**
      * Affiche les médicaments en stock critique
      */
@@ -199,6 +299,24 @@ public class MedicamentService {
         return stockHistoriqueDAO.trouverParMedicament(idMedicament);
     }
     
+    /**
+     * Stock de chaque médicament à la fin d'un jour (yyyy-MM-dd),
+     * recalculé à partir de l'historique
+     * 
+     * @return ID du médicament -> stock (absent: 0)
+     */
+    public Map<Integer, Integer> getStocksAu(String jour) {
+        return stockHistoriqueDAO.calculerStocksAu(jour);
+    }
+    
+    /**
+     * Stock d'un médicament à la fin d'un jour (yyyy-MM-dd)
+     */
+    public int getStockAu(int idMedicament, String jour) {
+        return stockHistoriqueDAO.calculerStockAu(idMedicament, jour);
+    }
+
+    
     /**
      * Affiche l'historique d'un médicament
      */
@@ -221,7 +339,7 @@ public class MedicamentService {
             for (StockHistorique h : historiques) {
                 String signe = h.getQuantite() >= 0 ? "+" : "";
                 System.out.printf("%s: %s%d | %s%n", 
-                    h.getDateOperation(), 
+                    Horodatage.ecrire(h.getDateOperation()), 
                     signe,
                     h.getQuantite(),
                     h.getTypeOperation()
@@ -232,6 +350,23 @@ public class MedicamentService {
         System.out.println("====================================================\n");
     }
     
+    /**
+     * Vérifie les seuils d'un médicament (maximum absent ou supérieur au minimum)
+     */
+    private boolean seuilsValides(int seuilMin, int seuilMax) {
+        if (seuilMin < 0) {
+            System.out.println("✗ Le seuil minimum ne peut pas être négatif.");
+            return false;
+        }
+        
+        if (seuilMax != Medicament.SANS_MAXIMUM && seuilMax <= seuilMin) {
+            System.out.println("✗ Le seuil maximum doit être supérieur au seuil minimum.");
+            return false;
+        }
+        
+        return true;
+    }
+    
     // ========== AFFICHAGE ==========
     
     /**
@@ -247,12 +382,12 @@ public class MedicamentService {
         
         for (Medicament med : medicaments) {
             String stockAlert = med.estStockCritique() ? " ⚠️" : "";
-            System.out.printf("%-5d %-25s %-10s %-8d %.2f DT%s%n", 
+            System.out.printf("%-5d %-25s %-10s %-8d %s DT%s%n", 
                 med.getId(), 
                 med.getNom(), 
                 med.getDosage(), 
                 med.getStock(), 
-                med.getPrixUnitaire(),
+                Montant.ecrire(med.getPrixUnitaire()),
                 stockAlert
             );
         }
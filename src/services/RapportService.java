@@ -1,9 +1,13 @@
 package services;
 
+import database.Montant;
 import models.Medicament;
-import models.Vente;
+import models.VentesMedicament;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Classe RapportService - Génère des rapports et statistiques
@@ -20,10 +24,31 @@ public class RapportService {
     private VenteService venteService;
     private CommandeService commandeService;
     
+    // Une seule notification par franchissement, quel que soit le nombre de RapportService
+    private static boolean notificationsActivees = false;
+    
     public RapportService() {
         this.medicamentService = new MedicamentService();
         this.venteService = new VenteService();
         this.commandeService = new CommandeService();
+        activerNotifications(medicamentService);
+    }
+    
+    /**
+     * Notifie dès qu'un médicament passe en stock critique (sans attendre un rapport)
+     */
+    private static synchronized void activerNotifications(MedicamentService medicamentService) {
+        if (notificationsActivees) {
+            return;
+        }
+        
+        medicamentService.ajouterObservateurStockCritique((med, critique) -> {
+            if (critique) {
+                System.out.println("🔔 NOTIFICATION: " + med.getNom() + " (" + med.getDosage() + ") passe en stock critique - "
+                    + med.getStock() + " unités restantes");
+            }
+        });
+        notificationsActivees = true;
     }
     
     /**
@@ -38,16 +63,14 @@ public class RapportService {
         // Section: Chiffre d'affaires
         System.out.println("║                                                              ║");
         System.out.println("║  📊 CHIFFRE D'AFFAIRES                                       ║");
-        System.out.printf("║     • CA Total:      %10.2f DT                           ║%n", venteService.getChiffreAffairesTotal());
-        System.out.printf("║     • CA du jour:    %10.2f DT                           ║%n", venteService.getChiffreAffairesDuJour());
+        System.out.printf("║     • CA Total:      %10s DT                           ║%n", Montant.ecrire(venteService.getChiffreAffairesTotal()));
+        System.out.printf("║     • CA du jour:    %10s DT                           ║%n", Montant.ecrire(venteService.getChiffreAffairesDuJour()));
         
         // Section: Ventes
         System.out.println("║                                                              ║");
         System.out.println("║  🛒 VENTES                                                   ║");
-        List<Vente> ventesJour = venteService.getVentesDuJour();
-        List<Vente> toutesVentes = venteService.getToutesVentes();
-        System.out.printf("║     • Ventes du jour:    %5d                               ║%n", ventesJour.size());
-        System.out.printf("║     • Total des ventes:  %5d                               ║%n", toutesVentes.size());
+        System.out.printf("║     • Ventes du jour:    %5d                               ║%n", venteService.getNombreVentesDuJour());
+        System.out.printf("║     • Total des ventes:  %5d                               ║%n", venteService.getNombreVentes());
         
         // Section: Stock
         System.out.println("║                                                              ║");
@@ -68,6 +91,33 @@ public class RapportService {
         System.out.println("\n");
     }
     
+    /**
+     * Génère l'inventaire à la fin d'un jour passé (yyyy-MM-dd),
+     * recalculé à partir de l'historique des mouvements
+     */
+    public void genererRapportStockAu(String jour) {
+        System.out.println("\n╔════════════════════════════════════════════════════════════╗");
+        System.out.printf("║           RAPPORT: STOCK AU %-10s                     ║%n", jour);
+        System.out.println("╠════════════════════════════════════════════════════════════╣");
+        
+        Map<Integer, Integer> stocks = medicamentService.getStocksAu(jour);
+        
+        System.out.printf("║  %-25s %-10s %-6s %-6s   ║%n", "Nom", "Dosage", "Stock", "Actuel");
+        System.out.println("║  ------------------------------------------------          ║");
+        
+        for (Medicament med : medicamentService.getTousMedicaments()) {
+            System.out.printf("║  %-25s %-10s %-6d %-6d   ║%n",
+                med.getNom(),
+                med.getDosage(),
+                stocks.getOrDefault(med.getId(), 0),
+                med.getStock()
+            );
+        }
+        
+        System.out.println("║                                                            ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+    }
+    
     /**
      * Génère un rapport sur les stocks critiques
      */
@@ -84,14 +134,15 @@ public class RapportService {
             System.out.println("║  ⚠️ ATTENTION: Les médicaments suivants doivent être       ║");
             System.out.println("║  commandés rapidement:                                     ║");
             System.out.println("║                                                            ║");
-            System.out.printf("║  %-25s %-10s %-10s      ║%n", "Nom", "Dosage", "Stock");
+            System.out.printf("║  %-25s %-10s %-6s %-5s    ║%n", "Nom", "Dosage", "Stock", "Min");
             System.out.println("║  ------------------------------------------------          ║");
             
             for (Medicament med : stockCritique) {
-                System.out.printf("║  %-25s %-10s %-10d      ║%n", 
+                System.out.printf("║  %-25s %-10s %-6d %-5d    ║%n", 
                     med.getNom(), 
                     med.getDosage(), 
-                    med.getStock()
+                    med.getStock(),
+                    med.getSeuilMin()
                 );
             }
         }
@@ -108,15 +159,67 @@ public class RapportService {
         System.out.println("║           RAPPORT: VENTES DU JOUR                          ║");
         System.out.println("╠════════════════════════════════════════════════════════════╣");
         
-        List<Vente> ventes = venteService.getVentesDuJour();
-        double ca = venteService.getChiffreAffairesDuJour();
+        // Totaux tenus à jour: les ventes du jour ne sont pas relues
+        int nombreVentes = venteService.getNombreVentesDuJour();
+        long ca = venteService.getChiffreAffairesDuJour();
         
-        System.out.printf("║  Nombre de ventes:     %5d                                ║%n", ventes.size());
-        System.out.printf("║  Chiffre d'affaires:   %10.2f DT                        ║%n", ca);
+        System.out.printf("║  Nombre de ventes:     %5d                                ║%n", nombreVentes);
+        System.out.printf("║  Chiffre d'affaires:   %10s DT                        ║%n", Montant.ecrire(ca));
         
-        if (!ventes.isEmpty()) {
-            double moyenneParVente = ca / ventes.size();
-            System.out.printf("║  Moyenne par vente:    %10.2f DT                        ║%n", moyenneParVente);
+        if (nombreVentes > 0) {
+            long moyenneParVente = Math.round((double) ca / nombreVentes);
+            System.out.printf("║  Moyenne par vente:    %10s DT                        ║%n", Montant.ecrire(moyenneParVente));
+        }
+        
+        System.out.println("║                                                            ║");
+        System.out.println("╚════════════════════════════════════════════════════════════╝\n");
+    }
+    
+    /**
+     * Génère le rapport des ventes d'une période par médicament
+     * (jours inclus, yyyy-MM-dd), du plus grand chiffre d'affaires au plus petit
+     */
+    public void genererRapportVentesPeriode(String premierJour, String dernierJour) {
+        try {
+            LocalDate.parse(premierJour);
+            LocalDate.parse(dernierJour);
+        } catch (DateTimeParseException e) {
+            System.out.println("✗ Date invalide (format attendu: yyyy-MM-dd).");
+            return;
+        }
+        
+        System.out.println("\n╔════════════════════════════════════════════════════════════╗");
+        System.out.printf("║  RAPPORT: VENTES DU %-10s AU %-10s                  ║%n", premierJour, dernierJour);
+        System.out.println("╠════════════════════════════════════════════════════════════╣");
+        
+        List<VentesMedicament> ventes = venteService.getVentesParMedicament(premierJour, dernierJour);
+        
+        if (ventes.isEmpty()) {
+            System.out.println("║  Aucune vente sur la période.                              ║");
+        } else {
+            System.out.printf("║  %-25s %-7s %-8s %-12s  ║%n", "Médicament", "Ventes", "Quantité", "CA (DT)");
+            System.out.println("║  ------------------------------------------------          ║");
+            
+            int nombreVentes = 0;
+            int quantite = 0;
+            long ca = 0;
+            for (VentesMedicament ligne : ventes) {
+                Medicament med = medicamentService.getMedicament(ligne.getIdMedicament());
+                String nom = med != null ? med.getNom() + " " + med.getDosage() : "#" + ligne.getIdMedicament();
+                
+                System.out.printf("║  %-25.25s %7d %8d %12s  ║%n",
+                    nom,
+                    ligne.getNombreVentes(),
+                    ligne.getQuantite(),
+                    Montant.ecrire(ligne.getMontantTotal())
+                );
+                nombreVentes += ligne.getNombreVentes();
+                quantite += ligne.getQuantite();
+                ca += ligne.getMontantTotal();
+            }
+            
+            System.out.println("║  ------------------------------------------------          ║");
+            System.out.printf("║  %-25s %7d %8d %12s  ║%n", "TOTAL", nombreVentes, quantite, Montant.ecrire(ca));
         }
         
         System.out.println("║                                                            ║");
@@ -1,12 +1,19 @@
 package services;
 
-import dao.VenteDAO;
 import dao.ClientDAO;
+import dao.FabriqueDAO;
 import dao.MedicamentDAO;
+import dao.VenteDAO;
+import database.Horodatage;
+import database.Montant;
+import database.Transaction;
+import models.LignePanier;
 import models.Vente;
 import models.Client;
 import models.Medicament;
+import models.VentesMedicament;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -29,9 +36,9 @@ public class VenteService {
     private MedicamentService medicamentService;
     
     public VenteService() {
-        this.venteDAO = new VenteDAO();
-        this.medicamentDAO = new MedicamentDAO();
-        this.clientDAO = new ClientDAO();
+        this.venteDAO = FabriqueDAO.ventes();
+        this.medicamentDAO = FabriqueDAO.medicaments();
+        this.clientDAO = FabriqueDAO.clients();
         this.medicamentService = new MedicamentService();
     }
     
@@ -42,8 +49,8 @@ public class VenteService {
      * 1. Vérifie que le médicament existe
      * 2. Vérifie que le stock est suffisant
      * 3. Calcule le montant total
-     * 4. Enregistre la vente
-     * 5. Met à jour le stock
+     * 4. Enregistre la vente et met à jour le stock
+     *    dans une seule transaction (tout ou rien)
      * 
      * @param idPharmacien L'ID du pharmacien qui fait la vente
      * @param idClient     L'ID du client (peut être 0 pour client anonyme)
@@ -83,27 +90,34 @@ public class VenteService {
         
         // ===== ÉTAPE 2: Calcul du montant =====
         
-        double montantTotal = medicament.calculerPrixTotal(quantite);
+        long montantTotal = medicament.calculerPrixTotal(quantite);
         
-        // ===== ÉTAPE 3: Créer et enregistrer la vente =====
+        // ===== ÉTAPE 3: Préparer la transaction =====
+        
+        // La vente, le mouvement de stock et le nouveau stock sont écrits
+        // ensemble: soit tout est enregistré, soit rien
+        Transaction transaction = new Transaction();
         
         Vente vente = new Vente(idPharmacien, idClient, idMedicament, quantite, montantTotal);
+        venteDAO.ajouter(vente, transaction);
+        
+        if (!medicamentService.diminuerStock(idMedicament, quantite, transaction)) {
+            System.out.println("✗ Stock insuffisant pour ce médicament.");
+            return false;
+        }
         
-        boolean venteEnregistree = venteDAO.ajouter(vente);
+        // ===== ÉTAPE 4: Valider la transaction =====
         
-        if (!venteEnregistree) {
+        if (!transaction.valider()) {
             System.out.println("✗ Erreur lors de l'enregistrement de la vente.");
             return false;
         }
         
-        // ===== ÉTAPE 4: Mettre à jour le stock =====
+        System.out.println("✓ Vente enregistrée avec succès! ID: " + vente.getId());
         
-        boolean stockMisAJour = medicamentService.diminuerStock(idMedicament, quantite);
-        
-        if (!stockMisAJour) {
-            // En cas d'erreur, on devrait annuler la vente (transaction)
-            // Pour simplifier, on affiche juste un avertissement
-            System.out.println("⚠️ Attention: La vente est enregistrée mais le stock n'a pas été mis à jour.");
+        Medicament apresVente = medicamentDAO.trouverParId(idMedicament);
+        if (apresVente != null && apresVente.estStockCritique()) {
+            System.out.println("⚠️ ATTENTION: Le stock de " + apresVente.getNom() + " est critique! (" + apresVente.getStock() + " unités)");
         }
         
         // ===== ÉTAPE 5: Afficher le résumé =====
@@ -111,13 +125,110 @@ public class VenteService {
         System.out.println("\n========== VENTE EFFECTUÉE ==========");
         System.out.println("Médicament: " + medicament.getNom() + " " + medicament.getDosage());
         System.out.println("Quantité: " + quantite);
-        System.out.println("Prix unitaire: " + medicament.getPrixUnitaire() + " DT");
-        System.out.println("TOTAL: " + montantTotal + " DT");
+        System.out.println("Prix unitaire: " + Montant.ecrire(medicament.getPrixUnitaire()) + " DT");
+        System.out.println("TOTAL: " + Montant.ecrire(montantTotal) + " DT");
         System.out.println("======================================\n");
         
         return true;
     }
     
+    /**
+     * Enregistre une ordonnance de plusieurs médicaments (panier)
+     * 
+     * Toutes les lignes sont vérifiées puis vendues ensemble:
+     * 1. Vérifie les quantités, les médicaments et le client
+     * 2. Réserve le stock de toutes les lignes (tout ou rien)
+     * 3. Écrit les ventes, les mouvements de stock et les nouveaux stocks
+     *    dans une seule transaction (un seul passage sur le disque)
+     * 
+     * @param idPharmacien L'ID du pharmacien qui fait la vente
+     * @param idClient     L'ID du client (peut être 0 pour client anonyme)
+     * @param panier       Les lignes de l'ordonnance
+     * @return Les ventes enregistrées (une par ligne), ou une liste vide si l'ordonnance est refusée
+     */
+    public List<Vente> enregistrerPanier(int idPharmacien, int idClient, List<LignePanier> panier) {
+        // ===== ÉTAPE 1: Validation =====
+        
+        if (panier.isEmpty()) {
+            System.out.println("✗ Le panier est vide.");
+            return new ArrayList<>();
+        }
+        
+        List<Medicament> medicaments = new ArrayList<>();
+        for (LignePanier ligne : panier) {
+            if (ligne.getQuantite() <= 0) {
+                System.out.println("✗ La quantité doit être positive.");
+                return new ArrayList<>();
+            }
+            
+            Medicament medicament = medicamentDAO.trouverParId(ligne.getIdMedicament());
+            if (medicament == null) {
+                System.out.println("✗ Médicament non trouvé. ID: " + ligne.getIdMedicament());
+                return new ArrayList<>();
+            }
+            medicaments.add(medicament);
+        }
+        
+        if (idClient > 0) {
+            Client client = clientDAO.trouverParId(idClient);
+            if (client == null) {
+                System.out.println("✗ Client non trouvé.");
+                return new ArrayList<>();
+            }
+        }
+        
+        // ===== ÉTAPE 2: Préparer la transaction =====
+        
+        // Toutes les ventes, puis tous les mouvements, puis tous les stocks:
+        // les ajouts d'un même fichier sont écrits d'un seul coup
+        Transaction transaction = new Transaction();
+        List<Vente> ventes = new ArrayList<>();
+        long total = 0;
+        
+        for (int i = 0; i < panier.size(); i++) {
+            LignePanier ligne = panier.get(i);
+            long montant = medicaments.get(i).calculerPrixTotal(ligne.getQuantite());
+            
+            Vente vente = new Vente(idPharmacien, idClient, ligne.getIdMedicament(), ligne.getQuantite(), montant);
+            venteDAO.ajouter(vente, transaction);
+            ventes.add(vente);
+            total += montant;
+        }
+        
+        // Le stock de toutes les lignes est vérifié et réservé en une seule opération
+        if (!medicamentService.diminuerStocks(panier, transaction)) {
+            System.out.println("✗ Stock insuffisant pour cette ordonnance.");
+            return new ArrayList<>();
+        }
+        
+        // ===== ÉTAPE 3: Valider la transaction =====
+        
+        if (!transaction.valider()) {
+            System.out.println("✗ Erreur lors de l'enregistrement de l'ordonnance.");
+            return new ArrayList<>();
+        }
+        
+        // ===== ÉTAPE 4: Afficher le résumé =====
+        
+        System.out.println("\n========== ORDONNANCE EFFECTUÉE ==========");
+        for (int i = 0; i < panier.size(); i++) {
+            Medicament medicament = medicaments.get(i);
+            System.out.println(medicament.getNom() + " " + medicament.getDosage()
+                + " x" + panier.get(i).getQuantite() + " = " + Montant.ecrire(ventes.get(i).getMontantTotal()) + " DT");
+        }
+        System.out.println("TOTAL: " + Montant.ecrire(total) + " DT");
+        System.out.println("==========================================\n");
+        
+        for (Medicament medicament : medicaments) {
+            Medicament apresVente = medicamentDAO.trouverParId(medicament.getId());
+            if (apresVente != null && apresVente.estStockCritique()) {
+                System.out.println("⚠️ ATTENTION: Le stock de " + apresVente.getNom() + " est critique! (" + apresVente.getStock() + " unités)");
+            }
+        }
+        
+        return ventes;
+    }
+    
     /**
      * Annule une vente et remet le stock
      */
@@ -178,19 +289,41 @@ public class VenteService {
     }
     
     /**
-     * Calcule le chiffre d'affaires total
+     * Calcule le chiffre d'affaires total (en centimes)
      */
-    public double getChiffreAffairesTotal() {
+    public long getChiffreAffairesTotal() {
         return venteDAO.calculerChiffreAffairesTotal();
     }
     
     /**
-     * Calcule le chiffre d'affaires du jour
+     * Calcule le chiffre d'affaires du jour (en centimes)
      */
-    public double getChiffreAffairesDuJour() {
+    public long getChiffreAffairesDuJour() {
         return venteDAO.calculerChiffreAffairesDuJour();
     }
     
+    /**
+     * Les ventes d'une période par médicament (jours inclus, yyyy-MM-dd),
+     * du plus grand chiffre d'affaires au plus petit
+     */
+    public List<VentesMedicament> getVentesParMedicament(String premierJour, String dernierJour) {
+        return venteDAO.totaliserParMedicament(premierJour, dernierJour);
+    }
+    
+    /**
+     * Compte toutes les ventes (sans relire l'historique)
+     */
+    public int getNombreVentes() {
+        return venteDAO.compterVentes();
+    }
+    
+    /**
+     * Compte les ventes du jour (sans relire l'historique)
+     */
+    public int getNombreVentesDuJour() {
+        return venteDAO.compterVentesDuJour();
+    }
+    
     /**
      * Affiche toutes les ventes
      */
@@ -206,18 +339,18 @@ public class VenteService {
             Medicament med = medicamentDAO.trouverParId(vente.getIdMedicament());
             String nomMed = med != null ? med.getNom() : "Inconnu";
             
-            System.out.printf("%-5d %-15s %-10d %-10.2f %-12s%n", 
+            System.out.printf("%-5d %-15s %-10d %-10s %-12s%n", 
                 vente.getId(), 
-                vente.getDateVente().toString().substring(0, 16),
+                Horodatage.ecrire(vente.getDateVente()).substring(0, 16),
                 vente.getQuantite(),
-                vente.getMontantTotal(),
+                Montant.ecrire(vente.getMontantTotal()),
                 nomMed
             );
         }
         
         System.out.println("--------------------------------------------");
         System.out.println("Total: " + ventes.size() + " ventes");
-        System.out.println("Chiffre d'affaires: " + getChiffreAffairesTotal() + " DT");
+        System.out.println("Chiffre d'affaires: " + Montant.ecrire(getChiffreAffairesTotal()) + " DT");
         System.out.println("============================================\n");
     }
     
@@ -237,17 +370,17 @@ public class VenteService {
             System.out.println("-------------------------------------");
             
             for (Vente vente : ventes) {
-                System.out.printf("%-5d %-12s %-10d %-10.2f DT%n", 
+                System.out.printf("%-5d %-12s %-10d %-10s DT%n", 
                     vente.getId(), 
-                    vente.getDateVente().toString().substring(11, 16),
+                    Horodatage.ecrire(vente.getDateVente()).substring(11, 16),
                     vente.getQuantite(),
-                    vente.getMontantTotal()
+                    Montant.ecrire(vente.getMontantTotal())
                 );
             }
         }
         
         System.out.println("-------------------------------------");
-        System.out.println("CA du jour: " + getChiffreAffairesDuJour() + " DT");
+        System.out.println("CA du jour: " + Montant.ecrire(getChiffreAffairesDuJour()) + " DT");
         System.out.println("=====================================\n");
     }
 }